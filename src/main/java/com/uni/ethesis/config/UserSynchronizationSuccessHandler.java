@@ -22,6 +22,8 @@ import com.uni.ethesis.data.repo.TeacherRepository;
 import com.uni.ethesis.data.repo.UserRepository;
 import com.uni.ethesis.enums.StudentType;
 import com.uni.ethesis.enums.TeacherPosition;
+import com.uni.ethesis.service.index.UserRoleIndex;
+import com.uni.ethesis.utils.TransactionUtils;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,6 +39,7 @@ public class UserSynchronizationSuccessHandler implements AuthenticationSuccessH
     private final UserRepository userRepository;
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
+    private final UserRoleIndex userRoleIndex;
 
     @Override
     @Transactional
@@ -165,6 +168,7 @@ public class UserSynchronizationSuccessHandler implements AuthenticationSuccessH
                     .position(TeacherPosition.TEACHING_ASSISTANT) // Default position, can be updated later
                     .build();
             teacherRepository.save(teacher);
+            TransactionUtils.afterCommit(() -> userRoleIndex.invalidate(user.getId()));
             log.info("Teacher role created for user: {}", user.getEmail());
         }
 
@@ -198,6 +202,8 @@ public class UserSynchronizationSuccessHandler implements AuthenticationSuccessH
                     .position(TeacherPosition.TEACHING_ASSISTANT)
                     .build();
             teacherRepository.save(teacher);
+            // Comments by this user may have been labelled STUDENT until now
+            TransactionUtils.afterCommit(() -> userRoleIndex.invalidate(user.getId()));
             log.info("Teacher role added for existing user: {}", user.getEmail());
         }
     }
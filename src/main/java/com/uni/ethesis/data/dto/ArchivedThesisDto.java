@@ -0,0 +1,33 @@
+package com.uni.ethesis.data.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.uni.ethesis.enums.ThesisStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedThesisDto {
+    private UUID id;
+    private UUID proposalId;
+    private UUID studentId;
+    private UUID teacherId;
+    private String title;
+    private ThesisStatus status;
+    private BigDecimal finalGrade;
+    private Integer academicYear;
+    private OffsetDateTime thesisCreatedAt;
+    private OffsetDateTime closedAt;
+    private String pdfHash;
+    private OffsetDateTime createdAt;
+    // Only filled in for single thesis lookups
+    private ArchivedThesisPayloadDto payload;
+}
@@ -0,0 +1,24 @@
+package com.uni.ethesis.data.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything that was removed from the hot tables when a thesis was archived.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedThesisPayloadDto {
+    private ThesisDto thesis;
+    private ThesisProposalDto proposal;
+    private List<ReviewDto> reviews;
+    private List<CommentDto> comments;
+    private List<DefenseSessionDto> defenseSessions;
+    private List<DefenseSessionProfessorDto> defenseSessionProfessors;
+}
@@ -0,0 +1,18 @@
+package com.uni.ethesis.data.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkEvaluationReportDto {
+    private int requested;
+    private int updated;
+    private List<BulkEvaluationResultDto> results;
+}
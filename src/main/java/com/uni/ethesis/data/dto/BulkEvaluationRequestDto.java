@@ -0,0 +1,36 @@
+package com.uni.ethesis.data.dto;
+
+import java.util.List;
+
+import com.uni.ethesis.utils.DefenseSessionProfessorKey;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Committee grades and thoughts from an evaluation sheet, one entry per professor and session.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkEvaluationRequestDto {
+
+    // Bounds the row-lock lookup, which binds one key pair per entry
+    @NotEmpty(message = "Evaluations cannot be empty")
+    @Size(max = 500, message = "At most 500 evaluations per request")
+    private List<Entry> evaluations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private DefenseSessionProfessorKey key;
+        private Integer grade;
+        private String thoughts;
+    }
+}
@@ -0,0 +1,26 @@
+package com.uni.ethesis.data.dto;
+
+import java.util.UUID;
+
+import com.uni.ethesis.enums.BulkEvaluationOutcome;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one row of a bulk committee evaluation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkEvaluationResultDto {
+    private UUID defenseSessionId;
+    private UUID professorId;
+    private BulkEvaluationOutcome outcome;
+    private Integer previousGrade;
+    private Integer grade;
+    private String message;
+}
@@ -0,0 +1,32 @@
+package com.uni.ethesis.data.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Final grades from a committee sheet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkThesisGradeRequestDto {
+
+    @NotEmpty(message = "Grades cannot be empty")
+    private List<Entry> grades;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private UUID thesisId;
+        private BigDecimal grade;
+    }
+}
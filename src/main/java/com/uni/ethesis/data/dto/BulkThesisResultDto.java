@@ -0,0 +1,28 @@
+package com.uni.ethesis.data.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import com.uni.ethesis.enums.BulkThesisOutcome;
+import com.uni.ethesis.enums.ThesisStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one row of a bulk thesis operation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkThesisResultDto {
+    private UUID thesisId;
+    private BulkThesisOutcome outcome;
+    private ThesisStatus previousStatus;
+    private ThesisStatus status;
+    private BigDecimal finalGrade;
+    private String message;
+}
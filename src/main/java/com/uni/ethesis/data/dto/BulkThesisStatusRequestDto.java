@@ -0,0 +1,26 @@
+package com.uni.ethesis.data.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.uni.ethesis.enums.ThesisStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkThesisStatusRequestDto {
+
+    @NotEmpty(message = "Thesis IDs cannot be empty")
+    private List<UUID> thesisIds;
+
+    @NotNull(message = "Status cannot be null")
+    private ThesisStatus status;
+}
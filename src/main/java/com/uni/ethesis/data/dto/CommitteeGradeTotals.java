@@ -0,0 +1,28 @@
+package com.uni.ethesis.data.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Grading progress of a defense session's committee, read from the session row.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommitteeGradeTotals {
+    private int professorCount;
+    private int gradedCount;
+    private long gradeSum;
+
+    public boolean isComplete() {
+        return professorCount > 0 && gradedCount == professorCount;
+    }
+
+    // Null until someone has graded, like AVG over no rows
+    public Double getAverage() {
+        return gradedCount > 0 ? (double) gradeSum / gradedCount : null;
+    }
+}
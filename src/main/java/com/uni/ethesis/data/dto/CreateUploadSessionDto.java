@@ -0,0 +1,16 @@
+package com.uni.ethesis.data.dto;
+
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateUploadSessionDto {
+    @Positive
+    private long totalSize;
+}
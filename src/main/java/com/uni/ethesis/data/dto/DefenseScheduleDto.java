@@ -0,0 +1,40 @@
+package com.uni.ethesis.data.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of scheduling a defense day.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DefenseScheduleDto {
+    private UUID defenseId;
+    private List<Session> sessions;
+    private List<UUID> unscheduledThesisIds;
+    // Fewest and most sessions given to one of the available teachers
+    private int minLoad;
+    private int maxLoad;
+    private long elapsedMillis;
+    private boolean persisted;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Session {
+        // Null for a dry run
+        private UUID defenseSessionId;
+        private UUID thesisId;
+        private OffsetDateTime dateAndTime;
+        private List<UUID> professorIds;
+    }
+}
@@ -0,0 +1,31 @@
+package com.uni.ethesis.data.dto;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parameters for scheduling a defense day. Unset values fall back to the
+ * app.defense-scheduling defaults; empty id lists mean "all eligible".
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DefenseScheduleRequestDto {
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer slotMinutes;
+    // Sessions that can run at the same time (rooms at the defense location)
+    private Integer parallelSessions;
+    private Integer committeeSize;
+    private List<UUID> thesisIds;
+    private List<UUID> teacherIds;
+    // Only compute the schedule, do not create the sessions
+    private boolean dryRun;
+}
@@ -18,6 +18,8 @@ public class DefenseSessionDto {
     private String notes;
     private UUID thesisId;
     private UUID defenseId;
+    private int professorCount;
+    private int gradedCount;
     private OffsetDateTime createdAt;
     private OffsetDateTime lastModifiedAt;
 }
@@ -0,0 +1,26 @@
+package com.uni.ethesis.data.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset (cursor) paginated listing ordered by (createdAt, id).
+ * The next page is requested with nextCreatedAt / nextId as the cursor.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageDto<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private OffsetDateTime nextCreatedAt;
+    private UUID nextId;
+}
@@ -0,0 +1,19 @@
+package com.uni.ethesis.data.dto;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProposalDuplicateDto {
+    private UUID proposalId;
+    private String title;
+    // Estimated Jaccard similarity of the proposals' word shingles
+    private double similarity;
+}
@@ -22,4 +22,7 @@ public class ReviewDto {
     private UUID thesisId;
     private OffsetDateTime createdAt;
     private OffsetDateTime lastModifiedAt;
+    private int commentCount;
+    // Creation time of the newest comment, null when there are none
+    private OffsetDateTime lastCommentAt;
 }
@@ -0,0 +1,23 @@
+package com.uni.ethesis.data.dto;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarityMatchDto {
+    private UUID thesisId;
+    private String title;
+    private boolean archived;
+    private int sharedFingerprints;
+    // Share of the checked thesis's fingerprints found in this one
+    private double containment;
+    // Jaccard similarity of both fingerprint sets
+    private double similarity;
+}
@@ -0,0 +1,22 @@
+package com.uni.ethesis.data.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarityReportDto {
+    private UUID thesisId;
+    private int fingerprintCount;
+    private int indexedTheses;
+    private List<SimilarityMatchDto> matches;
+    private OffsetDateTime generatedAt;
+}
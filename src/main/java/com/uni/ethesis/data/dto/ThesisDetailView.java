@@ -0,0 +1,74 @@
+package com.uni.ethesis.data.dto;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.uni.ethesis.enums.ReviewConclusion;
+import com.uni.ethesis.enums.TeacherPosition;
+import com.uni.ethesis.enums.ThesisProposalStatus;
+import com.uni.ethesis.enums.ThesisStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat read model for the thesis page: thesis, proposal, student, supervisor,
+ * latest review and defense session, loaded by a single query
+ * (see {@link com.uni.ethesis.data.repo.ThesisRepository#findDetailViewById}).
+ * The field order is the constructor order used by that query.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThesisDetailView {
+    // Thesis
+    private UUID id;
+    private ThesisStatus status;
+    private BigDecimal finalGrade;
+    private String pdfPath;
+    private String pdfHash;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime lastModifiedAt;
+
+    // Proposal
+    private UUID proposalId;
+    private String title;
+    private String goal;
+    private String objectives;
+    private String technology;
+    private ThesisProposalStatus proposalStatus;
+
+    // Student
+    private UUID studentId;
+    private String studentUniversityId;
+    private String studentFirstName;
+    private String studentLastName;
+    private String studentEmail;
+
+    // Supervisor
+    private UUID teacherId;
+    private TeacherPosition teacherPosition;
+    private String teacherFirstName;
+    private String teacherLastName;
+    private String teacherEmail;
+
+    // Latest review, null when the thesis has not been reviewed
+    private UUID reviewId;
+    private UUID reviewTeacherId;
+    private ReviewConclusion reviewConclusion;
+    private String reviewContent;
+    private OffsetDateTime reviewCreatedAt;
+
+    // Defense session, null when the thesis is not scheduled
+    private UUID defenseSessionId;
+    private OffsetDateTime defenseDateAndTime;
+    private String defenseNotes;
+    private UUID defenseId;
+    private String defenseLocation;
+    private Date defenseDate;
+}
@@ -0,0 +1,35 @@
+package com.uni.ethesis.data.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.uni.ethesis.enums.PdfJobStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThesisDocumentDto {
+    private UUID id;
+    private UUID thesisId;
+    private String pdfHash;
+    private boolean valid;
+    private String validationError;
+    private Integer pageCount;
+    private String pdfVersion;
+    private boolean encrypted;
+    private String title;
+    private String author;
+    private String producer;
+    private OffsetDateTime documentCreatedAt;
+    private long sizeBytes;
+    private int textLength;
+    private OffsetDateTime processedAt;
+    // State of the latest processing job; the fields above may describe an older upload
+    private PdfJobStatus processingStatus;
+}
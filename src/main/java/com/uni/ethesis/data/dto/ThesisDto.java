@@ -18,6 +18,7 @@ import lombok.NoArgsConstructor;
 public class ThesisDto {
     private UUID id;
     private String pdfPath;
+    private String pdfHash;
     private BigDecimal finalGrade;
     private ThesisStatus status;
     private UUID proposalId;
@@ -0,0 +1,49 @@
+package com.uni.ethesis.data.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One defended thesis in an archive export: a manifest line and where its PDF lives.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThesisExportRow {
+    private UUID thesisId;
+    private String title;
+    private String studentUniversityId;
+    private String studentName;
+    private String supervisorName;
+    private BigDecimal finalGrade;
+    private OffsetDateTime defendedAt;
+    private String pdfPath;
+    // Content hash; null for files uploaded before the blob store
+    private String pdfHash;
+
+    // Projection constructor used by the export queries
+    public ThesisExportRow(UUID thesisId, String title, String studentUniversityId,
+                           String studentFirstName, String studentLastName,
+                           String supervisorFirstName, String supervisorLastName,
+                           BigDecimal finalGrade, OffsetDateTime defendedAt, String pdfPath, String pdfHash) {
+        this(thesisId, title, studentUniversityId, fullName(studentFirstName, studentLastName),
+                fullName(supervisorFirstName, supervisorLastName), finalGrade, defendedAt, pdfPath, pdfHash);
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null && lastName == null) {
+            return null;
+        }
+        if (firstName == null || lastName == null) {
+            return firstName != null ? firstName : lastName;
+        }
+        return firstName + " " + lastName;
+    }
+}
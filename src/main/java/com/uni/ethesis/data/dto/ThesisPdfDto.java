@@ -0,0 +1,27 @@
+package com.uni.ethesis.data.dto;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where a thesis PDF is stored and the validators used for conditional and range requests.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThesisPdfDto {
+    private UUID thesisId;
+    private Path path;
+    // Content hash; null for files uploaded before the blob store
+    private String hash;
+    private long sizeBytes;
+    private Instant lastModified;
+    private String filename;
+}
@@ -1,5 +1,6 @@
 package com.uni.ethesis.data.dto;
 
+import java.util.List;
 import java.util.UUID;
 
 import com.uni.ethesis.enums.ThesisProposalStatus;
@@ -36,4 +37,13 @@ public class ThesisProposalDto {
 
     @NotNull(message = "Status cannot be null")
     private ThesisProposalStatus status;
+
+    // Filled by create and update only: existing proposals that look like the same topic
+    private List<ProposalDuplicateDto> possibleDuplicates;
+
+    // Projection constructor used by ThesisProposalRepository.findAllSearchDocuments
+    public ThesisProposalDto(UUID id, String title, String goal, String objectives, String technology,
+                             UUID studentId, UUID teacherId, ThesisProposalStatus status) {
+        this(id, title, goal, objectives, technology, studentId, teacherId, status, null);
+    }
 }
@@ -0,0 +1,22 @@
+package com.uni.ethesis.data.dto;
+
+import java.util.Map;
+
+import com.uni.ethesis.enums.ReviewConclusion;
+import com.uni.ethesis.enums.ThesisStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThesisStatisticsDto {
+    private Map<ThesisStatus, Long> thesesByStatus;
+    private Map<ReviewConclusion, Long> reviewsByConclusion;
+    // Final grade ("0.0" - "6.0") -> number of theses
+    private Map<String, Long> gradeHistogram;
+}
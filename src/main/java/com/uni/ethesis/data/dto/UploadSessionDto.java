@@ -0,0 +1,28 @@
+package com.uni.ethesis.data.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.uni.ethesis.enums.UploadSessionStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDto {
+    private UUID id;
+    private UUID thesisId;
+    private UploadSessionStatus status;
+    private long totalSize;
+    private long receivedBytes;
+    // Inclusive byte ranges already stored, e.g. "0-1048575"
+    private List<String> receivedRanges;
+    private long maxChunkSize;
+    private OffsetDateTime expiresAt;
+}
@@ -0,0 +1,94 @@
+package com.uni.ethesis.data.entities;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import com.uni.ethesis.enums.ThesisStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Cold copy of a closed thesis. The searchable columns are denormalized from the thesis and
+ * its proposal; the reviews, comments and defense sessions that were deleted from the hot
+ * tables are kept in {@code payload} as JSON.
+ * <p>
+ * The id is the original thesis id, so the entity implements {@link Persistable} to let
+ * {@code saveAll} insert without a merge SELECT per row.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@Table(name = "archived_theses", indexes = {
+        @Index(name = "idx_archived_thesis_academic_year", columnList = "academic_year"),
+        @Index(name = "idx_archived_thesis_student", columnList = "student_id"),
+        @Index(name = "idx_archived_thesis_teacher", columnList = "teacher_id"),
+        @Index(name = "idx_archived_thesis_closed_at", columnList = "closed_at"),
+        @Index(name = "idx_archived_thesis_pdf_hash", columnList = "pdf_hash")
+})
+public class ArchivedThesis extends AuditableEntity implements Persistable<UUID> {
+    @Id
+    private UUID id;
+    @Column(name = "proposal_id")
+    private UUID proposalId;
+    @Column(name = "student_id")
+    private UUID studentId;
+    @Column(name = "teacher_id")
+    private UUID teacherId;
+    @Column(columnDefinition = "text")
+    private String title;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", columnDefinition = "text", nullable = false)
+    private ThesisStatus status;
+    @Column(precision = 2, scale = 1, name = "final_grade")
+    private BigDecimal finalGrade;
+    // First calendar year of the academic year the thesis was started in, e.g. 2023 for 2023/24
+    @Column(name = "academic_year", nullable = false)
+    private Integer academicYear;
+    @Column(name = "thesis_created_at", nullable = false)
+    private OffsetDateTime thesisCreatedAt;
+    @Column(name = "closed_at", nullable = false)
+    private OffsetDateTime closedAt;
+    // The PDF stays in the blob store; the archived row holds its reference
+    @Column(name = "pdf_path", columnDefinition = "text")
+    private String pdfPath;
+    @Column(name = "pdf_hash", length = 64)
+    private String pdfHash;
+    @Column(name = "payload", columnDefinition = "text")
+    private String payload;
+
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
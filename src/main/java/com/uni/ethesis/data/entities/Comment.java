@@ -14,7 +14,9 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @NoArgsConstructor
 @SuperBuilder
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comment_review_created_at", columnList = "review_id, created_at, id")
+})
 public class Comment extends BaseEntity {
     @Column(columnDefinition = "text" , nullable = false)
     @Size(min = 1)
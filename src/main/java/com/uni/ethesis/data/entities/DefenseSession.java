@@ -3,14 +3,18 @@ package com.uni.ethesis.data.entities;
 import java.time.OffsetDateTime;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -22,7 +26,10 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @NoArgsConstructor
 @SuperBuilder
-@Table(name = "defense_sessions")
+@Table(name = "defense_sessions", indexes = {
+        // One session per thesis; also backs the NOT EXISTS check of the defense scheduler
+        @Index(name = "uk_defense_session_thesis", columnList = "thesis_id", unique = true)
+})
 public class DefenseSession extends BaseEntity {
     // @FutureOrPresent(message = "Date and time must be in the future or present")
     @Column(name = "date_and_time", nullable = true)
@@ -37,4 +44,18 @@ public class DefenseSession extends BaseEntity {
     @ManyToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "defense_id" , nullable = false)
     private Defense defense;
+    // Committee grading totals, maintained by DefenseSessionProfessorService with atomic
+    // UPDATEs. Never written by a save of this entity, so a stale copy cannot undo them.
+    @Column(name = "professor_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int professorCount = 0;
+    @Column(name = "graded_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int gradedCount = 0;
+    @Column(name = "grade_sum", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long gradeSum = 0;
 }
@@ -0,0 +1,50 @@
+package com.uni.ethesis.data.entities;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.uni.ethesis.enums.PdfJobStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Durable queue entry for PDF post-processing. Written in the upload transaction, claimed
+ * by the pipeline with a lease (locked_until) so jobs of a crashed node are picked up again.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@Table(name = "pdf_processing_jobs", indexes = {
+        @Index(name = "idx_pdf_job_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_pdf_job_thesis", columnList = "thesis_id")
+})
+public class PdfProcessingJob extends BaseEntity {
+    @Column(name = "thesis_id", nullable = false, updatable = false)
+    private UUID thesisId;
+    @Column(name = "pdf_hash", length = 64, nullable = false, updatable = false)
+    private String pdfHash;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", columnDefinition = "text", nullable = false)
+    private PdfJobStatus status;
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+    @Column(name = "locked_until")
+    private OffsetDateTime lockedUntil;
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+}
@@ -1,7 +1,10 @@
 package com.uni.ethesis.data.entities;
 
+import java.time.OffsetDateTime;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.uni.ethesis.enums.ReviewConclusion;
 
 import jakarta.persistence.CascadeType;
@@ -9,11 +12,13 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -25,7 +30,9 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @NoArgsConstructor
 @SuperBuilder
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_review_thesis_created_at", columnList = "thesis_id, created_at")
+})
 public class Review extends BaseEntity {
     @Column(columnDefinition = "text", nullable = false)
     private String content;
@@ -40,4 +47,12 @@ public class Review extends BaseEntity {
     private Thesis thesis;
     @OneToMany(mappedBy = "review", orphanRemoval = false , cascade = CascadeType.ALL)
     private Set<Comment> comments;
+    // Denormalized for review lists. Only written by the counter updates in ReviewRepository,
+    // never by entity saves, so saving a stale Review cannot undo a concurrent comment.
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int commentCount = 0;
+    @Column(name = "last_comment_at", insertable = false, updatable = false)
+    private OffsetDateTime lastCommentAt;
 }
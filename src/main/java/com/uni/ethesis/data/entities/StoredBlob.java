@@ -0,0 +1,40 @@
+package com.uni.ethesis.data.entities;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * A file in the content-addressed blob store, keyed by the hex SHA-256 of its content.
+ * ref_count is only changed with atomic UPDATE statements; a blob whose count drops to
+ * zero is stamped with orphaned_at and removed by the garbage collector after a grace period.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@Table(name = "stored_blobs", indexes = {
+        @Index(name = "idx_stored_blob_orphaned_at", columnList = "orphaned_at")
+})
+public class StoredBlob extends AuditableEntity {
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+    @Column(name = "orphaned_at")
+    private OffsetDateTime orphanedAt;
+}
@@ -3,6 +3,8 @@ package com.uni.ethesis.data.entities;
 import java.math.BigDecimal;
 import java.util.Set;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.uni.ethesis.enums.ThesisStatus;
 
 import jakarta.persistence.CascadeType;
@@ -10,6 +12,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
@@ -28,11 +31,20 @@ import lombok.experimental.SuperBuilder;
 @AllArgsConstructor
 @NoArgsConstructor
 @SuperBuilder
-@Table(name = "theses")
+// Status is owned by ThesisStatusTransitionService; only write the columns that changed
+// so saving a stale entity cannot undo a concurrent status transition.
+@DynamicUpdate
+@Table(name = "theses", indexes = {
+        @Index(name = "idx_thesis_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_thesis_pdf_hash", columnList = "pdf_hash")
+})
 public class Thesis extends BaseEntity {
     public static final BigDecimal BIG_DECIMAL = BigDecimal.valueOf(6.0);
     @Column(name = "pdf_path" , columnDefinition = "text")
     private String pdfPath;
+    // SHA-256 of the current PDF in the blob store; pdfPath points at that blob
+    @Column(name = "pdf_hash", length = 64)
+    private String pdfHash;
     @DecimalMin(value = "0.0", inclusive = true)
     @DecimalMax(value = "6.0", inclusive = true)
     @Column(precision = 2, scale = 1 , name = "final_grade")
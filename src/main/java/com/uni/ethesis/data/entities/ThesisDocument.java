@@ -0,0 +1,62 @@
+package com.uni.ethesis.data.entities;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * What post-processing found out about the current PDF of a thesis: whether it parses,
+ * page count, document info and the extracted plain text.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@Table(name = "thesis_documents")
+public class ThesisDocument extends BaseEntity {
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "thesis_id", unique = true, nullable = false)
+    private Thesis thesis;
+    @Column(name = "pdf_hash", length = 64, nullable = false)
+    private String pdfHash;
+    @Column(name = "valid", nullable = false)
+    private boolean valid;
+    @Column(name = "validation_error", columnDefinition = "text")
+    private String validationError;
+    @Column(name = "page_count")
+    private Integer pageCount;
+    @Column(name = "pdf_version", length = 8)
+    private String pdfVersion;
+    @Column(name = "encrypted", nullable = false)
+    private boolean encrypted;
+    @Column(columnDefinition = "text")
+    private String title;
+    @Column(columnDefinition = "text")
+    private String author;
+    @Column(columnDefinition = "text")
+    private String producer;
+    @Column(name = "document_created_at")
+    private OffsetDateTime documentCreatedAt;
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+    @Column(name = "text_length", nullable = false)
+    private int textLength;
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "extracted_text", columnDefinition = "text")
+    private String extractedText;
+    @Column(name = "processed_at", nullable = false)
+    private OffsetDateTime processedAt;
+}
@@ -34,6 +34,9 @@ public class ThesisProposal extends BaseEntity {
     @Enumerated(EnumType.STRING)
     @Column(columnDefinition = "text")
     private ThesisProposalStatus status;
+    // MinHash signature of the text fields, see ProposalDuplicateIndex
+    @Column(name = "minhash_signature", columnDefinition = "bytea")
+    private byte[] minhashSignature;
     @OneToOne(mappedBy = "proposal" , cascade = CascadeType.ALL)
     private Thesis thesis;
 }
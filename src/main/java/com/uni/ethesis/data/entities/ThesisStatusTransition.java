@@ -0,0 +1,45 @@
+package com.uni.ethesis.data.entities;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.uni.ethesis.enums.ThesisStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Append-only history of thesis status changes. thesis_id is a plain column rather than
+ * an association so rows are written without touching the thesis and outlive it.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@Table(name = "thesis_status_transitions", indexes = {
+        @Index(name = "idx_thesis_status_transition_to_status_at", columnList = "to_status, transitioned_at"),
+        @Index(name = "idx_thesis_status_transition_thesis_at", columnList = "thesis_id, transitioned_at")
+})
+public class ThesisStatusTransition extends BaseEntity {
+    @Column(name = "thesis_id", nullable = false, updatable = false)
+    private UUID thesisId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", columnDefinition = "text", updatable = false)
+    private ThesisStatus fromStatus;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", columnDefinition = "text", nullable = false, updatable = false)
+    private ThesisStatus toStatus;
+    @Column(name = "transitioned_at", nullable = false, updatable = false)
+    private OffsetDateTime transitionedAt;
+}
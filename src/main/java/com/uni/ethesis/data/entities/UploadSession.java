@@ -0,0 +1,49 @@
+package com.uni.ethesis.data.entities;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.uni.ethesis.enums.UploadSessionStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * A resumable PDF upload. Chunks are written into a preallocated file in the blob store's
+ * upload area; received_ranges records which bytes have arrived so a client can resume
+ * after a dropped connection.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@Table(name = "upload_sessions", indexes = {
+        @Index(name = "idx_upload_session_thesis", columnList = "thesis_id"),
+        @Index(name = "idx_upload_session_expires_at", columnList = "expires_at")
+})
+public class UploadSession extends BaseEntity {
+    @Column(name = "thesis_id", nullable = false, updatable = false)
+    private UUID thesisId;
+    @Column(name = "total_size", nullable = false, updatable = false)
+    private long totalSize;
+    @Column(name = "received_ranges", columnDefinition = "text")
+    private String receivedRanges;
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", columnDefinition = "text", nullable = false)
+    private UploadSessionStatus status;
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+}
@@ -0,0 +1,50 @@
+package com.uni.ethesis.data.repo;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.uni.ethesis.data.dto.ThesisExportRow;
+import com.uni.ethesis.data.entities.ArchivedThesis;
+
+import jakarta.persistence.QueryHint;
+
+public interface ArchivedThesisRepository extends JpaRepository<ArchivedThesis, UUID>, JpaSpecificationExecutor<ArchivedThesis> {
+
+    @Query("SELECT a.id FROM ArchivedThesis a WHERE a.id IN :ids")
+    List<UUID> findIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // [hash, number of archived theses referencing it]
+    @Query("SELECT a.pdfHash, COUNT(a) FROM ArchivedThesis a WHERE a.pdfHash IN :hashes GROUP BY a.pdfHash")
+    List<Object[]> countByPdfHashIn(@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT a.pdfPath FROM ArchivedThesis a WHERE a.pdfPath IN :paths")
+    List<String> findPdfPathsIn(@Param("paths") Collection<String> paths);
+
+    @Modifying
+    @Query("UPDATE ArchivedThesis a SET a.pdfPath = :pdfPath WHERE a.pdfHash = :pdfHash")
+    int updatePdfPathByHash(@Param("pdfHash") String pdfHash, @Param("pdfPath") String pdfPath);
+
+    // Archive export counterpart of ThesisRepository.streamDefendedForExport; closedAt is the defense time
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT new com.uni.ethesis.data.dto.ThesisExportRow(" +
+           "a.id, a.title, s.universityId, su.firstName, su.lastName, tu.firstName, tu.lastName, " +
+           "a.finalGrade, a.closedAt, a.pdfPath, a.pdfHash) " +
+           "FROM ArchivedThesis a " +
+           "LEFT JOIN Student s ON s.id = a.studentId LEFT JOIN s.user su " +
+           "LEFT JOIN Teacher te ON te.id = a.teacherId LEFT JOIN te.user tu " +
+           "WHERE a.status = com.uni.ethesis.enums.ThesisStatus.DEFENDED " +
+           "AND a.closedAt >= :from AND a.closedAt < :to " +
+           "ORDER BY a.id")
+    Stream<ThesisExportRow> streamDefendedForExport(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+}
@@ -1,10 +1,14 @@
 package com.uni.ethesis.data.repo;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -15,19 +19,47 @@ public interface CommentRepository extends JpaRepository<Comment, UUID>, JpaSpec
     /**
      * Find all comments for a specific review, ordered by creation time ascending (oldest first)
      */
-    @Query("SELECT c FROM Comment c WHERE c.review.id = :reviewId ORDER BY c.createdAt ASC")
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.review.id = :reviewId ORDER BY c.createdAt ASC")
     List<Comment> findByReviewIdOrderByCreatedAtAsc(@Param("reviewId") UUID reviewId);
     
     /**
      * Find all comments for a specific review, ordered by creation time descending (newest first)
      */
-    @Query("SELECT c FROM Comment c WHERE c.review.id = :reviewId ORDER BY c.createdAt DESC")
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.review.id = :reviewId ORDER BY c.createdAt DESC")
     List<Comment> findByReviewIdOrderByCreatedAtDesc(@Param("reviewId") UUID reviewId);
     
+    // Keyset pages of a review thread, ordered by (createdAt, id) in either direction.
+    // Served by idx_comment_review_created_at. Listings fetch-join the author, whose name
+    // ends up in every CommentDto.
+    String THREAD = "SELECT c FROM Comment c JOIN FETCH c.user WHERE c.review.id = :reviewId ";
+    String AFTER_CURSOR = "AND (c.createdAt > :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id > :afterId)) ";
+    String BEFORE_CURSOR = "AND (c.createdAt < :beforeCreatedAt OR (c.createdAt = :beforeCreatedAt AND c.id < :beforeId)) ";
+    String OLDEST_FIRST = "ORDER BY c.createdAt ASC, c.id ASC";
+    String NEWEST_FIRST = "ORDER BY c.createdAt DESC, c.id DESC";
+
+    @Query(THREAD + OLDEST_FIRST)
+    List<Comment> findThreadPage(@Param("reviewId") UUID reviewId, Pageable pageable);
+
+    // Also used to fetch the comments posted since a client's last cursor
+    @Query(THREAD + AFTER_CURSOR + OLDEST_FIRST)
+    List<Comment> findThreadPageAfter(@Param("reviewId") UUID reviewId,
+                                      @Param("afterCreatedAt") OffsetDateTime afterCreatedAt,
+                                      @Param("afterId") UUID afterId,
+                                      Pageable pageable);
+
+    @Query(THREAD + NEWEST_FIRST)
+    List<Comment> findThreadPageNewestFirst(@Param("reviewId") UUID reviewId, Pageable pageable);
+
+    @Query(THREAD + BEFORE_CURSOR + NEWEST_FIRST)
+    List<Comment> findThreadPageNewestFirstBefore(@Param("reviewId") UUID reviewId,
+                                                  @Param("beforeCreatedAt") OffsetDateTime beforeCreatedAt,
+                                                  @Param("beforeId") UUID beforeId,
+                                                  Pageable pageable);
+
     /**
      * Find all comments by a specific user
      */
-    @Query("SELECT c FROM Comment c WHERE c.user.id = :userId ORDER BY c.createdAt DESC")
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.user.id = :userId ORDER BY c.createdAt DESC")
     List<Comment> findByUserIdOrderByCreatedAtDesc(@Param("userId") UUID userId);
     
     /**
@@ -35,4 +67,12 @@ public interface CommentRepository extends JpaRepository<Comment, UUID>, JpaSpec
      */
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.review.id = :reviewId")
     long countByReviewId(@Param("reviewId") UUID reviewId);
-}
\ No newline at end of file
+
+    // Archival: all comments on the reviews of the given theses
+    @Query("SELECT c FROM Comment c WHERE c.review.id IN (SELECT r.id FROM Review r WHERE r.thesis.id IN :thesisIds)")
+    List<Comment> findByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Comment c WHERE c.review.id IN (SELECT r.id FROM Review r WHERE r.thesis.id IN :thesisIds)")
+    int deleteByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+}
@@ -2,15 +2,19 @@ package com.uni.ethesis.data.repo;
 
 import java.sql.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.uni.ethesis.data.entities.Defense;
 
+import jakarta.persistence.LockModeType;
+
 public interface DefenseRepository extends JpaRepository<Defense, UUID>, JpaSpecificationExecutor<Defense> {
     
     // Find defenses by date
@@ -25,4 +29,13 @@ public interface DefenseRepository extends JpaRepository<Defense, UUID>, JpaSpec
     // Count defenses in period
     @Query("SELECT COUNT(d) FROM Defense d WHERE d.date BETWEEN :startDate AND :endDate")
     long countDefensesInPeriod(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
-}
\ No newline at end of file
+
+    // Defenses per day, used to build ThesisStatistics
+    @Query("SELECT d.date, COUNT(d) FROM Defense d WHERE d.date IS NOT NULL GROUP BY d.date")
+    List<Object[]> countGroupedByDate();
+
+    // Lets only one scheduling run plan a defense day at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Defense d WHERE d.id = :id")
+    Optional<Defense> findByIdForUpdate(@Param("id") UUID id);
+}
@@ -1,17 +1,22 @@
 package com.uni.ethesis.data.repo;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.uni.ethesis.data.entities.DefenseSessionProfessor;
 import com.uni.ethesis.utils.DefenseSessionProfessorKey;
 
+import jakarta.persistence.LockModeType;
+
 public interface DefenseSessionProfessorRepository extends JpaRepository<DefenseSessionProfessor, DefenseSessionProfessorKey>, JpaSpecificationExecutor<DefenseSessionProfessor> {
     
     /**
@@ -32,6 +37,20 @@ public interface DefenseSessionProfessorRepository extends JpaRepository<Defense
     @Query("SELECT dsp FROM DefenseSessionProfessor dsp WHERE dsp.defenseSession.id = :defenseSessionId AND dsp.professor.id = :professorId")
     Optional<DefenseSessionProfessor> findByDefenseSessionIdAndProfessorId(@Param("defenseSessionId") UUID defenseSessionId, @Param("professorId") UUID professorId);
     
+    /**
+     * Same as above, holding the row so concurrent changes of one grade adjust the session totals in turn
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT dsp FROM DefenseSessionProfessor dsp WHERE dsp.defenseSession.id = :defenseSessionId AND dsp.professor.id = :professorId")
+    Optional<DefenseSessionProfessor> findForUpdate(@Param("defenseSessionId") UUID defenseSessionId, @Param("professorId") UUID professorId);
+
+    /**
+     * Rows of an evaluation sheet in one query, held until the sheet is saved
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT dsp FROM DefenseSessionProfessor dsp WHERE dsp.id IN :keys")
+    List<DefenseSessionProfessor> findAllByIdInForUpdate(@Param("keys") Collection<DefenseSessionProfessorKey> keys);
+
     /**
      * Check if a professor exists in a specific defense session
      */
@@ -50,6 +69,12 @@ public interface DefenseSessionProfessorRepository extends JpaRepository<Defense
     @Query("SELECT dsp FROM DefenseSessionProfessor dsp WHERE dsp.defenseSession.id = :defenseSessionId AND dsp.grade IS NULL")
     List<DefenseSessionProfessor> findNotGradedByDefenseSessionId(@Param("defenseSessionId") UUID defenseSessionId);
     
+    /**
+     * Grades submitted for a specific defense session (see FinalGradePolicy)
+     */
+    @Query("SELECT dsp.grade FROM DefenseSessionProfessor dsp WHERE dsp.defenseSession.id = :defenseSessionId AND dsp.grade IS NOT NULL")
+    List<Integer> findGradesByDefenseSessionId(@Param("defenseSessionId") UUID defenseSessionId);
+    
     /**
      * Count professors for a specific defense session
      */
@@ -61,4 +86,19 @@ public interface DefenseSessionProfessorRepository extends JpaRepository<Defense
      */
     @Query("SELECT AVG(dsp.grade) FROM DefenseSessionProfessor dsp WHERE dsp.defenseSession.id = :defenseSessionId AND dsp.grade IS NOT NULL")
     Double getAverageGradeByDefenseSessionId(@Param("defenseSessionId") UUID defenseSessionId);
+
+    // Archival
+    @Query("SELECT dsp FROM DefenseSessionProfessor dsp " +
+           "WHERE dsp.defenseSession.id IN (SELECT ds.id FROM DefenseSession ds WHERE ds.thesis.id IN :thesisIds)")
+    List<DefenseSessionProfessor> findByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DefenseSessionProfessor dsp " +
+           "WHERE dsp.defenseSession.id IN (SELECT ds.id FROM DefenseSession ds WHERE ds.thesis.id IN :thesisIds)")
+    int deleteByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+
+    // Every committee booking as [professorId, defenseSessionId, dateAndTime] (ProfessorBookingIndex)
+    @Query("SELECT dsp.professor.id, dsp.defenseSession.id, dsp.defenseSession.dateAndTime FROM DefenseSessionProfessor dsp " +
+           "WHERE dsp.defenseSession.dateAndTime IS NOT NULL")
+    List<Object[]> findAllBookings();
 }
@@ -1,15 +1,18 @@
 package com.uni.ethesis.data.repo;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.uni.ethesis.data.dto.CommitteeGradeTotals;
 import com.uni.ethesis.data.entities.DefenseSession;
 
 public interface DefenseSessionRepository extends JpaRepository<DefenseSession, UUID>, JpaSpecificationExecutor<DefenseSession> {
@@ -36,4 +39,40 @@ public interface DefenseSessionRepository extends JpaRepository<DefenseSession,
     // Find sessions by teacher/professor
     @Query("SELECT ds FROM DefenseSession ds JOIN ds.professors dsp WHERE dsp.professor.id = :teacherId")
     List<DefenseSession> findByTeacherId(@Param("teacherId") UUID teacherId);
-}
\ No newline at end of file
+
+    // Committee grading totals (see DefenseSessionProfessorService)
+    @Query("SELECT new com.uni.ethesis.data.dto.CommitteeGradeTotals(ds.professorCount, ds.gradedCount, ds.gradeSum) " +
+           "FROM DefenseSession ds WHERE ds.id = :id")
+    Optional<CommitteeGradeTotals> findGradeTotalsById(@Param("id") UUID id);
+
+    @Modifying
+    @Query("UPDATE DefenseSession ds SET ds.professorCount = ds.professorCount + :professors, " +
+           "ds.gradedCount = ds.gradedCount + :graded, ds.gradeSum = ds.gradeSum + :gradeSum " +
+           "WHERE ds.id = :id")
+    int adjustGradeTotals(@Param("id") UUID id, @Param("professors") int professors,
+                          @Param("graded") int graded, @Param("gradeSum") long gradeSum);
+
+    // Sessions among the given ones whose committee has fully graded, as [id, thesisId, professorCount, gradedCount, gradeSum]
+    @Query("SELECT ds.id, ds.thesis.id, ds.professorCount, ds.gradedCount, ds.gradeSum FROM DefenseSession ds " +
+           "WHERE ds.id IN :ids AND ds.professorCount > 0 AND ds.gradedCount = ds.professorCount")
+    List<Object[]> findCompleteGradeTotalsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Repairs totals that drifted from defense_session_professors; returns the number of sessions fixed
+    String PROFESSORS = "(SELECT COUNT(dsp) FROM DefenseSessionProfessor dsp WHERE dsp.defenseSession.id = ds.id)";
+    String GRADED = "(SELECT COUNT(dsp) FROM DefenseSessionProfessor dsp WHERE dsp.defenseSession.id = ds.id AND dsp.grade IS NOT NULL)";
+    String GRADE_SUM = "(SELECT COALESCE(SUM(dsp.grade), 0) FROM DefenseSessionProfessor dsp WHERE dsp.defenseSession.id = ds.id)";
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE DefenseSession ds SET ds.professorCount = " + PROFESSORS + ", ds.gradedCount = " + GRADED +
+           ", ds.gradeSum = " + GRADE_SUM + " " +
+           "WHERE ds.professorCount <> " + PROFESSORS + " OR ds.gradedCount <> " + GRADED + " OR ds.gradeSum <> " + GRADE_SUM)
+    int reconcileGradeTotals();
+
+    // Archival
+    @Query("SELECT ds FROM DefenseSession ds WHERE ds.thesis.id IN :thesisIds ORDER BY ds.createdAt, ds.id")
+    List<DefenseSession> findByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DefenseSession ds WHERE ds.thesis.id IN :thesisIds")
+    int deleteByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+}
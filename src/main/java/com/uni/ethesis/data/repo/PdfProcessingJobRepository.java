@@ -0,0 +1,46 @@
+package com.uni.ethesis.data.repo;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.uni.ethesis.data.entities.PdfProcessingJob;
+import com.uni.ethesis.enums.PdfJobStatus;
+
+public interface PdfProcessingJobRepository extends JpaRepository<PdfProcessingJob, UUID> {
+
+    // Due jobs and jobs whose lease ran out, oldest first. SKIP LOCKED lets several nodes
+    // claim concurrently without handing out the same job twice.
+    @Query(value = "SELECT * FROM pdf_processing_jobs " +
+                   "WHERE (status = 'PENDING' AND next_attempt_at <= :now) OR (status = 'RUNNING' AND locked_until < :now) " +
+                   "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<PdfProcessingJob> lockClaimable(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PdfProcessingJob j SET j.status = :status, j.attempts = j.attempts + 1, j.lockedUntil = :lockedUntil " +
+           "WHERE j.id IN :ids")
+    int markClaimed(@Param("ids") Collection<UUID> ids,
+                    @Param("status") PdfJobStatus status,
+                    @Param("lockedUntil") OffsetDateTime lockedUntil);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PdfProcessingJob j SET j.status = :status, j.lockedUntil = null, j.lastError = :error " +
+           "WHERE j.id IN :ids")
+    int markFailed(@Param("ids") Collection<UUID> ids,
+                   @Param("status") PdfJobStatus status,
+                   @Param("error") String error);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM PdfProcessingJob j WHERE j.thesisId IN :thesisIds")
+    int deleteByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+
+    Optional<PdfProcessingJob> findFirstByThesisIdOrderByCreatedAtDesc(UUID thesisId);
+}
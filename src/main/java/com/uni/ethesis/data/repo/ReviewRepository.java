@@ -1,11 +1,14 @@
 package com.uni.ethesis.data.repo;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -32,4 +35,41 @@ public interface ReviewRepository extends JpaRepository<Review, UUID>, JpaSpecif
     // Find latest review for thesis (in case of resubmissions)
     @Query("SELECT r FROM Review r WHERE r.thesis.id = :thesisId ORDER BY r.createdAt DESC")
     Optional<Review> findLatestByThesisId(@Param("thesisId") UUID thesisId);
-}
\ No newline at end of file
+
+    // Reviews per conclusion, used to build ThesisStatistics
+    @Query("SELECT r.conclusion, COUNT(r) FROM Review r GROUP BY r.conclusion")
+    List<Object[]> countGroupedByConclusion();
+
+    // Comment counters, maintained in the transaction that creates or deletes the comment.
+    // Single-row atomic updates, so concurrent comments on one review cannot lose a count.
+    @Modifying
+    @Query("UPDATE Review r SET r.commentCount = r.commentCount + 1, " +
+           "r.lastCommentAt = CASE WHEN r.lastCommentAt IS NULL OR r.lastCommentAt < :commentedAt " +
+           "THEN :commentedAt ELSE r.lastCommentAt END " +
+           "WHERE r.id = :id")
+    int incrementCommentCount(@Param("id") UUID id, @Param("commentedAt") OffsetDateTime commentedAt);
+
+    // Runs after the comment delete is flushed, so the newest remaining comment is picked up
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Review r SET r.commentCount = CASE WHEN r.commentCount > 0 THEN r.commentCount - 1 ELSE 0 END, " +
+           "r.lastCommentAt = (SELECT MAX(c.createdAt) FROM Comment c WHERE c.review.id = r.id) " +
+           "WHERE r.id = :id")
+    int decrementCommentCount(@Param("id") UUID id);
+
+    // Repairs counters that drifted from the comments table; returns the number of reviews fixed
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Review r SET " +
+           "r.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.review.id = r.id), " +
+           "r.lastCommentAt = (SELECT MAX(c.createdAt) FROM Comment c WHERE c.review.id = r.id) " +
+           "WHERE r.commentCount <> (SELECT COUNT(c) FROM Comment c WHERE c.review.id = r.id) " +
+           "OR r.lastCommentAt IS DISTINCT FROM (SELECT MAX(c.createdAt) FROM Comment c WHERE c.review.id = r.id)")
+    int reconcileCommentCounts();
+
+    // Archival
+    @Query("SELECT r FROM Review r WHERE r.thesis.id IN :thesisIds ORDER BY r.createdAt, r.id")
+    List<Review> findByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Review r WHERE r.thesis.id IN :thesisIds")
+    int deleteByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+}
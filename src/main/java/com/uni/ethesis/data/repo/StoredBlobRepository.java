@@ -0,0 +1,62 @@
+package com.uni.ethesis.data.repo;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.uni.ethesis.data.entities.StoredBlob;
+
+import jakarta.persistence.LockModeType;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    // Registers a blob or takes another reference to it; the row lock serializes concurrent
+    // uploads of the same content and the garbage collector
+    @Modifying
+    @Query(value = "INSERT INTO stored_blobs (hash, size_bytes, ref_count, created_at) " +
+                   "VALUES (:hash, :sizeBytes, 1, now()) " +
+                   "ON CONFLICT (hash) DO UPDATE SET ref_count = stored_blobs.ref_count + 1, orphaned_at = NULL",
+           nativeQuery = true)
+    int acquire(@Param("hash") String hash, @Param("sizeBytes") long sizeBytes);
+
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount - 1, " +
+           "b.orphanedAt = CASE WHEN b.refCount = 1 THEN :now ELSE b.orphanedAt END " +
+           "WHERE b.hash = :hash AND b.refCount > 0")
+    int release(@Param("hash") String hash, @Param("now") OffsetDateTime now);
+
+    @Query("SELECT b.hash FROM StoredBlob b WHERE b.refCount = 0 AND b.orphanedAt < :cutoff ORDER BY b.orphanedAt")
+    List<String> findOrphanHashes(@Param("cutoff") OffsetDateTime cutoff, Pageable pageable);
+
+    // Registers a file found on disk without a row as an orphan, so the garbage collector
+    // deletes it under the usual row lock; an upload that registered it first wins
+    @Modifying
+    @Query(value = "INSERT INTO stored_blobs (hash, size_bytes, ref_count, orphaned_at, created_at) " +
+                   "VALUES (:hash, :sizeBytes, 0, :now, :now) " +
+                   "ON CONFLICT (hash) DO NOTHING",
+           nativeQuery = true)
+    int adoptOrphan(@Param("hash") String hash, @Param("sizeBytes") long sizeBytes, @Param("now") OffsetDateTime now);
+
+    @Query("SELECT b.hash FROM StoredBlob b WHERE b.hash IN :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT b.hash FROM StoredBlob b WHERE b.hash > :after ORDER BY b.hash")
+    List<String> findHashesAfter(@Param("after") String after, Pageable pageable);
+
+    // Holding the rows blocks uploads and releases of these blobs while references are counted
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM StoredBlob b WHERE b.hash IN :hashes ORDER BY b.hash")
+    List<StoredBlob> findByHashInForUpdate(@Param("hashes") Collection<String> hashes);
+
+    // Re-checks the count so a blob re-acquired since the scan is left alone
+    @Modifying
+    @Query("DELETE FROM StoredBlob b WHERE b.hash = :hash AND b.refCount = 0 AND b.orphanedAt < :cutoff")
+    int deleteOrphan(@Param("hash") String hash, @Param("cutoff") OffsetDateTime cutoff);
+}
@@ -1,9 +1,13 @@
 package com.uni.ethesis.data.repo;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.uni.ethesis.data.entities.Teacher;
 import com.uni.ethesis.data.entities.User;
@@ -12,4 +16,13 @@ public interface TeacherRepository extends JpaRepository<Teacher, UUID>, JpaSpec
     Teacher findByUserEmailIgnoreCase(String email);
     Teacher findByUserId(UUID userId);
     Teacher findByUser(User user);
-}
\ No newline at end of file
+
+    // Which of the given users are teachers (see UserRoleIndex)
+    @Query("SELECT t.user.id FROM Teacher t WHERE t.user.id IN :userIds")
+    List<UUID> findUserIdsByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    // Teachers of the departments holding a defense
+    @Query("SELECT DISTINCT t FROM Teacher t, UserInDepartment uid, DepartmentDefense dd " +
+           "WHERE uid.user.id = t.user.id AND uid.department.id = dd.department.id AND dd.defense.id = :defenseId")
+    List<Teacher> findByDefenseDepartments(@Param("defenseId") UUID defenseId);
+}
@@ -0,0 +1,29 @@
+package com.uni.ethesis.data.repo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.uni.ethesis.data.entities.ThesisDocument;
+
+public interface ThesisDocumentRepository extends JpaRepository<ThesisDocument, UUID> {
+
+    @Query("SELECT d FROM ThesisDocument d WHERE d.thesis.id = :thesisId")
+    Optional<ThesisDocument> findByThesisId(@Param("thesisId") UUID thesisId);
+
+    @Query("SELECT d.thesis.id FROM ThesisDocument d WHERE d.valid = true AND d.textLength > 0")
+    List<UUID> findIndexableThesisIds();
+
+    @Query("SELECT d.extractedText FROM ThesisDocument d WHERE d.thesis.id = :thesisId")
+    Optional<String> findExtractedTextByThesisId(@Param("thesisId") UUID thesisId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ThesisDocument d WHERE d.thesis.id IN :thesisIds")
+    int deleteByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+}
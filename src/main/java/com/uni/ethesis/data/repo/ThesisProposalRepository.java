@@ -1,11 +1,16 @@
 package com.uni.ethesis.data.repo;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.uni.ethesis.data.dto.ThesisProposalDto;
 import com.uni.ethesis.data.entities.ThesisProposal;
 import com.uni.ethesis.enums.ThesisProposalStatus;
 
@@ -13,4 +18,21 @@ public interface ThesisProposalRepository extends JpaRepository<ThesisProposal,
     List<ThesisProposal> findByStudentId(UUID studentId);
     List<ThesisProposal> findByTeacherId(UUID teacherId);
     List<ThesisProposal> findByStatus(ThesisProposalStatus status);
-}
\ No newline at end of file
+
+    // Flat rows for building ProposalSearchIndex, without loading student/teacher entities
+    @Query("SELECT new com.uni.ethesis.data.dto.ThesisProposalDto(" +
+           "p.id, p.title, p.goal, p.objectives, p.technology, p.student.id, p.teacher.id, p.status) " +
+           "FROM ThesisProposal p")
+    List<ThesisProposalDto> findAllSearchDocuments();
+
+    // [id, signature] pairs for ProposalDuplicateIndex; the signature is null until computed
+    @Query("SELECT p.id, p.minhashSignature FROM ThesisProposal p")
+    List<Object[]> findAllSignatures();
+
+    @Query("SELECT p.id, p.title FROM ThesisProposal p WHERE p.id IN :ids")
+    List<Object[]> findTitlesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE ThesisProposal p SET p.minhashSignature = :signature WHERE p.id = :id")
+    int updateSignature(@Param("id") UUID id, @Param("signature") byte[] signature);
+}
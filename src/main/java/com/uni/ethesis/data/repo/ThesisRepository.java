@@ -2,18 +2,31 @@ package com.uni.ethesis.data.repo;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.uni.ethesis.data.dto.ThesisDetailView;
+import com.uni.ethesis.data.dto.ThesisDto;
+import com.uni.ethesis.data.dto.ThesisExportRow;
 import com.uni.ethesis.data.entities.Thesis;
 import com.uni.ethesis.enums.ThesisStatus;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 public interface ThesisRepository extends JpaRepository<Thesis, UUID>, JpaSpecificationExecutor<Thesis> {
     
     // Find thesis by proposal ID
@@ -27,12 +40,20 @@ public interface ThesisRepository extends JpaRepository<Thesis, UUID>, JpaSpecif
     @Query("SELECT t FROM Thesis t WHERE t.proposal.teacher.id = :teacherId")
     List<Thesis> findByTeacherId(@Param("teacherId") UUID teacherId);
     
-    // Find theses by title containing text (case insensitive)
+    // Find theses by title containing text (case insensitive). Full scan; only used
+    // until ProposalSearchIndex has been built
     @Query("SELECT t FROM Thesis t WHERE LOWER(t.proposal.title) LIKE LOWER(CONCAT('%', :titleText, '%'))")
     List<Thesis> findByTitleContaining(@Param("titleText") String titleText);
+
+    // Theses for a set of proposals, e.g. title search hits from ProposalSearchIndex
+    @Query("SELECT t FROM Thesis t WHERE t.proposal.id IN :proposalIds")
+    List<Thesis> findByProposalIdIn(@Param("proposalIds") Collection<UUID> proposalIds);
     
-    // Find theses defended in a time period
-    @Query("SELECT t FROM Thesis t WHERE t.status = :status AND t.lastModifiedAt BETWEEN :startDate AND :endDate")
+    // Find theses that entered a status in a time period and are still in it, driven by
+    // an index range scan on the status history instead of the mutable lastModifiedAt
+    @Query("SELECT t FROM Thesis t WHERE t.status = :status AND t.id IN (" +
+           "SELECT h.thesisId FROM ThesisStatusTransition h " +
+           "WHERE h.toStatus = :status AND h.transitionedAt BETWEEN :startDate AND :endDate)")
     List<Thesis> findByStatusAndDateRange(@Param("status") ThesisStatus status, 
                                           @Param("startDate") OffsetDateTime startDate, 
                                           @Param("endDate") OffsetDateTime endDate);
@@ -49,4 +70,198 @@ public interface ThesisRepository extends JpaRepository<Thesis, UUID>, JpaSpecif
     @Query("SELECT COUNT(t) FROM Thesis t WHERE t.proposal.teacher.id = :teacherId AND t.status = 'DEFENDED' AND t.finalGrade >= :minPassingGrade")
     long countSuccessfulDefensesByTeacher(@Param("teacherId") UUID teacherId, 
                                           @Param("minPassingGrade") BigDecimal minPassingGrade);
-}
\ No newline at end of file
+    
+    // Work queue projections: rows are read straight into ThesisDto so the eager
+    // proposal/student/teacher graph is never hydrated. Served by idx_thesis_status_created_at.
+    String QUEUE_PROJECTION = "SELECT new com.uni.ethesis.data.dto.ThesisDto(t.id, t.pdfPath, t.pdfHash, t.finalGrade, t.status, " +
+                              "t.proposal.id, t.createdAt, t.lastModifiedAt) FROM Thesis t ";
+    String AFTER_CURSOR = "AND (t.createdAt > :afterCreatedAt OR (t.createdAt = :afterCreatedAt AND t.id > :afterId)) ";
+    String NOT_REVIEWED = "AND NOT EXISTS (SELECT r.id FROM Review r WHERE r.thesis.id = t.id) ";
+    String QUEUE_ORDER = "ORDER BY t.createdAt ASC, t.id ASC";
+
+    // All theses in a status, oldest first
+    @Query(QUEUE_PROJECTION + "WHERE t.status = :status " + QUEUE_ORDER)
+    List<ThesisDto> findQueueByStatus(@Param("status") ThesisStatus status);
+
+    // First page of the status queue
+    @Query(QUEUE_PROJECTION + "WHERE t.status = :status " + QUEUE_ORDER)
+    List<ThesisDto> findQueuePage(@Param("status") ThesisStatus status, Pageable pageable);
+
+    // Next page of the status queue after the (createdAt, id) cursor
+    @Query(QUEUE_PROJECTION + "WHERE t.status = :status " + AFTER_CURSOR + QUEUE_ORDER)
+    List<ThesisDto> findQueuePageAfter(@Param("status") ThesisStatus status,
+                                       @Param("afterCreatedAt") OffsetDateTime afterCreatedAt,
+                                       @Param("afterId") UUID afterId,
+                                       Pageable pageable);
+
+    // Ids of theses in a status that have no review at all (single anti-join)
+    @Query("SELECT t.id FROM Thesis t WHERE t.status = :status " + NOT_REVIEWED + QUEUE_ORDER)
+    List<UUID> findUnreviewedIdsByStatus(@Param("status") ThesisStatus status);
+
+    // First page of theses in a status that have no review yet
+    @Query(QUEUE_PROJECTION + "WHERE t.status = :status " + NOT_REVIEWED + QUEUE_ORDER)
+    List<ThesisDto> findUnreviewedQueuePage(@Param("status") ThesisStatus status, Pageable pageable);
+
+    // Next page of theses in a status that have no review yet
+    @Query(QUEUE_PROJECTION + "WHERE t.status = :status " + NOT_REVIEWED + AFTER_CURSOR + QUEUE_ORDER)
+    List<ThesisDto> findUnreviewedQueuePageAfter(@Param("status") ThesisStatus status,
+                                                 @Param("afterCreatedAt") OffsetDateTime afterCreatedAt,
+                                                 @Param("afterId") UUID afterId,
+                                                 Pageable pageable);
+
+    // Everything the thesis page needs in one round trip. The latest review and
+    // session are picked by correlated LIMIT 1 subqueries so the join yields one row.
+    @Query("SELECT new com.uni.ethesis.data.dto.ThesisDetailView(" +
+           "t.id, t.status, t.finalGrade, t.pdfPath, t.pdfHash, t.createdAt, t.lastModifiedAt, " +
+           "p.id, p.title, p.goal, p.objectives, p.technology, p.status, " +
+           "s.id, s.universityId, su.firstName, su.lastName, su.email, " +
+           "te.id, te.position, tu.firstName, tu.lastName, tu.email, " +
+           "r.id, r.teacher.id, r.conclusion, r.content, r.createdAt, " +
+           "ds.id, ds.dateAndTime, ds.notes, d.id, d.location, d.date) " +
+           "FROM Thesis t " +
+           "LEFT JOIN t.proposal p " +
+           "LEFT JOIN p.student s LEFT JOIN s.user su " +
+           "LEFT JOIN p.teacher te LEFT JOIN te.user tu " +
+           "LEFT JOIN Review r ON r.id = (SELECT r2.id FROM Review r2 WHERE r2.thesis.id = t.id " +
+           "ORDER BY r2.createdAt DESC, r2.id DESC LIMIT 1) " +
+           "LEFT JOIN DefenseSession ds ON ds.id = (SELECT ds2.id FROM DefenseSession ds2 WHERE ds2.thesis.id = t.id " +
+           "ORDER BY ds2.createdAt DESC, ds2.id DESC LIMIT 1) " +
+           "LEFT JOIN ds.defense d " +
+           "WHERE t.id = :id")
+    Optional<ThesisDetailView> findDetailViewById(@Param("id") UUID id);
+
+    // Defended theses for the archive export. The defense time is taken from the status
+    // history, falling back to the last modification for theses defended before it existed.
+    // Read as a cursor: the caller must consume the stream inside a transaction and close it.
+    String DEFENDED_AT = "COALESCE((SELECT MAX(h.transitionedAt) FROM ThesisStatusTransition h " +
+           "WHERE h.thesisId = t.id AND h.toStatus = com.uni.ethesis.enums.ThesisStatus.DEFENDED), t.lastModifiedAt)";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT new com.uni.ethesis.data.dto.ThesisExportRow(" +
+           "t.id, p.title, s.universityId, su.firstName, su.lastName, tu.firstName, tu.lastName, " +
+           "t.finalGrade, " + DEFENDED_AT + ", t.pdfPath, t.pdfHash) " +
+           "FROM Thesis t " +
+           "LEFT JOIN t.proposal p " +
+           "LEFT JOIN p.student s LEFT JOIN s.user su " +
+           "LEFT JOIN p.teacher te LEFT JOIN te.user tu " +
+           "WHERE t.status = com.uni.ethesis.enums.ThesisStatus.DEFENDED " +
+           "AND " + DEFENDED_AT + " >= :from AND " + DEFENDED_AT + " < :to " +
+           "ORDER BY t.id")
+    Stream<ThesisExportRow> streamDefendedForExport(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    // Theses waiting for defense without a session yet, as [thesisId, supervisorId], oldest first.
+    // The thesis rows stay locked until the caller commits; rows another scheduler holds are skipped.
+    @Query(value = "SELECT t.id, p.teacher_id FROM theses t LEFT JOIN thesis_proposals p ON p.id = t.proposal_id " +
+                   "WHERE t.status = 'WAITING_FOR_DEFENSE' " +
+                   "AND NOT EXISTS (SELECT 1 FROM defense_sessions ds WHERE ds.thesis_id = t.id) " +
+                   "ORDER BY t.created_at, t.id FOR UPDATE OF t SKIP LOCKED",
+           nativeQuery = true)
+    List<Object[]> lockUnscheduledForDefense();
+
+    // Serializes scheduling a thesis by hand with the bulk scheduler
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Thesis t WHERE t.id = :id")
+    Optional<Thesis> findByIdForUpdate(@Param("id") UUID id);
+
+    // Status reads and compare-and-set writes used by ThesisStatusTransitionService.
+    // The updates only match while the row is still in the expected status, so a
+    // concurrent transition makes them return 0 instead of overwriting it.
+    @Query("SELECT t.status FROM Thesis t WHERE t.id = :id")
+    Optional<ThesisStatus> findStatusById(@Param("id") UUID id);
+
+    @Query("SELECT t.pdfHash FROM Thesis t WHERE t.id = :id")
+    Optional<String> findPdfHashById(@Param("id") UUID id);
+
+    // Holds the thesis row, so an upload replacing the PDF waits until the caller commits
+    @Query(value = "SELECT t.pdf_hash FROM theses t WHERE t.id = :id FOR UPDATE", nativeQuery = true)
+    Optional<String> lockPdfHashById(@Param("id") UUID id);
+
+    // [hash, number of theses referencing it]
+    @Query("SELECT t.pdfHash, COUNT(t) FROM Thesis t WHERE t.pdfHash IN :hashes GROUP BY t.pdfHash")
+    List<Object[]> countByPdfHashIn(@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT t.pdfPath FROM Thesis t WHERE t.pdfPath IN :paths")
+    List<String> findPdfPathsIn(@Param("paths") Collection<String> paths);
+
+    @Modifying
+    @Query("UPDATE Thesis t SET t.pdfPath = :pdfPath WHERE t.pdfHash = :pdfHash")
+    int updatePdfPathByHash(@Param("pdfHash") String pdfHash, @Param("pdfPath") String pdfPath);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Thesis t SET t.status = :target, t.lastModifiedAt = :now " +
+           "WHERE t.id = :id AND t.status = :expected")
+    int compareAndSetStatus(@Param("id") UUID id,
+                            @Param("expected") ThesisStatus expected,
+                            @Param("target") ThesisStatus target,
+                            @Param("now") OffsetDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Thesis t SET t.status = :target, t.finalGrade = :grade, t.lastModifiedAt = :now " +
+           "WHERE t.id = :id AND t.status = :expected")
+    int compareAndSetStatusAndGrade(@Param("id") UUID id,
+                                    @Param("expected") ThesisStatus expected,
+                                    @Param("target") ThesisStatus target,
+                                    @Param("grade") BigDecimal grade,
+                                    @Param("now") OffsetDateTime now);
+
+    // Rows for building ThesisStatistics
+    @Query("SELECT t.status, COUNT(t) FROM Thesis t GROUP BY t.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT t.id, t.finalGrade FROM Thesis t WHERE t.finalGrade IS NOT NULL")
+    List<Object[]> findGradedIds();
+
+    @Query("SELECT t.id, t.proposal.teacher.id FROM Thesis t " +
+           "WHERE t.status = com.uni.ethesis.enums.ThesisStatus.DEFENDED AND t.finalGrade >= :minPassingGrade")
+    List<Object[]> findPassedIdsWithTeacher(@Param("minPassingGrade") BigDecimal minPassingGrade);
+
+    @Query("SELECT t.proposal.teacher.id FROM Thesis t " +
+           "WHERE t.id = :id AND t.status = com.uni.ethesis.enums.ThesisStatus.DEFENDED AND t.finalGrade >= :minPassingGrade")
+    Optional<UUID> findTeacherIdIfPassed(@Param("id") UUID id, @Param("minPassingGrade") BigDecimal minPassingGrade);
+
+    // Set-based variants for bulk operations (see ThesisStatusTransitionService.transitionAll)
+    @Query("SELECT t.id, t.status FROM Thesis t WHERE t.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Thesis t SET t.status = :target, t.lastModifiedAt = :now " +
+           "WHERE t.id IN :ids AND t.status = :expected")
+    int compareAndSetStatusIn(@Param("ids") Collection<UUID> ids,
+                              @Param("expected") ThesisStatus expected,
+                              @Param("target") ThesisStatus target,
+                              @Param("now") OffsetDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Thesis t SET t.status = :target, t.finalGrade = :grade, t.lastModifiedAt = :now " +
+           "WHERE t.id IN :ids AND t.status = :expected")
+    int compareAndSetStatusAndGradeIn(@Param("ids") Collection<UUID> ids,
+                                      @Param("expected") ThesisStatus expected,
+                                      @Param("target") ThesisStatus target,
+                                      @Param("grade") BigDecimal grade,
+                                      @Param("now") OffsetDateTime now);
+
+    // Rows a bulk update touched, identified by the timestamp it wrote
+    @Query("SELECT t.id FROM Thesis t WHERE t.id IN :ids AND t.lastModifiedAt = :modifiedAt")
+    List<UUID> findIdsModifiedAt(@Param("ids") Collection<UUID> ids, @Param("modifiedAt") OffsetDateTime modifiedAt);
+
+    // Theses still in a status they entered before the deadline
+    @Query("SELECT t.id FROM Thesis t WHERE t.status = :status AND NOT EXISTS (" +
+           "SELECT h.id FROM ThesisStatusTransition h " +
+           "WHERE h.thesisId = t.id AND h.toStatus = :status AND h.transitionedAt >= :deadline)")
+    List<UUID> findIdsInStatusSince(@Param("status") ThesisStatus status, @Param("deadline") OffsetDateTime deadline);
+
+    // Archival: closed theses with no status activity since the cutoff, oldest first
+    @Query("SELECT t.id FROM Thesis t WHERE t.status IN :statuses AND t.createdAt < :cutoff AND NOT EXISTS (" +
+           "SELECT h.id FROM ThesisStatusTransition h WHERE h.thesisId = t.id AND h.transitionedAt >= :cutoff) " +
+           "ORDER BY t.createdAt, t.id")
+    List<UUID> findArchivableIds(@Param("statuses") Collection<ThesisStatus> statuses,
+                                 @Param("cutoff") OffsetDateTime cutoff,
+                                 Pageable pageable);
+
+    @Query("SELECT t FROM Thesis t LEFT JOIN FETCH t.proposal p WHERE t.id IN :ids")
+    List<Thesis> findWithProposalByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Thesis t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
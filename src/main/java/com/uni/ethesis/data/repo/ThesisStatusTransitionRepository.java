@@ -0,0 +1,44 @@
+package com.uni.ethesis.data.repo;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.uni.ethesis.data.entities.ThesisStatusTransition;
+import com.uni.ethesis.enums.ThesisStatus;
+
+public interface ThesisStatusTransitionRepository extends JpaRepository<ThesisStatusTransition, UUID> {
+
+    // Full history of one thesis, oldest first
+    @Query("SELECT h FROM ThesisStatusTransition h WHERE h.thesisId = :thesisId ORDER BY h.transitionedAt, h.id")
+    List<ThesisStatusTransition> findByThesisId(@Param("thesisId") UUID thesisId);
+
+    // Theses that entered a status within a period (range scan on to_status, transitioned_at)
+    @Query("SELECT COUNT(DISTINCT h.thesisId) FROM ThesisStatusTransition h " +
+           "WHERE h.toStatus = :status AND h.transitionedAt BETWEEN :startDate AND :endDate")
+    long countThesesEnteringStatus(@Param("status") ThesisStatus status,
+                                   @Param("startDate") OffsetDateTime startDate,
+                                   @Param("endDate") OffsetDateTime endDate);
+
+    // Seeds one row for theses that predate the history table. Their last modification
+    // is the best available guess for when they reached their current status.
+    @Modifying
+    @Query(value = "INSERT INTO thesis_status_transitions (id, thesis_id, from_status, to_status, transitioned_at, created_at) " +
+                   "SELECT gen_random_uuid(), t.id, NULL, t.status, COALESCE(t.last_modified_at, t.created_at), now() " +
+                   "FROM theses t " +
+                   "WHERE t.status IS NOT NULL " +
+                   "AND NOT EXISTS (SELECT 1 FROM thesis_status_transitions h WHERE h.thesis_id = t.id)",
+           nativeQuery = true)
+    int backfillUntrackedTheses();
+
+    // When each thesis last changed status
+    @Query("SELECT h.thesisId, MAX(h.transitionedAt) FROM ThesisStatusTransition h " +
+           "WHERE h.thesisId IN :thesisIds GROUP BY h.thesisId")
+    List<Object[]> findLastTransitionTimes(@Param("thesisIds") Collection<UUID> thesisIds);
+}
@@ -0,0 +1,40 @@
+package com.uni.ethesis.data.repo;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.uni.ethesis.data.entities.UploadSession;
+
+import jakarta.persistence.LockModeType;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    // Serializes range bookkeeping of parallel chunks and completion
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> findByIdForUpdate(@Param("id") UUID id);
+
+    @Query("SELECT s.id FROM UploadSession s WHERE s.expiresAt < :now ORDER BY s.expiresAt")
+    List<UUID> findExpiredIds(@Param("now") OffsetDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.id = :id AND s.expiresAt < :now")
+    int deleteExpired(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+
+    @Query("SELECT s.id FROM UploadSession s WHERE s.thesisId IN :thesisIds")
+    List<UUID> findIdsByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM UploadSession s WHERE s.thesisId IN :thesisIds")
+    int deleteByThesisIdIn(@Param("thesisIds") Collection<UUID> thesisIds);
+}
@@ -0,0 +1,9 @@
+package com.uni.ethesis.enums;
+
+public enum BulkEvaluationOutcome {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    INVALID_GRADE,
+    DUPLICATE
+}
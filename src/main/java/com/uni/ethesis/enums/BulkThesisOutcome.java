@@ -0,0 +1,11 @@
+package com.uni.ethesis.enums;
+
+public enum BulkThesisOutcome {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    MISSING_ID,
+    INVALID_TRANSITION,
+    INVALID_GRADE,
+    CONFLICT
+}
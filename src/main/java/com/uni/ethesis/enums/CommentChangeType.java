@@ -0,0 +1,7 @@
+package com.uni.ethesis.enums;
+
+public enum CommentChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,8 @@
+package com.uni.ethesis.enums;
+
+public enum PdfJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
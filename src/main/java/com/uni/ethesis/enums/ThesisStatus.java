@@ -1,5 +1,11 @@
 package com.uni.ethesis.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 import lombok.ToString;
 
 @ToString
@@ -8,4 +14,23 @@ public enum ThesisStatus {
     WAITING_FOR_DEFENSE,
     DEFENDED,
     FAILED;
+
+    // Declared transition table, enforced by ThesisStatusTransitionService.
+    // Re-submitting a PDF sends a thesis back to review; DEFENDED is terminal.
+    private static final Map<ThesisStatus, Set<ThesisStatus>> TRANSITIONS = new EnumMap<>(ThesisStatus.class);
+
+    static {
+        TRANSITIONS.put(WAITING_FOR_REVIEW, EnumSet.of(WAITING_FOR_DEFENSE));
+        TRANSITIONS.put(WAITING_FOR_DEFENSE, EnumSet.of(DEFENDED, FAILED, WAITING_FOR_REVIEW));
+        TRANSITIONS.put(DEFENDED, EnumSet.noneOf(ThesisStatus.class));
+        TRANSITIONS.put(FAILED, EnumSet.of(WAITING_FOR_REVIEW));
+    }
+
+    public Set<ThesisStatus> allowedTransitions() {
+        return Collections.unmodifiableSet(TRANSITIONS.get(this));
+    }
+
+    public boolean canTransitionTo(ThesisStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
 }
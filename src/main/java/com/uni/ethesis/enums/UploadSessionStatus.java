@@ -0,0 +1,6 @@
+package com.uni.ethesis.enums;
+
+public enum UploadSessionStatus {
+    OPEN,
+    COMPLETED
+}
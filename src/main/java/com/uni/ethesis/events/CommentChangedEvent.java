@@ -0,0 +1,23 @@
+package com.uni.ethesis.events;
+
+import java.util.UUID;
+
+import com.uni.ethesis.data.dto.CommentDto;
+import com.uni.ethesis.enums.CommentChangeType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by CommentService inside the transaction that changed the comment. For
+ * deletions {@code comment} only carries the id and review id.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CommentChangedEvent {
+    private final UUID reviewId;
+    private final CommentChangeType type;
+    private final CommentDto comment;
+}
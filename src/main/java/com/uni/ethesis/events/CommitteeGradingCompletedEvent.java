@@ -0,0 +1,22 @@
+package com.uni.ethesis.events;
+
+import java.util.UUID;
+
+import com.uni.ethesis.data.dto.CommitteeGradeTotals;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by DefenseSessionProfessorService inside the transaction in which the last
+ * committee member of a defense session submitted a grade.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CommitteeGradingCompletedEvent {
+    private final UUID defenseSessionId;
+    private final UUID thesisId;
+    private final CommitteeGradeTotals totals;
+}
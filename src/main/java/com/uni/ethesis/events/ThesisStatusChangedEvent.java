@@ -0,0 +1,27 @@
+package com.uni.ethesis.events;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.uni.ethesis.enums.ThesisStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by ThesisStatusTransitionService inside the transaction that changed the
+ * status. {@code from} is null for the initial status of a new thesis; {@code finalGrade}
+ * is only set when the change came from grading.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ThesisStatusChangedEvent {
+    private final UUID thesisId;
+    private final ThesisStatus from;
+    private final ThesisStatus to;
+    private final BigDecimal finalGrade;
+    private final OffsetDateTime changedAt;
+}
@@ -0,0 +1,7 @@
+package com.uni.ethesis.exceptions;
+
+public class ProfessorBookingConflictException extends RuntimeException {
+    public ProfessorBookingConflictException(String message) {
+        super(message);
+    }
+}
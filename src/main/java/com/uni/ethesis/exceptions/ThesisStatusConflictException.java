@@ -0,0 +1,26 @@
+package com.uni.ethesis.exceptions;
+
+import java.util.UUID;
+
+import com.uni.ethesis.enums.ThesisStatus;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a thesis status change loses a race: the thesis was no longer in the
+ * expected status when the conditional update ran.
+ */
+@Getter
+public class ThesisStatusConflictException extends RuntimeException {
+
+    private final UUID thesisId;
+    private final ThesisStatus expected;
+    private final ThesisStatus actual;
+
+    public ThesisStatusConflictException(UUID thesisId, ThesisStatus expected, ThesisStatus actual) {
+        super("Thesis " + thesisId + " is in status " + actual + ", expected " + expected);
+        this.thesisId = thesisId;
+        this.expected = expected;
+        this.actual = actual;
+    }
+}
@@ -1,9 +1,13 @@
 package com.uni.ethesis.service;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import com.uni.ethesis.data.dto.CommentDto;
+import com.uni.ethesis.data.dto.KeysetPageDto;
 
 public interface CommentService {
     
@@ -30,6 +34,37 @@ public interface CommentService {
      */
     List<CommentDto> getCommentsByReviewIdNewestFirst(UUID reviewId);
     
+    /**
+     * Get one page of the comments on a review, keyset paginated on (createdAt, id)
+     * @param reviewId The ID of the review
+     * @param newestFirst Whether to page from the newest comment backwards
+     * @param cursorCreatedAt nextCreatedAt of the previous page, or null for the first page
+     * @param cursorId nextId of the previous page, or null for the first page
+     * @param size Page size
+     * @return The page and the cursor of the next one
+     */
+    KeysetPageDto<CommentDto> getCommentPage(UUID reviewId, boolean newestFirst,
+                                             OffsetDateTime cursorCreatedAt, UUID cursorId, int size);
+
+    /**
+     * Get the comments posted on a review after a cursor, oldest first. The returned cursor is
+     * always set, so clients can pass it back to fetch only what is new.
+     * @param reviewId The ID of the review
+     * @param afterCreatedAt Creation time of the last comment the client has, or null for all
+     * @param afterId ID of the last comment the client has, or null for all
+     * @param size Maximum number of comments to return
+     * @return The new comments and the cursor to poll with next
+     */
+    KeysetPageDto<CommentDto> getCommentsSince(UUID reviewId, OffsetDateTime afterCreatedAt, UUID afterId, int size);
+
+    /**
+     * Subscribe to live updates of a review: comment-created, comment-updated and
+     * comment-deleted events carrying the CommentDto, sent once the change has committed
+     * @param reviewId The ID of the review
+     * @return The event stream for the response
+     */
+    SseEmitter subscribeToReview(UUID reviewId);
+
     /**
      * Get a comment by its ID
      * @param commentId The ID of the comment
@@ -67,4 +102,11 @@ public interface CommentService {
      * @return true if the user can comment, false otherwise
      */
     boolean canUserCommentOnReview(UUID reviewId, UUID userId);
+
+    /**
+     * Recompute the comment count and last comment time of reviews whose stored values
+     * no longer match their comments. Also runs on startup, which backfills reviews that
+     * predate the counters
+     */
+    void reconcileCommentCounters();
 }
@@ -0,0 +1,15 @@
+package com.uni.ethesis.service;
+
+import java.util.UUID;
+
+import com.uni.ethesis.data.dto.DefenseScheduleDto;
+import com.uni.ethesis.data.dto.DefenseScheduleRequestDto;
+
+public interface DefenseSchedulingService {
+
+    /**
+     * Assigns the unscheduled theses waiting for defense to slots of the defense day and
+     * staffs a committee for each, then creates the sessions unless it is a dry run.
+     */
+    DefenseScheduleDto scheduleDefenseDay(UUID defenseId, DefenseScheduleRequestDto request);
+}
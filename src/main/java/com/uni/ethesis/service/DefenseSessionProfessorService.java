@@ -3,6 +3,8 @@ package com.uni.ethesis.service;
 import java.util.List;
 import java.util.UUID;
 
+import com.uni.ethesis.data.dto.BulkEvaluationReportDto;
+import com.uni.ethesis.data.dto.BulkEvaluationRequestDto;
 import com.uni.ethesis.data.dto.DefenseSessionProfessorDto;
 
 public interface DefenseSessionProfessorService {
@@ -32,6 +34,13 @@ public interface DefenseSessionProfessorService {
      */
     DefenseSessionProfessorDto updateProfessorEvaluation(UUID defenseSessionId, UUID professorId, Integer grade, String thoughts);
     
+    /**
+     * Update many professors' grades and thoughts from an evaluation sheet in one transaction
+     * @param request The evaluations, keyed by defense session and professor
+     * @return The outcome of every entry, in request order
+     */
+    BulkEvaluationReportDto updateEvaluations(BulkEvaluationRequestDto request);
+    
     /**
      * Get all professors for a specific defense session
      * @param defenseSessionId The ID of the defense session
@@ -96,4 +105,9 @@ public interface DefenseSessionProfessorService {
      * @return The number of professors assigned
      */
     long getProfessorCountForDefenseSession(UUID defenseSessionId);
+
+    /**
+     * Recompute the committee grade totals kept on defense sessions where they drifted
+     */
+    void reconcileGradeTotals();
 }
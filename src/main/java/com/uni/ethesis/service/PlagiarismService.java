@@ -0,0 +1,12 @@
+package com.uni.ethesis.service;
+
+import java.util.UUID;
+
+import com.uni.ethesis.data.dto.SimilarityReportDto;
+
+/**
+ * Compares the extracted text of a thesis against all indexed theses, archived ones included.
+ */
+public interface PlagiarismService {
+    SimilarityReportDto getSimilarityReport(UUID thesisId, int limit);
+}
@@ -1,9 +1,12 @@
 package com.uni.ethesis.service;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import com.uni.ethesis.data.dto.KeysetPageDto;
 import com.uni.ethesis.data.dto.ReviewDto;
+import com.uni.ethesis.data.dto.ThesisDto;
 import com.uni.ethesis.enums.ReviewConclusion;
 
 public interface ReviewService {
@@ -33,4 +36,5 @@ public interface ReviewService {
     // Query methods
     List<ReviewDto> getReviewsByConclusion(ReviewConclusion conclusion);
     List<ReviewDto> getThesesAwaitingReview();
+    KeysetPageDto<ThesisDto> getThesesAwaitingReview(OffsetDateTime afterCreatedAt, UUID afterId, int size);
 }
@@ -3,6 +3,9 @@ package com.uni.ethesis.service;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import com.uni.ethesis.data.dto.ThesisProposalDto;
 import com.uni.ethesis.enums.ThesisProposalStatus;
 
@@ -16,4 +19,5 @@ public interface ThesisApplicationService {
     ThesisProposalDto updateThesisProposal(UUID id, ThesisProposalDto thesisProposalDto);
     ThesisProposalDto updateThesisProposalStatus(UUID id, ThesisProposalStatus status);
     void deleteThesisProposal(UUID id);
+    Page<ThesisProposalDto> searchThesisProposals(String query, Pageable pageable);
 }
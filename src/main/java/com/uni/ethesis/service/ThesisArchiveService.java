@@ -0,0 +1,22 @@
+package com.uni.ethesis.service;
+
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.uni.ethesis.data.dto.ArchivedThesisDto;
+
+public interface ThesisArchiveService {
+    /**
+     * Moves DEFENDED and FAILED theses that have been closed for longer than the archive
+     * horizon, with their reviews, comments and defense sessions, into the archive.
+     *
+     * @return number of theses archived
+     */
+    int archiveClosedTheses();
+
+    // Archive reads are explicit; hot thesis queries never look here
+    Page<ArchivedThesisDto> searchArchive(Integer academicYear, UUID studentId, UUID teacherId, Pageable pageable);
+    ArchivedThesisDto getArchivedThesis(UUID id);
+}
@@ -0,0 +1,20 @@
+package com.uni.ethesis.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+
+/**
+ * Bulk exports of theses for the archive office.
+ */
+public interface ThesisExportService {
+
+    /**
+     * Writes a ZIP with the PDF of every thesis defended in [from, to), current and archived,
+     * followed by a manifest.csv describing them. Rows are read through a database cursor and
+     * PDFs are copied from disk, so memory use does not grow with the size of the export.
+     * Both tables are read from one snapshot, which holds a database connection for as long
+     * as the client takes to download the ZIP.
+     */
+    void writeDefendedThesesZip(OffsetDateTime from, OffsetDateTime to, OutputStream out) throws IOException;
+}
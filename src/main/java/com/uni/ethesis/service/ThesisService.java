@@ -7,14 +7,24 @@ import java.util.UUID;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import com.uni.ethesis.data.dto.BulkThesisGradeRequestDto;
+import com.uni.ethesis.data.dto.BulkThesisReportDto;
+import com.uni.ethesis.data.dto.BulkThesisStatusRequestDto;
+import com.uni.ethesis.data.dto.KeysetPageDto;
+import com.uni.ethesis.data.dto.ThesisDetailView;
+import com.uni.ethesis.data.dto.ThesisDocumentDto;
 import com.uni.ethesis.data.dto.ThesisDto;
+import com.uni.ethesis.data.dto.ThesisPdfDto;
+import com.uni.ethesis.data.dto.ThesisStatisticsDto;
 import com.uni.ethesis.enums.ThesisStatus;
+import com.uni.ethesis.service.storage.BlobStore;
 
 public interface ThesisService {
     
     // Basic CRUD operations
     ThesisDto createThesis(UUID proposalId);
     ThesisDto getThesisById(UUID id);
+    ThesisDetailView getThesisDetail(UUID id);
     ThesisDto getThesisByProposalId(UUID proposalId);
     ThesisDto getThesisByStudentId(UUID studentId);
     List<ThesisDto> getAllTheses();
@@ -23,6 +33,10 @@ public interface ThesisService {
     
     // File upload functionality
     ThesisDto uploadThesisPdf(UUID thesisId, MultipartFile pdfFile);
+    // Makes an already staged blob (e.g. a completed resumable upload) the thesis PDF
+    ThesisDto attachThesisPdf(UUID thesisId, BlobStore.StagedBlob staged);
+    ThesisPdfDto getThesisPdf(UUID thesisId);
+    ThesisDocumentDto getThesisDocument(UUID thesisId);
     
     // Grade and status management
     ThesisDto updateGrade(UUID thesisId, BigDecimal grade);
@@ -37,12 +51,22 @@ public interface ThesisService {
     // Statistics methods based on requirements
     long countSuccessfulDefensesByTeacher(UUID teacherId);
     long countThesesByStatus(ThesisStatus status);
+    ThesisStatisticsDto getStatistics();
+
+    // Bulk operations (semester close)
+    BulkThesisReportDto bulkUpdateStatus(BulkThesisStatusRequestDto request);
+    BulkThesisReportDto bulkUpdateGrades(BulkThesisGradeRequestDto request);
+    BulkThesisReportDto failThesesAwaitingDefenseSince(OffsetDateTime deadline);
     
     // Additional utility methods
     boolean hasStudentSubmittedThesis(UUID studentId);
     List<ThesisDto> findThesesAwaitingReview();
     List<ThesisDto> findThesesAwaitingDefense();
     
+    // Keyset-paginated work queues, oldest first; pass null cursor values for the first page
+    KeysetPageDto<ThesisDto> findThesesAwaitingReview(OffsetDateTime afterCreatedAt, UUID afterId, int size);
+    KeysetPageDto<ThesisDto> findThesesAwaitingDefense(OffsetDateTime afterCreatedAt, UUID afterId, int size);
+    
     // Student workflow methods
     ThesisDto proceedToDefense(UUID thesisId);
     boolean canStudentProceedToDefense(UUID thesisId);
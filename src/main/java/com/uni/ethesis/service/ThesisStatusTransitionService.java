@@ -0,0 +1,63 @@
+package com.uni.ethesis.service;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.uni.ethesis.data.dto.BulkThesisResultDto;
+import com.uni.ethesis.enums.ThesisStatus;
+
+/**
+ * Single entry point for thesis status changes. Every change is checked against the
+ * transition table declared on {@link ThesisStatus} and applied as a conditional
+ * UPDATE, so concurrent reviewers/committee members cannot overwrite each other.
+ * Successful changes are published as {@link com.uni.ethesis.events.ThesisStatusChangedEvent}.
+ */
+public interface ThesisStatusTransitionService {
+
+    /**
+     * Moves the thesis from {@code expected} to {@code target}.
+     *
+     * @throws IllegalStateException if the table does not allow the transition
+     * @throws com.uni.ethesis.exceptions.ThesisStatusConflictException if the thesis is no longer in {@code expected}
+     */
+    void transition(UUID thesisId, ThesisStatus expected, ThesisStatus target);
+
+    /**
+     * Moves the thesis from its current status to {@code target}; a no-op if it is already there.
+     *
+     * @return the status the thesis was in before the call
+     */
+    ThesisStatus transition(UUID thesisId, ThesisStatus target);
+
+    /**
+     * Stores the final grade of a thesis waiting for defense and moves it to
+     * DEFENDED or FAILED depending on the grade.
+     *
+     * @return the resulting status
+     */
+    ThesisStatus recordFinalGrade(UUID thesisId, BigDecimal grade);
+
+    /**
+     * Bulk {@link #transition(UUID, ThesisStatus)}: validates all rows with one read, then
+     * applies one conditional UPDATE ... WHERE id IN (...) per current status.
+     *
+     * @return one result per distinct id, in request order
+     */
+    List<BulkThesisResultDto> transitionAll(Collection<UUID> thesisIds, ThesisStatus target);
+
+    /**
+     * Bulk {@link #recordFinalGrade(UUID, BigDecimal)}: one conditional UPDATE per distinct grade.
+     *
+     * @return one result per thesis, in request order
+     */
+    List<BulkThesisResultDto> recordFinalGrades(Map<UUID, BigDecimal> gradesByThesis);
+
+    /**
+     * Publishes the status a new thesis was created with, so its history starts there.
+     */
+    void recordInitialStatus(UUID thesisId, ThesisStatus status, OffsetDateTime createdAt);
+}
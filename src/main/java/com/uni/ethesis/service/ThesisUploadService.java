@@ -0,0 +1,23 @@
+package com.uni.ethesis.service;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+import com.uni.ethesis.data.dto.ThesisDto;
+import com.uni.ethesis.data.dto.UploadSessionDto;
+
+/**
+ * Resumable, chunked thesis PDF uploads: create a session for the final size, PUT chunks
+ * at their offsets in any order, check which ranges arrived and complete the session once
+ * the file is covered.
+ */
+public interface ThesisUploadService {
+    UploadSessionDto createUploadSession(UUID thesisId, long totalSize);
+    UploadSessionDto getUploadSession(UUID thesisId, UUID sessionId);
+    UploadSessionDto writeChunk(UUID thesisId, UUID sessionId, long offset, long length, InputStream body);
+    ThesisDto completeUploadSession(UUID thesisId, UUID sessionId);
+    void cancelUploadSession(UUID thesisId, UUID sessionId);
+
+    // Removes expired sessions and their partial files
+    int deleteExpiredSessions();
+}
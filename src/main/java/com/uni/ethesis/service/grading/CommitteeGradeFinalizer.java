@@ -0,0 +1,73 @@
+package com.uni.ethesis.service.grading;
+
+import java.math.BigDecimal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.uni.ethesis.data.repo.DefenseSessionProfessorRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.enums.ThesisStatus;
+import com.uni.ethesis.events.CommitteeGradingCompletedEvent;
+import com.uni.ethesis.exceptions.ThesisStatusConflictException;
+import com.uni.ethesis.service.ThesisStatusTransitionService;
+
+/**
+ * Records the final grade of a thesis as soon as its committee has finished grading.
+ * <p>
+ * Listens synchronously, so the grade and the status transition are written in the
+ * transaction that stored the last committee grade: either both happen or neither. A
+ * thesis that was already graded by hand is left alone, also when that happens between
+ * the status check and the update; the committee's grades are kept either way.
+ */
+@Component
+public class CommitteeGradeFinalizer {
+
+    private static final Logger log = LoggerFactory.getLogger(CommitteeGradeFinalizer.class);
+
+    private final FinalGradePolicy finalGradePolicy;
+    private final ThesisStatusTransitionService statusTransitionService;
+    private final ThesisRepository thesisRepository;
+    private final DefenseSessionProfessorRepository defenseSessionProfessorRepository;
+
+    @Value("${app.defense-grading.auto-finalize:true}")
+    private boolean enabled;
+
+    @Autowired
+    public CommitteeGradeFinalizer(FinalGradePolicy finalGradePolicy,
+                                   ThesisStatusTransitionService statusTransitionService,
+                                   ThesisRepository thesisRepository,
+                                   DefenseSessionProfessorRepository defenseSessionProfessorRepository) {
+        this.finalGradePolicy = finalGradePolicy;
+        this.statusTransitionService = statusTransitionService;
+        this.thesisRepository = thesisRepository;
+        this.defenseSessionProfessorRepository = defenseSessionProfessorRepository;
+    }
+
+    @EventListener
+    public void onCommitteeGradingCompleted(CommitteeGradingCompletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        ThesisStatus status = thesisRepository.findStatusById(event.getThesisId()).orElse(null);
+        if (status != ThesisStatus.WAITING_FOR_DEFENSE) {
+            log.info("Committee of defense session {} finished grading, but thesis {} is {}; final grade not recorded",
+                    event.getDefenseSessionId(), event.getThesisId(), status);
+            return;
+        }
+        BigDecimal grade = finalGradePolicy.finalGrade(event.getTotals(),
+                () -> defenseSessionProfessorRepository.findGradesByDefenseSessionId(event.getDefenseSessionId()));
+        try {
+            ThesisStatus result = statusTransitionService.recordFinalGrade(event.getThesisId(), grade);
+            log.info("Recorded final grade {} for thesis {} from defense session {} ({})",
+                    grade, event.getThesisId(), event.getDefenseSessionId(), result);
+        } catch (ThesisStatusConflictException e) {
+            log.info("Committee of defense session {} finished grading, but thesis {} moved to {} meanwhile; final grade not recorded",
+                    event.getDefenseSessionId(), event.getThesisId(), e.getActual());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.uni.ethesis.service.grading;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.uni.ethesis.data.dto.CommitteeGradeTotals;
+
+/**
+ * Turns a committee's 0-100 grades into a final grade on the 2-6 scale.
+ * <p>
+ * The grades are first combined into one score: the mean (from the totals kept on the
+ * session, no query), the median, or the mean without the highest and lowest grade. A
+ * score below {@code pass-score} is a 2.0; from there the scale runs linearly from 3.0 to
+ * 6.0 at 100, rounded to the one decimal final grades are stored with.
+ */
+@Component
+public class FinalGradePolicy {
+
+    public enum Aggregation {
+        MEAN, MEDIAN, TRIMMED_MEAN
+    }
+
+    private static final BigDecimal FAIL = new BigDecimal("2.0");
+    private static final double MIN_PASS = 3.0;
+    private static final double MAX = 6.0;
+
+    private final Aggregation aggregation;
+    private final double passScore;
+
+    @Autowired
+    public FinalGradePolicy(@Value("${app.defense-grading.aggregation:MEAN}") Aggregation aggregation,
+                            @Value("${app.defense-grading.pass-score:50}") double passScore) {
+        if (passScore <= 0 || passScore >= 100) {
+            throw new IllegalArgumentException("Pass score must be between 0 and 100");
+        }
+        this.aggregation = aggregation;
+        this.passScore = passScore;
+    }
+
+    /**
+     * @param totals the committee's totals; must have at least one grade
+     * @param grades the individual grades, only fetched by the aggregations that need them
+     */
+    public BigDecimal finalGrade(CommitteeGradeTotals totals, Supplier<List<Integer>> grades) {
+        if (totals.getGradedCount() == 0) {
+            throw new IllegalArgumentException("No committee grades to aggregate");
+        }
+        return toScale(score(totals, grades));
+    }
+
+    double score(CommitteeGradeTotals totals, Supplier<List<Integer>> grades) {
+        if (aggregation == Aggregation.MEAN) {
+            return totals.getAverage();
+        }
+        List<Integer> sorted = grades.get().stream().sorted().toList();
+        int n = sorted.size();
+        if (aggregation == Aggregation.MEDIAN) {
+            return n % 2 == 1 ? sorted.get(n / 2) : (sorted.get(n / 2 - 1) + sorted.get(n / 2)) / 2.0;
+        }
+        // Dropping the extremes only makes sense with someone left in between
+        List<Integer> kept = n >= 3 ? sorted.subList(1, n - 1) : sorted;
+        return kept.stream().mapToInt(Integer::intValue).average().orElseThrow();
+    }
+
+    BigDecimal toScale(double score) {
+        if (score < passScore) {
+            return FAIL;
+        }
+        double grade = MIN_PASS + (MAX - MIN_PASS) * (Math.min(score, 100) - passScore) / (100 - passScore);
+        return BigDecimal.valueOf(grade).setScale(1, RoundingMode.HALF_UP);
+    }
+}
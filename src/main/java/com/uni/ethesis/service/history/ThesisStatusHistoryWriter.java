@@ -0,0 +1,87 @@
+package com.uni.ethesis.service.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.uni.ethesis.data.entities.ThesisStatusTransition;
+import com.uni.ethesis.data.repo.ThesisStatusTransitionRepository;
+import com.uni.ethesis.events.ThesisStatusChangedEvent;
+
+/**
+ * Writes {@link ThesisStatusChangedEvent}s to thesis_status_transitions. Rows are buffered
+ * per transaction and saved together just before commit, so a transaction that moves many
+ * theses sends one JDBC batch (see hibernate.jdbc.batch_size) and a rolled back
+ * transaction leaves no history behind.
+ */
+@Component
+public class ThesisStatusHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ThesisStatusHistoryWriter.class);
+
+    private final ThesisStatusTransitionRepository transitionRepository;
+
+    @Autowired
+    public ThesisStatusHistoryWriter(ThesisStatusTransitionRepository transitionRepository) {
+        this.transitionRepository = transitionRepository;
+    }
+
+    @EventListener
+    public void onStatusChanged(ThesisStatusChangedEvent event) {
+        ThesisStatusTransition row = ThesisStatusTransition.builder()
+                .thesisId(event.getThesisId())
+                .fromStatus(event.getFrom())
+                .toStatus(event.getTo())
+                .transitionedAt(event.getChangedAt())
+                .build();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transitionRepository.save(row);
+            return;
+        }
+        pendingRows().add(row);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillUntrackedTheses() {
+        int inserted = transitionRepository.backfillUntrackedTheses();
+        if (inserted > 0) {
+            log.info("Seeded status history for {} theses without transitions", inserted);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ThesisStatusTransition> pendingRows() {
+        List<ThesisStatusTransition> rows = (List<ThesisStatusTransition>) TransactionSynchronizationManager.getResource(this);
+        if (rows != null) {
+            return rows;
+        }
+
+        List<ThesisStatusTransition> buffer = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, buffer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!buffer.isEmpty()) {
+                    transitionRepository.saveAll(buffer);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ThesisStatusHistoryWriter.this);
+            }
+        });
+        return buffer;
+    }
+}
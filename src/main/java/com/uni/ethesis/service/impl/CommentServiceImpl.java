@@ -1,47 +1,69 @@
 package com.uni.ethesis.service.impl;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.uni.ethesis.data.dto.CommentDto;
+import com.uni.ethesis.data.dto.KeysetPageDto;
 import com.uni.ethesis.data.entities.Comment;
 import com.uni.ethesis.data.entities.Review;
 import com.uni.ethesis.data.entities.User;
 import com.uni.ethesis.data.repo.CommentRepository;
 import com.uni.ethesis.data.repo.ReviewRepository;
-import com.uni.ethesis.data.repo.TeacherRepository;
 import com.uni.ethesis.data.repo.UserRepository;
+import com.uni.ethesis.enums.CommentChangeType;
+import com.uni.ethesis.events.CommentChangedEvent;
 import com.uni.ethesis.exceptions.CommentNotFoundException;
 import com.uni.ethesis.exceptions.ReviewNotFoundException;
 import com.uni.ethesis.exceptions.UnauthorizedCommentException;
 import com.uni.ethesis.exceptions.UserNotFoundException;
 import com.uni.ethesis.service.CommentService;
+import com.uni.ethesis.service.index.UserRoleIndex;
+import com.uni.ethesis.service.live.ReviewEventHub;
+import com.uni.ethesis.utils.KeysetPagination;
 import com.uni.ethesis.utils.mappers.CommentMapper;
 
 @Service
 public class CommentServiceImpl implements CommentService {
 
+    private static final Logger log = LoggerFactory.getLogger(CommentServiceImpl.class);
+
     private final CommentRepository commentRepository;
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
-    private final TeacherRepository teacherRepository;
     private final CommentMapper commentMapper;
+    private final UserRoleIndex userRoleIndex;
+    private final ReviewEventHub reviewEventHub;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public CommentServiceImpl(CommentRepository commentRepository,
                               ReviewRepository reviewRepository,
                               UserRepository userRepository,
-                              TeacherRepository teacherRepository,
-                              CommentMapper commentMapper) {
+                              CommentMapper commentMapper,
+                              UserRoleIndex userRoleIndex,
+                              ReviewEventHub reviewEventHub,
+                              ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.reviewRepository = reviewRepository;
         this.userRepository = userRepository;
-        this.teacherRepository = teacherRepository;
         this.commentMapper = commentMapper;
+        this.userRoleIndex = userRoleIndex;
+        this.reviewEventHub = reviewEventHub;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -79,11 +101,14 @@ public class CommentServiceImpl implements CommentService {
                 .build();
 
         Comment savedComment = commentRepository.save(comment);
+        reviewRepository.incrementCommentCount(reviewId,
+                savedComment.getCreatedAt() != null ? savedComment.getCreatedAt() : OffsetDateTime.now());
         CommentDto commentDto = commentMapper.commentToCommentDto(savedComment);
         
         // Set the correct user role since MapStruct can't handle repository calls
-        commentDto.setUserRole(determineUserRole(user));
-        
+        commentDto.setUserRole(userRoleIndex.roleOf(user.getId()));
+
+        eventPublisher.publishEvent(new CommentChangedEvent(reviewId, CommentChangeType.CREATED, commentDto));
         return commentDto;
     }
 
@@ -100,17 +125,7 @@ public class CommentServiceImpl implements CommentService {
         }
 
         List<Comment> comments = commentRepository.findByReviewIdOrderByCreatedAtAsc(reviewId);
-        List<CommentDto> commentDtos = commentMapper.commentsToCommentDtos(comments);
-        
-        // Set the correct user roles
-        commentDtos.forEach(dto -> {
-            User user = userRepository.findById(dto.getUserId()).orElse(null);
-            if (user != null) {
-                dto.setUserRole(determineUserRole(user));
-            }
-        });
-        
-        return commentDtos;
+        return toDtos(comments);
     }
 
     @Override
@@ -126,17 +141,51 @@ public class CommentServiceImpl implements CommentService {
         }
 
         List<Comment> comments = commentRepository.findByReviewIdOrderByCreatedAtDesc(reviewId);
-        List<CommentDto> commentDtos = commentMapper.commentsToCommentDtos(comments);
-        
-        // Set the correct user roles
-        commentDtos.forEach(dto -> {
-            User user = userRepository.findById(dto.getUserId()).orElse(null);
-            if (user != null) {
-                dto.setUserRole(determineUserRole(user));
-            }
-        });
-        
-        return commentDtos;
+        return toDtos(comments);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDto<CommentDto> getCommentPage(UUID reviewId, boolean newestFirst,
+                                                    OffsetDateTime cursorCreatedAt, UUID cursorId, int size) {
+        validateReview(reviewId);
+
+        int pageSize = KeysetPagination.normalizeSize(size);
+        boolean firstPage = cursorCreatedAt == null || cursorId == null;
+        List<Comment> rows;
+        if (newestFirst) {
+            rows = firstPage
+                    ? commentRepository.findThreadPageNewestFirst(reviewId, KeysetPagination.probe(pageSize))
+                    : commentRepository.findThreadPageNewestFirstBefore(reviewId, cursorCreatedAt, cursorId,
+                            KeysetPagination.probe(pageSize));
+        } else {
+            rows = firstPage
+                    ? commentRepository.findThreadPage(reviewId, KeysetPagination.probe(pageSize))
+                    : commentRepository.findThreadPageAfter(reviewId, cursorCreatedAt, cursorId,
+                            KeysetPagination.probe(pageSize));
+        }
+        return KeysetPagination.map(KeysetPagination.toPage(rows, pageSize, Comment::getCreatedAt, Comment::getId),
+                this::toDtos);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDto<CommentDto> getCommentsSince(UUID reviewId, OffsetDateTime afterCreatedAt, UUID afterId, int size) {
+        validateReview(reviewId);
+
+        int pageSize = KeysetPagination.normalizeSize(size);
+        List<Comment> rows = (afterCreatedAt == null || afterId == null)
+                ? commentRepository.findThreadPage(reviewId, KeysetPagination.probe(pageSize))
+                : commentRepository.findThreadPageAfter(reviewId, afterCreatedAt, afterId, KeysetPagination.probe(pageSize));
+        return KeysetPagination.map(KeysetPagination.toTail(rows, pageSize, Comment::getCreatedAt, Comment::getId,
+                afterCreatedAt, afterId), this::toDtos);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToReview(UUID reviewId) {
+        validateReview(reviewId);
+        return reviewEventHub.subscribe(reviewId);
     }
 
     @Override
@@ -150,7 +199,7 @@ public class CommentServiceImpl implements CommentService {
                 .orElseThrow(() -> new CommentNotFoundException("Comment not found with id: " + commentId));
 
         CommentDto commentDto = commentMapper.commentToCommentDto(comment);
-        commentDto.setUserRole(determineUserRole(comment.getUser()));
+        commentDto.setUserRole(userRoleIndex.roleOf(comment.getUser().getId()));
         
         return commentDto;
     }
@@ -183,8 +232,9 @@ public class CommentServiceImpl implements CommentService {
         Comment updatedComment = commentRepository.save(comment);
 
         CommentDto commentDto = commentMapper.commentToCommentDto(updatedComment);
-        commentDto.setUserRole(determineUserRole(updatedComment.getUser()));
-        
+        commentDto.setUserRole(userRoleIndex.roleOf(updatedComment.getUser().getId()));
+
+        eventPublisher.publishEvent(new CommentChangedEvent(updatedComment.getReview().getId(), CommentChangeType.UPDATED, commentDto));
         return commentDto;
     }
 
@@ -209,7 +259,12 @@ public class CommentServiceImpl implements CommentService {
         }
 
         // Delete the comment
+        UUID reviewId = comment.getReview().getId();
         commentRepository.delete(comment);
+        reviewRepository.decrementCommentCount(reviewId);
+
+        eventPublisher.publishEvent(new CommentChangedEvent(reviewId, CommentChangeType.DELETED,
+                CommentDto.builder().id(commentId).reviewId(reviewId).userId(userId).build()));
     }
 
     @Override
@@ -220,16 +275,7 @@ public class CommentServiceImpl implements CommentService {
         }
 
         List<Comment> comments = commentRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        List<CommentDto> commentDtos = commentMapper.commentsToCommentDtos(comments);
-        
-        // Set the correct user roles
-        User user = userRepository.findById(userId).orElse(null);
-        if (user != null) {
-            String userRole = determineUserRole(user);
-            commentDtos.forEach(dto -> dto.setUserRole(userRole));
-        }
-        
-        return commentDtos;
+        return toDtos(comments);
     }
 
     @Override
@@ -250,11 +296,35 @@ public class CommentServiceImpl implements CommentService {
         // For now, we allow all authenticated users to comment if they exist
     }
 
-    /**
-     * Helper method to determine if a user is a teacher or student
-     */
-    private String determineUserRole(User user) {
-        // Check if user is a teacher by checking if they have any teacher record
-        return teacherRepository.findByUserId(user.getId()) != null ? "TEACHER" : "STUDENT";
+    private void validateReview(UUID reviewId) {
+        if (reviewId == null) {
+            throw new IllegalArgumentException("Review ID cannot be null");
+        }
+        if (!reviewRepository.existsById(reviewId)) {
+            throw new ReviewNotFoundException("Review not found with id: " + reviewId);
+        }
+    }
+
+    // Authors come fetch-joined with the comments; their roles are resolved for the whole
+    // list at once through the role cache
+    private List<CommentDto> toDtos(List<Comment> comments) {
+        List<CommentDto> commentDtos = commentMapper.commentsToCommentDtos(comments);
+        if (commentDtos.isEmpty()) {
+            return commentDtos;
+        }
+        Map<UUID, String> roles = userRoleIndex.rolesOf(commentDtos.stream().map(CommentDto::getUserId).toList());
+        commentDtos.forEach(dto -> dto.setUserRole(roles.get(dto.getUserId())));
+        return commentDtos;
+    }
+
+    @Override
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.comments.reconcile-cron:0 45 4 * * *}")
+    public void reconcileCommentCounters() {
+        int fixed = reviewRepository.reconcileCommentCounts();
+        if (fixed > 0) {
+            log.warn("Fixed comment counters of {} reviews", fixed);
+        }
     }
 }
@@ -0,0 +1,228 @@
+package com.uni.ethesis.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.uni.ethesis.data.dto.DefenseScheduleDto;
+import com.uni.ethesis.data.dto.DefenseScheduleRequestDto;
+import com.uni.ethesis.data.entities.Defense;
+import com.uni.ethesis.data.entities.DefenseSession;
+import com.uni.ethesis.data.entities.DefenseSessionProfessor;
+import com.uni.ethesis.data.entities.Teacher;
+import com.uni.ethesis.data.repo.DefenseRepository;
+import com.uni.ethesis.data.repo.DefenseSessionProfessorRepository;
+import com.uni.ethesis.data.repo.DefenseSessionRepository;
+import com.uni.ethesis.data.repo.TeacherRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.exceptions.DefenseNotFoundException;
+import com.uni.ethesis.service.DefenseSchedulingService;
+import com.uni.ethesis.service.index.ProfessorBookingIndex;
+import com.uni.ethesis.service.scheduling.DefenseScheduler;
+import com.uni.ethesis.utils.DefenseSessionProfessorKey;
+import com.uni.ethesis.utils.TransactionUtils;
+
+@Service
+public class DefenseSchedulingServiceImpl implements DefenseSchedulingService {
+
+    private static final Logger log = LoggerFactory.getLogger(DefenseSchedulingServiceImpl.class);
+
+    private final DefenseRepository defenseRepository;
+    private final DefenseSessionRepository defenseSessionRepository;
+    private final DefenseSessionProfessorRepository defenseSessionProfessorRepository;
+    private final ThesisRepository thesisRepository;
+    private final TeacherRepository teacherRepository;
+    private final DefenseScheduler defenseScheduler;
+    private final ProfessorBookingIndex professorBookingIndex;
+
+    @Value("${app.defense-scheduling.start-time:09:00}")
+    private LocalTime defaultStartTime;
+
+    @Value("${app.defense-scheduling.end-time:17:00}")
+    private LocalTime defaultEndTime;
+
+    @Value("${app.defense-scheduling.slot-minutes:30}")
+    private int defaultSlotMinutes;
+
+    @Value("${app.defense-scheduling.committee-size:3}")
+    private int defaultCommitteeSize;
+
+    @Value("${app.defense-sessions.duration:PT30M}")
+    private Duration sessionDuration;
+
+    @Autowired
+    public DefenseSchedulingServiceImpl(DefenseRepository defenseRepository,
+                                        DefenseSessionRepository defenseSessionRepository,
+                                        DefenseSessionProfessorRepository defenseSessionProfessorRepository,
+                                        ThesisRepository thesisRepository,
+                                        TeacherRepository teacherRepository,
+                                        DefenseScheduler defenseScheduler,
+                                        ProfessorBookingIndex professorBookingIndex) {
+        this.defenseRepository = defenseRepository;
+        this.defenseSessionRepository = defenseSessionRepository;
+        this.defenseSessionProfessorRepository = defenseSessionProfessorRepository;
+        this.thesisRepository = thesisRepository;
+        this.teacherRepository = teacherRepository;
+        this.defenseScheduler = defenseScheduler;
+        this.professorBookingIndex = professorBookingIndex;
+    }
+
+    @Override
+    @Transactional
+    public DefenseScheduleDto scheduleDefenseDay(UUID defenseId, DefenseScheduleRequestDto request) {
+        long started = System.nanoTime();
+        Defense defense = defenseRepository.findByIdForUpdate(defenseId)
+                .orElseThrow(() -> new DefenseNotFoundException("Defense not found with id: " + defenseId));
+        if (defense.getDate() == null) {
+            throw new IllegalArgumentException("Defense " + defenseId + " has no date");
+        }
+
+        LocalTime startTime = request.getStartTime() != null ? request.getStartTime() : defaultStartTime;
+        LocalTime endTime = request.getEndTime() != null ? request.getEndTime() : defaultEndTime;
+        int slotMinutes = request.getSlotMinutes() != null ? request.getSlotMinutes() : defaultSlotMinutes;
+        int parallelSessions = request.getParallelSessions() != null ? request.getParallelSessions() : 1;
+        int committeeSize = request.getCommitteeSize() != null ? request.getCommitteeSize() : defaultCommitteeSize;
+        if (slotMinutes <= 0 || parallelSessions <= 0 || committeeSize <= 0) {
+            throw new IllegalArgumentException("Slot length, parallel sessions and committee size must be positive");
+        }
+        // Shorter slots would make a professor's consecutive sessions overlap
+        if (Duration.ofMinutes(slotMinutes).compareTo(sessionDuration) < 0) {
+            throw new IllegalArgumentException("Slots cannot be shorter than a defense session (" + sessionDuration.toMinutes() + " minutes)");
+        }
+        int slotCount = (int) (Duration.between(startTime, endTime).toMinutes() / slotMinutes);
+        if (slotCount <= 0) {
+            throw new IllegalArgumentException("The defense day has no room for a " + slotMinutes + " minute slot");
+        }
+
+        LocalDate day = defense.getDate().toLocalDate();
+        ZoneId zone = ZoneId.systemDefault();
+        OffsetDateTime dayStart = day.atTime(startTime).atZone(zone).toOffsetDateTime();
+        OffsetDateTime[] slotTimes = new OffsetDateTime[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            slotTimes[slot] = dayStart.plusMinutes((long) slot * slotMinutes);
+        }
+
+        List<UUID> thesisIds = new ArrayList<>();
+        List<UUID> supervisorIds = new ArrayList<>();
+        Set<UUID> requestedTheses = request.getThesisIds() != null && !request.getThesisIds().isEmpty()
+                ? new HashSet<>(request.getThesisIds()) : null;
+        for (Object[] row : thesisRepository.lockUnscheduledForDefense()) {
+            if (requestedTheses == null || requestedTheses.contains((UUID) row[0])) {
+                thesisIds.add((UUID) row[0]);
+                supervisorIds.add((UUID) row[1]);
+            }
+        }
+
+        List<Teacher> teachers = availableTeachers(defenseId, request.getTeacherIds());
+        Map<UUID, Integer> teacherIndex = new HashMap<>();
+        for (int i = 0; i < teachers.size(); i++) {
+            teacherIndex.put(teachers.get(i).getId(), i);
+        }
+        int[] supervisors = new int[thesisIds.size()];
+        for (int i = 0; i < supervisors.length; i++) {
+            supervisors[i] = supervisorIds.get(i) != null ? teacherIndex.getOrDefault(supervisorIds.get(i), -1) : -1;
+        }
+
+        // Sessions already booked around the day keep their professors busy in overlapping slots
+        BitSet[] busy = new BitSet[teachers.size()];
+        for (int teacher = 0; teacher < teachers.size(); teacher++) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (professorBookingIndex.findConflict(teachers.get(teacher).getId(), slotTimes[slot], null) != null) {
+                    if (busy[teacher] == null) {
+                        busy[teacher] = new BitSet(slotCount);
+                    }
+                    busy[teacher].set(slot);
+                }
+            }
+        }
+
+        DefenseScheduler.Solution solution = defenseScheduler.solve(new DefenseScheduler.Problem(
+                slotCount, parallelSessions, committeeSize, teachers.size(), supervisors, busy));
+
+        List<DefenseScheduleDto.Session> sessions = new ArrayList<>();
+        List<UUID> unscheduled = new ArrayList<>();
+        List<DefenseSessionProfessor> committeeMembers = new ArrayList<>();
+        for (int thesis = 0; thesis < supervisors.length; thesis++) {
+            int slot = solution.slots()[thesis];
+            if (slot < 0) {
+                unscheduled.add(thesisIds.get(thesis));
+                continue;
+            }
+            List<UUID> professorIds = new ArrayList<>();
+            for (int teacher : solution.committees()[thesis]) {
+                professorIds.add(teachers.get(teacher).getId());
+            }
+            UUID sessionId = null;
+            if (!request.isDryRun()) {
+                DefenseSession session = defenseSessionRepository.save(DefenseSession.builder()
+                        .thesis(thesisRepository.getReferenceById(thesisIds.get(thesis)))
+                        .defense(defense)
+                        .dateAndTime(slotTimes[slot])
+                        .professorCount(solution.committees()[thesis].length)
+                        .build());
+                sessionId = session.getId();
+                for (int teacher : solution.committees()[thesis]) {
+                    Teacher professor = teachers.get(teacher);
+                    committeeMembers.add(DefenseSessionProfessor.builder()
+                            .id(new DefenseSessionProfessorKey(sessionId, professor.getId()))
+                            .defenseSession(session)
+                            .professor(professor)
+                            .build());
+                }
+            }
+            sessions.add(DefenseScheduleDto.Session.builder()
+                    .defenseSessionId(sessionId)
+                    .thesisId(thesisIds.get(thesis))
+                    .dateAndTime(slotTimes[slot])
+                    .professorIds(professorIds)
+                    .build());
+        }
+        // Reserved so manual assignments made meanwhile cannot double book; all given back on rollback
+        TransactionUtils.afterRollback(() -> committeeMembers.forEach(member ->
+                professorBookingIndex.remove(member.getId().getProfessorId(), member.getId().getDefenseSessionId())));
+        for (DefenseSessionProfessor member : committeeMembers) {
+            professorBookingIndex.reserve(member.getId().getProfessorId(), member.getId().getDefenseSessionId(),
+                    member.getDefenseSession().getDateAndTime());
+        }
+        defenseSessionProfessorRepository.saveAll(committeeMembers);
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        log.info("Scheduled {} of {} theses for defense {} with {} teachers in {} ms{}", sessions.size(),
+                thesisIds.size(), defenseId, teachers.size(), elapsedMillis, request.isDryRun() ? " (dry run)" : "");
+        return DefenseScheduleDto.builder()
+                .defenseId(defenseId)
+                .sessions(sessions)
+                .unscheduledThesisIds(unscheduled)
+                .minLoad(solution.minLoad())
+                .maxLoad(solution.maxLoad())
+                .elapsedMillis(elapsedMillis)
+                .persisted(!request.isDryRun())
+                .build();
+    }
+
+    // Explicitly listed teachers, else those of the departments holding the defense, else everyone
+    private List<Teacher> availableTeachers(UUID defenseId, List<UUID> teacherIds) {
+        if (teacherIds != null && !teacherIds.isEmpty()) {
+            return teacherRepository.findAllById(teacherIds);
+        }
+        List<Teacher> teachers = teacherRepository.findByDefenseDepartments(defenseId);
+        return teachers.isEmpty() ? teacherRepository.findAll() : teachers;
+    }
+}
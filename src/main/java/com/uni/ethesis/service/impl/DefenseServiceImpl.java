@@ -16,6 +16,7 @@ import com.uni.ethesis.data.repo.DefenseRepository;
 import com.uni.ethesis.data.repo.ThesisRepository;
 import com.uni.ethesis.exceptions.DefenseNotFoundException;
 import com.uni.ethesis.service.DefenseService;
+import com.uni.ethesis.service.index.ThesisStatistics;
 import com.uni.ethesis.utils.mappers.DefenseMapper;
 
 @Service
@@ -24,16 +25,19 @@ public class DefenseServiceImpl implements DefenseService {
     private final DefenseRepository defenseRepository;
     private final ThesisRepository thesisRepository;
     private final DefenseMapper defenseMapper;
+    private final ThesisStatistics thesisStatistics;
 
     private static final BigDecimal MIN_PASSING_GRADE = BigDecimal.valueOf(3.0);
 
     @Autowired
     public DefenseServiceImpl(DefenseRepository defenseRepository,
                               ThesisRepository thesisRepository,
-                              DefenseMapper defenseMapper) {
+                              DefenseMapper defenseMapper,
+                              ThesisStatistics thesisStatistics) {
         this.defenseRepository = defenseRepository;
         this.thesisRepository = thesisRepository;
         this.defenseMapper = defenseMapper;
+        this.thesisStatistics = thesisStatistics;
     }
 
     @Override
@@ -41,6 +45,8 @@ public class DefenseServiceImpl implements DefenseService {
     public DefenseDto createDefense(DefenseDto defenseDto) {
         Defense defense = defenseMapper.defenseDtoToDefense(defenseDto);
         Defense savedDefense = defenseRepository.save(defense);
+        Date date = savedDefense.getDate();
+        thesisStatistics.afterCommit(() -> thesisStatistics.defenseAdded(date));
         return defenseMapper.defenseToDefenseDto(savedDefense);
     }
 
@@ -78,6 +84,8 @@ public class DefenseServiceImpl implements DefenseService {
         Defense existingDefense = defenseRepository.findById(id)
                 .orElseThrow(() -> new DefenseNotFoundException("Defense not found with id: " + id));
 
+        Date previousDate = existingDefense.getDate();
+
         if (defenseDto.getLocation() != null) {
             existingDefense.setLocation(defenseDto.getLocation());
         }
@@ -86,20 +94,26 @@ public class DefenseServiceImpl implements DefenseService {
         }
 
         Defense updatedDefense = defenseRepository.save(existingDefense);
+        Date newDate = updatedDefense.getDate();
+        thesisStatistics.afterCommit(() -> thesisStatistics.defenseDateChanged(previousDate, newDate));
         return defenseMapper.defenseToDefenseDto(updatedDefense);
     }
 
     @Override
     @Transactional
     public void deleteDefense(UUID id) {
-        if (!defenseRepository.existsById(id)) {
-            throw new DefenseNotFoundException("Defense not found with id: " + id);
-        }
-        defenseRepository.deleteById(id);
+        Defense defense = defenseRepository.findById(id)
+                .orElseThrow(() -> new DefenseNotFoundException("Defense not found with id: " + id));
+        Date date = defense.getDate();
+        defenseRepository.delete(defense);
+        thesisStatistics.afterCommit(() -> thesisStatistics.defenseRemoved(date));
     }
 
     @Override
     public long countSuccessfulDefensesByTeacher(UUID teacherId) {
+        if (thesisStatistics.isReady()) {
+            return thesisStatistics.countSuccessfulDefensesByTeacher(teacherId);
+        }
         return thesisRepository.countSuccessfulDefensesByTeacher(teacherId, MIN_PASSING_GRADE);
     }
 
@@ -112,6 +126,9 @@ public class DefenseServiceImpl implements DefenseService {
 
     @Override
     public long countDefensesInPeriod(Date startDate, Date endDate) {
+        if (thesisStatistics.isReady()) {
+            return thesisStatistics.countDefensesInPeriod(startDate.toLocalDate(), endDate.toLocalDate());
+        }
         return defenseRepository.countDefensesInPeriod(startDate, endDate);
     }
 }
@@ -1,12 +1,28 @@
 package com.uni.ethesis.service.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.uni.ethesis.data.dto.BulkEvaluationReportDto;
+import com.uni.ethesis.data.dto.BulkEvaluationRequestDto;
+import com.uni.ethesis.data.dto.BulkEvaluationResultDto;
+import com.uni.ethesis.data.dto.CommitteeGradeTotals;
 import com.uni.ethesis.data.dto.DefenseSessionProfessorDto;
 import com.uni.ethesis.data.entities.DefenseSession;
 import com.uni.ethesis.data.entities.DefenseSessionProfessor;
@@ -14,31 +30,43 @@ import com.uni.ethesis.data.entities.Teacher;
 import com.uni.ethesis.data.repo.DefenseSessionProfessorRepository;
 import com.uni.ethesis.data.repo.DefenseSessionRepository;
 import com.uni.ethesis.data.repo.TeacherRepository;
+import com.uni.ethesis.enums.BulkEvaluationOutcome;
+import com.uni.ethesis.events.CommitteeGradingCompletedEvent;
 import com.uni.ethesis.exceptions.DefenseSessionNotFoundException;
 import com.uni.ethesis.exceptions.DefenseSessionProfessorNotFoundException;
 import com.uni.ethesis.exceptions.ProfessorAlreadyAssignedException;
 import com.uni.ethesis.exceptions.TeacherNotFoundException;
 import com.uni.ethesis.service.DefenseSessionProfessorService;
+import com.uni.ethesis.service.index.ProfessorBookingIndex;
 import com.uni.ethesis.utils.DefenseSessionProfessorKey;
+import com.uni.ethesis.utils.TransactionUtils;
 import com.uni.ethesis.utils.mappers.DefenseSessionProfessorMapper;
 
 @Service
 public class DefenseSessionProfessorServiceImpl implements DefenseSessionProfessorService {
 
+    private static final Logger log = LoggerFactory.getLogger(DefenseSessionProfessorServiceImpl.class);
+
     private final DefenseSessionProfessorRepository defenseSessionProfessorRepository;
     private final DefenseSessionRepository defenseSessionRepository;
     private final TeacherRepository teacherRepository;
     private final DefenseSessionProfessorMapper defenseSessionProfessorMapper;
+    private final ProfessorBookingIndex professorBookingIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public DefenseSessionProfessorServiceImpl(DefenseSessionProfessorRepository defenseSessionProfessorRepository,
                                               DefenseSessionRepository defenseSessionRepository,
                                               TeacherRepository teacherRepository,
-                                              DefenseSessionProfessorMapper defenseSessionProfessorMapper) {
+                                              DefenseSessionProfessorMapper defenseSessionProfessorMapper,
+                                              ProfessorBookingIndex professorBookingIndex,
+                                              ApplicationEventPublisher eventPublisher) {
         this.defenseSessionProfessorRepository = defenseSessionProfessorRepository;
         this.defenseSessionRepository = defenseSessionRepository;
         this.teacherRepository = teacherRepository;
         this.defenseSessionProfessorMapper = defenseSessionProfessorMapper;
+        this.professorBookingIndex = professorBookingIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -57,6 +85,12 @@ public class DefenseSessionProfessorServiceImpl implements DefenseSessionProfess
             throw new ProfessorAlreadyAssignedException("Professor is already assigned to this defense session");
         }
 
+        // Claimed now so a concurrent assignment sees it; given back if this transaction fails
+        if (defenseSession.getDateAndTime() != null) {
+            professorBookingIndex.reserve(professorId, defenseSessionId, defenseSession.getDateAndTime());
+            TransactionUtils.afterRollback(() -> professorBookingIndex.remove(professorId, defenseSessionId));
+        }
+
         // Create the composite key
         DefenseSessionProfessorKey key = new DefenseSessionProfessorKey(defenseSessionId, professorId);
 
@@ -70,36 +104,150 @@ public class DefenseSessionProfessorServiceImpl implements DefenseSessionProfess
                 .build();
 
         DefenseSessionProfessor saved = defenseSessionProfessorRepository.save(defenseSessionProfessor);
+        defenseSessionRepository.adjustGradeTotals(defenseSessionId, 1, 0, 0);
         return defenseSessionProfessorMapper.defenseSessionProfessorToDto(saved);
     }
 
     @Override
     @Transactional
     public void removeProfessorFromDefenseSession(UUID defenseSessionId, UUID professorId) {
-        DefenseSessionProfessorKey key = new DefenseSessionProfessorKey(defenseSessionId, professorId);
-        
-        DefenseSessionProfessor defenseSessionProfessor = defenseSessionProfessorRepository.findById(key)
+        DefenseSessionProfessor defenseSessionProfessor = defenseSessionProfessorRepository.findForUpdate(defenseSessionId, professorId)
                 .orElseThrow(() -> new DefenseSessionProfessorNotFoundException(
                         "Professor assignment not found for defense session: " + defenseSessionId + " and professor: " + professorId));
 
+        Integer grade = defenseSessionProfessor.getGrade();
+        UUID thesisId = defenseSessionProfessor.getDefenseSession().getThesis().getId();
         defenseSessionProfessorRepository.delete(defenseSessionProfessor);
+        defenseSessionRepository.adjustGradeTotals(defenseSessionId, -1, grade != null ? -1 : 0, grade != null ? -grade : 0);
+        TransactionUtils.afterCommit(() -> professorBookingIndex.remove(professorId, defenseSessionId));
+        // Removing the only member still to grade completes the committee just like a grade would
+        if (grade == null) {
+            defenseSessionRepository.findGradeTotalsById(defenseSessionId)
+                    .filter(CommitteeGradeTotals::isComplete)
+                    .ifPresent(totals -> eventPublisher.publishEvent(
+                            new CommitteeGradingCompletedEvent(defenseSessionId, thesisId, totals)));
+        }
     }
 
     @Override
     @Transactional
     public DefenseSessionProfessorDto updateProfessorEvaluation(UUID defenseSessionId, UUID professorId, 
                                                                 Integer grade, String thoughts) {
+        // Same bounds as the bulk path, which reports them as INVALID_GRADE
+        if (grade != null && (grade < 0 || grade > 100)) {
+            throw new IllegalArgumentException("Grade must be between 0 and 100");
+        }
         DefenseSessionProfessor defenseSessionProfessor = defenseSessionProfessorRepository
-                .findByDefenseSessionIdAndProfessorId(defenseSessionId, professorId)
+                .findForUpdate(defenseSessionId, professorId)
                 .orElseThrow(() -> new DefenseSessionProfessorNotFoundException(
                         "Professor assignment not found for defense session: " + defenseSessionId + " and professor: " + professorId));
 
+        // The session totals move by the difference between the old and the new grade
+        Integer previousGrade = defenseSessionProfessor.getGrade();
+        int gradedDelta = (grade != null ? 1 : 0) - (previousGrade != null ? 1 : 0);
+        long gradeSumDelta = (grade != null ? grade : 0L) - (previousGrade != null ? previousGrade : 0L);
+
         // Update grade and thoughts
         defenseSessionProfessor.setGrade(grade);
         defenseSessionProfessor.setThoughts(thoughts);
 
         DefenseSessionProfessor updated = defenseSessionProfessorRepository.save(defenseSessionProfessor);
-        return defenseSessionProfessorMapper.defenseSessionProfessorToDto(updated);
+        if (gradedDelta != 0 || gradeSumDelta != 0) {
+            defenseSessionRepository.adjustGradeTotals(defenseSessionId, 0, gradedDelta, gradeSumDelta);
+        }
+        // Mapped before the event: the finalizer's status update clears the persistence
+        // context, after which the professor's lazy user can no longer be loaded
+        DefenseSessionProfessorDto result = defenseSessionProfessorMapper.defenseSessionProfessorToDto(updated);
+        // The session row is locked by the UPDATE above, so of two last graders only the one
+        // that commits second sees a complete committee
+        if (gradedDelta > 0) {
+            defenseSessionRepository.findGradeTotalsById(defenseSessionId)
+                    .filter(CommitteeGradeTotals::isComplete)
+                    .ifPresent(totals -> eventPublisher.publishEvent(new CommitteeGradingCompletedEvent(
+                            defenseSessionId, defenseSessionProfessor.getDefenseSession().getThesis().getId(), totals)));
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public BulkEvaluationReportDto updateEvaluations(BulkEvaluationRequestDto request) {
+        List<BulkEvaluationRequestDto.Entry> entries = request.getEvaluations();
+        BulkEvaluationResultDto[] results = new BulkEvaluationResultDto[entries.size()];
+        // Position of the first entry for each key; later ones are reported as duplicates
+        Map<DefenseSessionProfessorKey, Integer> positions = new LinkedHashMap<>();
+
+        for (int i = 0; i < entries.size(); i++) {
+            BulkEvaluationRequestDto.Entry entry = entries.get(i);
+            DefenseSessionProfessorKey key = entry.getKey();
+            if (key == null || key.getDefenseSessionId() == null || key.getProfessorId() == null) {
+                results[i] = evaluationResult(key, BulkEvaluationOutcome.NOT_FOUND, null, entry.getGrade(),
+                        "Defense session and professor are required");
+            } else if (entry.getGrade() != null && (entry.getGrade() < 0 || entry.getGrade() > 100)) {
+                results[i] = evaluationResult(key, BulkEvaluationOutcome.INVALID_GRADE, null, entry.getGrade(),
+                        "Grade must be between 0 and 100");
+            } else if (positions.putIfAbsent(key, i) != null) {
+                results[i] = evaluationResult(key, BulkEvaluationOutcome.DUPLICATE, null, entry.getGrade(),
+                        "Professor already evaluated earlier in this sheet");
+            }
+        }
+
+        Map<DefenseSessionProfessorKey, DefenseSessionProfessor> rows = new HashMap<>();
+        if (!positions.isEmpty()) {
+            for (DefenseSessionProfessor row : defenseSessionProfessorRepository.findAllByIdInForUpdate(positions.keySet())) {
+                rows.put(row.getId(), row);
+            }
+        }
+
+        // Per session: [graded delta, grade sum delta]
+        Map<UUID, long[]> deltas = new LinkedHashMap<>();
+        List<DefenseSessionProfessor> changed = new ArrayList<>();
+        positions.forEach((key, i) -> {
+            BulkEvaluationRequestDto.Entry entry = entries.get(i);
+            DefenseSessionProfessor row = rows.get(key);
+            if (row == null) {
+                results[i] = evaluationResult(key, BulkEvaluationOutcome.NOT_FOUND, null, entry.getGrade(),
+                        "Professor is not on the committee of this defense session");
+                return;
+            }
+            Integer previousGrade = row.getGrade();
+            if (Objects.equals(previousGrade, entry.getGrade()) && Objects.equals(row.getThoughts(), entry.getThoughts())) {
+                results[i] = evaluationResult(key, BulkEvaluationOutcome.UNCHANGED, previousGrade, previousGrade, null);
+                return;
+            }
+            long[] delta = deltas.computeIfAbsent(key.getDefenseSessionId(), id -> new long[2]);
+            delta[0] += (entry.getGrade() != null ? 1 : 0) - (previousGrade != null ? 1 : 0);
+            delta[1] += (entry.getGrade() != null ? entry.getGrade() : 0L) - (previousGrade != null ? previousGrade : 0L);
+            row.setGrade(entry.getGrade());
+            row.setThoughts(entry.getThoughts());
+            changed.add(row);
+            results[i] = evaluationResult(key, BulkEvaluationOutcome.UPDATED, previousGrade, entry.getGrade(), null);
+        });
+
+        // One JDBC batch for the sheet, then one totals UPDATE per session
+        defenseSessionProfessorRepository.saveAll(changed);
+        defenseSessionProfessorRepository.flush();
+        List<UUID> newlyGraded = new ArrayList<>();
+        deltas.forEach((sessionId, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                defenseSessionRepository.adjustGradeTotals(sessionId, 0, (int) delta[0], delta[1]);
+            }
+            if (delta[0] > 0) {
+                newlyGraded.add(sessionId);
+            }
+        });
+        if (!newlyGraded.isEmpty()) {
+            for (Object[] row : defenseSessionRepository.findCompleteGradeTotalsByIdIn(newlyGraded)) {
+                CommitteeGradeTotals totals = new CommitteeGradeTotals((Integer) row[2], (Integer) row[3], (Long) row[4]);
+                eventPublisher.publishEvent(new CommitteeGradingCompletedEvent((UUID) row[0], (UUID) row[1], totals));
+            }
+        }
+
+        return BulkEvaluationReportDto.builder()
+                .requested(entries.size())
+                .updated(changed.size())
+                .results(Arrays.asList(results))
+                .build();
     }
 
     @Override
@@ -164,12 +312,7 @@ public class DefenseSessionProfessorServiceImpl implements DefenseSessionProfess
     @Override
     @Transactional(readOnly = true)
     public Double getAverageGradeForDefenseSession(UUID defenseSessionId) {
-        // Validate that the defense session exists
-        if (!defenseSessionRepository.existsById(defenseSessionId)) {
-            throw new DefenseSessionNotFoundException("Defense session not found with id: " + defenseSessionId);
-        }
-
-        return defenseSessionProfessorRepository.getAverageGradeByDefenseSessionId(defenseSessionId);
+        return gradeTotals(defenseSessionId).getAverage();
     }
 
     @Override
@@ -181,20 +324,42 @@ public class DefenseSessionProfessorServiceImpl implements DefenseSessionProfess
     @Override
     @Transactional(readOnly = true)
     public boolean areAllProfessorsGraded(UUID defenseSessionId) {
-        long totalProfessors = getProfessorCountForDefenseSession(defenseSessionId);
-        long gradedProfessors = defenseSessionProfessorRepository.findGradedByDefenseSessionId(defenseSessionId).size();
-        
-        return totalProfessors > 0 && totalProfessors == gradedProfessors;
+        return gradeTotals(defenseSessionId).isComplete();
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getProfessorCountForDefenseSession(UUID defenseSessionId) {
-        // Validate that the defense session exists
-        if (!defenseSessionRepository.existsById(defenseSessionId)) {
-            throw new DefenseSessionNotFoundException("Defense session not found with id: " + defenseSessionId);
+        return gradeTotals(defenseSessionId).getProfessorCount();
+    }
+
+    // Also runs on startup, which fills in the totals of sessions created before they existed
+    @Override
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.defense-sessions.reconcile-cron:0 50 4 * * *}")
+    public void reconcileGradeTotals() {
+        int fixed = defenseSessionRepository.reconcileGradeTotals();
+        if (fixed > 0) {
+            log.warn("Fixed committee grade totals of {} defense sessions", fixed);
         }
+    }
 
-        return defenseSessionProfessorRepository.countByDefenseSessionId(defenseSessionId);
+    private static BulkEvaluationResultDto evaluationResult(DefenseSessionProfessorKey key, BulkEvaluationOutcome outcome,
+                                                            Integer previousGrade, Integer grade, String message) {
+        return BulkEvaluationResultDto.builder()
+                .defenseSessionId(key != null ? key.getDefenseSessionId() : null)
+                .professorId(key != null ? key.getProfessorId() : null)
+                .outcome(outcome)
+                .previousGrade(previousGrade)
+                .grade(grade)
+                .message(message)
+                .build();
+    }
+
+    // Single-row read of the totals kept on the session
+    private CommitteeGradeTotals gradeTotals(UUID defenseSessionId) {
+        return defenseSessionRepository.findGradeTotalsById(defenseSessionId)
+                .orElseThrow(() -> new DefenseSessionNotFoundException("Defense session not found with id: " + defenseSessionId));
     }
 }
@@ -22,6 +22,9 @@ import com.uni.ethesis.exceptions.DefenseNotFoundException;
 import com.uni.ethesis.exceptions.DefenseSessionNotFoundException;
 import com.uni.ethesis.exceptions.ThesisNotFoundException;
 import com.uni.ethesis.service.DefenseSessionService;
+import com.uni.ethesis.service.ThesisStatusTransitionService;
+import com.uni.ethesis.service.index.ProfessorBookingIndex;
+import com.uni.ethesis.utils.TransactionUtils;
 import com.uni.ethesis.utils.mappers.DefenseSessionMapper;
 
 @Service
@@ -31,18 +34,22 @@ public class DefenseSessionServiceImpl implements DefenseSessionService {
     private final DefenseRepository defenseRepository;
     private final ThesisRepository thesisRepository;
     private final DefenseSessionMapper defenseSessionMapper;
-
-    private static final BigDecimal MIN_PASSING_GRADE = BigDecimal.valueOf(3.0);
+    private final ThesisStatusTransitionService statusTransitionService;
+    private final ProfessorBookingIndex professorBookingIndex;
 
     @Autowired
     public DefenseSessionServiceImpl(DefenseSessionRepository defenseSessionRepository,
                                      DefenseRepository defenseRepository,
                                      ThesisRepository thesisRepository,
-                                     DefenseSessionMapper defenseSessionMapper) {
+                                     DefenseSessionMapper defenseSessionMapper,
+                                     ThesisStatusTransitionService statusTransitionService,
+                                     ProfessorBookingIndex professorBookingIndex) {
         this.defenseSessionRepository = defenseSessionRepository;
         this.defenseRepository = defenseRepository;
         this.thesisRepository = thesisRepository;
         this.defenseSessionMapper = defenseSessionMapper;
+        this.statusTransitionService = statusTransitionService;
+        this.professorBookingIndex = professorBookingIndex;
     }
 
     @Override
@@ -103,6 +110,11 @@ public class DefenseSessionServiceImpl implements DefenseSessionService {
                 .orElseThrow(() -> new DefenseSessionNotFoundException("Defense session not found with id: " + id));
 
         if (defenseSessionDto.getDateAndTime() != null) {
+            // Rejected if it would double book one of the committee; moved back on rollback
+            OffsetDateTime previous = professorBookingIndex.reschedule(id, defenseSessionDto.getDateAndTime());
+            if (previous != null) {
+                TransactionUtils.afterRollback(() -> professorBookingIndex.moveSession(id, previous));
+            }
             existingDefenseSession.setDateAndTime(defenseSessionDto.getDateAndTime());
         }
         if (defenseSessionDto.getNotes() != null) {
@@ -120,18 +132,23 @@ public class DefenseSessionServiceImpl implements DefenseSessionService {
             throw new DefenseSessionNotFoundException("Defense session not found with id: " + id);
         }
         defenseSessionRepository.deleteById(id);
+        TransactionUtils.afterCommit(() -> professorBookingIndex.removeSession(id));
     }
 
     @Override
     @Transactional
     public DefenseSessionDto scheduleDefenseForThesis(UUID thesisId, UUID defenseId, OffsetDateTime dateTime, String notes) {
         // Validate thesis exists and is ready for defense
-        Thesis thesis = thesisRepository.findById(thesisId)
+        Thesis thesis = thesisRepository.findByIdForUpdate(thesisId)
                 .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
 
         if (thesis.getStatus() != ThesisStatus.WAITING_FOR_DEFENSE) {
             throw new IllegalStateException("Thesis is not ready for defense. Current status: " + thesis.getStatus());
         }
+        // Checked under the thesis lock, so a scheduling run cannot book it meanwhile
+        if (defenseSessionRepository.findByThesisId(thesisId).isPresent()) {
+            throw new IllegalStateException("Thesis " + thesisId + " is already scheduled for defense");
+        }
 
         // Validate defense exists
         Defense defense = defenseRepository.findById(defenseId)
@@ -156,16 +173,7 @@ public class DefenseSessionServiceImpl implements DefenseSessionService {
                 .orElseThrow(() -> new DefenseSessionNotFoundException("Defense session not found with id: " + defenseSessionId));
 
         // Update thesis with final grade and status
-        Thesis thesis = defenseSession.getThesis();
-        thesis.setFinalGrade(finalGrade);
-        
-        if (finalGrade.compareTo(MIN_PASSING_GRADE) >= 0) {
-            thesis.setStatus(ThesisStatus.DEFENDED);
-        } else {
-            thesis.setStatus(ThesisStatus.FAILED);
-        }
-        
-        thesisRepository.save(thesis);
+        statusTransitionService.recordFinalGrade(defenseSession.getThesis().getId(), finalGrade);
         
         return defenseSessionMapper.defenseSessionToDefenseSessionDto(defenseSession);
     }
@@ -0,0 +1,102 @@
+package com.uni.ethesis.service.impl;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.uni.ethesis.data.dto.SimilarityMatchDto;
+import com.uni.ethesis.data.dto.SimilarityReportDto;
+import com.uni.ethesis.data.entities.ArchivedThesis;
+import com.uni.ethesis.data.entities.Thesis;
+import com.uni.ethesis.data.repo.ArchivedThesisRepository;
+import com.uni.ethesis.data.repo.ThesisDocumentRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.exceptions.ResourceNotFoundException;
+import com.uni.ethesis.exceptions.ServiceException;
+import com.uni.ethesis.exceptions.ThesisNotFoundException;
+import com.uni.ethesis.service.PlagiarismService;
+import com.uni.ethesis.service.plagiarism.FingerprintIndex;
+
+@Service
+public class PlagiarismServiceImpl implements PlagiarismService {
+
+    private static final int MAX_MATCHES = 100;
+
+    private final FingerprintIndex fingerprintIndex;
+    private final ThesisDocumentRepository thesisDocumentRepository;
+    private final ThesisRepository thesisRepository;
+    private final ArchivedThesisRepository archivedThesisRepository;
+
+    @Autowired
+    public PlagiarismServiceImpl(FingerprintIndex fingerprintIndex,
+                                 ThesisDocumentRepository thesisDocumentRepository,
+                                 ThesisRepository thesisRepository,
+                                 ArchivedThesisRepository archivedThesisRepository) {
+        this.fingerprintIndex = fingerprintIndex;
+        this.thesisDocumentRepository = thesisDocumentRepository;
+        this.thesisRepository = thesisRepository;
+        this.archivedThesisRepository = archivedThesisRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SimilarityReportDto getSimilarityReport(UUID thesisId, int limit) {
+        if (!thesisRepository.existsById(thesisId)) {
+            throw new ThesisNotFoundException("Thesis not found with id: " + thesisId);
+        }
+        if (!fingerprintIndex.isReady()) {
+            throw new ServiceException("The similarity index is not available yet");
+        }
+        String text = thesisDocumentRepository.findExtractedTextByThesisId(thesisId)
+                .orElseThrow(() -> new ResourceNotFoundException("Extracted text", "thesisId", thesisId));
+
+        // Fingerprint the stored text rather than trusting the index to hold this thesis:
+        // a report is still possible while its own indexing is pending
+        int[] fingerprints = fingerprintIndex.fingerprints(text);
+        List<FingerprintIndex.Match> matches = fingerprintIndex.query(fingerprints, thesisId,
+                Math.min(Math.max(limit, 1), MAX_MATCHES));
+
+        List<UUID> ids = matches.stream().map(FingerprintIndex.Match::thesisId).toList();
+        Map<UUID, String> titles = new HashMap<>();
+        for (Thesis thesis : thesisRepository.findWithProposalByIdIn(ids)) {
+            titles.put(thesis.getId(), thesis.getProposal() != null ? thesis.getProposal().getTitle() : null);
+        }
+        Map<UUID, String> archivedTitles = new HashMap<>();
+        List<UUID> notLive = ids.stream().filter(id -> !titles.containsKey(id)).toList();
+        if (!notLive.isEmpty()) {
+            for (ArchivedThesis archived : archivedThesisRepository.findAllById(notLive)) {
+                archivedTitles.put(archived.getId(), archived.getTitle());
+            }
+        }
+
+        List<SimilarityMatchDto> results = new ArrayList<>(matches.size());
+        for (FingerprintIndex.Match match : matches) {
+            int shared = match.sharedFingerprints();
+            int union = fingerprints.length + match.documentFingerprints() - shared;
+            boolean archived = archivedTitles.containsKey(match.thesisId());
+            results.add(SimilarityMatchDto.builder()
+                    .thesisId(match.thesisId())
+                    .title(archived ? archivedTitles.get(match.thesisId()) : titles.get(match.thesisId()))
+                    .archived(archived)
+                    .sharedFingerprints(shared)
+                    .containment(fingerprints.length == 0 ? 0 : (double) shared / fingerprints.length)
+                    .similarity(union <= 0 ? 0 : (double) shared / union)
+                    .build());
+        }
+
+        return SimilarityReportDto.builder()
+                .thesisId(thesisId)
+                .fingerprintCount(fingerprints.length)
+                .indexedTheses(fingerprintIndex.size())
+                .matches(results)
+                .generatedAt(OffsetDateTime.now())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.uni.ethesis.service.impl;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,7 +10,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.uni.ethesis.data.dto.KeysetPageDto;
 import com.uni.ethesis.data.dto.ReviewDto;
+import com.uni.ethesis.data.dto.ThesisDto;
 import com.uni.ethesis.data.entities.Review;
 import com.uni.ethesis.data.entities.Teacher;
 import com.uni.ethesis.data.entities.Thesis;
@@ -22,6 +25,9 @@ import com.uni.ethesis.exceptions.ReviewNotFoundException;
 import com.uni.ethesis.exceptions.TeacherNotFoundException;
 import com.uni.ethesis.exceptions.ThesisNotFoundException;
 import com.uni.ethesis.service.ReviewService;
+import com.uni.ethesis.service.ThesisStatusTransitionService;
+import com.uni.ethesis.service.index.ThesisStatistics;
+import com.uni.ethesis.utils.KeysetPagination;
 import com.uni.ethesis.utils.mappers.ReviewMapper;
 
 @Service
@@ -31,16 +37,22 @@ public class ReviewServiceImpl implements ReviewService {
     private final ThesisRepository thesisRepository;
     private final TeacherRepository teacherRepository;
     private final ReviewMapper reviewMapper;
+    private final ThesisStatusTransitionService statusTransitionService;
+    private final ThesisStatistics thesisStatistics;
 
     @Autowired
     public ReviewServiceImpl(ReviewRepository reviewRepository,
                              ThesisRepository thesisRepository,
                              TeacherRepository teacherRepository,
-                             ReviewMapper reviewMapper) {
+                             ReviewMapper reviewMapper,
+                             ThesisStatusTransitionService statusTransitionService,
+                             ThesisStatistics thesisStatistics) {
         this.reviewRepository = reviewRepository;
         this.thesisRepository = thesisRepository;
         this.teacherRepository = teacherRepository;
         this.reviewMapper = reviewMapper;
+        this.statusTransitionService = statusTransitionService;
+        this.thesisStatistics = thesisStatistics;
     }
 
     @Override
@@ -59,6 +71,8 @@ public class ReviewServiceImpl implements ReviewService {
         review.setThesis(thesis);
         
         Review savedReview = reviewRepository.save(review);
+        ReviewConclusion conclusion = savedReview.getConclusion();
+        thesisStatistics.afterCommit(() -> thesisStatistics.reviewAdded(conclusion));
         return reviewMapper.reviewToReviewDto(savedReview);
     }
 
@@ -96,6 +110,8 @@ public class ReviewServiceImpl implements ReviewService {
         Review existingReview = reviewRepository.findById(id)
                 .orElseThrow(() -> new ReviewNotFoundException("Review not found with id: " + id));
 
+        ReviewConclusion previousConclusion = existingReview.getConclusion();
+
         // Update allowed fields
         if (reviewDto.getContent() != null) {
             existingReview.setContent(reviewDto.getContent());
@@ -105,16 +121,19 @@ public class ReviewServiceImpl implements ReviewService {
         }
 
         Review updatedReview = reviewRepository.save(existingReview);
+        ReviewConclusion newConclusion = updatedReview.getConclusion();
+        thesisStatistics.afterCommit(() -> thesisStatistics.reviewConclusionChanged(previousConclusion, newConclusion));
         return reviewMapper.reviewToReviewDto(updatedReview);
     }
 
     @Override
     @Transactional
     public void deleteReview(UUID id) {
-        if (!reviewRepository.existsById(id)) {
-            throw new ReviewNotFoundException("Review not found with id: " + id);
-        }
-        reviewRepository.deleteById(id);
+        Review review = reviewRepository.findById(id)
+                .orElseThrow(() -> new ReviewNotFoundException("Review not found with id: " + id));
+        ReviewConclusion conclusion = review.getConclusion();
+        reviewRepository.delete(review);
+        thesisStatistics.afterCommit(() -> thesisStatistics.reviewRemoved(conclusion));
     }
 
     @Override
@@ -142,16 +161,14 @@ public class ReviewServiceImpl implements ReviewService {
                 .build();
 
         Review savedReview = reviewRepository.save(review);
+        thesisStatistics.afterCommit(() -> thesisStatistics.reviewAdded(conclusion));
 
-        // Update thesis status based on review conclusion
+        // Update thesis status based on review conclusion. The conditional update fails
+        // if another reviewer already moved the thesis on, rolling this review back.
+        // If rejected, student needs to resubmit, so the status stays WAITING_FOR_REVIEW.
         if (conclusion == ReviewConclusion.ACCEPTED) {
-            thesis.setStatus(ThesisStatus.WAITING_FOR_DEFENSE);
-        } else {
-            // If rejected, student needs to resubmit, so keep status as WAITING_FOR_REVIEW
-            // or you could create a new status like NEEDS_REVISION
-            thesis.setStatus(ThesisStatus.WAITING_FOR_REVIEW);
+            statusTransitionService.transition(thesisId, ThesisStatus.WAITING_FOR_REVIEW, ThesisStatus.WAITING_FOR_DEFENSE);
         }
-        thesisRepository.save(thesis);
 
         return reviewMapper.reviewToReviewDto(savedReview);
     }
@@ -184,21 +201,20 @@ public class ReviewServiceImpl implements ReviewService {
             throw new IllegalStateException("Thesis cannot proceed to defense - review not accepted");
         }
 
-        Thesis thesis = thesisRepository.findById(thesisId)
-                .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
-
-        thesis.setStatus(ThesisStatus.WAITING_FOR_DEFENSE);
-        thesisRepository.save(thesis);
+        statusTransitionService.transition(thesisId, ThesisStatus.WAITING_FOR_DEFENSE);
     }
 
     @Override
     public long countReviewsByConclusion(ReviewConclusion conclusion) {
+        if (thesisStatistics.isReady()) {
+            return thesisStatistics.countReviewsByConclusion(conclusion);
+        }
         return reviewRepository.countByConclusion(conclusion);
     }
 
     @Override
     public long countNegativeReviews() {
-        return reviewRepository.countByConclusion(ReviewConclusion.REJECTED);
+        return countReviewsByConclusion(ReviewConclusion.REJECTED);
     }
 
     @Override
@@ -210,13 +226,21 @@ public class ReviewServiceImpl implements ReviewService {
 
     @Override
     public List<ReviewDto> getThesesAwaitingReview() {
-        // Find all theses with WAITING_FOR_REVIEW status that don't have reviews yet
-        return thesisRepository.findAll().stream()
-                .filter(thesis -> thesis.getStatus() == ThesisStatus.WAITING_FOR_REVIEW)
-                .filter(thesis -> !reviewRepository.existsByThesisId(thesis.getId()))
-                .map(thesis -> ReviewDto.builder()
-                        .thesisId(thesis.getId())
+        // Theses with WAITING_FOR_REVIEW status that don't have reviews yet, resolved by one anti-join
+        return thesisRepository.findUnreviewedIdsByStatus(ThesisStatus.WAITING_FOR_REVIEW).stream()
+                .map(thesisId -> ReviewDto.builder()
+                        .thesisId(thesisId)
                         .build())
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public KeysetPageDto<ThesisDto> getThesesAwaitingReview(OffsetDateTime afterCreatedAt, UUID afterId, int size) {
+        int pageSize = KeysetPagination.normalizeSize(size);
+        List<ThesisDto> rows = (afterCreatedAt == null || afterId == null)
+                ? thesisRepository.findUnreviewedQueuePage(ThesisStatus.WAITING_FOR_REVIEW, KeysetPagination.probe(pageSize))
+                : thesisRepository.findUnreviewedQueuePageAfter(ThesisStatus.WAITING_FOR_REVIEW, afterCreatedAt, afterId,
+                        KeysetPagination.probe(pageSize));
+        return KeysetPagination.toPage(rows, pageSize, ThesisDto::getCreatedAt, ThesisDto::getId);
+    }
 }
@@ -18,6 +18,8 @@ import com.uni.ethesis.data.repo.TeacherRepository;
 import com.uni.ethesis.data.repo.UserRepository;
 import com.uni.ethesis.exceptions.TeacherNotFoundException;
 import com.uni.ethesis.service.TeacherService;
+import com.uni.ethesis.service.index.UserRoleIndex;
+import com.uni.ethesis.utils.TransactionUtils;
 import com.uni.ethesis.utils.mappers.TeacherMapper;
 
 @Service
@@ -27,16 +29,19 @@ public class TeacherServiceImpl implements TeacherService {
     private final UserRepository userRepository;
     private final StudentRepository studentRepository;
     private final TeacherMapper teacherMapper;
+    private final UserRoleIndex userRoleIndex;
 
     @Autowired
     public TeacherServiceImpl(TeacherRepository teacherRepository,
                               UserRepository userRepository,
                               StudentRepository studentRepository,
-                              TeacherMapper teacherMapper) {
+                              TeacherMapper teacherMapper,
+                              UserRoleIndex userRoleIndex) {
         this.teacherRepository = teacherRepository;
         this.userRepository = userRepository;
         this.studentRepository = studentRepository;
         this.teacherMapper = teacherMapper;
+        this.userRoleIndex = userRoleIndex;
     }
 
     @Override
@@ -111,6 +116,9 @@ public class TeacherServiceImpl implements TeacherService {
         
         User user = teacher.getUser();
         teacherRepository.delete(teacher);
+        if (user != null) {
+            TransactionUtils.afterCommit(() -> userRoleIndex.invalidate(user.getId()));
+        }
 
         if (user != null) {
             // Check if user has a student role before deleting
@@ -137,6 +145,7 @@ public class TeacherServiceImpl implements TeacherService {
                 .position(teacherDto.getPosition())
                 .build();
         Teacher savedTeacher = teacherRepository.save(teacherToSave);
+        TransactionUtils.afterCommit(() -> userRoleIndex.invalidate(userId));
         return teacherMapper.teacherToTeacherDto(savedTeacher);
     }
 }
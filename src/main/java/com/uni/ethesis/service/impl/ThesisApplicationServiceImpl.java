@@ -1,14 +1,23 @@
 package com.uni.ethesis.service.impl;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.uni.ethesis.data.dto.ProposalDuplicateDto;
 import com.uni.ethesis.data.dto.ThesisProposalDto;
+import com.uni.ethesis.data.entities.Thesis;
 import com.uni.ethesis.data.entities.ThesisProposal;
 import com.uni.ethesis.data.repo.StudentRepository;
 import com.uni.ethesis.data.repo.TeacherRepository;
@@ -16,6 +25,11 @@ import com.uni.ethesis.data.repo.ThesisProposalRepository;
 import com.uni.ethesis.enums.ThesisProposalStatus;
 import com.uni.ethesis.exceptions.ThesisProposalNotFoundException;
 import com.uni.ethesis.service.ThesisApplicationService;
+import com.uni.ethesis.service.ThesisService;
+import com.uni.ethesis.service.index.MinHash;
+import com.uni.ethesis.service.index.ProposalDuplicateIndex;
+import com.uni.ethesis.service.index.ProposalSearchIndex;
+import com.uni.ethesis.utils.TransactionUtils;
 import com.uni.ethesis.utils.mappers.ThesisApplicationMapper;
 
 @Service
@@ -25,16 +39,25 @@ public class ThesisApplicationServiceImpl implements ThesisApplicationService {
     private final ThesisApplicationMapper thesisApplicationMapper;
     private final StudentRepository studentRepository; // For @Context in mapper
     private final TeacherRepository teacherRepository; // For @Context in mapper
+    private final ProposalSearchIndex proposalSearchIndex;
+    private final ThesisService thesisService;
+    private final ProposalDuplicateIndex proposalDuplicateIndex;
 
     @Autowired
     public ThesisApplicationServiceImpl(ThesisProposalRepository thesisProposalRepository,
                                         ThesisApplicationMapper thesisApplicationMapper,
                                         StudentRepository studentRepository,
-                                        TeacherRepository teacherRepository) {
+                                        TeacherRepository teacherRepository,
+                                        ProposalSearchIndex proposalSearchIndex,
+                                        ThesisService thesisService,
+                                        ProposalDuplicateIndex proposalDuplicateIndex) {
         this.thesisProposalRepository = thesisProposalRepository;
         this.thesisApplicationMapper = thesisApplicationMapper;
         this.studentRepository = studentRepository;
         this.teacherRepository = teacherRepository;
+        this.proposalSearchIndex = proposalSearchIndex;
+        this.thesisService = thesisService;
+        this.proposalDuplicateIndex = proposalDuplicateIndex;
     }
 
     @Override
@@ -42,8 +65,16 @@ public class ThesisApplicationServiceImpl implements ThesisApplicationService {
     public ThesisProposalDto createThesisProposal(ThesisProposalDto thesisProposalDto) {
         ThesisProposal thesisProposal = thesisApplicationMapper.thesisProposalDtoToThesisProposal(
                 thesisProposalDto, studentRepository, teacherRepository);
+        int[] signature = ProposalDuplicateIndex.signature(thesisProposal);
+        thesisProposal.setMinhashSignature(MinHash.toBytes(signature));
         ThesisProposal savedProposal = thesisProposalRepository.save(thesisProposal);
-        return thesisApplicationMapper.thesisProposalToThesisProposalDto(savedProposal);
+        ThesisProposalDto savedDto = thesisApplicationMapper.thesisProposalToThesisProposalDto(savedProposal);
+        savedDto.setPossibleDuplicates(findPossibleDuplicates(signature, savedProposal.getId()));
+        TransactionUtils.afterCommit(() -> {
+            proposalSearchIndex.index(savedDto);
+            proposalDuplicateIndex.add(savedProposal.getId(), signature);
+        });
+        return savedDto;
     }
 
     @Override
@@ -87,8 +118,16 @@ public class ThesisApplicationServiceImpl implements ThesisApplicationService {
         return thesisProposalRepository.findById(id)
                 .map(existingProposal -> {
                     thesisApplicationMapper.updateThesisProposalFromDto(thesisProposalDto, existingProposal, studentRepository, teacherRepository);
+                    int[] signature = ProposalDuplicateIndex.signature(existingProposal);
+                    existingProposal.setMinhashSignature(MinHash.toBytes(signature));
                     ThesisProposal updatedProposal = thesisProposalRepository.save(existingProposal);
-                    return thesisApplicationMapper.thesisProposalToThesisProposalDto(updatedProposal);
+                    ThesisProposalDto updatedDto = thesisApplicationMapper.thesisProposalToThesisProposalDto(updatedProposal);
+                    updatedDto.setPossibleDuplicates(findPossibleDuplicates(signature, id));
+                    TransactionUtils.afterCommit(() -> {
+                        proposalSearchIndex.index(updatedDto);
+                        proposalDuplicateIndex.add(id, signature);
+                    });
+                    return updatedDto;
                 })
                 .orElseThrow(() -> new ThesisProposalNotFoundException("Thesis proposal not found with id: " + id));
     }
@@ -108,6 +147,57 @@ public class ThesisApplicationServiceImpl implements ThesisApplicationService {
     public void deleteThesisProposal(UUID id) {
         ThesisProposal proposal = thesisProposalRepository.findById(id)
                 .orElseThrow(() -> new ThesisProposalNotFoundException("Thesis proposal not found with id: " + id));
-        thesisProposalRepository.delete(proposal);
+        Thesis thesis = proposal.getThesis();
+        if (thesis != null) {
+            // The proposal goes with its thesis (cascade); deleteThesis also drops the thesis'
+            // document, blob reference, fingerprints and statistics
+            thesisService.deleteThesis(thesis.getId());
+        } else {
+            thesisProposalRepository.delete(proposal);
+        }
+        TransactionUtils.afterCommit(() -> {
+            proposalSearchIndex.remove(id);
+            proposalDuplicateIndex.remove(id);
+        });
+    }
+
+    @Override
+    public Page<ThesisProposalDto> searchThesisProposals(String query, Pageable pageable) {
+        Page<UUID> ids = proposalSearchIndex.search(query, ProposalSearchIndex.ALL_FIELDS, pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+
+        // One IN query for the page, then restore the index ranking
+        Map<UUID, ThesisProposal> byId = thesisProposalRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(ThesisProposal::getId, Function.identity()));
+        List<ThesisProposalDto> content = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(thesisApplicationMapper::thesisProposalToThesisProposalDto)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
+    // LSH candidates above the similarity threshold, with their current titles
+    private List<ProposalDuplicateDto> findPossibleDuplicates(int[] signature, UUID proposalId) {
+        List<ProposalDuplicateIndex.Duplicate> duplicates = proposalDuplicateIndex.findDuplicates(signature, proposalId);
+        if (duplicates.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, String> titles = new HashMap<>();
+        for (Object[] row : thesisProposalRepository.findTitlesByIdIn(
+                duplicates.stream().map(ProposalDuplicateIndex.Duplicate::proposalId).toList())) {
+            titles.put((UUID) row[0], (String) row[1]);
+        }
+        // Deleted after the index was queried
+        return duplicates.stream()
+                .filter(duplicate -> titles.containsKey(duplicate.proposalId()))
+                .map(duplicate -> ProposalDuplicateDto.builder()
+                        .proposalId(duplicate.proposalId())
+                        .title(titles.get(duplicate.proposalId()))
+                        .similarity(duplicate.similarity())
+                        .build())
+                .collect(Collectors.toList());
     }
 }
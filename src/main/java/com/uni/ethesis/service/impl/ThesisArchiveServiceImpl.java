@@ -0,0 +1,343 @@
+package com.uni.ethesis.service.impl;
+
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uni.ethesis.data.dto.ArchivedThesisDto;
+import com.uni.ethesis.data.dto.ArchivedThesisPayloadDto;
+import com.uni.ethesis.data.entities.ArchivedThesis;
+import com.uni.ethesis.data.entities.Comment;
+import com.uni.ethesis.data.entities.DefenseSession;
+import com.uni.ethesis.data.entities.DefenseSessionProfessor;
+import com.uni.ethesis.data.entities.Review;
+import com.uni.ethesis.data.entities.Thesis;
+import com.uni.ethesis.data.entities.ThesisProposal;
+import com.uni.ethesis.data.repo.ArchivedThesisRepository;
+import com.uni.ethesis.data.repo.CommentRepository;
+import com.uni.ethesis.data.repo.DefenseSessionProfessorRepository;
+import com.uni.ethesis.data.repo.DefenseSessionRepository;
+import com.uni.ethesis.data.repo.PdfProcessingJobRepository;
+import com.uni.ethesis.data.repo.ReviewRepository;
+import com.uni.ethesis.data.repo.ThesisDocumentRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.data.repo.ThesisStatusTransitionRepository;
+import com.uni.ethesis.data.repo.UploadSessionRepository;
+import com.uni.ethesis.enums.ReviewConclusion;
+import com.uni.ethesis.enums.ThesisStatus;
+import com.uni.ethesis.exceptions.ServiceException;
+import com.uni.ethesis.exceptions.ThesisNotFoundException;
+import com.uni.ethesis.service.ThesisArchiveService;
+import com.uni.ethesis.service.index.ProfessorBookingIndex;
+import com.uni.ethesis.service.index.ThesisStatistics;
+import com.uni.ethesis.service.storage.BlobStore;
+import com.uni.ethesis.utils.TransactionUtils;
+import com.uni.ethesis.utils.mappers.ArchivedThesisMapper;
+import com.uni.ethesis.utils.mappers.CommentMapper;
+import com.uni.ethesis.utils.mappers.DefenseSessionMapper;
+import com.uni.ethesis.utils.mappers.DefenseSessionProfessorMapper;
+import com.uni.ethesis.utils.mappers.ReviewMapper;
+import com.uni.ethesis.utils.mappers.ThesisApplicationMapper;
+import com.uni.ethesis.utils.mappers.ThesisMapper;
+
+/**
+ * Keeps the hot thesis tables limited to recent work. A nightly job copies closed theses
+ * whose last status change is older than {@code app.archive.horizon} into
+ * {@code archived_theses} and deletes them, with their reviews, comments and defense
+ * sessions, from the hot tables. Each batch is its own transaction, so a failure leaves
+ * every thesis either fully archived or untouched.
+ * <p>
+ * Proposals and status history are kept: proposals are still listed per student and the
+ * history table is append-only by design.
+ */
+@Service
+public class ThesisArchiveServiceImpl implements ThesisArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThesisArchiveServiceImpl.class);
+
+    private static final Set<ThesisStatus> CLOSED_STATUSES = EnumSet.of(ThesisStatus.DEFENDED, ThesisStatus.FAILED);
+
+    private final ThesisRepository thesisRepository;
+    private final ReviewRepository reviewRepository;
+    private final CommentRepository commentRepository;
+    private final DefenseSessionRepository defenseSessionRepository;
+    private final DefenseSessionProfessorRepository defenseSessionProfessorRepository;
+    private final ThesisStatusTransitionRepository statusTransitionRepository;
+    private final ThesisDocumentRepository thesisDocumentRepository;
+    private final PdfProcessingJobRepository pdfProcessingJobRepository;
+    private final UploadSessionRepository uploadSessionRepository;
+    private final BlobStore blobStore;
+    private final ArchivedThesisRepository archivedThesisRepository;
+    private final ArchivedThesisMapper archivedThesisMapper;
+    private final ThesisMapper thesisMapper;
+    private final ThesisApplicationMapper thesisApplicationMapper;
+    private final ReviewMapper reviewMapper;
+    private final CommentMapper commentMapper;
+    private final DefenseSessionMapper defenseSessionMapper;
+    private final DefenseSessionProfessorMapper defenseSessionProfessorMapper;
+    private final ThesisStatistics thesisStatistics;
+    private final ProfessorBookingIndex professorBookingIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.horizon:P2Y}")
+    private Period horizon;
+
+    @Value("${app.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.archive.academic-year-start-month:9}")
+    private int academicYearStartMonth;
+
+    @Autowired
+    public ThesisArchiveServiceImpl(ThesisRepository thesisRepository,
+                                    ReviewRepository reviewRepository,
+                                    CommentRepository commentRepository,
+                                    DefenseSessionRepository defenseSessionRepository,
+                                    DefenseSessionProfessorRepository defenseSessionProfessorRepository,
+                                    ThesisStatusTransitionRepository statusTransitionRepository,
+                                    ThesisDocumentRepository thesisDocumentRepository,
+                                    PdfProcessingJobRepository pdfProcessingJobRepository,
+                                    UploadSessionRepository uploadSessionRepository,
+                                    BlobStore blobStore,
+                                    ArchivedThesisRepository archivedThesisRepository,
+                                    ArchivedThesisMapper archivedThesisMapper,
+                                    ThesisMapper thesisMapper,
+                                    ThesisApplicationMapper thesisApplicationMapper,
+                                    ReviewMapper reviewMapper,
+                                    CommentMapper commentMapper,
+                                    DefenseSessionMapper defenseSessionMapper,
+                                    DefenseSessionProfessorMapper defenseSessionProfessorMapper,
+                                    ThesisStatistics thesisStatistics,
+                                    ProfessorBookingIndex professorBookingIndex,
+                                    TransactionTemplate transactionTemplate,
+                                    ObjectMapper objectMapper) {
+        this.thesisRepository = thesisRepository;
+        this.reviewRepository = reviewRepository;
+        this.commentRepository = commentRepository;
+        this.defenseSessionRepository = defenseSessionRepository;
+        this.defenseSessionProfessorRepository = defenseSessionProfessorRepository;
+        this.statusTransitionRepository = statusTransitionRepository;
+        this.thesisDocumentRepository = thesisDocumentRepository;
+        this.pdfProcessingJobRepository = pdfProcessingJobRepository;
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.blobStore = blobStore;
+        this.archivedThesisRepository = archivedThesisRepository;
+        this.archivedThesisMapper = archivedThesisMapper;
+        this.thesisMapper = thesisMapper;
+        this.thesisApplicationMapper = thesisApplicationMapper;
+        this.reviewMapper = reviewMapper;
+        this.commentMapper = commentMapper;
+        this.defenseSessionMapper = defenseSessionMapper;
+        this.defenseSessionProfessorMapper = defenseSessionProfessorMapper;
+        this.thesisStatistics = thesisStatistics;
+        this.professorBookingIndex = professorBookingIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        int archived = archiveClosedTheses();
+        if (archived > 0) {
+            log.info("Archived {} closed theses", archived);
+        }
+    }
+
+    @Override
+    public int archiveClosedTheses() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(horizon);
+        Pageable batch = PageRequest.of(0, batchSize);
+        int total = 0;
+        while (true) {
+            // Archived rows leave the hot table, so the first page is always the next batch
+            List<UUID> ids = thesisRepository.findArchivableIds(CLOSED_STATUSES, cutoff, batch);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer archived = transactionTemplate.execute(status -> archiveBatch(ids));
+            if (archived == null || archived == 0) {
+                break;
+            }
+            total += archived;
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int archiveBatch(List<UUID> ids) {
+        List<Thesis> theses = thesisRepository.findWithProposalByIdIn(ids);
+        if (theses.isEmpty()) {
+            return 0;
+        }
+        List<UUID> thesisIds = theses.stream().map(Thesis::getId).toList();
+
+        Map<UUID, OffsetDateTime> closedAtByThesis = new HashMap<>();
+        for (Object[] row : statusTransitionRepository.findLastTransitionTimes(thesisIds)) {
+            closedAtByThesis.put((UUID) row[0], (OffsetDateTime) row[1]);
+        }
+
+        List<Review> reviews = reviewRepository.findByThesisIdIn(thesisIds);
+        List<Comment> comments = commentRepository.findByThesisIdIn(thesisIds);
+        List<DefenseSession> sessions = defenseSessionRepository.findByThesisIdIn(thesisIds);
+        List<DefenseSessionProfessor> sessionProfessors = defenseSessionProfessorRepository.findByThesisIdIn(thesisIds);
+
+        Map<UUID, UUID> thesisByReview = reviews.stream()
+                .collect(Collectors.toMap(Review::getId, r -> r.getThesis().getId()));
+        Map<UUID, UUID> thesisBySession = sessions.stream()
+                .collect(Collectors.toMap(DefenseSession::getId, s -> s.getThesis().getId()));
+        Map<UUID, List<Review>> reviewsByThesis = reviews.stream()
+                .collect(Collectors.groupingBy(r -> r.getThesis().getId()));
+        Map<UUID, List<Comment>> commentsByThesis = comments.stream()
+                .collect(Collectors.groupingBy(c -> thesisByReview.get(c.getReview().getId())));
+        Map<UUID, List<DefenseSession>> sessionsByThesis = sessions.stream()
+                .collect(Collectors.groupingBy(s -> s.getThesis().getId()));
+        Map<UUID, List<DefenseSessionProfessor>> sessionProfessorsByThesis = sessionProfessors.stream()
+                .collect(Collectors.groupingBy(dsp -> thesisBySession.get(dsp.getDefenseSession().getId())));
+
+        List<ArchivedThesis> archived = new ArrayList<>(theses.size());
+        for (Thesis thesis : theses) {
+            UUID id = thesis.getId();
+            ThesisProposal proposal = thesis.getProposal();
+            ArchivedThesisPayloadDto payload = ArchivedThesisPayloadDto.builder()
+                    .thesis(thesisMapper.thesisToThesisDto(thesis))
+                    .proposal(proposal != null ? thesisApplicationMapper.thesisProposalToThesisProposalDto(proposal) : null)
+                    .reviews(reviewsByThesis.getOrDefault(id, List.of()).stream()
+                            .map(reviewMapper::reviewToReviewDto).toList())
+                    .comments(commentsByThesis.getOrDefault(id, List.of()).stream()
+                            .map(commentMapper::commentToCommentDto).toList())
+                    .defenseSessions(sessionsByThesis.getOrDefault(id, List.of()).stream()
+                            .map(defenseSessionMapper::defenseSessionToDefenseSessionDto).toList())
+                    .defenseSessionProfessors(sessionProfessorsByThesis.getOrDefault(id, List.of()).stream()
+                            .map(defenseSessionProfessorMapper::defenseSessionProfessorToDto).toList())
+                    .build();
+
+            archived.add(ArchivedThesis.builder()
+                    .id(id)
+                    .proposalId(proposal != null ? proposal.getId() : null)
+                    .studentId(proposal != null && proposal.getStudent() != null ? proposal.getStudent().getId() : null)
+                    .teacherId(proposal != null && proposal.getTeacher() != null ? proposal.getTeacher().getId() : null)
+                    .title(proposal != null ? proposal.getTitle() : null)
+                    .status(thesis.getStatus())
+                    .finalGrade(thesis.getFinalGrade())
+                    .academicYear(academicYearOf(thesis.getCreatedAt()))
+                    .thesisCreatedAt(thesis.getCreatedAt())
+                    .closedAt(closedAtOf(thesis, closedAtByThesis.get(id)))
+                    .pdfPath(thesis.getPdfPath())
+                    .pdfHash(thesis.getPdfHash())
+                    .payload(writePayload(payload))
+                    .build());
+        }
+        archivedThesisRepository.saveAll(archived);
+
+        // Children first; bulk deletes bypass the entity cascades on Thesis and ThesisProposal
+        commentRepository.deleteByThesisIdIn(thesisIds);
+        reviewRepository.deleteByThesisIdIn(thesisIds);
+        defenseSessionProfessorRepository.deleteByThesisIdIn(thesisIds);
+        defenseSessionRepository.deleteByThesisIdIn(thesisIds);
+        thesisDocumentRepository.deleteByThesisIdIn(thesisIds);
+        // Jobs and upload sessions hold the thesis id without a foreign key, so nothing else removes them
+        pdfProcessingJobRepository.deleteByThesisIdIn(thesisIds);
+        List<UUID> uploadIds = uploadSessionRepository.findIdsByThesisIdIn(thesisIds);
+        uploadSessionRepository.deleteByThesisIdIn(thesisIds);
+        thesisRepository.deleteByIdIn(thesisIds);
+
+        Map<UUID, ThesisStatus> removedStatuses = theses.stream()
+                .collect(Collectors.toMap(Thesis::getId, Thesis::getStatus));
+        List<ReviewConclusion> removedConclusions = reviews.stream().map(Review::getConclusion).toList();
+        List<UUID> removedSessionIds = sessions.stream().map(DefenseSession::getId).toList();
+        thesisStatistics.afterCommit(() -> {
+            removedStatuses.forEach(thesisStatistics::thesisRemoved);
+            removedConclusions.forEach(thesisStatistics::reviewRemoved);
+        });
+        TransactionUtils.afterCommit(() -> removedSessionIds.forEach(professorBookingIndex::removeSession));
+        TransactionUtils.afterCommit(() -> uploadIds.forEach(blobStore::deleteUpload));
+        return archived.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ArchivedThesisDto> searchArchive(Integer academicYear, UUID studentId, UUID teacherId, Pageable pageable) {
+        Specification<ArchivedThesis> spec = (root, query, cb) -> cb.conjunction();
+        if (academicYear != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("academicYear"), academicYear));
+        }
+        if (studentId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("studentId"), studentId));
+        }
+        if (teacherId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("teacherId"), teacherId));
+        }
+        return archivedThesisRepository.findAll(spec, pageable).map(archivedThesisMapper::archivedThesisToDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ArchivedThesisDto getArchivedThesis(UUID id) {
+        ArchivedThesis archivedThesis = archivedThesisRepository.findById(id)
+                .orElseThrow(() -> new ThesisNotFoundException("Archived thesis not found with id: " + id));
+        ArchivedThesisDto dto = archivedThesisMapper.archivedThesisToDto(archivedThesis);
+        dto.setPayload(readPayload(archivedThesis));
+        return dto;
+    }
+
+    int academicYearOf(OffsetDateTime createdAt) {
+        return createdAt.getMonthValue() >= academicYearStartMonth ? createdAt.getYear() : createdAt.getYear() - 1;
+    }
+
+    private OffsetDateTime closedAtOf(Thesis thesis, OffsetDateTime lastTransition) {
+        if (lastTransition != null) {
+            return lastTransition;
+        }
+        return thesis.getLastModifiedAt() != null ? thesis.getLastModifiedAt() : thesis.getCreatedAt();
+    }
+
+    private String writePayload(ArchivedThesisPayloadDto payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new ServiceException("Failed to serialize archived thesis " + payload.getThesis().getId(), e);
+        }
+    }
+
+    private ArchivedThesisPayloadDto readPayload(ArchivedThesis archivedThesis) {
+        if (archivedThesis.getPayload() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(archivedThesis.getPayload(), ArchivedThesisPayloadDto.class);
+        } catch (JsonProcessingException e) {
+            throw new ServiceException("Failed to read archived thesis " + archivedThesis.getId(), e);
+        }
+    }
+}
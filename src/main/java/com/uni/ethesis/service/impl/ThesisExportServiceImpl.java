@@ -0,0 +1,164 @@
+package com.uni.ethesis.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.uni.ethesis.data.dto.ThesisExportRow;
+import com.uni.ethesis.data.repo.ArchivedThesisRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.service.ThesisExportService;
+import com.uni.ethesis.service.storage.BlobStore;
+
+@Service
+public class ThesisExportServiceImpl implements ThesisExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThesisExportServiceImpl.class);
+
+    static final String MANIFEST_ENTRY = "manifest.csv";
+    static final String PDF_DIRECTORY = "pdfs/";
+    private static final String MANIFEST_HEADER =
+            "thesis_id,title,student_university_id,student_name,supervisor_name,final_grade,defended_at,source,pdf_file,sha256";
+
+    private final ThesisRepository thesisRepository;
+    private final ArchivedThesisRepository archivedThesisRepository;
+    private final BlobStore blobStore;
+
+    @Autowired
+    public ThesisExportServiceImpl(ThesisRepository thesisRepository,
+                                   ArchivedThesisRepository archivedThesisRepository,
+                                   BlobStore blobStore) {
+        this.thesisRepository = thesisRepository;
+        this.archivedThesisRepository = archivedThesisRepository;
+        this.blobStore = blobStore;
+    }
+
+    // Read-only transaction so the driver can use a server-side cursor for the fetch size.
+    // Repeatable read gives both queries one snapshot, so a thesis archived between them is
+    // neither missed nor exported twice. The transaction, and its connection, stay open
+    // until the client has downloaded the whole ZIP.
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void writeDefendedThesesZip(OffsetDateTime from, OffsetDateTime to, OutputStream out) throws IOException {
+        // The manifest is collected in a temp file and appended last: a ZIP entry has to be
+        // written in one go, and the PDFs are only seen once while the cursors are open.
+        Path manifest = Files.createTempFile("thesis-export-", ".csv");
+        try {
+            ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+            int exported = 0;
+            int missing = 0;
+            try (BufferedWriter manifestWriter = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8)) {
+                manifestWriter.write(MANIFEST_HEADER);
+                manifestWriter.newLine();
+
+                try (Stream<ThesisExportRow> rows = archivedThesisRepository.streamDefendedForExport(from, to)) {
+                    int[] counts = writeRows(rows.iterator(), "archived", zip, manifestWriter);
+                    exported += counts[0];
+                    missing += counts[1];
+                }
+                try (Stream<ThesisExportRow> rows = thesisRepository.streamDefendedForExport(from, to)) {
+                    int[] counts = writeRows(rows.iterator(), "current", zip, manifestWriter);
+                    exported += counts[0];
+                    missing += counts[1];
+                }
+            }
+
+            zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+            zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+            Files.copy(manifest, zip);
+            zip.closeEntry();
+            // Finish rather than close: the container owns the response stream
+            zip.finish();
+            zip.flush();
+            log.info("Exported {} defended theses from {} to {} ({} without a PDF on disk)", exported, from, to, missing);
+        } finally {
+            Files.deleteIfExists(manifest);
+        }
+    }
+
+    // Returns [theses written, theses whose PDF was missing]
+    private int[] writeRows(Iterator<ThesisExportRow> rows, String source, ZipOutputStream zip,
+                            BufferedWriter manifestWriter) throws IOException {
+        int exported = 0;
+        int missing = 0;
+        // PDFs are already compressed; deflating them again only costs CPU
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        while (rows.hasNext()) {
+            ThesisExportRow row = rows.next();
+            String entryName = null;
+            Path pdf = locatePdf(row);
+            if (pdf != null) {
+                entryName = PDF_DIRECTORY + row.getThesisId() + ".pdf";
+                ZipEntry entry = new ZipEntry(entryName);
+                if (row.getDefendedAt() != null) {
+                    entry.setLastModifiedTime(FileTime.from(row.getDefendedAt().toInstant()));
+                }
+                zip.putNextEntry(entry);
+                Files.copy(pdf, zip);
+                zip.closeEntry();
+            } else {
+                log.warn("PDF of defended thesis {} is missing, exporting its metadata only", row.getThesisId());
+                missing++;
+            }
+            writeManifestLine(manifestWriter, row, source, entryName);
+            exported++;
+        }
+        return new int[] { exported, missing };
+    }
+
+    private Path locatePdf(ThesisExportRow row) {
+        Path path;
+        if (row.getPdfHash() != null) {
+            path = blobStore.resolve(row.getPdfHash());
+        } else if (row.getPdfPath() != null) {
+            path = blobStore.resolveLegacy(row.getPdfPath());
+        } else {
+            return null;
+        }
+        return path != null && Files.isRegularFile(path) ? path : null;
+    }
+
+    private static void writeManifestLine(BufferedWriter writer, ThesisExportRow row, String source,
+                                          String entryName) throws IOException {
+        writer.write(String.join(",",
+                csv(row.getThesisId()),
+                csv(row.getTitle()),
+                csv(row.getStudentUniversityId()),
+                csv(row.getStudentName()),
+                csv(row.getSupervisorName()),
+                csv(row.getFinalGrade() != null ? row.getFinalGrade().toPlainString() : null),
+                csv(row.getDefendedAt()),
+                source,
+                csv(entryName),
+                csv(row.getPdfHash())));
+        writer.newLine();
+    }
+
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+}
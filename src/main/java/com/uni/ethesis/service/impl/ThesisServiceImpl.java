@@ -1,53 +1,112 @@
 package com.uni.ethesis.service.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.uni.ethesis.data.dto.BulkThesisGradeRequestDto;
+import com.uni.ethesis.data.dto.BulkThesisReportDto;
+import com.uni.ethesis.data.dto.BulkThesisResultDto;
+import com.uni.ethesis.data.dto.BulkThesisStatusRequestDto;
+import com.uni.ethesis.data.dto.KeysetPageDto;
+import com.uni.ethesis.data.dto.ThesisDetailView;
+import com.uni.ethesis.data.dto.ThesisDocumentDto;
 import com.uni.ethesis.data.dto.ThesisDto;
+import com.uni.ethesis.data.dto.ThesisPdfDto;
+import com.uni.ethesis.data.dto.ThesisStatisticsDto;
 import com.uni.ethesis.data.entities.Thesis;
+import com.uni.ethesis.data.entities.ThesisDocument;
 import com.uni.ethesis.data.entities.ThesisProposal;
+import com.uni.ethesis.data.repo.PdfProcessingJobRepository;
+import com.uni.ethesis.data.repo.ThesisDocumentRepository;
 import com.uni.ethesis.data.repo.ThesisProposalRepository;
 import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.enums.BulkThesisOutcome;
 import com.uni.ethesis.enums.ThesisStatus;
 import com.uni.ethesis.exceptions.FileUploadException;
+import com.uni.ethesis.exceptions.ResourceNotFoundException;
+import com.uni.ethesis.exceptions.ServiceException;
 import com.uni.ethesis.exceptions.ThesisNotFoundException;
 import com.uni.ethesis.exceptions.ThesisProposalNotFoundException;
 import com.uni.ethesis.service.ThesisService;
+import com.uni.ethesis.service.ThesisStatusTransitionService;
+import com.uni.ethesis.service.index.ProposalSearchIndex;
+import com.uni.ethesis.service.index.ThesisStatistics;
+import com.uni.ethesis.service.pdf.PdfProcessingPipeline;
+import com.uni.ethesis.service.plagiarism.FingerprintIndex;
+import com.uni.ethesis.service.storage.BlobStore;
+import com.uni.ethesis.utils.KeysetPagination;
+import com.uni.ethesis.utils.TransactionUtils;
+import com.uni.ethesis.utils.mappers.ThesisDocumentMapper;
 import com.uni.ethesis.utils.mappers.ThesisMapper;
 
 @Service
 public class ThesisServiceImpl implements ThesisService {
 
+    private static final Logger log = LoggerFactory.getLogger(ThesisServiceImpl.class);
+
     private final ThesisRepository thesisRepository;
     private final ThesisProposalRepository thesisProposalRepository;
     private final ThesisMapper thesisMapper;
-
-    @Value("${app.thesis.upload-dir:uploads/theses}")
-    private String uploadDir;
+    private final ThesisStatusTransitionService statusTransitionService;
+    private final ProposalSearchIndex proposalSearchIndex;
+    private final ThesisStatistics thesisStatistics;
+    private final BlobStore blobStore;
+    private final PdfProcessingPipeline pdfProcessingPipeline;
+    private final ThesisDocumentRepository thesisDocumentRepository;
+    private final PdfProcessingJobRepository pdfProcessingJobRepository;
+    private final ThesisDocumentMapper thesisDocumentMapper;
+    private final FingerprintIndex fingerprintIndex;
+    private final TransactionTemplate transactionTemplate;
 
     private static final BigDecimal MIN_PASSING_GRADE = BigDecimal.valueOf(3.0);
 
     @Autowired
     public ThesisServiceImpl(ThesisRepository thesisRepository,
                              ThesisProposalRepository thesisProposalRepository,
-                             ThesisMapper thesisMapper) {
+                             ThesisMapper thesisMapper,
+                             ThesisStatusTransitionService statusTransitionService,
+                             ProposalSearchIndex proposalSearchIndex,
+                             ThesisStatistics thesisStatistics,
+                             BlobStore blobStore,
+                             PdfProcessingPipeline pdfProcessingPipeline,
+                             ThesisDocumentRepository thesisDocumentRepository,
+                             PdfProcessingJobRepository pdfProcessingJobRepository,
+                             ThesisDocumentMapper thesisDocumentMapper,
+                             FingerprintIndex fingerprintIndex,
+                             TransactionTemplate transactionTemplate) {
         this.thesisRepository = thesisRepository;
         this.thesisProposalRepository = thesisProposalRepository;
         this.thesisMapper = thesisMapper;
+        this.statusTransitionService = statusTransitionService;
+        this.proposalSearchIndex = proposalSearchIndex;
+        this.thesisStatistics = thesisStatistics;
+        this.blobStore = blobStore;
+        this.pdfProcessingPipeline = pdfProcessingPipeline;
+        this.thesisDocumentRepository = thesisDocumentRepository;
+        this.pdfProcessingJobRepository = pdfProcessingJobRepository;
+        this.thesisDocumentMapper = thesisDocumentMapper;
+        this.fingerprintIndex = fingerprintIndex;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -67,6 +126,7 @@ public class ThesisServiceImpl implements ThesisService {
                 .build();
 
         Thesis savedThesis = thesisRepository.save(thesis);
+        statusTransitionService.recordInitialStatus(savedThesis.getId(), savedThesis.getStatus(), savedThesis.getCreatedAt());
         return thesisMapper.thesisToThesisDto(savedThesis);
     }
 
@@ -77,6 +137,12 @@ public class ThesisServiceImpl implements ThesisService {
         return thesisMapper.thesisToThesisDto(thesis);
     }
 
+    @Override
+    public ThesisDetailView getThesisDetail(UUID id) {
+        return thesisRepository.findDetailViewById(id)
+                .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + id));
+    }
+
     @Override
     public ThesisDto getThesisByProposalId(UUID proposalId) {
         Thesis thesis = thesisRepository.findByProposalId(proposalId)
@@ -101,116 +167,155 @@ public class ThesisServiceImpl implements ThesisService {
     @Override
     @Transactional
     public ThesisDto updateThesis(UUID id, ThesisDto thesisDto) {
+        if (thesisDto.getStatus() != null) {
+            statusTransitionService.transition(id, thesisDto.getStatus());
+        }
+
         Thesis existingThesis = thesisRepository.findById(id)
                 .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + id));
 
-        // Update only allowed fields
+        // Update only allowed fields; the PDF is set by uploads only, as the download serves pdfPath
         if (thesisDto.getFinalGrade() != null) {
             existingThesis.setFinalGrade(thesisDto.getFinalGrade());
         }
-        if (thesisDto.getStatus() != null) {
-            existingThesis.setStatus(thesisDto.getStatus());
-        }
-        if (thesisDto.getPdfPath() != null) {
-            existingThesis.setPdfPath(thesisDto.getPdfPath());
-        }
 
         Thesis updatedThesis = thesisRepository.save(existingThesis);
+        if (thesisDto.getFinalGrade() != null) {
+            BigDecimal grade = updatedThesis.getFinalGrade();
+            ThesisStatus status = updatedThesis.getStatus();
+            UUID teacherId = updatedThesis.getProposal().getTeacher().getId();
+            thesisStatistics.afterCommit(() -> thesisStatistics.thesisGradeChanged(id, teacherId, status, grade));
+        }
         return thesisMapper.thesisToThesisDto(updatedThesis);
     }
 
     @Override
     @Transactional
     public void deleteThesis(UUID id) {
-        if (!thesisRepository.existsById(id)) {
-            throw new ThesisNotFoundException("Thesis not found with id: " + id);
+        Thesis thesis = thesisRepository.findById(id)
+                .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + id));
+        ThesisStatus status = thesis.getStatus();
+        blobStore.release(thesis.getPdfHash());
+        thesisDocumentRepository.deleteByThesisIdIn(List.of(id));
+        thesisRepository.delete(thesis);
+        thesisStatistics.afterCommit(() -> thesisStatistics.thesisRemoved(id, status));
+        TransactionUtils.afterCommit(() -> removeFingerprints(id));
+    }
+
+    // Left behind on failure until the next startup backfill drops it
+    private void removeFingerprints(UUID thesisId) {
+        try {
+            fingerprintIndex.remove(thesisId);
+        } catch (IOException e) {
+            log.warn("Could not remove fingerprints of thesis {}", thesisId, e);
         }
-        thesisRepository.deleteById(id);
     }
 
     @Override
-    @Transactional
     public ThesisDto uploadThesisPdf(UUID thesisId, MultipartFile pdfFile) {
-        Thesis thesis = thesisRepository.findById(thesisId)
-                .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
-
         if (pdfFile.isEmpty()) {
             throw new FileUploadException("Please select a file to upload");
         }
-
-        if (!isPdfFile(pdfFile)) {
-            throw new FileUploadException("Only PDF files are allowed");
+        // Same rule the attach applies; checked first so a rejected upload is not copied
+        ThesisStatus status = thesisRepository.findStatusById(thesisId)
+                .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
+        if (status != ThesisStatus.WAITING_FOR_REVIEW && !status.canTransitionTo(ThesisStatus.WAITING_FOR_REVIEW)) {
+            throw new FileUploadException("Thesis in status " + status + " cannot accept a new PDF");
         }
 
-        try {
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            // Generate unique filename
-            String originalFilename = pdfFile.getOriginalFilename();
-            if (originalFilename == null || originalFilename.isEmpty()) {
-                originalFilename = "thesis.pdf";
-            }
-            String fileExtension = originalFilename.contains(".") ? 
-                    originalFilename.substring(originalFilename.lastIndexOf(".")) : ".pdf";
-            String filename = thesis.getId() + "_" + System.currentTimeMillis() + fileExtension;
-            Path filePath = uploadPath.resolve(filename);
-
-            // Copy file to target location
-            Files.copy(pdfFile.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            // Update thesis with file path
-            thesis.setPdfPath(filePath.toString());
-            thesis.setStatus(ThesisStatus.WAITING_FOR_REVIEW);
-
-            Thesis updatedThesis = thesisRepository.save(thesis);
-            return thesisMapper.thesisToThesisDto(updatedThesis);
-
+        // The copy runs without a transaction, so no row lock or connection is held meanwhile
+        BlobStore.StagedBlob staged;
+        try (InputStream in = pdfFile.getInputStream()) {
+            staged = blobStore.stage(in);
         } catch (IOException e) {
             throw new FileUploadException("Could not upload file: " + e.getMessage(), e);
         }
+        try {
+            return transactionTemplate.execute(tx -> attachThesisPdf(thesisId, staged));
+        } catch (RuntimeException e) {
+            blobStore.discard(staged);
+            throw e;
+        }
     }
 
     @Override
     @Transactional
-    public ThesisDto updateGrade(UUID thesisId, BigDecimal grade) {
+    public ThesisDto attachThesisPdf(UUID thesisId, BlobStore.StagedBlob staged) {
+        statusTransitionService.transition(thesisId, ThesisStatus.WAITING_FOR_REVIEW);
         Thesis thesis = thesisRepository.findById(thesisId)
                 .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
+        return storePdf(thesis, staged);
+    }
 
-        if (grade.compareTo(BigDecimal.ZERO) < 0 || grade.compareTo(BigDecimal.valueOf(6.0)) > 0) {
-            throw new IllegalArgumentException("Grade must be between 0.0 and 6.0");
+    @Override
+    public ThesisPdfDto getThesisPdf(UUID thesisId) {
+        Thesis thesis = thesisRepository.findById(thesisId)
+                .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
+        if (thesis.getPdfPath() == null) {
+            throw new ResourceNotFoundException("Thesis PDF", "thesisId", thesisId);
         }
 
-        thesis.setFinalGrade(grade);
-        
-        // Update status based on grade
-        if (grade.compareTo(MIN_PASSING_GRADE) >= 0) {
-            thesis.setStatus(ThesisStatus.DEFENDED);
-        } else {
-            thesis.setStatus(ThesisStatus.FAILED);
+        // Blobs are looked up by hash so a change in the store layout does not break old rows
+        Path path = thesis.getPdfHash() != null ? blobStore.resolve(thesis.getPdfHash()) : blobStore.resolveLegacy(thesis.getPdfPath());
+        if (path == null || !Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("Thesis PDF", "thesisId", thesisId);
         }
+        try {
+            return ThesisPdfDto.builder()
+                    .thesisId(thesisId)
+                    .path(path)
+                    .hash(thesis.getPdfHash())
+                    .sizeBytes(Files.size(path))
+                    .lastModified(Files.getLastModifiedTime(path).toInstant())
+                    .filename("thesis-" + thesisId + ".pdf")
+                    .build();
+        } catch (IOException e) {
+            throw new ServiceException("Could not read thesis PDF " + thesisId, e);
+        }
+    }
 
-        Thesis updatedThesis = thesisRepository.save(thesis);
-        return thesisMapper.thesisToThesisDto(updatedThesis);
+    @Override
+    public ThesisDocumentDto getThesisDocument(UUID thesisId) {
+        ThesisDocument document = thesisDocumentRepository.findByThesisId(thesisId)
+                .orElseThrow(() -> new ResourceNotFoundException("Thesis document", "thesisId", thesisId));
+        ThesisDocumentDto dto = thesisDocumentMapper.thesisDocumentToDto(document);
+        pdfProcessingJobRepository.findFirstByThesisIdOrderByCreatedAtDesc(thesisId)
+                .ifPresent(job -> dto.setProcessingStatus(job.getStatus()));
+        return dto;
     }
 
     @Override
     @Transactional
-    public ThesisDto updateStatus(UUID thesisId, ThesisStatus status) {
-        Thesis thesis = thesisRepository.findById(thesisId)
-                .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
+    public ThesisDto updateGrade(UUID thesisId, BigDecimal grade) {
+        statusTransitionService.recordFinalGrade(thesisId, grade);
+        return getThesisById(thesisId);
+    }
 
-        thesis.setStatus(status);
-        Thesis updatedThesis = thesisRepository.save(thesis);
-        return thesisMapper.thesisToThesisDto(updatedThesis);
+    @Override
+    @Transactional
+    public ThesisDto updateStatus(UUID thesisId, ThesisStatus status) {
+        statusTransitionService.transition(thesisId, status);
+        return getThesisById(thesisId);
     }
 
     @Override
     public List<ThesisDto> findThesesByTitleContaining(String titleText) {
-        return thesisRepository.findByTitleContaining(titleText).stream()
+        if (!proposalSearchIndex.isReady()) {
+            return thesisRepository.findByTitleContaining(titleText).stream()
+                    .map(thesisMapper::thesisToThesisDto)
+                    .collect(Collectors.toList());
+        }
+
+        // Title words matched by prefix in the search index, best match first
+        List<UUID> proposalIds = proposalSearchIndex.search(titleText, ProposalSearchIndex.Field.TITLE.bit());
+        if (proposalIds.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Thesis> byProposalId = thesisRepository.findByProposalIdIn(proposalIds).stream()
+                .collect(Collectors.toMap(thesis -> thesis.getProposal().getId(), Function.identity()));
+        return proposalIds.stream()
+                .map(byProposalId::get)
+                .filter(Objects::nonNull)
                 .map(thesisMapper::thesisToThesisDto)
                 .collect(Collectors.toList());
     }
@@ -238,14 +343,77 @@ public class ThesisServiceImpl implements ThesisService {
 
     @Override
     public long countSuccessfulDefensesByTeacher(UUID teacherId) {
+        if (thesisStatistics.isReady()) {
+            return thesisStatistics.countSuccessfulDefensesByTeacher(teacherId);
+        }
         return thesisRepository.countSuccessfulDefensesByTeacher(teacherId, MIN_PASSING_GRADE);
     }
 
     @Override
     public long countThesesByStatus(ThesisStatus status) {
+        if (thesisStatistics.isReady()) {
+            return thesisStatistics.countThesesByStatus(status);
+        }
         return thesisRepository.countByStatus(status);
     }
 
+    @Override
+    public ThesisStatisticsDto getStatistics() {
+        if (!thesisStatistics.isReady()) {
+            // Counters are still being built on startup; the request does not wait for them
+            return thesisStatistics.queryStatistics();
+        }
+        return ThesisStatisticsDto.builder()
+                .thesesByStatus(thesisStatistics.getThesisCountsByStatus())
+                .reviewsByConclusion(thesisStatistics.getReviewCountsByConclusion())
+                .gradeHistogram(thesisStatistics.getGradeHistogram())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public BulkThesisReportDto bulkUpdateStatus(BulkThesisStatusRequestDto request) {
+        return toReport(statusTransitionService.transitionAll(request.getThesisIds(), request.getStatus()));
+    }
+
+    @Override
+    @Transactional
+    public BulkThesisReportDto bulkUpdateGrades(BulkThesisGradeRequestDto request) {
+        Map<UUID, BigDecimal> gradesByThesis = new LinkedHashMap<>();
+        for (BulkThesisGradeRequestDto.Entry entry : request.getGrades()) {
+            if (entry.getThesisId() != null) {
+                gradesByThesis.put(entry.getThesisId(), entry.getGrade());
+            }
+        }
+        Map<UUID, BulkThesisResultDto> recorded = statusTransitionService.recordFinalGrades(gradesByThesis).stream()
+                .collect(Collectors.toMap(BulkThesisResultDto::getThesisId, Function.identity()));
+
+        // Rows without a thesis id are reported in place rather than dropped
+        List<BulkThesisResultDto> results = new ArrayList<>();
+        for (BulkThesisGradeRequestDto.Entry entry : request.getGrades()) {
+            if (entry.getThesisId() == null) {
+                results.add(BulkThesisResultDto.builder()
+                        .outcome(BulkThesisOutcome.MISSING_ID)
+                        .finalGrade(entry.getGrade())
+                        .message("Thesis id is required")
+                        .build());
+            } else {
+                BulkThesisResultDto result = recorded.remove(entry.getThesisId());
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+        }
+        return toReport(results);
+    }
+
+    @Override
+    @Transactional
+    public BulkThesisReportDto failThesesAwaitingDefenseSince(OffsetDateTime deadline) {
+        List<UUID> overdue = thesisRepository.findIdsInStatusSince(ThesisStatus.WAITING_FOR_DEFENSE, deadline);
+        return toReport(statusTransitionService.transitionAll(overdue, ThesisStatus.FAILED));
+    }
+
     @Override
     public boolean hasStudentSubmittedThesis(UUID studentId) {
         return thesisRepository.findByStudentId(studentId).isPresent();
@@ -253,34 +421,38 @@ public class ThesisServiceImpl implements ThesisService {
 
     @Override
     public List<ThesisDto> findThesesAwaitingReview() {
-        return thesisRepository.findAll().stream()
-                .filter(thesis -> thesis.getStatus() == ThesisStatus.WAITING_FOR_REVIEW)
-                .map(thesisMapper::thesisToThesisDto)
-                .collect(Collectors.toList());
+        return thesisRepository.findQueueByStatus(ThesisStatus.WAITING_FOR_REVIEW);
     }
 
     @Override
     public List<ThesisDto> findThesesAwaitingDefense() {
-        return thesisRepository.findAll().stream()
-                .filter(thesis -> thesis.getStatus() == ThesisStatus.WAITING_FOR_DEFENSE)
-                .map(thesisMapper::thesisToThesisDto)
-                .collect(Collectors.toList());
+        return thesisRepository.findQueueByStatus(ThesisStatus.WAITING_FOR_DEFENSE);
+    }
+
+    @Override
+    public KeysetPageDto<ThesisDto> findThesesAwaitingReview(OffsetDateTime afterCreatedAt, UUID afterId, int size) {
+        return findQueuePage(ThesisStatus.WAITING_FOR_REVIEW, afterCreatedAt, afterId, size);
+    }
+
+    @Override
+    public KeysetPageDto<ThesisDto> findThesesAwaitingDefense(OffsetDateTime afterCreatedAt, UUID afterId, int size) {
+        return findQueuePage(ThesisStatus.WAITING_FOR_DEFENSE, afterCreatedAt, afterId, size);
     }
 
     @Override
     @Transactional
     public ThesisDto proceedToDefense(UUID thesisId) {
-        Thesis thesis = thesisRepository.findById(thesisId)
-                .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
+        if (!thesisRepository.existsById(thesisId)) {
+            throw new ThesisNotFoundException("Thesis not found with id: " + thesisId);
+        }
 
         // Check if thesis has been accepted by review
         if (!canStudentProceedToDefense(thesisId)) {
             throw new IllegalStateException("Thesis cannot proceed to defense - review not accepted or not reviewed yet");
         }
 
-        thesis.setStatus(ThesisStatus.WAITING_FOR_DEFENSE);
-        Thesis updatedThesis = thesisRepository.save(thesis);
-        return thesisMapper.thesisToThesisDto(updatedThesis);
+        statusTransitionService.transition(thesisId, ThesisStatus.WAITING_FOR_DEFENSE);
+        return getThesisById(thesisId);
     }
 
     @Override
@@ -298,8 +470,39 @@ public class ThesisServiceImpl implements ThesisService {
                 thesis.getStatus() == ThesisStatus.WAITING_FOR_DEFENSE);
     }
 
-    private boolean isPdfFile(MultipartFile file) {
-        String contentType = file.getContentType();
-        return "application/pdf".equals(contentType);
+    private ThesisDto storePdf(Thesis thesis, BlobStore.StagedBlob staged) {
+        // Re-uploading the current file changes nothing on disk
+        if (staged.hash().equals(thesis.getPdfHash())) {
+            blobStore.discard(staged);
+            return thesisMapper.thesisToThesisDto(thesis);
+        }
+
+        Path blobPath = blobStore.commit(staged);
+        blobStore.release(thesis.getPdfHash());
+        thesis.setPdfHash(staged.hash());
+        thesis.setPdfPath(blobPath.toString());
+
+        Thesis updatedThesis = thesisRepository.save(thesis);
+        pdfProcessingPipeline.enqueue(updatedThesis.getId(), staged.hash());
+        return thesisMapper.thesisToThesisDto(updatedThesis);
+    }
+
+    private KeysetPageDto<ThesisDto> findQueuePage(ThesisStatus status, OffsetDateTime afterCreatedAt, UUID afterId, int size) {
+        int pageSize = KeysetPagination.normalizeSize(size);
+        List<ThesisDto> rows = (afterCreatedAt == null || afterId == null)
+                ? thesisRepository.findQueuePage(status, KeysetPagination.probe(pageSize))
+                : thesisRepository.findQueuePageAfter(status, afterCreatedAt, afterId, KeysetPagination.probe(pageSize));
+        return KeysetPagination.toPage(rows, pageSize, ThesisDto::getCreatedAt, ThesisDto::getId);
+    }
+
+    private BulkThesisReportDto toReport(List<BulkThesisResultDto> results) {
+        int updated = (int) results.stream()
+                .filter(result -> result.getOutcome() == BulkThesisOutcome.UPDATED)
+                .count();
+        return BulkThesisReportDto.builder()
+                .requested(results.size())
+                .updated(updated)
+                .results(results)
+                .build();
     }
 }
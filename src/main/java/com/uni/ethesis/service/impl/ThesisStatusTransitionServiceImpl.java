@@ -0,0 +1,255 @@
+package com.uni.ethesis.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.uni.ethesis.data.dto.BulkThesisResultDto;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.enums.BulkThesisOutcome;
+import com.uni.ethesis.enums.ThesisStatus;
+import com.uni.ethesis.events.ThesisStatusChangedEvent;
+import com.uni.ethesis.exceptions.ThesisNotFoundException;
+import com.uni.ethesis.exceptions.ThesisStatusConflictException;
+import com.uni.ethesis.service.ThesisStatusTransitionService;
+
+@Service
+public class ThesisStatusTransitionServiceImpl implements ThesisStatusTransitionService {
+
+    private static final BigDecimal MIN_PASSING_GRADE = BigDecimal.valueOf(3.0);
+    private static final BigDecimal MAX_GRADE = BigDecimal.valueOf(6.0);
+    // Keeps IN lists well below the driver's bind parameter limit
+    private static final int BULK_CHUNK_SIZE = 500;
+
+    private final ThesisRepository thesisRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ThesisStatusTransitionServiceImpl(ThesisRepository thesisRepository,
+                                             ApplicationEventPublisher eventPublisher) {
+        this.thesisRepository = thesisRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public void transition(UUID thesisId, ThesisStatus expected, ThesisStatus target) {
+        requireAllowed(thesisId, expected, target);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        int updated = thesisRepository.compareAndSetStatus(thesisId, expected, target, now);
+        if (updated == 0) {
+            throw conflict(thesisId, expected);
+        }
+        eventPublisher.publishEvent(new ThesisStatusChangedEvent(thesisId, expected, target, null, now));
+    }
+
+    @Override
+    @Transactional
+    public ThesisStatus transition(UUID thesisId, ThesisStatus target) {
+        ThesisStatus current = thesisRepository.findStatusById(thesisId)
+                .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
+        if (current == target) {
+            return current;
+        }
+
+        transition(thesisId, current, target);
+        return current;
+    }
+
+    // A lost race changes nothing, so it need not doom the caller's transaction when caught
+    @Override
+    @Transactional(noRollbackFor = ThesisStatusConflictException.class)
+    public ThesisStatus recordFinalGrade(UUID thesisId, BigDecimal grade) {
+        if (grade == null || grade.compareTo(BigDecimal.ZERO) < 0 || grade.compareTo(MAX_GRADE) > 0) {
+            throw new IllegalArgumentException("Grade must be between 0.0 and 6.0");
+        }
+
+        BigDecimal stored = roundGrade(grade);
+        ThesisStatus target = statusForGrade(stored);
+        OffsetDateTime now = OffsetDateTime.now();
+        int updated = thesisRepository.compareAndSetStatusAndGrade(
+                thesisId, ThesisStatus.WAITING_FOR_DEFENSE, target, stored, now);
+        if (updated == 0) {
+            throw conflict(thesisId, ThesisStatus.WAITING_FOR_DEFENSE);
+        }
+        eventPublisher.publishEvent(new ThesisStatusChangedEvent(thesisId, ThesisStatus.WAITING_FOR_DEFENSE, target, stored, now));
+        return target;
+    }
+
+    @Override
+    @Transactional
+    public List<BulkThesisResultDto> transitionAll(Collection<UUID> thesisIds, ThesisStatus target) {
+        Set<UUID> ids = new LinkedHashSet<>(thesisIds);
+        Map<UUID, ThesisStatus> current = findStatuses(ids);
+        Map<UUID, BulkThesisResultDto> results = new LinkedHashMap<>();
+        Map<ThesisStatus, List<UUID>> idsByExpected = new EnumMap<>(ThesisStatus.class);
+
+        for (UUID id : ids) {
+            ThesisStatus status = current.get(id);
+            if (status == null) {
+                results.put(id, result(id, BulkThesisOutcome.NOT_FOUND, null, null, null, "Thesis not found"));
+            } else if (status == target) {
+                results.put(id, result(id, BulkThesisOutcome.UNCHANGED, status, status, null, null));
+            } else if (!status.canTransitionTo(target)) {
+                results.put(id, result(id, BulkThesisOutcome.INVALID_TRANSITION, status, status, null,
+                        "Cannot move from " + status + " to " + target));
+            } else {
+                results.put(id, null);
+                idsByExpected.computeIfAbsent(status, key -> new ArrayList<>()).add(id);
+            }
+        }
+
+        OffsetDateTime now = bulkTimestamp();
+        idsByExpected.forEach((expected, group) -> {
+            for (List<UUID> chunk : chunks(group)) {
+                int updated = thesisRepository.compareAndSetStatusIn(chunk, expected, target, now);
+                applyChunkResults(chunk, updated, now, expected, target, null, results);
+            }
+        });
+        return new ArrayList<>(results.values());
+    }
+
+    @Override
+    @Transactional
+    public List<BulkThesisResultDto> recordFinalGrades(Map<UUID, BigDecimal> gradesByThesis) {
+        Map<UUID, ThesisStatus> current = findStatuses(gradesByThesis.keySet());
+        Map<UUID, BulkThesisResultDto> results = new LinkedHashMap<>();
+        // Grades are stored with one decimal, so a committee sheet has at most 61 groups
+        Map<BigDecimal, List<UUID>> idsByGrade = new TreeMap<>();
+
+        gradesByThesis.forEach((id, grade) -> {
+            ThesisStatus status = current.get(id);
+            if (grade == null || grade.compareTo(BigDecimal.ZERO) < 0 || grade.compareTo(MAX_GRADE) > 0) {
+                results.put(id, result(id, BulkThesisOutcome.INVALID_GRADE, status, status, grade,
+                        "Grade must be between 0.0 and 6.0"));
+            } else if (status == null) {
+                results.put(id, result(id, BulkThesisOutcome.NOT_FOUND, null, null, grade, "Thesis not found"));
+            } else if (status != ThesisStatus.WAITING_FOR_DEFENSE) {
+                results.put(id, result(id, BulkThesisOutcome.INVALID_TRANSITION, status, status, grade,
+                        "Thesis is not waiting for defense"));
+            } else {
+                results.put(id, null);
+                idsByGrade.computeIfAbsent(roundGrade(grade), key -> new ArrayList<>()).add(id);
+            }
+        });
+
+        OffsetDateTime now = bulkTimestamp();
+        idsByGrade.forEach((grade, group) -> {
+            ThesisStatus target = statusForGrade(grade);
+            for (List<UUID> chunk : chunks(group)) {
+                int updated = thesisRepository.compareAndSetStatusAndGradeIn(
+                        chunk, ThesisStatus.WAITING_FOR_DEFENSE, target, grade, now);
+                applyChunkResults(chunk, updated, now, ThesisStatus.WAITING_FOR_DEFENSE, target, grade, results);
+            }
+        });
+        return new ArrayList<>(results.values());
+    }
+
+    @Override
+    public void recordInitialStatus(UUID thesisId, ThesisStatus status, OffsetDateTime createdAt) {
+        eventPublisher.publishEvent(new ThesisStatusChangedEvent(thesisId, null, status, null, createdAt));
+    }
+
+    // Marks the rows of one conditional bulk UPDATE. When fewer rows matched than were sent,
+    // the ones carrying this call's timestamp are ours; the rest lost a race.
+    private void applyChunkResults(List<UUID> chunk, int updated, OffsetDateTime now,
+                                   ThesisStatus expected, ThesisStatus target, BigDecimal grade,
+                                   Map<UUID, BulkThesisResultDto> results) {
+        Set<UUID> applied = updated == chunk.size()
+                ? new HashSet<>(chunk)
+                : new HashSet<>(thesisRepository.findIdsModifiedAt(chunk, now));
+        List<UUID> lost = new ArrayList<>();
+        for (UUID id : chunk) {
+            if (applied.contains(id)) {
+                results.put(id, result(id, BulkThesisOutcome.UPDATED, expected, target, grade, null));
+                eventPublisher.publishEvent(new ThesisStatusChangedEvent(id, expected, target, grade, now));
+            } else {
+                lost.add(id);
+            }
+        }
+        if (!lost.isEmpty()) {
+            Map<UUID, ThesisStatus> actual = findStatuses(lost);
+            for (UUID id : lost) {
+                results.put(id, result(id, BulkThesisOutcome.CONFLICT, expected, actual.get(id), grade,
+                        "Thesis changed concurrently"));
+            }
+        }
+    }
+
+    private Map<UUID, ThesisStatus> findStatuses(Collection<UUID> ids) {
+        Map<UUID, ThesisStatus> statuses = new HashMap<>();
+        for (List<UUID> chunk : chunks(new ArrayList<>(ids))) {
+            for (Object[] row : thesisRepository.findStatusesByIdIn(chunk)) {
+                statuses.put((UUID) row[0], (ThesisStatus) row[1]);
+            }
+        }
+        return statuses;
+    }
+
+    // Grades are stored with one decimal, so both paths round before the pass mark is applied
+    private static BigDecimal roundGrade(BigDecimal grade) {
+        return grade.setScale(1, RoundingMode.HALF_UP);
+    }
+
+    private static ThesisStatus statusForGrade(BigDecimal roundedGrade) {
+        return roundedGrade.compareTo(MIN_PASSING_GRADE) >= 0 ? ThesisStatus.DEFENDED : ThesisStatus.FAILED;
+    }
+
+    // Database timestamps keep microseconds; truncating lets findIdsModifiedAt match exactly
+    private static OffsetDateTime bulkTimestamp() {
+        return OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static BulkThesisResultDto result(UUID id, BulkThesisOutcome outcome, ThesisStatus previous,
+                                              ThesisStatus status, BigDecimal grade, String message) {
+        return BulkThesisResultDto.builder()
+                .thesisId(id)
+                .outcome(outcome)
+                .previousStatus(previous)
+                .status(status)
+                .finalGrade(grade)
+                .message(message)
+                .build();
+    }
+
+    private void requireAllowed(UUID thesisId, ThesisStatus expected, ThesisStatus target) {
+        if (!expected.canTransitionTo(target)) {
+            throw new IllegalStateException("Thesis " + thesisId + " cannot move from " + expected + " to " + target);
+        }
+    }
+
+    // Only reached when the conditional update matched no row: one scalar read tells
+    // a missing thesis apart from a lost race, without loading the entity.
+    private RuntimeException conflict(UUID thesisId, ThesisStatus expected) {
+        return thesisRepository.findStatusById(thesisId)
+                .<RuntimeException>map(actual -> new ThesisStatusConflictException(thesisId, expected, actual))
+                .orElseGet(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
+    }
+}
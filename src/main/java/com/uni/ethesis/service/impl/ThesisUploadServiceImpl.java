@@ -0,0 +1,266 @@
+package com.uni.ethesis.service.impl;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.uni.ethesis.data.dto.ThesisDto;
+import com.uni.ethesis.data.dto.UploadSessionDto;
+import com.uni.ethesis.data.entities.UploadSession;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.data.repo.UploadSessionRepository;
+import com.uni.ethesis.enums.ThesisStatus;
+import com.uni.ethesis.enums.UploadSessionStatus;
+import com.uni.ethesis.exceptions.FileUploadException;
+import com.uni.ethesis.exceptions.ResourceNotFoundException;
+import com.uni.ethesis.exceptions.ThesisNotFoundException;
+import com.uni.ethesis.service.ThesisService;
+import com.uni.ethesis.service.ThesisUploadService;
+import com.uni.ethesis.service.storage.BlobStore;
+import com.uni.ethesis.utils.ByteRangeSet;
+import com.uni.ethesis.utils.TransactionUtils;
+
+/**
+ * Chunks are streamed from the request straight into the session's preallocated file
+ * without holding a database lock; only the range bookkeeping afterwards locks the session
+ * row. A per-session read/write lock lets chunks be written in parallel while keeping them
+ * out of the file once completion or cancellation has started.
+ */
+@Service
+public class ThesisUploadServiceImpl implements ThesisUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThesisUploadServiceImpl.class);
+
+    private static final int CLEANUP_BATCH_SIZE = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final ThesisRepository thesisRepository;
+    private final ThesisService thesisService;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<UUID, ReadWriteLock> sessionLocks = new ConcurrentHashMap<>();
+
+    @Value("${app.upload.session-ttl:PT24H}")
+    private Duration sessionTtl;
+
+    @Value("${app.upload.max-chunk-size:16MB}")
+    private DataSize maxChunkSize;
+
+    @Value("${app.upload.max-file-size:1GB}")
+    private DataSize maxFileSize;
+
+    @Autowired
+    public ThesisUploadServiceImpl(UploadSessionRepository uploadSessionRepository,
+                                   ThesisRepository thesisRepository,
+                                   ThesisService thesisService,
+                                   BlobStore blobStore,
+                                   TransactionTemplate transactionTemplate) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.thesisRepository = thesisRepository;
+        this.thesisService = thesisService;
+        this.blobStore = blobStore;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public UploadSessionDto createUploadSession(UUID thesisId, long totalSize) {
+        ThesisStatus status = thesisRepository.findStatusById(thesisId)
+                .orElseThrow(() -> new ThesisNotFoundException("Thesis not found with id: " + thesisId));
+        // Same rule the final attach applies; checked now so nobody uploads 500 MB for nothing
+        if (status != ThesisStatus.WAITING_FOR_REVIEW && !status.canTransitionTo(ThesisStatus.WAITING_FOR_REVIEW)) {
+            throw new FileUploadException("Thesis in status " + status + " cannot accept a new PDF");
+        }
+        if (totalSize <= 0 || totalSize > maxFileSize.toBytes()) {
+            throw new FileUploadException("File size must be between 1 and " + maxFileSize.toBytes() + " bytes");
+        }
+
+        return transactionTemplate.execute(tx -> {
+            UploadSession session = uploadSessionRepository.save(UploadSession.builder()
+                    .thesisId(thesisId)
+                    .totalSize(totalSize)
+                    .receivedRanges("")
+                    .receivedBytes(0)
+                    .status(UploadSessionStatus.OPEN)
+                    .expiresAt(OffsetDateTime.now().plus(sessionTtl))
+                    .build());
+            blobStore.createUpload(session.getId(), totalSize);
+            return toDto(session);
+        });
+    }
+
+    @Override
+    public UploadSessionDto getUploadSession(UUID thesisId, UUID sessionId) {
+        return toDto(findSession(thesisId, sessionId));
+    }
+
+    @Override
+    public UploadSessionDto writeChunk(UUID thesisId, UUID sessionId, long offset, long length, InputStream body) {
+        UploadSession session = findOpenSession(thesisId, sessionId);
+        if (length <= 0) {
+            throw new FileUploadException("Chunk must have a Content-Length");
+        }
+        if (length > maxChunkSize.toBytes()) {
+            throw new FileUploadException("Chunk exceeds the maximum size of " + maxChunkSize.toBytes() + " bytes");
+        }
+        if (offset < 0 || offset + length > session.getTotalSize()) {
+            throw new FileUploadException("Chunk " + offset + "+" + length + " is outside the file of "
+                    + session.getTotalSize() + " bytes");
+        }
+
+        long written;
+        Lock lock = sessionLock(sessionId).readLock();
+        lock.lock();
+        try {
+            written = blobStore.writeChunk(sessionId, offset, length, body);
+        } finally {
+            lock.unlock();
+        }
+        if (written < length) {
+            throw new FileUploadException("Chunk ended after " + written + " of " + length + " bytes");
+        }
+
+        return transactionTemplate.execute(tx -> {
+            UploadSession locked = uploadSessionRepository.findByIdForUpdate(sessionId)
+                    .filter(s -> s.getStatus() == UploadSessionStatus.OPEN)
+                    .orElseThrow(() -> new FileUploadException("Upload session " + sessionId + " is no longer open"));
+            ByteRangeSet received = ByteRangeSet.parse(locked.getReceivedRanges());
+            received.add(offset, offset + length);
+            locked.setReceivedRanges(received.toString());
+            locked.setReceivedBytes(received.coveredBytes());
+            locked.setExpiresAt(OffsetDateTime.now().plus(sessionTtl));
+            return toDto(uploadSessionRepository.save(locked));
+        });
+    }
+
+    @Override
+    public ThesisDto completeUploadSession(UUID thesisId, UUID sessionId) {
+        Lock lock = sessionLock(sessionId).writeLock();
+        lock.lock();
+        try {
+            ThesisDto thesis = transactionTemplate.execute(tx -> {
+                UploadSession session = uploadSessionRepository.findByIdForUpdate(sessionId)
+                        .filter(s -> s.getThesisId().equals(thesisId))
+                        .orElseThrow(() -> new ResourceNotFoundException("Upload session", "id", sessionId));
+                requireOpen(session);
+                if (!ByteRangeSet.parse(session.getReceivedRanges()).covers(0, session.getTotalSize())) {
+                    throw new FileUploadException("Upload incomplete: received " + session.getReceivedBytes()
+                            + " of " + session.getTotalSize() + " bytes");
+                }
+
+                // The upload file is moved into the blob store as is, and put back if anything
+                // below fails so the session stays open for a retry
+                BlobStore.StagedBlob staged = blobStore.stageUpload(sessionId);
+                TransactionUtils.afterRollback(() -> blobStore.restoreUpload(sessionId, staged));
+                ThesisDto attached = thesisService.attachThesisPdf(thesisId, staged);
+                session.setStatus(UploadSessionStatus.COMPLETED);
+                uploadSessionRepository.save(session);
+                return attached;
+            });
+            sessionLocks.remove(sessionId);
+            return thesis;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void cancelUploadSession(UUID thesisId, UUID sessionId) {
+        findSession(thesisId, sessionId);
+        Lock lock = sessionLock(sessionId).writeLock();
+        lock.lock();
+        try {
+            uploadSessionRepository.deleteById(sessionId);
+            blobStore.deleteUpload(sessionId);
+            sessionLocks.remove(sessionId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.upload.cleanup-cron:0 15 * * * *}")
+    public int deleteExpiredSessions() {
+        OffsetDateTime now = OffsetDateTime.now();
+        int total = 0;
+        while (true) {
+            List<UUID> expired = uploadSessionRepository.findExpiredIds(now, PageRequest.of(0, CLEANUP_BATCH_SIZE));
+            for (UUID sessionId : expired) {
+                Lock lock = sessionLock(sessionId).writeLock();
+                lock.lock();
+                try {
+                    Integer deleted = transactionTemplate.execute(tx -> uploadSessionRepository.deleteExpired(sessionId, now));
+                    if (deleted != null && deleted == 1) {
+                        blobStore.deleteUpload(sessionId);
+                        total++;
+                    }
+                    sessionLocks.remove(sessionId);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            if (expired.size() < CLEANUP_BATCH_SIZE) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Deleted {} expired upload sessions", total);
+        }
+        return total;
+    }
+
+    private UploadSession findSession(UUID thesisId, UUID sessionId) {
+        return uploadSessionRepository.findById(sessionId)
+                .filter(session -> session.getThesisId().equals(thesisId))
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session", "id", sessionId));
+    }
+
+    private UploadSession findOpenSession(UUID thesisId, UUID sessionId) {
+        UploadSession session = findSession(thesisId, sessionId);
+        requireOpen(session);
+        return session;
+    }
+
+    private static void requireOpen(UploadSession session) {
+        if (session.getStatus() != UploadSessionStatus.OPEN) {
+            throw new FileUploadException("Upload session " + session.getId() + " is already completed");
+        }
+        if (session.getExpiresAt().isBefore(OffsetDateTime.now())) {
+            throw new FileUploadException("Upload session " + session.getId() + " has expired");
+        }
+    }
+
+    private ReadWriteLock sessionLock(UUID sessionId) {
+        return sessionLocks.computeIfAbsent(sessionId, id -> new ReentrantReadWriteLock());
+    }
+
+    private UploadSessionDto toDto(UploadSession session) {
+        return UploadSessionDto.builder()
+                .id(session.getId())
+                .thesisId(session.getThesisId())
+                .status(session.getStatus())
+                .totalSize(session.getTotalSize())
+                .receivedBytes(session.getReceivedBytes())
+                .receivedRanges(ByteRangeSet.parse(session.getReceivedRanges()).toList())
+                .maxChunkSize(maxChunkSize.toBytes())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.uni.ethesis.service.index;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over word shingles. The fraction of positions at which two signatures
+ * agree estimates the Jaccard similarity of the shingle sets; with {@link #SIGNATURE_SIZE}
+ * hashes the estimate is within about 0.09 of the real value (two standard deviations).
+ * <p>
+ * Signatures are stored with each proposal, so the hash seeds are fixed: changing them or
+ * the shingling invalidates every stored signature.
+ */
+public final class MinHash {
+
+    public static final int SIGNATURE_SIZE = 128;
+    public static final int BANDS = 32;
+    public static final int ROWS = SIGNATURE_SIZE / BANDS;
+
+    private static final long[] SEEDS = new SplittableRandom(0x5EED_CAFEL).longs(SIGNATURE_SIZE).toArray();
+
+    private MinHash() {
+    }
+
+    /**
+     * Shingles are the words and pairs of adjacent words of the text, so both reworded
+     * and reordered topics still share most of them.
+     *
+     * @return the signature, or an empty array if the text has no words
+     */
+    public static int[] signature(String text) {
+        Set<String> shingles = shingles(ProposalSearchIndex.tokenize(text));
+        if (shingles.isEmpty()) {
+            return new int[0];
+        }
+        long[] minimums = new long[SIGNATURE_SIZE];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        for (String shingle : shingles) {
+            long hash = fnv1a(shingle);
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                long value = mix(hash ^ SEEDS[i]);
+                if (value < minimums[i]) {
+                    minimums[i] = value;
+                }
+            }
+        }
+        int[] signature = new int[SIGNATURE_SIZE];
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            signature[i] = (int) (minimums[i] ^ (minimums[i] >>> 32));
+        }
+        return signature;
+    }
+
+    public static double similarity(int[] a, int[] b) {
+        if (a.length != SIGNATURE_SIZE || b.length != SIGNATURE_SIZE) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    /**
+     * Key of one band of {@link #ROWS} values; proposals sharing any band key are candidates.
+     */
+    public static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private static Set<String> shingles(List<String> tokens) {
+        Set<String> shingles = new HashSet<>(tokens.size() * 4);
+        for (int i = 0; i < tokens.size(); i++) {
+            shingles.add(tokens.get(i));
+            if (i + 1 < tokens.size()) {
+                shingles.add(tokens.get(i) + ' ' + tokens.get(i + 1));
+            }
+        }
+        return shingles;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,263 @@
+package com.uni.ethesis.service.index;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.uni.ethesis.data.repo.DefenseSessionProfessorRepository;
+import com.uni.ethesis.exceptions.ProfessorBookingConflictException;
+
+/**
+ * In-memory index of the defense sessions each professor sits on, ordered by start time,
+ * so committee assignments can be checked for double booking without loading a
+ * professor's history.
+ * <p>
+ * Sessions have no stored end, so every session is taken to last
+ * {@code app.defense-sessions.duration}; two sessions overlap when their starts are less
+ * than one duration apart. With equal lengths the interval tree degenerates into a sorted
+ * set of starts and an overlap query is a single O(log n) range lookup. The index is built
+ * on startup; writers reserve a booking while their transaction is open (so two concurrent
+ * assignments cannot both pass the check) and release it again if the transaction rolls back.
+ */
+@Component
+public class ProfessorBookingIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfessorBookingIndex.class);
+
+    // Within one instant, a null session id sorts first so it can probe the start of a range
+    private static final Comparator<Booking> BY_START = Comparator.comparing(Booking::start)
+            .thenComparing(Booking::sessionId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final DefenseSessionProfessorRepository defenseSessionProfessorRepository;
+    private final Duration sessionDuration;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // professor id -> their sessions by start
+    private final Map<UUID, NavigableSet<Booking>> byProfessor = new HashMap<>();
+    // session id -> start and professors, needed to move or drop a whole session
+    private final Map<UUID, Session> sessions = new HashMap<>();
+
+    @Autowired
+    public ProfessorBookingIndex(DefenseSessionProfessorRepository defenseSessionProfessorRepository,
+                                 @Value("${app.defense-sessions.duration:PT30M}") Duration sessionDuration) {
+        this.defenseSessionProfessorRepository = defenseSessionProfessorRepository;
+        this.sessionDuration = sessionDuration;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        List<Object[]> rows = defenseSessionProfessorRepository.findAllBookings();
+        lock.writeLock().lock();
+        try {
+            byProfessor.clear();
+            sessions.clear();
+            for (Object[] row : rows) {
+                insert((UUID) row[0], (UUID) row[1], ((OffsetDateTime) row[2]).toInstant());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} committee bookings in {} ms", rows.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Returns a session of the professor overlapping one that starts at {@code start}, ignoring
+     * {@code ignoredSessionId}, or null when the professor is free.
+     */
+    public UUID findConflict(UUID professorId, OffsetDateTime start, UUID ignoredSessionId) {
+        lock.readLock().lock();
+        try {
+            return conflict(professorId, start.toInstant(), ignoredSessionId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Books the professor for the session unless that overlaps another of their sessions.
+     *
+     * @throws ProfessorBookingConflictException if the professor is busy at that time
+     */
+    public void reserve(UUID professorId, UUID sessionId, OffsetDateTime start) {
+        lock.writeLock().lock();
+        try {
+            UUID conflicting = conflict(professorId, start.toInstant(), sessionId);
+            if (conflicting != null) {
+                throw new ProfessorBookingConflictException("Professor " + professorId
+                        + " is already on the committee of defense session " + conflicting + " at that time");
+            }
+            insert(professorId, sessionId, start.toInstant());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Books the professor without checking, for assignments already known to be conflict free.
+     */
+    public void add(UUID professorId, UUID sessionId, OffsetDateTime start) {
+        lock.writeLock().lock();
+        try {
+            insert(professorId, sessionId, start.toInstant());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID professorId, UUID sessionId) {
+        lock.writeLock().lock();
+        try {
+            Session session = sessions.get(sessionId);
+            if (session == null || !session.professors().remove(professorId)) {
+                return;
+            }
+            unlink(professorId, new Booking(session.start(), sessionId));
+            if (session.professors().isEmpty()) {
+                sessions.remove(sessionId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeSession(UUID sessionId) {
+        lock.writeLock().lock();
+        try {
+            Session session = sessions.remove(sessionId);
+            if (session != null) {
+                session.professors().forEach(professorId -> unlink(professorId, new Booking(session.start(), sessionId)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves a session to a new start, provided none of its professors is busy then.
+     *
+     * @return the previous start, or null if no professor is booked for the session
+     * @throws ProfessorBookingConflictException if a professor of the session is busy at the new time
+     */
+    public OffsetDateTime reschedule(UUID sessionId, OffsetDateTime start) {
+        lock.writeLock().lock();
+        try {
+            Session session = sessions.get(sessionId);
+            if (session == null) {
+                return null;
+            }
+            for (UUID professorId : session.professors()) {
+                UUID conflicting = conflict(professorId, start.toInstant(), sessionId);
+                if (conflicting != null) {
+                    throw new ProfessorBookingConflictException("Professor " + professorId
+                            + " is already on the committee of defense session " + conflicting + " at that time");
+                }
+            }
+            Instant previous = session.start();
+            move(sessionId, session, start.toInstant());
+            return previous.atOffset(start.getOffset());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves a session without checking, e.g. back to where it was when a reschedule rolls back.
+     */
+    public void moveSession(UUID sessionId, OffsetDateTime start) {
+        lock.writeLock().lock();
+        try {
+            Session session = sessions.get(sessionId);
+            if (session != null) {
+                move(sessionId, session, start.toInstant());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byProfessor.values().stream().mapToInt(Set::size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the lock for the methods below
+
+    private UUID conflict(UUID professorId, Instant start, UUID ignoredSessionId) {
+        NavigableSet<Booking> bookings = byProfessor.get(professorId);
+        if (bookings == null) {
+            return null;
+        }
+        // Overlapping starts lie strictly within one duration on either side
+        Instant from = start.minus(sessionDuration).plusNanos(1);
+        Instant to = start.plus(sessionDuration);
+        for (Booking booking : bookings.tailSet(new Booking(from, null), true)) {
+            if (!booking.start().isBefore(to)) {
+                return null;
+            }
+            if (!booking.sessionId().equals(ignoredSessionId)) {
+                return booking.sessionId();
+            }
+        }
+        return null;
+    }
+
+    private void insert(UUID professorId, UUID sessionId, Instant start) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            session = new Session(start, new HashSet<>());
+            sessions.put(sessionId, session);
+        } else if (!session.start().equals(start)) {
+            move(sessionId, session, start);
+            session = sessions.get(sessionId);
+        }
+        session.professors().add(professorId);
+        byProfessor.computeIfAbsent(professorId, id -> new TreeSet<>(BY_START)).add(new Booking(start, sessionId));
+    }
+
+    private void move(UUID sessionId, Session session, Instant start) {
+        for (UUID professorId : session.professors()) {
+            unlink(professorId, new Booking(session.start(), sessionId));
+            byProfessor.computeIfAbsent(professorId, id -> new TreeSet<>(BY_START)).add(new Booking(start, sessionId));
+        }
+        sessions.put(sessionId, new Session(start, session.professors()));
+    }
+
+    private void unlink(UUID professorId, Booking booking) {
+        NavigableSet<Booking> bookings = byProfessor.get(professorId);
+        if (bookings != null && bookings.remove(booking) && bookings.isEmpty()) {
+            byProfessor.remove(professorId);
+        }
+    }
+
+    private record Booking(Instant start, UUID sessionId) {
+    }
+
+    private record Session(Instant start, Set<UUID> professors) {
+    }
+}
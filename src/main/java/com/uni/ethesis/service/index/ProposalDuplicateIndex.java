@@ -0,0 +1,252 @@
+package com.uni.ethesis.service.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uni.ethesis.data.entities.ThesisProposal;
+import com.uni.ethesis.data.repo.ThesisProposalRepository;
+
+/**
+ * Locality-sensitive hashing over the {@link MinHash} signatures stored with proposals.
+ * <p>
+ * Each signature is cut into {@link MinHash#BANDS} bands and a proposal is filed under the
+ * key of every band. Two proposals land in a common bucket with probability
+ * {@code 1 - (1 - s^rows)^bands} for Jaccard similarity {@code s}: about 0.2 at 0.3, 0.87 at
+ * 0.5 and above 0.98 from 0.6. Only those candidates are compared signature by signature,
+ * so a lookup touches a handful of proposals instead of all of them.
+ * <p>
+ * Built from the stored signatures on startup (computing any that are missing) and updated
+ * by {@link com.uni.ethesis.service.impl.ThesisApplicationServiceImpl} after each commit.
+ * Updates that arrive while the index is being built are replayed onto it before it is
+ * swapped in, as the stored signatures may predate them.
+ */
+@Component
+public class ProposalDuplicateIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProposalDuplicateIndex.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 200;
+
+    public record Duplicate(UUID proposalId, double similarity) {
+    }
+
+    private final ThesisProposalRepository thesisProposalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<UUID, int[]> signatures = new HashMap<>();
+    private Map<Long, Set<UUID>> buckets = new HashMap<>();
+    // Updates made while load() runs, by proposal id; an empty signature marks a removal.
+    // Null itself while no load is running.
+    private Map<UUID, int[]> pendingChanges;
+    private volatile boolean ready;
+
+    @Value("${app.proposal-duplicates.threshold:0.5}")
+    private double threshold;
+
+    @Value("${app.proposal-duplicates.max-results:5}")
+    private int maxResults;
+
+    @Autowired
+    public ProposalDuplicateIndex(ThesisProposalRepository thesisProposalRepository,
+                                  TransactionTemplate transactionTemplate) {
+        this.thesisProposalRepository = thesisProposalRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<UUID, int[]> newSignatures = new HashMap<>();
+        Map<Long, Set<UUID>> newBuckets = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        boolean swapped = false;
+        try {
+            for (Object[] row : thesisProposalRepository.findAllSignatures()) {
+                UUID id = (UUID) row[0];
+                byte[] stored = (byte[]) row[1];
+                if (stored == null || (stored.length != 0 && stored.length != MinHash.SIGNATURE_SIZE * Integer.BYTES)) {
+                    missing.add(id);
+                } else {
+                    addSignature(newSignatures, newBuckets, id, MinHash.fromBytes(stored));
+                }
+            }
+            for (int from = 0; from < missing.size(); from += BACKFILL_BATCH_SIZE) {
+                List<UUID> batch = missing.subList(from, Math.min(from + BACKFILL_BATCH_SIZE, missing.size()));
+                transactionTemplate.executeWithoutResult(tx -> {
+                    for (ThesisProposal proposal : thesisProposalRepository.findAllById(batch)) {
+                        int[] signature = signature(proposal);
+                        thesisProposalRepository.updateSignature(proposal.getId(), MinHash.toBytes(signature));
+                        addSignature(newSignatures, newBuckets, proposal.getId(), signature);
+                    }
+                });
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach((proposalId, signature) ->
+                        addSignature(newSignatures, newBuckets, proposalId, signature));
+                signatures = newSignatures;
+                buckets = newBuckets;
+                pendingChanges = null;
+                ready = true;
+                swapped = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            if (!swapped) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+        log.info("Loaded {} proposal signatures ({} computed) in {} ms",
+                size(), missing.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public static int[] signature(ThesisProposal proposal) {
+        return signature(proposal.getTitle(), proposal.getGoal(), proposal.getObjectives(), proposal.getTechnology());
+    }
+
+    public static int[] signature(String... fields) {
+        StringJoiner text = new StringJoiner(" ");
+        for (String field : fields) {
+            if (field != null) {
+                text.add(field);
+            }
+        }
+        return MinHash.signature(text.toString());
+    }
+
+    /**
+     * Adds or replaces a proposal's signature.
+     */
+    public void add(UUID proposalId, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            addSignature(signatures, buckets, proposalId, signature);
+            if (pendingChanges != null) {
+                pendingChanges.put(proposalId, signature);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID proposalId) {
+        lock.writeLock().lock();
+        try {
+            removeSignature(signatures, buckets, proposalId);
+            if (pendingChanges != null) {
+                pendingChanges.put(proposalId, new int[0]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Proposals whose estimated similarity to the signature reaches the threshold, most
+     * similar first.
+     *
+     * @param exclude the proposal the signature belongs to, if it is already indexed
+     */
+    public List<Duplicate> findDuplicates(int[] signature, UUID exclude) {
+        if (signature.length != MinHash.SIGNATURE_SIZE) {
+            return List.of();
+        }
+        List<Duplicate> duplicates = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<UUID> candidates = new HashSet<>();
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                Set<UUID> bucket = buckets.get(MinHash.bandKey(signature, band));
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+            candidates.remove(exclude);
+            for (UUID candidate : candidates) {
+                double similarity = MinHash.similarity(signature, signatures.get(candidate));
+                if (similarity >= threshold) {
+                    duplicates.add(new Duplicate(candidate, similarity));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        duplicates.sort(Comparator.comparingDouble(Duplicate::similarity).reversed()
+                .thenComparing(Duplicate::proposalId));
+        return duplicates.size() > maxResults ? List.copyOf(duplicates.subList(0, maxResults)) : duplicates;
+    }
+
+    private static void addSignature(Map<UUID, int[]> signatures, Map<Long, Set<UUID>> buckets,
+                                     UUID proposalId, int[] signature) {
+        removeSignature(signatures, buckets, proposalId);
+        // Proposals without any words have nothing to compare
+        if (signature.length != MinHash.SIGNATURE_SIZE) {
+            return;
+        }
+        signatures.put(proposalId, signature);
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            buckets.computeIfAbsent(MinHash.bandKey(signature, band), key -> new HashSet<>()).add(proposalId);
+        }
+    }
+
+    private static void removeSignature(Map<UUID, int[]> signatures, Map<Long, Set<UUID>> buckets, UUID proposalId) {
+        int[] previous = signatures.remove(proposalId);
+        if (previous == null) {
+            return;
+        }
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            long key = MinHash.bandKey(previous, band);
+            Set<UUID> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(proposalId) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+}
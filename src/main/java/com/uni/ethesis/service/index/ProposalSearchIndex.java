@@ -0,0 +1,319 @@
+package com.uni.ethesis.service.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.uni.ethesis.data.dto.ThesisProposalDto;
+import com.uni.ethesis.data.repo.ThesisProposalRepository;
+
+/**
+ * In-memory inverted index over proposal title, goal, objectives and technology.
+ * <p>
+ * Each lower-cased token maps to the proposals containing it, together with a bit mask of
+ * the fields it occurs in. Query tokens are matched as prefixes against the sorted term
+ * dictionary and must all match (AND); a proposal scores the weight of the best field each
+ * token hit, doubled for whole-word hits. The index is built on startup and updated by
+ * {@link com.uni.ethesis.service.impl.ThesisApplicationServiceImpl} after each commit.
+ */
+@Component
+public class ProposalSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProposalSearchIndex.class);
+
+    public enum Field {
+        TITLE(8), TECHNOLOGY(4), GOAL(2), OBJECTIVES(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+
+        public int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    public static final int ALL_FIELDS = (1 << Field.values().length) - 1;
+
+    private final ThesisProposalRepository thesisProposalRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (proposal id -> mask of fields containing the term)
+    private NavigableMap<String, Map<UUID, Integer>> postings = new TreeMap<>();
+    // proposal id -> its terms, needed to unindex it on update/delete
+    private Map<UUID, Set<String>> documentTerms = new HashMap<>();
+    // Changes made while a rebuild reads its snapshot, by proposal id; null marks a removal.
+    // Null itself while no rebuild is running.
+    private Map<UUID, ThesisProposalDto> pendingChanges;
+    private volatile boolean ready;
+
+    @Autowired
+    public ProposalSearchIndex(ThesisProposalRepository thesisProposalRepository) {
+        this.thesisProposalRepository = thesisProposalRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        rebuild(thesisProposalRepository::findAllSearchDocuments);
+        log.info("Indexed {} thesis proposals for search in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Replaces the whole index. The new index is built outside the lock and swapped in;
+     * proposals indexed or removed meanwhile are replayed onto it first, as the snapshot may
+     * predate them.
+     */
+    public void rebuild(Supplier<? extends Collection<ThesisProposalDto>> snapshot) {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NavigableMap<String, Map<UUID, Integer>> newPostings = new TreeMap<>();
+        Map<UUID, Set<String>> newDocumentTerms = new HashMap<>();
+        boolean swapped = false;
+        try {
+            for (ThesisProposalDto proposal : snapshot.get()) {
+                addDocument(newPostings, newDocumentTerms, proposal.getId(), termMasks(proposal));
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach((proposalId, proposal) -> {
+                    removeDocument(newPostings, newDocumentTerms, proposalId);
+                    if (proposal != null) {
+                        addDocument(newPostings, newDocumentTerms, proposalId, termMasks(proposal));
+                    }
+                });
+                postings = newPostings;
+                documentTerms = newDocumentTerms;
+                pendingChanges = null;
+                ready = true;
+                swapped = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            if (!swapped) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds or replaces a single proposal.
+     */
+    public void index(ThesisProposalDto proposal) {
+        Map<String, Integer> terms = termMasks(proposal);
+        lock.writeLock().lock();
+        try {
+            removeDocument(postings, documentTerms, proposal.getId());
+            addDocument(postings, documentTerms, proposal.getId(), terms);
+            if (pendingChanges != null) {
+                pendingChanges.put(proposal.getId(), proposal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID proposalId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(postings, documentTerms, proposalId);
+            if (pendingChanges != null) {
+                pendingChanges.put(proposalId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * All proposals matching every query token in the given fields, best match first.
+     *
+     * @param fieldMask OR of {@link Field#bit()} values, or {@link #ALL_FIELDS}
+     */
+    public List<UUID> search(String query, int fieldMask) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                Map<UUID, Integer> tokenScores = scoreToken(token, fieldMask, scores == null ? null : scores.keySet());
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<UUID, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<UUID, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        List<UUID> ids = new ArrayList<>(ranked.size());
+        for (Map.Entry<UUID, Integer> entry : ranked) {
+            ids.add(entry.getKey());
+        }
+        return ids;
+    }
+
+    public Page<UUID> search(String query, int fieldMask, Pageable pageable) {
+        List<UUID> ranked = search(query, fieldMask);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ranked, pageable, ranked.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return new PageImpl<>(new ArrayList<>(ranked.subList(from, to)), pageable, ranked.size());
+    }
+
+    /**
+     * Splits text into lower-cased runs of letters/digits (Latin and Cyrillic alike).
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private Map<UUID, Integer> scoreToken(String token, int fieldMask, Set<UUID> candidates) {
+        Map<UUID, Integer> best = new HashMap<>();
+        // Every term that starts with the token: [token, token + Character.MAX_VALUE)
+        for (Map.Entry<String, Map<UUID, Integer>> term : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            int multiplier = term.getKey().length() == token.length() ? 2 : 1;
+            for (Map.Entry<UUID, Integer> posting : term.getValue().entrySet()) {
+                int mask = posting.getValue() & fieldMask;
+                if (mask == 0 || (candidates != null && !candidates.contains(posting.getKey()))) {
+                    continue;
+                }
+                best.merge(posting.getKey(), weight(mask) * multiplier, Math::max);
+            }
+        }
+        return best;
+    }
+
+    private static void removeDocument(NavigableMap<String, Map<UUID, Integer>> postings,
+                                       Map<UUID, Set<String>> documentTerms, UUID proposalId) {
+        Set<String> terms = documentTerms.remove(proposalId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<UUID, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(proposalId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addDocument(NavigableMap<String, Map<UUID, Integer>> postings,
+                                    Map<UUID, Set<String>> documentTerms,
+                                    UUID proposalId, Map<String, Integer> termMasks) {
+        for (Map.Entry<String, Integer> term : termMasks.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(proposalId, term.getValue());
+        }
+        documentTerms.put(proposalId, new HashSet<>(termMasks.keySet()));
+    }
+
+    private static Map<String, Integer> termMasks(ThesisProposalDto proposal) {
+        Map<String, Integer> masks = new HashMap<>();
+        addField(masks, proposal.getTitle(), Field.TITLE);
+        addField(masks, proposal.getGoal(), Field.GOAL);
+        addField(masks, proposal.getObjectives(), Field.OBJECTIVES);
+        addField(masks, proposal.getTechnology(), Field.TECHNOLOGY);
+        return masks;
+    }
+
+    private static void addField(Map<String, Integer> masks, String text, Field field) {
+        for (String token : tokenize(text)) {
+            masks.merge(token, field.bit(), (a, b) -> a | b);
+        }
+    }
+
+    private static int weight(int mask) {
+        int best = 0;
+        for (Field field : Field.values()) {
+            if ((mask & field.bit()) != 0) {
+                best = Math.max(best, field.weight);
+            }
+        }
+        return best;
+    }
+}
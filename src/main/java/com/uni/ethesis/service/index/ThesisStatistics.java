@@ -0,0 +1,384 @@
+package com.uni.ethesis.service.index;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.uni.ethesis.data.dto.ThesisStatisticsDto;
+import com.uni.ethesis.data.repo.DefenseRepository;
+import com.uni.ethesis.data.repo.ReviewRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.enums.ReviewConclusion;
+import com.uni.ethesis.enums.ThesisStatus;
+import com.uni.ethesis.events.ThesisStatusChangedEvent;
+
+/**
+ * In-memory dashboard counters: theses per status, successful defenses per supervisor,
+ * reviews per conclusion, defenses per day and a 0.0-6.0 histogram of final grades in
+ * 0.1 steps.
+ * <p>
+ * Built from GROUP BY queries on startup, then kept current by status change events and
+ * by write hooks the services register with {@link #afterCommit}, so rolled back writes
+ * are never counted. A writer commits and applies its hook under the read side of a lock
+ * the rebuild holds exclusively, so every write is either in the rebuild's snapshot or
+ * applied after it, never both or neither. Until the first build completes
+ * {@link #isReady()} is false and callers fall back to the database.
+ */
+@Component
+public class ThesisStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(ThesisStatistics.class);
+
+    private static final BigDecimal MIN_PASSING_GRADE = BigDecimal.valueOf(3.0);
+    public static final int GRADE_BUCKETS = 61;
+
+    private final ThesisRepository thesisRepository;
+    private final ReviewRepository reviewRepository;
+    private final DefenseRepository defenseRepository;
+
+    private final Map<ThesisStatus, AtomicLong> thesesByStatus = new EnumMap<>(ThesisStatus.class);
+    private final Map<ReviewConclusion, AtomicLong> reviewsByConclusion = new EnumMap<>(ReviewConclusion.class);
+    private final AtomicLongArray gradeHistogram = new AtomicLongArray(GRADE_BUCKETS);
+    // Graded theses -> histogram bucket, so a re-grade moves the thesis instead of double counting it
+    private final Map<UUID, Integer> gradeBucketByThesis = new ConcurrentHashMap<>();
+    // Passed (DEFENDED, grade >= 3.0) theses -> supervisor, and the per-supervisor totals
+    private final Map<UUID, UUID> supervisorByPassedThesis = new ConcurrentHashMap<>();
+    private final Map<UUID, AtomicLong> successfulDefensesByTeacher = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDate, AtomicLong> defensesByDate = new ConcurrentSkipListMap<>();
+    // Fair, so a waiting rebuild is not starved by a steady stream of commits
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock(true);
+    private volatile boolean ready;
+
+    @Autowired
+    public ThesisStatistics(ThesisRepository thesisRepository,
+                            ReviewRepository reviewRepository,
+                            DefenseRepository defenseRepository) {
+        this.thesisRepository = thesisRepository;
+        this.reviewRepository = reviewRepository;
+        this.defenseRepository = defenseRepository;
+        for (ThesisStatus status : ThesisStatus.values()) {
+            thesesByStatus.put(status, new AtomicLong());
+        }
+        for (ReviewConclusion conclusion : ReviewConclusion.values()) {
+            reviewsByConclusion.put(conclusion, new AtomicLong());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            load();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        ready = false;
+        thesesByStatus.values().forEach(counter -> counter.set(0));
+        reviewsByConclusion.values().forEach(counter -> counter.set(0));
+        for (int i = 0; i < GRADE_BUCKETS; i++) {
+            gradeHistogram.set(i, 0);
+        }
+        gradeBucketByThesis.clear();
+        supervisorByPassedThesis.clear();
+        successfulDefensesByTeacher.clear();
+        defensesByDate.clear();
+
+        for (Object[] row : thesisRepository.countGroupedByStatus()) {
+            if (row[0] != null) {
+                thesesByStatus.get((ThesisStatus) row[0]).set((Long) row[1]);
+            }
+        }
+        for (Object[] row : thesisRepository.findGradedIds()) {
+            recordGrade((UUID) row[0], (BigDecimal) row[1]);
+        }
+        for (Object[] row : thesisRepository.findPassedIdsWithTeacher(MIN_PASSING_GRADE)) {
+            markPassed((UUID) row[0], (UUID) row[1]);
+        }
+        for (Object[] row : reviewRepository.countGroupedByConclusion()) {
+            if (row[0] != null) {
+                reviewsByConclusion.get((ReviewConclusion) row[0]).set((Long) row[1]);
+            }
+        }
+        for (Object[] row : defenseRepository.countGroupedByDate()) {
+            defensesByDate.put(((Date) row[0]).toLocalDate(), new AtomicLong((Long) row[1]));
+        }
+        ready = true;
+        log.info("Thesis statistics built: {} theses, {} graded, {} reviews",
+                thesesByStatus.values().stream().mapToLong(AtomicLong::get).sum(),
+                gradeBucketByThesis.size(),
+                reviewsByConclusion.values().stream().mapToLong(AtomicLong::get).sum());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The dashboard numbers straight from the database, for requests that arrive while the
+     * counters are not built yet.
+     */
+    @Transactional(readOnly = true)
+    public ThesisStatisticsDto queryStatistics() {
+        Map<ThesisStatus, Long> theses = new EnumMap<>(ThesisStatus.class);
+        for (ThesisStatus status : ThesisStatus.values()) {
+            theses.put(status, 0L);
+        }
+        for (Object[] row : thesisRepository.countGroupedByStatus()) {
+            if (row[0] != null) {
+                theses.put((ThesisStatus) row[0], (Long) row[1]);
+            }
+        }
+        Map<ReviewConclusion, Long> reviews = new EnumMap<>(ReviewConclusion.class);
+        for (ReviewConclusion conclusion : ReviewConclusion.values()) {
+            reviews.put(conclusion, 0L);
+        }
+        for (Object[] row : reviewRepository.countGroupedByConclusion()) {
+            if (row[0] != null) {
+                reviews.put((ReviewConclusion) row[0], (Long) row[1]);
+            }
+        }
+        long[] buckets = new long[GRADE_BUCKETS];
+        for (Object[] row : thesisRepository.findGradedIds()) {
+            buckets[bucketOf((BigDecimal) row[1])]++;
+        }
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < GRADE_BUCKETS; bucket++) {
+            histogram.put(BigDecimal.valueOf(bucket, 1).toPlainString(), buckets[bucket]);
+        }
+        return ThesisStatisticsDto.builder()
+                .thesesByStatus(theses)
+                .reviewsByConclusion(reviews)
+                .gradeHistogram(histogram)
+                .build();
+    }
+
+    // ---- write hooks ----
+
+    /**
+     * Runs a counter update once the current transaction has committed, or right away when
+     * there is no transaction. The commit itself waits while a rebuild is running.
+     */
+    public void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuildLock.readLock().lock();
+            try {
+                update.run();
+            } finally {
+                rebuildLock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                rebuildLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        update.run();
+                    }
+                } finally {
+                    if (locked) {
+                        locked = false;
+                        rebuildLock.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    @EventListener
+    public void onStatusChanged(ThesisStatusChangedEvent event) {
+        afterCommit(() -> applyStatusChange(event));
+    }
+
+    private void applyStatusChange(ThesisStatusChangedEvent event) {
+        if (event.getFrom() != null) {
+            thesesByStatus.get(event.getFrom()).decrementAndGet();
+        }
+        thesesByStatus.get(event.getTo()).incrementAndGet();
+        if (event.getFinalGrade() != null) {
+            recordGrade(event.getThesisId(), event.getFinalGrade());
+        }
+        if (event.getTo() == ThesisStatus.DEFENDED) {
+            // Runs after commit, so this single indexed read sees the committed grade
+            thesisRepository.findTeacherIdIfPassed(event.getThesisId(), MIN_PASSING_GRADE)
+                    .ifPresent(teacherId -> markPassed(event.getThesisId(), teacherId));
+        }
+    }
+
+    /**
+     * A final grade was edited directly, outside of grading a defense.
+     */
+    public void thesisGradeChanged(UUID thesisId, UUID teacherId, ThesisStatus status, BigDecimal grade) {
+        recordGrade(thesisId, grade);
+        if (status == ThesisStatus.DEFENDED && teacherId != null && grade.compareTo(MIN_PASSING_GRADE) >= 0) {
+            markPassed(thesisId, teacherId);
+        } else {
+            unmarkPassed(thesisId);
+        }
+    }
+
+    public void thesisRemoved(UUID thesisId, ThesisStatus status) {
+        if (status != null) {
+            thesesByStatus.get(status).decrementAndGet();
+        }
+        Integer bucket = gradeBucketByThesis.remove(thesisId);
+        if (bucket != null) {
+            gradeHistogram.decrementAndGet(bucket);
+        }
+        unmarkPassed(thesisId);
+    }
+
+    public void reviewAdded(ReviewConclusion conclusion) {
+        if (conclusion != null) {
+            reviewsByConclusion.get(conclusion).incrementAndGet();
+        }
+    }
+
+    public void reviewRemoved(ReviewConclusion conclusion) {
+        if (conclusion != null) {
+            reviewsByConclusion.get(conclusion).decrementAndGet();
+        }
+    }
+
+    public void reviewConclusionChanged(ReviewConclusion from, ReviewConclusion to) {
+        if (from != to) {
+            reviewRemoved(from);
+            reviewAdded(to);
+        }
+    }
+
+    public void defenseAdded(Date date) {
+        if (date != null) {
+            defensesByDate.computeIfAbsent(date.toLocalDate(), day -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public void defenseRemoved(Date date) {
+        if (date != null) {
+            AtomicLong counter = defensesByDate.get(date.toLocalDate());
+            if (counter != null) {
+                counter.decrementAndGet();
+            }
+        }
+    }
+
+    public void defenseDateChanged(Date from, Date to) {
+        if (from == null ? to != null : !from.equals(to)) {
+            defenseRemoved(from);
+            defenseAdded(to);
+        }
+    }
+
+    // ---- reads ----
+
+    public long countThesesByStatus(ThesisStatus status) {
+        return thesesByStatus.get(status).get();
+    }
+
+    public long countSuccessfulDefensesByTeacher(UUID teacherId) {
+        AtomicLong counter = successfulDefensesByTeacher.get(teacherId);
+        return counter == null ? 0 : counter.get();
+    }
+
+    public long countReviewsByConclusion(ReviewConclusion conclusion) {
+        return reviewsByConclusion.get(conclusion).get();
+    }
+
+    /**
+     * Defenses scheduled between the two dates, both inclusive.
+     */
+    public long countDefensesInPeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return 0;
+        }
+        return defensesByDate.subMap(startDate, true, endDate, true).values().stream()
+                .mapToLong(AtomicLong::get)
+                .sum();
+    }
+
+    public Map<ThesisStatus, Long> getThesisCountsByStatus() {
+        Map<ThesisStatus, Long> counts = new EnumMap<>(ThesisStatus.class);
+        thesesByStatus.forEach((status, counter) -> counts.put(status, counter.get()));
+        return counts;
+    }
+
+    public Map<ReviewConclusion, Long> getReviewCountsByConclusion() {
+        Map<ReviewConclusion, Long> counts = new EnumMap<>(ReviewConclusion.class);
+        reviewsByConclusion.forEach((conclusion, counter) -> counts.put(conclusion, counter.get()));
+        return counts;
+    }
+
+    /**
+     * Number of theses per final grade, keyed "0.0" to "6.0".
+     */
+    public Map<String, Long> getGradeHistogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < GRADE_BUCKETS; bucket++) {
+            histogram.put(BigDecimal.valueOf(bucket, 1).toPlainString(), gradeHistogram.get(bucket));
+        }
+        return histogram;
+    }
+
+    private static int bucketOf(BigDecimal grade) {
+        int bucket = grade.setScale(1, RoundingMode.HALF_UP).movePointRight(1).intValue();
+        return Math.max(0, Math.min(GRADE_BUCKETS - 1, bucket));
+    }
+
+    private void recordGrade(UUID thesisId, BigDecimal grade) {
+        int bucket = bucketOf(grade);
+        Integer previous = gradeBucketByThesis.put(thesisId, bucket);
+        if (previous != null) {
+            gradeHistogram.decrementAndGet(previous);
+        }
+        gradeHistogram.incrementAndGet(bucket);
+    }
+
+    private void markPassed(UUID thesisId, UUID teacherId) {
+        UUID previous = supervisorByPassedThesis.put(thesisId, teacherId);
+        if (previous != null) {
+            successfulDefensesByTeacher.get(previous).decrementAndGet();
+        }
+        successfulDefensesByTeacher.computeIfAbsent(teacherId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private void unmarkPassed(UUID thesisId) {
+        UUID previous = supervisorByPassedThesis.remove(thesisId);
+        if (previous != null) {
+            successfulDefensesByTeacher.get(previous).decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.uni.ethesis.service.index;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.uni.ethesis.data.repo.TeacherRepository;
+
+/**
+ * Remembers whether a user is a teacher, so listings can label comment authors without a
+ * query per row. Unknown users are resolved together with one IN query.
+ * <p>
+ * A user is a teacher as long as a Teacher row exists for them; code that creates or
+ * deletes one calls {@link #invalidate(UUID)} after commit. A lookup that was already
+ * querying when an invalidation happened does not cache its answer, as it may predate the
+ * change. Invalidation only reaches this node, so entries also expire after
+ * {@code app.user-roles.ttl}, which bounds how long other nodes see an old role. The cache
+ * is simply emptied when it outgrows its bound, as refilling it costs one query per listing.
+ */
+@Component
+public class UserRoleIndex {
+
+    public static final String TEACHER = "TEACHER";
+    public static final String STUDENT = "STUDENT";
+
+    private final TeacherRepository teacherRepository;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<UUID, Entry> teacherByUser = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; fills that started under an older value are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private record Entry(boolean teacher, long loadedAt) {
+    }
+
+    @Autowired
+    public UserRoleIndex(TeacherRepository teacherRepository,
+                         @Value("${app.user-roles.cache-size:10000}") int maxEntries,
+                         @Value("${app.user-roles.ttl:PT5M}") Duration ttl) {
+        this.teacherRepository = teacherRepository;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public String roleOf(UUID userId) {
+        return rolesOf(List.of(userId)).get(userId);
+    }
+
+    /**
+     * TEACHER or STUDENT for each of the users, loading the ones not cached in one query.
+     */
+    public Map<UUID, String> rolesOf(Collection<UUID> userIds) {
+        Map<UUID, String> roles = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        long now = System.nanoTime();
+        for (UUID userId : new HashSet<>(userIds)) {
+            Entry entry = teacherByUser.get(userId);
+            if (entry == null || now - entry.loadedAt() >= ttlNanos) {
+                missing.add(userId);
+            } else {
+                roles.put(userId, entry.teacher() ? TEACHER : STUDENT);
+            }
+        }
+        if (missing.isEmpty()) {
+            return roles;
+        }
+
+        long fillGeneration = generation.get();
+        Set<UUID> teachers = new HashSet<>(teacherRepository.findUserIdsByUserIdIn(missing));
+        if (teacherByUser.size() + missing.size() > maxEntries) {
+            teacherByUser.clear();
+        }
+        for (UUID userId : missing) {
+            Entry loaded = new Entry(teachers.contains(userId), now);
+            // invalidate() bumps the generation before removing, so a fill that loses this
+            // check is either skipped here or removed right after
+            teacherByUser.compute(userId, (id, current) -> generation.get() == fillGeneration ? loaded : current);
+            roles.put(userId, loaded.teacher() ? TEACHER : STUDENT);
+        }
+        return roles;
+    }
+
+    /**
+     * Drops the cached role of a user on this node only; other nodes pick up the change
+     * once their entry expires.
+     */
+    public void invalidate(UUID userId) {
+        generation.incrementAndGet();
+        teacherByUser.remove(userId);
+    }
+
+    public int size() {
+        return teacherByUser.size();
+    }
+}
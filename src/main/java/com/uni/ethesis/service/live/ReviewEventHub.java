@@ -0,0 +1,180 @@
+package com.uni.ethesis.service.live;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.uni.ethesis.events.CommentChangedEvent;
+
+/**
+ * In-process fan-out of review activity to Server-Sent Event subscribers, so review pages
+ * see new comments without polling the database.
+ * <p>
+ * Events are published after the comment transaction commits and carry the DTO the service
+ * already built. Each subscriber gets a bounded buffer drained by its own virtual thread, so
+ * publishing never blocks on a client's socket. A subscriber whose buffer is full is too slow
+ * to keep up and is disconnected; the browser's EventSource reconnects and the client catches
+ * up through the comments "since" endpoint. Idle streams get a heartbeat comment so proxies
+ * keep them open and dead connections are noticed.
+ */
+@Component
+public class ReviewEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewEventHub.class);
+
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final int maxSubscribersPerReview;
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReviewEventHub(@Value("${app.live-updates.buffer-size:32}") int bufferSize,
+                          @Value("${app.live-updates.timeout:PT30M}") Duration timeout,
+                          @Value("${app.live-updates.heartbeat:PT25S}") Duration heartbeat,
+                          @Value("${app.live-updates.max-subscribers-per-review:100}") int maxSubscribersPerReview) {
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.maxSubscribersPerReview = maxSubscribersPerReview;
+    }
+
+    public SseEmitter subscribe(UUID reviewId) {
+        return subscribe(reviewId, new SseEmitter(timeout.toMillis()));
+    }
+
+    /**
+     * Registers an emitter for the events of a review and starts its sender.
+     */
+    public SseEmitter subscribe(UUID reviewId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(reviewId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        // Added under the map's lock for the review so it cannot race with close() dropping the set
+        boolean[] accepted = new boolean[1];
+        subscribers.compute(reviewId, (id, reviewSubscribers) -> {
+            Set<Subscriber> set = reviewSubscribers != null ? reviewSubscribers : ConcurrentHashMap.newKeySet();
+            if (set.size() < maxSubscribersPerReview) {
+                accepted[0] = set.add(subscriber);
+            }
+            return set.isEmpty() ? null : set;
+        });
+        if (!accepted[0]) {
+            emitter.completeWithError(new IllegalStateException("Too many live subscribers for review " + reviewId));
+            return emitter;
+        }
+
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+        subscriber.sender = Thread.ofVirtual().name("review-events-" + reviewId).start(() -> sendLoop(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onCommentChanged(CommentChangedEvent event) {
+        publish(event.getReviewId(), "comment-" + event.getType().name().toLowerCase(Locale.ROOT), event.getComment());
+    }
+
+    /**
+     * Queues an event for every subscriber of the review. Never blocks: subscribers with
+     * a full buffer are evicted instead.
+     */
+    public void publish(UUID reviewId, String name, Object data) {
+        Set<Subscriber> reviewSubscribers = subscribers.get(reviewId);
+        if (reviewSubscribers == null) {
+            return;
+        }
+        Event event = new Event(name, data);
+        for (Subscriber subscriber : reviewSubscribers) {
+            if (!subscriber.queue.offer(event)) {
+                log.info("Disconnecting slow live subscriber of review {}", reviewId);
+                close(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    public int subscriberCount(UUID reviewId) {
+        Set<Subscriber> reviewSubscribers = subscribers.get(reviewId);
+        return reviewSubscribers == null ? 0 : reviewSubscribers.size();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        subscribers.values().forEach(reviewSubscribers -> reviewSubscribers.forEach(subscriber -> {
+            close(subscriber);
+            subscriber.emitter.complete();
+        }));
+    }
+
+    private void sendLoop(Subscriber subscriber) {
+        try {
+            while (!subscriber.closed) {
+                Event event = subscriber.queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (subscriber.closed) {
+                    return;
+                }
+                if (event == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            close(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscriber.closed) {
+            return;
+        }
+        subscriber.closed = true;
+        subscribers.computeIfPresent(subscriber.reviewId, (id, reviewSubscribers) -> {
+            reviewSubscribers.remove(subscriber);
+            return reviewSubscribers.isEmpty() ? null : reviewSubscribers;
+        });
+        Thread sender = subscriber.sender;
+        if (sender != null && sender != Thread.currentThread()) {
+            sender.interrupt();
+        }
+    }
+
+    private record Event(String name, Object data) {
+    }
+
+    private static final class Subscriber {
+        private final UUID reviewId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> queue;
+        private volatile Thread sender;
+        private volatile boolean closed;
+
+        private Subscriber(UUID reviewId, SseEmitter emitter, BlockingQueue<Event> queue) {
+            this.reviewId = reviewId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.uni.ethesis.service.pdf;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parses a stored PDF with PDFBox and reports its structure, document info and plain text.
+ * Documents are loaded with a temp-file stream cache, so a 200 MB thesis does not have to
+ * fit on the heap, and text extraction stops once {@code app.pdf-processing.max-text-length}
+ * characters have been collected.
+ */
+@Component
+public class PdfAnalyzer {
+
+    public record PdfAnalysis(boolean valid, String error, Integer pageCount, String version, boolean encrypted,
+                              String title, String author, String producer, OffsetDateTime createdAt,
+                              long sizeBytes, String text) {
+    }
+
+    private final int maxTextLength;
+
+    public PdfAnalyzer(@Value("${app.pdf-processing.max-text-length:2000000}") int maxTextLength) {
+        this.maxTextLength = maxTextLength;
+    }
+
+    /**
+     * @return the analysis; a file PDFBox cannot parse is reported as invalid, not thrown
+     * @throws IOException if the file cannot be read at all, which is worth retrying
+     */
+    public PdfAnalysis analyze(Path file) throws IOException {
+        long size = Files.size(file);
+        PDDocument document;
+        try {
+            document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache());
+        } catch (IOException e) {
+            return new PdfAnalysis(false, e.getMessage(), null, null, false, null, null, null, null, size, null);
+        }
+        try (document) {
+            PDDocumentInformation info = document.getDocumentInformation();
+            return new PdfAnalysis(true, null,
+                    document.getNumberOfPages(),
+                    String.valueOf(document.getVersion()),
+                    document.isEncrypted(),
+                    info.getTitle(),
+                    info.getAuthor(),
+                    info.getProducer(),
+                    toOffsetDateTime(info.getCreationDate()),
+                    size,
+                    extractText(document));
+        }
+    }
+
+    private String extractText(PDDocument document) throws IOException {
+        BoundedWriter writer = new BoundedWriter(maxTextLength);
+        try {
+            new PDFTextStripper().writeText(document, writer);
+        } catch (LimitReachedException e) {
+            // Enough text for search and similarity checks
+        }
+        return writer.toString();
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Calendar calendar) {
+        return calendar == null ? null : calendar.toInstant().atOffset(ZoneOffset.UTC);
+    }
+
+    private static final class LimitReachedException extends IOException {
+        LimitReachedException() {
+            super(null, null);
+        }
+    }
+
+    // Collects up to limit characters, then aborts extraction of the remaining pages
+    private static final class BoundedWriter extends Writer {
+        private final StringBuilder text = new StringBuilder();
+        private final int limit;
+
+        BoundedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int room = limit - text.length();
+            text.append(chars, offset, Math.min(room, length));
+            if (length >= room) {
+                throw new LimitReachedException();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
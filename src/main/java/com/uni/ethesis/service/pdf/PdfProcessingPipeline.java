@@ -0,0 +1,302 @@
+package com.uni.ethesis.service.pdf;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uni.ethesis.data.entities.PdfProcessingJob;
+import com.uni.ethesis.data.entities.ThesisDocument;
+import com.uni.ethesis.data.repo.PdfProcessingJobRepository;
+import com.uni.ethesis.data.repo.ThesisDocumentRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.enums.PdfJobStatus;
+import com.uni.ethesis.service.plagiarism.FingerprintIndex;
+import com.uni.ethesis.service.storage.BlobStore;
+import com.uni.ethesis.utils.TransactionUtils;
+
+/**
+ * Background post-processing of uploaded PDFs. Uploads only insert a row into
+ * pdf_processing_jobs, so their latency does not depend on how busy the pipeline is.
+ * <p>
+ * A dispatcher thread claims at most as many due jobs as there are free worker permits and
+ * runs each on its own virtual thread; when all permits are taken, new jobs simply wait in
+ * the table. That is the back-pressure: a deadline rush grows the queue, not the heap.
+ * Claimed jobs carry a lease, so jobs of a node that died mid-run are claimed again once it
+ * expires. Every claim counts as an attempt; failures are retried with exponential backoff,
+ * and a job is failed once {@code max-attempts} is used up, also when its last lease expired.
+ */
+@Component
+public class PdfProcessingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfProcessingPipeline.class);
+
+    private static final Duration BASE_RETRY_DELAY = Duration.ofSeconds(30);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final PdfProcessingJobRepository jobRepository;
+    private final ThesisDocumentRepository thesisDocumentRepository;
+    private final ThesisRepository thesisRepository;
+    private final BlobStore blobStore;
+    private final PdfAnalyzer pdfAnalyzer;
+    private final FingerprintIndex fingerprintIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Semaphore workerPermits;
+    // Released by enqueue and by finished jobs to wake the dispatcher before its poll interval
+    private final Semaphore wakeups = new Semaphore(0);
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    @Value("${app.pdf-processing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.pdf-processing.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.pdf-processing.lease:PT10M}")
+    private Duration lease;
+
+    @Value("${app.pdf-processing.poll-interval:PT5S}")
+    private Duration pollInterval;
+
+    @Autowired
+    public PdfProcessingPipeline(PdfProcessingJobRepository jobRepository,
+                                 ThesisDocumentRepository thesisDocumentRepository,
+                                 ThesisRepository thesisRepository,
+                                 BlobStore blobStore,
+                                 PdfAnalyzer pdfAnalyzer,
+                                 FingerprintIndex fingerprintIndex,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.pdf-processing.concurrency:8}") int concurrency) {
+        this.jobRepository = jobRepository;
+        this.thesisDocumentRepository = thesisDocumentRepository;
+        this.thesisRepository = thesisRepository;
+        this.blobStore = blobStore;
+        this.pdfAnalyzer = pdfAnalyzer;
+        this.fingerprintIndex = fingerprintIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.workerPermits = new Semaphore(concurrency);
+    }
+
+    /**
+     * Queues processing of a newly attached PDF. Must run in the transaction that attaches
+     * it, so the job exists exactly when the upload committed.
+     */
+    public void enqueue(UUID thesisId, String pdfHash) {
+        jobRepository.save(PdfProcessingJob.builder()
+                .thesisId(thesisId)
+                .pdfHash(pdfHash)
+                .status(PdfJobStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(OffsetDateTime.now())
+                .build());
+        TransactionUtils.afterCommit(this::wakeUp);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        dispatcher = Thread.ofVirtual().name("pdf-dispatcher").start(this::dispatchLoop);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        // Unfinished jobs keep their lease and are claimed again after a restart
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void wakeUp() {
+        if (wakeups.availablePermits() == 0) {
+            wakeups.release();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                int free = workerPermits.availablePermits();
+                List<PdfProcessingJob> claimed = free > 0 ? claim(free) : List.of();
+                for (PdfProcessingJob job : claimed) {
+                    workerPermits.acquire();
+                    workers.submit(() -> {
+                        try {
+                            process(job);
+                        } finally {
+                            workerPermits.release();
+                            wakeUp();
+                        }
+                    });
+                }
+                // A full batch means more jobs are probably due; otherwise wait for a signal
+                if (claimed.isEmpty() || claimed.size() < free) {
+                    wakeups.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeups.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("PDF job dispatch failed", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private List<PdfProcessingJob> claim(int limit) {
+        return transactionTemplate.execute(tx -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<PdfProcessingJob> claimable = jobRepository.lockClaimable(now, limit);
+            // Only an expired lease leaves a claimable job out of attempts: its node died on the last one
+            List<UUID> exhausted = claimable.stream()
+                    .filter(job -> job.getAttempts() >= maxAttempts)
+                    .map(PdfProcessingJob::getId)
+                    .toList();
+            List<UUID> ids = claimable.stream()
+                    .filter(job -> job.getAttempts() < maxAttempts)
+                    .map(PdfProcessingJob::getId)
+                    .toList();
+            if (!exhausted.isEmpty()) {
+                jobRepository.markFailed(exhausted, PdfJobStatus.FAILED, "Lease expired on the last attempt");
+                log.warn("Failed {} PDF jobs whose last attempt did not finish", exhausted.size());
+            }
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            jobRepository.markClaimed(ids, PdfJobStatus.RUNNING, now.plus(lease));
+            return jobRepository.findAllById(ids);
+        });
+    }
+
+    void process(PdfProcessingJob job) {
+        try {
+            // A newer upload replaced this file; its own job will describe it
+            String currentHash = thesisRepository.findPdfHashById(job.getThesisId()).orElse(null);
+            if (!job.getPdfHash().equals(currentHash)) {
+                finish(job.getId());
+                return;
+            }
+
+            PdfAnalyzer.PdfAnalysis analysis = pdfAnalyzer.analyze(blobStore.resolve(job.getPdfHash()));
+            Boolean saved = transactionTemplate.execute(tx -> {
+                // Checked again under the row lock, as the file may have been replaced during the analysis
+                boolean current = job.getPdfHash().equals(thesisRepository.lockPdfHashById(job.getThesisId()).orElse(null));
+                if (current) {
+                    saveDocument(job, analysis);
+                }
+                markDone(job.getId());
+                return current;
+            });
+            if (Boolean.TRUE.equals(saved)) {
+                updateFingerprints(job.getThesisId(), analysis);
+            }
+        } catch (Exception e) {
+            log.warn("PDF job {} for thesis {} failed (attempt {})", job.getId(), job.getThesisId(), job.getAttempts(), e);
+            retryOrFail(job, e);
+        }
+    }
+
+    private void saveDocument(PdfProcessingJob job, PdfAnalyzer.PdfAnalysis analysis) {
+        ThesisDocument document = thesisDocumentRepository.findByThesisId(job.getThesisId())
+                .orElseGet(() -> ThesisDocument.builder()
+                        .thesis(thesisRepository.getReferenceById(job.getThesisId()))
+                        .build());
+        document.setPdfHash(job.getPdfHash());
+        document.setValid(analysis.valid());
+        document.setValidationError(truncate(analysis.error()));
+        document.setPageCount(analysis.pageCount());
+        document.setPdfVersion(analysis.version());
+        document.setEncrypted(analysis.encrypted());
+        document.setTitle(analysis.title());
+        document.setAuthor(analysis.author());
+        document.setProducer(analysis.producer());
+        document.setDocumentCreatedAt(analysis.createdAt());
+        document.setSizeBytes(analysis.sizeBytes());
+        document.setExtractedText(analysis.text());
+        document.setTextLength(analysis.text() == null ? 0 : analysis.text().length());
+        document.setProcessedAt(OffsetDateTime.now());
+        thesisDocumentRepository.save(document);
+    }
+
+    // The document is saved either way; a stale index entry only costs report accuracy
+    private void updateFingerprints(UUID thesisId, PdfAnalyzer.PdfAnalysis analysis) {
+        try {
+            if (analysis.valid() && analysis.text() != null && !analysis.text().isEmpty()) {
+                fingerprintIndex.index(thesisId, analysis.text());
+            } else {
+                fingerprintIndex.remove(thesisId);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not update fingerprints of thesis {}", thesisId, e);
+        }
+    }
+
+    private void retryOrFail(PdfProcessingJob job, Exception error) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> jobRepository.findById(job.getId()).ifPresent(current -> {
+                current.setLastError(truncate(error.toString()));
+                current.setLockedUntil(null);
+                if (current.getAttempts() >= maxAttempts) {
+                    current.setStatus(PdfJobStatus.FAILED);
+                } else {
+                    current.setStatus(PdfJobStatus.PENDING);
+                    current.setNextAttemptAt(OffsetDateTime.now().plus(BASE_RETRY_DELAY.multipliedBy(1L << current.getAttempts())));
+                }
+                jobRepository.save(current);
+            }));
+        } catch (RuntimeException e) {
+            // The lease runs out and the job is claimed again
+            log.error("Could not record failure of PDF job {}", job.getId(), e);
+        }
+    }
+
+    private void finish(UUID jobId) {
+        transactionTemplate.executeWithoutResult(tx -> markDone(jobId));
+    }
+
+    private void markDone(UUID jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(PdfJobStatus.DONE);
+            job.setLastError(null);
+            job.setLockedUntil(null);
+            jobRepository.save(job);
+        });
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,716 @@
+package com.uni.ethesis.service.plagiarism;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.uni.ethesis.data.repo.ArchivedThesisRepository;
+import com.uni.ethesis.data.repo.ThesisDocumentRepository;
+
+/**
+ * On-disk inverted index from winnowing fingerprints to the theses containing them, used to
+ * find theses that share passages with a given text.
+ * <p>
+ * Postings live in immutable, memory-mapped {@link FingerprintSegment} files, so the index
+ * is bounded by disk rather than heap and survives restarts. Newly indexed theses are kept
+ * in memory and written out as a new segment every {@code flush-threshold} documents (and
+ * on a schedule); size-tiered merges keep the number of segments logarithmic and drop the
+ * postings of replaced or removed theses.
+ * <p>
+ * Every indexed version of a thesis gets the next ordinal in {@code docs.dat}, which holds
+ * the thesis id, fingerprint count and an alive flag updated in place. Re-indexing a thesis
+ * retires its old ordinal, so segments never have to be rewritten on update. After a crash,
+ * theses that were only in memory are marked dead and picked up again by the backfill that
+ * runs on startup, which also reconciles the index with {@code thesis_documents}. Archived
+ * theses lose their document row but stay in the index, so new theses are still compared
+ * against earlier years.
+ * <p>
+ * The index is local to a node and fed by the {@link com.uni.ethesis.service.pdf.PdfProcessingPipeline}
+ * that runs on it.
+ */
+@Component
+public class FingerprintIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(FingerprintIndex.class);
+
+    private static final String REGISTRY_FILE = "docs.dat";
+    private static final int RECORD_SIZE = 8 + 8 + 4 + 1;
+    private static final int ALIVE_OFFSET = RECORD_SIZE - 1;
+    // Segments up to this many postings (8 MiB) form the first merge tier
+    private static final long LEVEL_BASE = 1L << 20;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("seg-(\\d{12})-(\\d{12})\\.fp");
+
+    /**
+     * A thesis sharing fingerprints with the query.
+     *
+     * @param sharedFingerprints   fingerprints present in both texts
+     * @param documentFingerprints fingerprints of the matched thesis
+     */
+    public record Match(UUID thesisId, int sharedFingerprints, int documentFingerprints) {
+    }
+
+    private final ThesisDocumentRepository thesisDocumentRepository;
+    private final ArchivedThesisRepository archivedThesisRepository;
+    private final Path directory;
+    private final int kGram;
+    private final int window;
+    private final int flushThreshold;
+    private final int maxDocumentFrequency;
+    private final int mergeFactor;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes flushes and merges, which write files outside the lock
+    private final Object flushMonitor = new Object();
+
+    // Guarded by lock
+    private FileChannel registry;
+    private final List<UUID> ordinals = new ArrayList<>();
+    private int[] fingerprintCounts = new int[1024];
+    private final BitSet alive = new BitSet();
+    private final Map<UUID, Integer> currentOrdinals = new HashMap<>();
+    private volatile List<FingerprintSegment> segments = List.of();
+    // Indexed but not yet in a segment, ordinal -> sorted fingerprints
+    private Map<Integer, int[]> pending = new LinkedHashMap<>();
+    private Map<Integer, int[]> flushing = Map.of();
+    private long nextSegment;
+    private volatile boolean ready;
+
+    @Autowired
+    public FingerprintIndex(ThesisDocumentRepository thesisDocumentRepository,
+                            ArchivedThesisRepository archivedThesisRepository,
+                            @Value("${app.plagiarism.index-dir:uploads/fingerprints}") String directory,
+                            @Value("${app.plagiarism.k-gram:25}") int kGram,
+                            @Value("${app.plagiarism.window:40}") int window,
+                            @Value("${app.plagiarism.flush-threshold:64}") int flushThreshold,
+                            @Value("${app.plagiarism.max-document-frequency:50}") int maxDocumentFrequency,
+                            @Value("${app.plagiarism.merge-factor:8}") int mergeFactor) {
+        this.thesisDocumentRepository = thesisDocumentRepository;
+        this.archivedThesisRepository = archivedThesisRepository;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.kGram = kGram;
+        this.window = window;
+        this.flushThreshold = flushThreshold;
+        this.maxDocumentFrequency = maxDocumentFrequency;
+        this.mergeFactor = Math.max(mergeFactor, 2);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        open();
+        Thread.ofVirtual().name("fingerprint-backfill").start(() -> {
+            try {
+                backfill();
+            } catch (RuntimeException e) {
+                log.error("Fingerprint index backfill failed", e);
+            }
+        });
+    }
+
+    /**
+     * Loads the registry and segments from disk. A corrupt index is discarded and rebuilt
+     * by the backfill rather than failing startup.
+     */
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        lock.writeLock().lock();
+        try {
+            try {
+                load();
+            } catch (IOException e) {
+                log.warn("Fingerprint index in {} is unreadable, rebuilding it", directory, e);
+                closeQuietly();
+                reset();
+                wipe();
+                load();
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Opened fingerprint index with {} theses in {} segments", size(), segments.size());
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void close() {
+        if (!ready) {
+            return;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            // Unflushed theses are re-indexed by the next backfill
+            log.warn("Could not flush fingerprint index on shutdown", e);
+        }
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            closeQuietly();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int[] fingerprints(String text) {
+        return Winnowing.fingerprints(text, kGram, window);
+    }
+
+    /**
+     * Adds or replaces the text of a thesis. It is searchable immediately and durable after
+     * the next flush. Before the index is opened this does nothing; the startup backfill
+     * picks the thesis up instead.
+     */
+    public void index(UUID thesisId, String text) throws IOException {
+        put(thesisId, fingerprints(text), true);
+        flushIfNeeded();
+    }
+
+    public void remove(UUID thesisId) throws IOException {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = currentOrdinals.remove(thesisId);
+            if (ordinal != null) {
+                retire(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(UUID thesisId) {
+        lock.readLock().lock();
+        try {
+            return currentOrdinals.containsKey(thesisId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return currentOrdinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Theses sharing at least one fingerprint with the query, most shared first.
+     * Fingerprints found in more than {@code max-document-frequency} theses (title pages,
+     * faculty boilerplate, common phrases) are ignored.
+     *
+     * @param fingerprints sorted fingerprints, as returned by {@link #fingerprints}
+     * @param exclude      thesis to leave out of the result, usually the queried one
+     */
+    public List<Match> query(int[] fingerprints, UUID exclude, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer excluded = exclude == null ? null : currentOrdinals.get(exclude);
+            int[] shared = new int[ordinals.size()];
+            int[] hits = new int[maxDocumentFrequency + 1];
+            List<Map.Entry<Integer, int[]>> unflushed = new ArrayList<>(pending.size() + flushing.size());
+            unflushed.addAll(flushing.entrySet());
+            unflushed.addAll(pending.entrySet());
+
+            for (int fingerprint : fingerprints) {
+                int count = collect(fingerprint, hits, unflushed);
+                for (int i = 0; i < count; i++) {
+                    shared[hits[i]]++;
+                }
+            }
+
+            PriorityQueue<Match> best = new PriorityQueue<>(Comparator.comparingInt(Match::sharedFingerprints));
+            for (int ordinal = alive.nextSetBit(0); ordinal >= 0; ordinal = alive.nextSetBit(ordinal + 1)) {
+                if (shared[ordinal] == 0 || (excluded != null && ordinal == excluded)) {
+                    continue;
+                }
+                best.add(new Match(ordinals.get(ordinal), shared[ordinal], fingerprintCounts[ordinal]));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Match> result = new ArrayList<>(best);
+            result.sort(Comparator.comparingInt(Match::sharedFingerprints).reversed()
+                    .thenComparing(Match::thesisId));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes theses indexed since the last flush to a new segment.
+     */
+    @Scheduled(fixedDelayString = "${app.plagiarism.flush-interval:PT1M}")
+    public void flush() throws IOException {
+        if (!ready) {
+            return;
+        }
+        synchronized (flushMonitor) {
+            Map<Integer, int[]> batch;
+            lock.writeLock().lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                flushing = batch;
+                pending = new LinkedHashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            FingerprintSegment segment;
+            try {
+                registry.force(false);
+                segment = writeSegment(batch);
+            } catch (IOException | RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    batch.putAll(pending);
+                    pending = batch;
+                    flushing = Map.of();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                List<FingerprintSegment> updated = new ArrayList<>(segments);
+                updated.add(segment);
+                segments = List.copyOf(updated);
+                flushing = Map.of();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            mergeSegments();
+        }
+    }
+
+    /**
+     * Brings the index in line with thesis_documents: indexes theses it is missing and
+     * drops the ones whose document is gone or no longer has text, unless they were archived.
+     */
+    public void backfill() {
+        long start = System.nanoTime();
+        Set<UUID> indexable = new HashSet<>(thesisDocumentRepository.findIndexableThesisIds());
+
+        List<UUID> missing;
+        lock.readLock().lock();
+        try {
+            missing = currentOrdinals.keySet().stream().filter(id -> !indexable.contains(id)).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<UUID> stale = new ArrayList<>(missing);
+        if (!missing.isEmpty()) {
+            stale.removeAll(new HashSet<>(archivedThesisRepository.findIdsByIdIn(missing)));
+        }
+
+        int added = 0;
+        try {
+            for (UUID thesisId : stale) {
+                remove(thesisId);
+            }
+            for (UUID thesisId : indexable) {
+                if (contains(thesisId)) {
+                    continue;
+                }
+                String text = thesisDocumentRepository.findExtractedTextByThesisId(thesisId).orElse(null);
+                // The pipeline may have indexed a newer text meanwhile; never overwrite it
+                if (text != null && put(thesisId, fingerprints(text), false)) {
+                    added++;
+                    flushIfNeeded();
+                }
+            }
+            flush();
+        } catch (IOException e) {
+            log.error("Fingerprint index backfill stopped", e);
+            return;
+        }
+        log.info("Fingerprint index backfill added {} and removed {} theses in {} ms",
+                added, stale.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private boolean put(UUID thesisId, int[] fingerprints, boolean replace) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                return false;
+            }
+            Integer previous = currentOrdinals.get(thesisId);
+            if (previous != null && !replace) {
+                return false;
+            }
+            int ordinal = ordinals.size();
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE)
+                    .putLong(thesisId.getMostSignificantBits())
+                    .putLong(thesisId.getLeastSignificantBits())
+                    .putInt(fingerprints.length)
+                    .put((byte) 1)
+                    .flip();
+            writeFully(record, (long) ordinal * RECORD_SIZE);
+
+            if (previous != null) {
+                retire(previous);
+            }
+            addOrdinal(thesisId, fingerprints.length, true);
+            currentOrdinals.put(thesisId, ordinal);
+            pending.put(ordinal, fingerprints);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void flushIfNeeded() throws IOException {
+        boolean full;
+        lock.readLock().lock();
+        try {
+            full = pending.size() >= flushThreshold;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    // Caller holds the write lock
+    private void retire(int ordinal) throws IOException {
+        alive.clear(ordinal);
+        pending.remove(ordinal);
+        writeFully(ByteBuffer.wrap(new byte[]{0}), (long) ordinal * RECORD_SIZE + ALIVE_OFFSET);
+    }
+
+    // Ordinals of live theses containing the fingerprint, or 0 if it is too common to matter.
+    // Dead postings stay in segments until the next merge and are skipped, so only live
+    // theses count towards max-document-frequency
+    private int collect(int fingerprint, int[] hits, List<Map.Entry<Integer, int[]>> unflushed) {
+        int count = 0;
+        for (FingerprintSegment segment : segments) {
+            count = segment.collect(fingerprint, alive, hits, count);
+            if (count < 0) {
+                return 0;
+            }
+        }
+        for (Map.Entry<Integer, int[]> document : unflushed) {
+            if (alive.get(document.getKey()) && Arrays.binarySearch(document.getValue(), fingerprint) >= 0) {
+                if (count == hits.length) {
+                    return 0;
+                }
+                hits[count++] = document.getKey();
+            }
+        }
+        return count > maxDocumentFrequency ? 0 : count;
+    }
+
+    private FingerprintSegment writeSegment(Map<Integer, int[]> documents) throws IOException {
+        int total = 0;
+        int maxOrdinal = -1;
+        for (Map.Entry<Integer, int[]> document : documents.entrySet()) {
+            total += document.getValue().length;
+            maxOrdinal = Math.max(maxOrdinal, document.getKey());
+        }
+        long[] postings = new long[total];
+        int position = 0;
+        for (Map.Entry<Integer, int[]> document : documents.entrySet()) {
+            for (int fingerprint : document.getValue()) {
+                postings[position++] = FingerprintSegment.posting(fingerprint, document.getKey());
+            }
+        }
+        Arrays.sort(postings);
+
+        long sequence = nextSegment++;
+        return FingerprintSegment.write(segmentPath(sequence, sequence), new FingerprintSegment.PostingIterator() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < postings.length;
+            }
+
+            @Override
+            public long next() {
+                return postings[index++];
+            }
+        }, maxOrdinal);
+    }
+
+    /**
+     * Merges the newest segments while {@code merge-factor} of them are within the same
+     * power of {@code merge-factor} in size, so each posting is rewritten about
+     * log(n) times over the life of the index.
+     */
+    private void mergeSegments() throws IOException {
+        while (true) {
+            List<FingerprintSegment> current = segments;
+            int run = 1;
+            int level = level(current.isEmpty() ? 0 : current.get(current.size() - 1).count());
+            while (run < current.size() && level(current.get(current.size() - 1 - run).count()) <= level) {
+                run++;
+            }
+            if (run < mergeFactor) {
+                return;
+            }
+            List<FingerprintSegment> merging = current.subList(current.size() - run, current.size());
+            FingerprintSegment merged = merge(merging);
+
+            lock.writeLock().lock();
+            try {
+                List<FingerprintSegment> updated = new ArrayList<>(segments.subList(0, segments.size() - run));
+                updated.add(merged);
+                segments = List.copyOf(updated);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Readers that still hold the old mappings keep working after the unlink
+            for (FingerprintSegment segment : merging) {
+                Files.deleteIfExists(segment.path());
+            }
+        }
+    }
+
+    private FingerprintSegment merge(List<FingerprintSegment> merging) throws IOException {
+        BitSet live;
+        lock.readLock().lock();
+        try {
+            live = (BitSet) alive.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long[] heads = new long[merging.size()];
+        List<FingerprintSegment.PostingIterator> iterators = new ArrayList<>(merging.size());
+        PriorityQueue<Integer> queue = new PriorityQueue<>(Comparator.comparingLong(i -> heads[i]));
+        int maxOrdinal = -1;
+        for (int i = 0; i < merging.size(); i++) {
+            FingerprintSegment.PostingIterator iterator = merging.get(i).iterator();
+            iterators.add(iterator);
+            maxOrdinal = Math.max(maxOrdinal, merging.get(i).maxOrdinal());
+            if (iterator.hasNext()) {
+                heads[i] = iterator.next();
+                queue.add(i);
+            }
+        }
+
+        // Ordinal ranges of segments never overlap, so the k-way merge yields no duplicates
+        FingerprintSegment.PostingIterator merged = new FingerprintSegment.PostingIterator() {
+            private long next;
+            private boolean hasNext = advance();
+
+            private boolean advance() {
+                while (!queue.isEmpty()) {
+                    int source = queue.poll();
+                    long posting = heads[source];
+                    if (iterators.get(source).hasNext()) {
+                        heads[source] = iterators.get(source).next();
+                        queue.add(source);
+                    }
+                    if (live.get(FingerprintSegment.ordinalOf(posting))) {
+                        next = posting;
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public long next() {
+                long result = next;
+                hasNext = advance();
+                return result;
+            }
+        };
+
+        long first = sequenceRange(merging.get(0).path())[0];
+        long last = sequenceRange(merging.get(merging.size() - 1).path())[1];
+        return FingerprintSegment.write(segmentPath(first, last), merged, maxOrdinal);
+    }
+
+    private int level(long count) {
+        int level = 0;
+        long threshold = LEVEL_BASE;
+        while (count > threshold) {
+            threshold *= mergeFactor;
+            level++;
+        }
+        return level;
+    }
+
+    // Caller holds the write lock
+    private void load() throws IOException {
+        registry = FileChannel.open(directory.resolve(REGISTRY_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long records = registry.size() / RECORD_SIZE;
+        // A torn last record is dropped; its thesis is re-indexed by the backfill
+        registry.truncate(records * RECORD_SIZE);
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(records * RECORD_SIZE, RECORD_SIZE * 4096L));
+        long position = 0;
+        while (position < records * RECORD_SIZE) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), records * RECORD_SIZE - position));
+            while (buffer.hasRemaining()) {
+                if (registry.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of " + REGISTRY_FILE);
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                UUID thesisId = new UUID(buffer.getLong(), buffer.getLong());
+                int fingerprintCount = buffer.getInt();
+                boolean isAlive = buffer.get() != 0;
+                addOrdinal(thesisId, fingerprintCount, isAlive);
+                if (isAlive) {
+                    Integer previous = currentOrdinals.put(thesisId, ordinals.size() - 1);
+                    if (previous != null) {
+                        alive.clear(previous);
+                    }
+                }
+            }
+            position += buffer.limit();
+        }
+
+        segments = openSegments();
+        int maxFlushed = segments.stream().mapToInt(FingerprintSegment::maxOrdinal).max().orElse(-1);
+        if (maxFlushed >= ordinals.size()) {
+            throw new IOException("Segments reference theses missing from " + REGISTRY_FILE);
+        }
+        // Only ever held in memory before the crash
+        for (int ordinal = alive.nextSetBit(maxFlushed + 1); ordinal >= 0; ordinal = alive.nextSetBit(ordinal + 1)) {
+            currentOrdinals.remove(ordinals.get(ordinal), ordinal);
+            retire(ordinal);
+        }
+    }
+
+    private List<FingerprintSegment> openSegments() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "seg-*")) {
+            for (Path path : stream) {
+                if (path.getFileName().toString().endsWith(".tmp")) {
+                    Files.deleteIfExists(path);
+                } else if (SEGMENT_NAME.matcher(path.getFileName().toString()).matches()) {
+                    paths.add(path);
+                }
+            }
+        }
+        // Widest range first, so inputs of a merge that finished before a crash are skipped
+        paths.sort(Comparator.<Path>comparingLong(p -> sequenceRange(p)[0])
+                .thenComparing(Comparator.<Path>comparingLong(p -> sequenceRange(p)[1]).reversed()));
+
+        List<FingerprintSegment> opened = new ArrayList<>();
+        long covered = -1;
+        for (Path path : paths) {
+            long[] range = sequenceRange(path);
+            if (range[1] <= covered) {
+                Files.deleteIfExists(path);
+                continue;
+            }
+            opened.add(FingerprintSegment.open(path));
+            covered = range[1];
+        }
+        nextSegment = covered + 1;
+        return opened;
+    }
+
+    private void addOrdinal(UUID thesisId, int fingerprintCount, boolean isAlive) {
+        int ordinal = ordinals.size();
+        ordinals.add(thesisId);
+        if (ordinal == fingerprintCounts.length) {
+            fingerprintCounts = Arrays.copyOf(fingerprintCounts, ordinal * 2);
+        }
+        fingerprintCounts[ordinal] = fingerprintCount;
+        alive.set(ordinal, isAlive);
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += registry.write(buffer, position);
+        }
+    }
+
+    private Path segmentPath(long first, long last) {
+        return directory.resolve(String.format("seg-%012d-%012d.fp", first, last));
+    }
+
+    private static long[] sequenceRange(Path path) {
+        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a segment file: " + path);
+        }
+        return new long[]{Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))};
+    }
+
+    private void reset() {
+        ordinals.clear();
+        fingerprintCounts = new int[1024];
+        alive.clear();
+        currentOrdinals.clear();
+        segments = List.of();
+        pending = new LinkedHashMap<>();
+        flushing = Map.of();
+        nextSegment = 0;
+    }
+
+    private void wipe() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        if (registry != null) {
+            try {
+                registry.close();
+            } catch (IOException e) {
+                log.debug("Could not close {}", REGISTRY_FILE, e);
+            }
+            registry = null;
+        }
+    }
+}
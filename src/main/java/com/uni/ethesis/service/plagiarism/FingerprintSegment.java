@@ -0,0 +1,196 @@
+package com.uni.ethesis.service.plagiarism;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Immutable, memory-mapped run of postings sorted by fingerprint. Each posting is one long,
+ * {@code fingerprint << 32 | document ordinal}, so a lookup is a binary search for the
+ * fingerprint followed by a short scan, served from the page cache rather than the heap.
+ * <p>
+ * Layout: magic, version, max ordinal, padding (ints), posting count (long), postings. The
+ * header is 8-byte aligned so no posting straddles two of the 1 GiB mapped regions.
+ */
+final class FingerprintSegment {
+
+    private static final int MAGIC = 0x46505347; // "FPSG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int REGION_SHIFT = 30;
+    private static final long REGION_MASK = (1L << REGION_SHIFT) - 1;
+
+    private final Path path;
+    private final MappedByteBuffer[] regions;
+    private final long count;
+    private final int maxOrdinal;
+
+    private FingerprintSegment(Path path, MappedByteBuffer[] regions, long count, int maxOrdinal) {
+        this.path = path;
+        this.regions = regions;
+        this.count = count;
+        this.maxOrdinal = maxOrdinal;
+    }
+
+    static FingerprintSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // read the whole header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a fingerprint segment: " + path);
+            }
+            int maxOrdinal = header.getInt(8);
+            long count = header.getLong(16);
+            if (HEADER_SIZE + count * Long.BYTES != size) {
+                throw new IOException("Truncated fingerprint segment: " + path);
+            }
+
+            MappedByteBuffer[] regions = new MappedByteBuffer[(int) ((size + REGION_MASK) >>> REGION_SHIFT)];
+            for (int i = 0; i < regions.length; i++) {
+                long position = (long) i << REGION_SHIFT;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(1L << REGION_SHIFT, size - position));
+            }
+            return new FingerprintSegment(path, regions, count, maxOrdinal);
+        }
+    }
+
+    /**
+     * Writes sorted postings to a temp file and renames it into place, so a crash never
+     * leaves a partial segment under the final name.
+     */
+    static FingerprintSegment write(Path path, PostingIterator sortedPostings, int maxOrdinal) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            channel.position(HEADER_SIZE);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            while (sortedPostings.hasNext()) {
+                out.writeLong(sortedPostings.next());
+                count++;
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(maxOrdinal)
+                    .putInt(0)
+                    .putLong(count)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(path);
+    }
+
+    static long posting(int fingerprint, int ordinal) {
+        return ((long) fingerprint << 32) | (ordinal & 0xffffffffL);
+    }
+
+    static int fingerprintOf(long posting) {
+        return (int) (posting >> 32);
+    }
+
+    static int ordinalOf(long posting) {
+        return (int) posting;
+    }
+
+    /**
+     * Appends the ordinals of all live documents containing the fingerprint to {@code out},
+     * starting at {@code from}. Postings of retired documents are skipped, so they never
+     * count towards the limit before a merge drops them.
+     *
+     * @return the new end of {@code out}, or -1 if the ordinals did not fit
+     */
+    int collect(int fingerprint, BitSet alive, int[] out, int from) {
+        int end = from;
+        long index = lowerBound(posting(fingerprint, 0));
+        while (index < count) {
+            long posting = get(index++);
+            if (fingerprintOf(posting) != fingerprint) {
+                break;
+            }
+            int ordinal = ordinalOf(posting);
+            if (!alive.get(ordinal)) {
+                continue;
+            }
+            if (end == out.length) {
+                return -1;
+            }
+            out[end++] = ordinal;
+        }
+        return end;
+    }
+
+    PostingIterator iterator() {
+        return new PostingIterator() {
+            private long index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public long next() {
+                return get(index++);
+            }
+        };
+    }
+
+    long count() {
+        return count;
+    }
+
+    int maxOrdinal() {
+        return maxOrdinal;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    // Ordinals are stored as the low 32 bits, so (fingerprint, 0) sorts before every
+    // posting of the fingerprint
+    private long lowerBound(long key) {
+        long low = 0;
+        long high = count;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (get(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long get(long index) {
+        long position = HEADER_SIZE + index * Long.BYTES;
+        return regions[(int) (position >>> REGION_SHIFT)].getLong((int) (position & REGION_MASK));
+    }
+
+    interface PostingIterator {
+        boolean hasNext();
+
+        long next();
+    }
+}
@@ -0,0 +1,115 @@
+package com.uni.ethesis.service.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * Winnowing document fingerprints (Schleimer, Wilkerson, Aiken). The text is reduced to
+ * lower-case letters and digits, every k-character substring is hashed with a rolling hash
+ * and from each window of {@code window} consecutive hashes the minimum is kept.
+ * <p>
+ * Any passage shared by two texts that is at least {@code k + window - 1} normalized
+ * characters long is guaranteed to produce a shared fingerprint, while a document keeps
+ * only about {@code 2 / (window + 1)} of its hashes.
+ */
+public final class Winnowing {
+
+    private static final long BASE = 1_000_003L;
+
+    private Winnowing() {
+    }
+
+    /**
+     * @return distinct fingerprints, sorted ascending
+     */
+    public static int[] fingerprints(String text, int k, int window) {
+        char[] normalized = normalize(text);
+        int hashCount = normalized.length - k + 1;
+        if (hashCount <= 0) {
+            return new int[0];
+        }
+
+        long[] hashes = new long[hashCount];
+        long power = 1;
+        for (int i = 1; i < k; i++) {
+            power *= BASE;
+        }
+        long hash = 0;
+        for (int i = 0; i < k; i++) {
+            hash = hash * BASE + normalized[i];
+        }
+        hashes[0] = hash;
+        for (int i = 1; i < hashCount; i++) {
+            hash = (hash - normalized[i - 1] * power) * BASE + normalized[i + k - 1];
+            hashes[i] = hash;
+        }
+
+        int[] selected = new int[hashCount];
+        int count = 0;
+        if (hashCount <= window) {
+            selected[count++] = mix(hashes[minIndex(hashes, 0, hashCount)]);
+        } else {
+            // Record the rightmost minimum of each window, once per position
+            int previous = -1;
+            for (int start = 0; start + window <= hashCount; start++) {
+                int min = previous >= start ? rightmostMinFrom(hashes, previous, start + window) : minIndex(hashes, start, start + window);
+                if (min != previous) {
+                    selected[count++] = mix(hashes[min]);
+                    previous = min;
+                }
+            }
+        }
+
+        int[] result = Arrays.copyOf(selected, count);
+        Arrays.sort(result);
+        return distinct(result);
+    }
+
+    static char[] normalize(String text) {
+        char[] out = new char[text.length()];
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                out[length++] = Character.toLowerCase(c);
+            }
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    // Rightmost minimum of [from, to)
+    private static int minIndex(long[] hashes, int from, int to) {
+        int min = from;
+        for (int i = from + 1; i < to; i++) {
+            if (hashes[i] <= hashes[min]) {
+                min = i;
+            }
+        }
+        return min;
+    }
+
+    // The previous minimum is still in the window; only the new rightmost hash can replace it
+    private static int rightmostMinFrom(long[] hashes, int previous, int to) {
+        return hashes[to - 1] <= hashes[previous] ? to - 1 : previous;
+    }
+
+    // Folds the 64-bit rolling hash into 32 bits for compact postings
+    private static int mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+
+    private static int[] distinct(int[] sorted) {
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        int count = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[count - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+}
@@ -0,0 +1,273 @@
+package com.uni.ethesis.service.scheduling;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assigns theses to time slots of a defense day and staffs a committee for each.
+ * <p>
+ * Works on plain indexes: theses 0..n-1, teachers 0..t-1 and slots 0..s-1, each slot
+ * holding up to {@code parallelSessions} sessions. Hard constraints are never violated by
+ * any move: a teacher sits in at most one session per slot (including slots where they are
+ * already booked elsewhere), never on the committee of their own student, and committees
+ * have {@code committeeSize} distinct members. Within that, the search minimises the number
+ * of theses left unscheduled and then the sum of squared teacher loads, which spreads the
+ * sessions as evenly as the availability allows.
+ * <p>
+ * Each run builds a randomized greedy schedule (least used slot first, least loaded free
+ * teachers first) and improves it with local search that hands committee seats from busier
+ * to less busy teachers until no move helps. Independent runs with different seeds are
+ * executed in parallel on the fork-join pool and the best schedule wins. The result for a
+ * given problem and run count is deterministic.
+ */
+@Component
+public class DefenseScheduler {
+
+    private static final int MAX_PASSES = 100;
+
+    private final int runs;
+
+    @Autowired
+    public DefenseScheduler(@Value("${app.defense-scheduling.runs:0}") int runs) {
+        this.runs = runs > 0 ? runs : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @param slots            number of time slots in the day
+     * @param parallelSessions sessions that can run at the same time
+     * @param committeeSize    professors per committee
+     * @param teachers         number of available teachers
+     * @param supervisors      teacher index of each thesis' supervisor, -1 if not among the teachers
+     * @param busy             per teacher, slots in which they are already booked; may be null
+     */
+    public record Problem(int slots, int parallelSessions, int committeeSize, int teachers,
+                          int[] supervisors, BitSet[] busy) {
+
+        public int theses() {
+            return supervisors.length;
+        }
+    }
+
+    /**
+     * @param slots      slot of each thesis, -1 when it did not fit
+     * @param committees teacher indexes of each thesis' committee, null when unscheduled
+     * @param loads      sessions per teacher
+     */
+    public record Solution(int[] slots, int[][] committees, int[] loads, int unscheduled, long loadSquares) {
+
+        public int maxLoad() {
+            return Arrays.stream(loads).max().orElse(0);
+        }
+
+        public int minLoad() {
+            return Arrays.stream(loads).min().orElse(0);
+        }
+    }
+
+    private static final Comparator<Solution> BEST = Comparator
+            .comparingInt(Solution::unscheduled)
+            .thenComparingLong(Solution::loadSquares);
+
+    public Solution solve(Problem problem) {
+        if (problem.committeeSize() <= 0 || problem.slots() <= 0 || problem.parallelSessions() <= 0) {
+            throw new IllegalArgumentException("Slots, parallel sessions and committee size must be positive");
+        }
+        // Each run is sequential with its own seed and min() keeps the first of equal results,
+        // so the outcome does not depend on how the pool interleaves the runs
+        return IntStream.range(0, runs)
+                .parallel()
+                .mapToObj(run -> new Run(problem, run).solve())
+                .min(BEST)
+                .orElseThrow();
+    }
+
+    private static final class Run {
+        private final Problem problem;
+        private final SplittableRandom random;
+        private final int[] slotOf;
+        private final int[][] committees;
+        private final int[] loads;
+        private final int[] sessionsInSlot;
+        private final BitSet[] busy;
+        // Random tie-breaker per teacher so equally loaded teachers are not always picked in index order
+        private final int[] tieBreak;
+
+        Run(Problem problem, int seed) {
+            this.problem = problem;
+            this.random = new SplittableRandom(0x9E3779B97F4A7C15L * (seed + 1));
+            this.slotOf = new int[problem.theses()];
+            this.committees = new int[problem.theses()][];
+            this.loads = new int[problem.teachers()];
+            this.sessionsInSlot = new int[problem.slots()];
+            this.busy = new BitSet[problem.teachers()];
+            for (int teacher = 0; teacher < problem.teachers(); teacher++) {
+                BitSet booked = problem.busy() != null ? problem.busy()[teacher] : null;
+                busy[teacher] = booked != null ? (BitSet) booked.clone() : new BitSet(problem.slots());
+            }
+            this.tieBreak = new int[problem.teachers()];
+            for (int teacher = 0; teacher < tieBreak.length; teacher++) {
+                tieBreak[teacher] = seed == 0 ? teacher : random.nextInt();
+            }
+            Arrays.fill(slotOf, -1);
+        }
+
+        Solution solve() {
+            int[] order = IntStream.range(0, problem.theses()).toArray();
+            shuffle(order);
+            for (int thesis : order) {
+                place(thesis);
+            }
+            improve();
+            // Freed capacity can make room for theses that did not fit the first time
+            for (int thesis : order) {
+                if (slotOf[thesis] < 0) {
+                    place(thesis);
+                }
+            }
+
+            int unscheduled = 0;
+            for (int slot : slotOf) {
+                if (slot < 0) {
+                    unscheduled++;
+                }
+            }
+            long squares = 0;
+            for (int load : loads) {
+                squares += (long) load * load;
+            }
+            return new Solution(slotOf, committees, loads, unscheduled, squares);
+        }
+
+        // Least used slot that can still seat a full committee
+        private void place(int thesis) {
+            Integer[] slots = new Integer[problem.slots()];
+            for (int slot = 0; slot < slots.length; slot++) {
+                slots[slot] = slot;
+            }
+            Arrays.sort(slots, Comparator.comparingInt((Integer slot) -> sessionsInSlot[slot]).thenComparingInt(slot -> slot));
+            for (int slot : slots) {
+                if (sessionsInSlot[slot] >= problem.parallelSessions()) {
+                    break;
+                }
+                int[] committee = pickCommittee(thesis, slot);
+                if (committee != null) {
+                    assign(thesis, slot, committee);
+                    return;
+                }
+            }
+        }
+
+        private int[] pickCommittee(int thesis, int slot) {
+            int supervisor = problem.supervisors()[thesis];
+            int[] candidates = new int[problem.teachers()];
+            int count = 0;
+            for (int teacher = 0; teacher < problem.teachers(); teacher++) {
+                if (teacher != supervisor && !busy[teacher].get(slot)) {
+                    candidates[count++] = teacher;
+                }
+            }
+            if (count < problem.committeeSize()) {
+                return null;
+            }
+            // Partial selection of the least loaded candidates
+            int[] committee = new int[problem.committeeSize()];
+            for (int seat = 0; seat < committee.length; seat++) {
+                int best = seat;
+                for (int i = seat + 1; i < count; i++) {
+                    if (lighter(candidates[i], candidates[best])) {
+                        best = i;
+                    }
+                }
+                int chosen = candidates[best];
+                candidates[best] = candidates[seat];
+                candidates[seat] = chosen;
+                committee[seat] = chosen;
+            }
+            return committee;
+        }
+
+        private void assign(int thesis, int slot, int[] committee) {
+            slotOf[thesis] = slot;
+            committees[thesis] = committee;
+            sessionsInSlot[slot]++;
+            for (int teacher : committee) {
+                busy[teacher].set(slot);
+                loads[teacher]++;
+            }
+        }
+
+        // Moves a seat from a teacher to a strictly less loaded one while that lowers the sum of squares
+        private void improve() {
+            int[] order = IntStream.range(0, problem.theses()).toArray();
+            for (int pass = 0; pass < MAX_PASSES; pass++) {
+                shuffle(order);
+                boolean improved = false;
+                for (int thesis : order) {
+                    int slot = slotOf[thesis];
+                    if (slot < 0) {
+                        continue;
+                    }
+                    int[] committee = committees[thesis];
+                    for (int seat = 0; seat < committee.length; seat++) {
+                        int current = committee[seat];
+                        int replacement = lightestFreeTeacher(thesis, slot, committee);
+                        if (replacement >= 0 && loads[replacement] + 1 < loads[current]) {
+                            busy[current].clear(slot);
+                            loads[current]--;
+                            busy[replacement].set(slot);
+                            loads[replacement]++;
+                            committee[seat] = replacement;
+                            improved = true;
+                        }
+                    }
+                }
+                if (!improved) {
+                    return;
+                }
+            }
+        }
+
+        private int lightestFreeTeacher(int thesis, int slot, int[] committee) {
+            int supervisor = problem.supervisors()[thesis];
+            int best = -1;
+            for (int teacher = 0; teacher < problem.teachers(); teacher++) {
+                if (teacher == supervisor || busy[teacher].get(slot) || contains(committee, teacher)) {
+                    continue;
+                }
+                if (best < 0 || lighter(teacher, best)) {
+                    best = teacher;
+                }
+            }
+            return best;
+        }
+
+        private boolean lighter(int teacher, int other) {
+            return loads[teacher] < loads[other] || (loads[teacher] == loads[other] && tieBreak[teacher] < tieBreak[other]);
+        }
+
+        private void shuffle(int[] values) {
+            for (int i = values.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int value = values[i];
+                values[i] = values[j];
+                values[j] = value;
+            }
+        }
+
+        private static boolean contains(int[] values, int value) {
+            for (int candidate : values) {
+                if (candidate == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
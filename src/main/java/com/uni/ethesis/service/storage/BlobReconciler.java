@@ -0,0 +1,344 @@
+package com.uni.ethesis.service.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uni.ethesis.data.entities.StoredBlob;
+import com.uni.ethesis.data.repo.ArchivedThesisRepository;
+import com.uni.ethesis.data.repo.StoredBlobRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+
+/**
+ * Brings the blob store, stored_blobs and the thesis references back in line, a bounded
+ * batch at a time:
+ * <ul>
+ * <li>blobs outside their {@code ab/cd} shard (stored flat by older versions) are moved into
+ * it and pdf_path is updated;</li>
+ * <li>blob files without a stored_blobs row (left by a rollback after the move) are
+ * registered as orphans, and stale staging files are deleted;</li>
+ * <li>ref_count is recomputed from theses and archived_theses under the blob's row lock,
+ * so drift from crashes cannot keep a blob alive forever or let one be collected early;</li>
+ * <li>files in the pre-blob-store upload directory that no pdf_path references any more are
+ * deleted.</li>
+ * </ul>
+ * Unreferenced blobs are never deleted here: the reconciler only marks them orphaned and
+ * {@link BlobStore#collectGarbage} removes them after the grace period, under the same row
+ * lock uploads take. Files younger than the grace period are left alone, since they may
+ * belong to an upload whose transaction has not committed yet.
+ */
+@Component
+public class BlobReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobReconciler.class);
+
+    public record ReconcileReport(int movedToShard, int adoptedOrphans, int staleTempFiles,
+                                  int refCountsFixed, int missingFiles, int legacyFilesDeleted) {
+    }
+
+    private final BlobStore blobStore;
+    private final StoredBlobRepository storedBlobRepository;
+    private final ThesisRepository thesisRepository;
+    private final ArchivedThesisRepository archivedThesisRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.blob-store.orphan-grace:PT24H}")
+    private Duration grace;
+
+    @Value("${app.blob-store.reconcile-batch-size:500}")
+    private int batchSize;
+
+    // Where uploads were written before the blob store; files there are referenced by pdf_path only
+    @Value("${app.blob-store.legacy-dir:uploads/theses}")
+    private String legacyDir;
+
+    @Autowired
+    public BlobReconciler(BlobStore blobStore,
+                          StoredBlobRepository storedBlobRepository,
+                          ThesisRepository thesisRepository,
+                          ArchivedThesisRepository archivedThesisRepository,
+                          TransactionTemplate transactionTemplate) {
+        this.blobStore = blobStore;
+        this.storedBlobRepository = storedBlobRepository;
+        this.thesisRepository = thesisRepository;
+        this.archivedThesisRepository = archivedThesisRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(cron = "${app.blob-store.reconcile-cron:0 30 4 * * *}")
+    public ReconcileReport reconcile() {
+        long start = System.nanoTime();
+        Instant cutoff = Instant.now().minus(grace);
+        int[] files = scanBlobFiles(cutoff);
+        int staleTempFiles = deleteStaleTempFiles(cutoff);
+        int[] references = reconcileReferenceCounts();
+        int legacyFilesDeleted = deleteUnreferencedLegacyFiles(cutoff);
+
+        ReconcileReport report = new ReconcileReport(files[0], files[1], staleTempFiles,
+                references[0], references[1], legacyFilesDeleted);
+        log.info("Blob store reconciled in {} ms: {}", (System.nanoTime() - start) / 1_000_000, report);
+        return report;
+    }
+
+    /**
+     * @return [blobs moved into their shard, orphan files registered]
+     */
+    private int[] scanBlobFiles(Instant cutoff) {
+        int[] counts = new int[2];
+        Map<String, BasicFileAttributes> batch = new LinkedHashMap<>();
+        Path root = blobStore.root();
+        if (!Files.isDirectory(root)) {
+            return counts;
+        }
+        try {
+            Files.walkFileTree(root, Set.of(), 3, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    // .incoming and .uploads hold files that are still being written
+                    return !dir.equals(root) && dir.getFileName().toString().startsWith(".")
+                            ? FileVisitResult.SKIP_SUBTREE
+                            : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String hash = BlobStore.hashOf(file);
+                    if (hash == null || !attrs.isRegularFile()) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    if (!file.equals(blobStore.shardedPath(hash)) && moveToShard(hash, file)) {
+                        counts[0]++;
+                    }
+                    batch.put(hash, attrs);
+                    if (batch.size() >= batchSize) {
+                        counts[1] += adoptUnregistered(batch, cutoff);
+                        batch.clear();
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    log.warn("Could not inspect {}", file, e);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.error("Blob store scan of {} stopped", root, e);
+        }
+        if (!batch.isEmpty()) {
+            counts[1] += adoptUnregistered(batch, cutoff);
+        }
+        return counts;
+    }
+
+    private boolean moveToShard(String hash, Path file) {
+        try {
+            Path sharded = blobStore.moveToShard(hash, file);
+            transactionTemplate.executeWithoutResult(tx -> {
+                thesisRepository.updatePdfPathByHash(hash, sharded.toString());
+                archivedThesisRepository.updatePdfPathByHash(hash, sharded.toString());
+            });
+            return true;
+        } catch (NoSuchFileException e) {
+            // Moved by another node meanwhile
+            return false;
+        } catch (IOException e) {
+            log.warn("Could not move blob {} into its shard", hash, e);
+            return false;
+        }
+    }
+
+    private int adoptUnregistered(Map<String, BasicFileAttributes> files, Instant cutoff) {
+        Set<String> registered = new HashSet<>(storedBlobRepository.findExistingHashes(files.keySet()));
+        List<Map.Entry<String, BasicFileAttributes>> unregistered = files.entrySet().stream()
+                .filter(file -> !registered.contains(file.getKey()))
+                .filter(file -> file.getValue().lastModifiedTime().toInstant().isBefore(cutoff))
+                .toList();
+        if (unregistered.isEmpty()) {
+            return 0;
+        }
+        Integer adopted = transactionTemplate.execute(tx -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            int count = 0;
+            for (Map.Entry<String, BasicFileAttributes> file : unregistered) {
+                count += storedBlobRepository.adoptOrphan(file.getKey(), file.getValue().size(), now);
+            }
+            return count;
+        });
+        return adopted == null ? 0 : adopted;
+    }
+
+    private int deleteStaleTempFiles(Instant cutoff) {
+        Path incoming = blobStore.incoming();
+        if (!Files.isDirectory(incoming)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(incoming)) {
+            for (Path file : stream) {
+                if (isOlderThan(file, cutoff) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up {}", incoming, e);
+        }
+        return deleted;
+    }
+
+    /**
+     * @return [counts corrected, referenced blobs whose file is missing]
+     */
+    private int[] reconcileReferenceCounts() {
+        int[] counts = new int[2];
+        String after = "";
+        while (true) {
+            List<String> hashes = storedBlobRepository.findHashesAfter(after, PageRequest.of(0, batchSize));
+            if (hashes.isEmpty()) {
+                break;
+            }
+            try {
+                int[] batch = transactionTemplate.execute(tx -> reconcileBatch(hashes));
+                if (batch != null) {
+                    counts[0] += batch[0];
+                    counts[1] += batch[1];
+                }
+            } catch (RuntimeException e) {
+                // Typically a lock conflict with the garbage collector; the next run retries
+                log.warn("Could not reconcile blob references after {}", after, e);
+            }
+            after = hashes.get(hashes.size() - 1);
+            if (hashes.size() < batchSize) {
+                break;
+            }
+        }
+        return counts;
+    }
+
+    private int[] reconcileBatch(List<String> hashes) {
+        List<StoredBlob> blobs = storedBlobRepository.findByHashInForUpdate(hashes);
+        // Theses are counted before archived theses: an archive run committing in between
+        // is counted twice, which only delays collection until the next reconcile
+        Map<String, Long> references = new HashMap<>();
+        for (Object[] row : thesisRepository.countByPdfHashIn(hashes)) {
+            references.merge((String) row[0], (Long) row[1], Long::sum);
+        }
+        for (Object[] row : archivedThesisRepository.countByPdfHashIn(hashes)) {
+            references.merge((String) row[0], (Long) row[1], Long::sum);
+        }
+
+        int fixed = 0;
+        int missing = 0;
+        OffsetDateTime now = OffsetDateTime.now();
+        for (StoredBlob blob : blobs) {
+            int actual = references.getOrDefault(blob.getHash(), 0L).intValue();
+            if (actual > 0 && !Files.exists(blobStore.resolve(blob.getHash()))) {
+                log.error("Blob {} is referenced by {} theses but its file is missing", blob.getHash(), actual);
+                missing++;
+            }
+            if (blob.getRefCount() == actual) {
+                continue;
+            }
+            log.warn("Blob {} had ref_count {} but {} references", blob.getHash(), blob.getRefCount(), actual);
+            blob.setRefCount(actual);
+            if (actual == 0 && blob.getOrphanedAt() == null) {
+                blob.setOrphanedAt(now);
+            } else if (actual > 0) {
+                blob.setOrphanedAt(null);
+            }
+            fixed++;
+        }
+        return new int[]{fixed, missing};
+    }
+
+    private int deleteUnreferencedLegacyFiles(Instant cutoff) {
+        Path dir = Paths.get(legacyDir);
+        if (!Files.isDirectory(dir) || dir.toAbsolutePath().normalize().equals(blobStore.root())) {
+            return 0;
+        }
+        int deleted = 0;
+        List<Path> batch = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file) && isOlderThan(file, cutoff)) {
+                    batch.add(file);
+                }
+                if (batch.size() >= batchSize) {
+                    deleted += deleteUnreferenced(batch);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up {}", dir, e);
+        }
+        if (!batch.isEmpty()) {
+            deleted += deleteUnreferenced(batch);
+        }
+        return deleted;
+    }
+
+    // pdf_path holds the path as the old upload code built it, relative or absolute
+    private int deleteUnreferenced(List<Path> files) {
+        Map<String, Path> byReference = new HashMap<>();
+        for (Path file : files) {
+            byReference.put(file.toString(), file);
+            byReference.put(file.toAbsolutePath().normalize().toString(), file);
+        }
+        Set<Path> referenced = new HashSet<>();
+        for (String path : thesisRepository.findPdfPathsIn(byReference.keySet())) {
+            referenced.add(byReference.get(path));
+        }
+        for (String path : archivedThesisRepository.findPdfPathsIn(byReference.keySet())) {
+            referenced.add(byReference.get(path));
+        }
+
+        int deleted = 0;
+        for (Path file : files) {
+            if (referenced.contains(file)) {
+                continue;
+            }
+            try {
+                if (Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete {}", file, e);
+            }
+        }
+        return deleted;
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.uni.ethesis.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uni.ethesis.data.repo.StoredBlobRepository;
+import com.uni.ethesis.exceptions.FileUploadException;
+
+/**
+ * Content-addressed store for uploaded PDFs. An upload is streamed once into a temp file
+ * while its SHA-256 is computed and the {@code %PDF-} header of the first chunk checked;
+ * identical uploads then share one file named after the hash, sharded by its first two
+ * bytes as {@code ab/cd/<hash>.pdf} so no directory grows past a few hundred entries.
+ * <p>
+ * Writing is split in two: {@link #stage} does the disk work outside the database, and
+ * {@link #commit} takes a reference and moves the file into place inside the caller's
+ * transaction. Referencing rows call {@link #release} when they drop a blob, and blobs
+ * left without references are deleted by {@link #collectGarbage} after a grace period.
+ * <p>
+ * Resumable uploads are assembled in place in a preallocated file under {@code .uploads}
+ * and handed to {@link #commit} by {@link #stageUpload}, so they are never copied.
+ * <p>
+ * Files and references that drifted apart (crashes between disk and database, blobs stored
+ * flat by older versions) are repaired by {@link BlobReconciler}.
+ */
+@Component
+public class BlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobStore.class);
+
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+    private static final String BLOB_SUFFIX = ".pdf";
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int GC_BATCH_SIZE = 100;
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path root;
+    private final Path incoming;
+    private final Path uploads;
+
+    @Value("${app.blob-store.orphan-grace:PT24H}")
+    private Duration orphanGrace;
+
+    @Value("${app.blob-store.legacy-dir:uploads/theses}")
+    private String legacyDir;
+
+    @Autowired
+    public BlobStore(StoredBlobRepository storedBlobRepository,
+                     TransactionTemplate transactionTemplate,
+                     @Value("${app.blob-store.root:uploads/blobs}") String root) {
+        this.storedBlobRepository = storedBlobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.incoming = this.root.resolve(".incoming");
+        this.uploads = this.root.resolve(".uploads");
+    }
+
+    /**
+     * An upload written to a temp file, not yet visible in the store.
+     */
+    public record StagedBlob(String hash, long size, Path tempFile) {
+    }
+
+    /**
+     * Streams the upload to a temp file, hashing it on the way.
+     *
+     * @throws FileUploadException if the content is empty or does not start with {@code %PDF-}
+     */
+    public StagedBlob stage(InputStream in) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(incoming);
+            tempFile = incoming.resolve(UUID.randomUUID() + ".part");
+            try (OutputStream out = Files.newOutputStream(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                HashedContent hashed = hash(in, out);
+                return new StagedBlob(hashed.hash(), hashed.size(), tempFile);
+            }
+        } catch (IOException | NoSuchAlgorithmException e) {
+            deleteQuietly(tempFile);
+            throw new FileUploadException("Could not store file: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            deleteQuietly(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the file for a resumable upload, preallocated to its final size so chunks can
+     * be written at their offsets in any order.
+     */
+    public void createUpload(UUID uploadId, long size) {
+        try {
+            Files.createDirectories(uploads);
+            try (RandomAccessFile file = new RandomAccessFile(uploadFile(uploadId).toFile(), "rw")) {
+                file.setLength(size);
+            }
+        } catch (IOException e) {
+            throw new FileUploadException("Could not create upload: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes one chunk of a resumable upload at its offset, straight from the request stream.
+     *
+     * @return number of bytes written; less than {@code length} if the stream ended early
+     */
+    public long writeChunk(UUID uploadId, long offset, long length, InputStream in) {
+        try (FileChannel channel = FileChannel.open(uploadFile(uploadId), StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(in);
+            long written = 0;
+            while (written < length) {
+                long transferred = channel.transferFrom(source, offset + written, length - written);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            return written;
+        } catch (NoSuchFileException e) {
+            throw new FileUploadException("Upload " + uploadId + " no longer exists", e);
+        } catch (IOException e) {
+            throw new FileUploadException("Could not write chunk: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Hashes a fully received upload in place. The upload file itself becomes the staged
+     * file, so {@link #commit} moves it into the store without copying it.
+     */
+    public StagedBlob stageUpload(UUID uploadId) {
+        Path file = uploadFile(uploadId);
+        try (InputStream in = Files.newInputStream(file)) {
+            HashedContent hashed = hash(in, null);
+            return new StagedBlob(hashed.hash(), hashed.size(), file);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new FileUploadException("Could not read upload: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Puts a resumable upload back after the transaction that committed it rolled back, so
+     * completing the session can be retried. The content is copied out of the store rather
+     * than moved, since another upload may have referenced the same blob meanwhile; a blob
+     * left without a row is adopted as an orphan by {@link BlobReconciler}.
+     */
+    public void restoreUpload(UUID uploadId, StagedBlob staged) {
+        Path file = uploadFile(uploadId);
+        if (Files.exists(file)) {
+            return;
+        }
+        Path temp = uploads.resolve(uploadId + ".restore");
+        try {
+            Files.copy(resolve(staged.hash()), temp, StandardCopyOption.REPLACE_EXISTING);
+            moveIntoPlace(temp, file);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            log.warn("Could not restore upload {} after a rollback", uploadId, e);
+        }
+    }
+
+    public void deleteUpload(UUID uploadId) {
+        deleteQuietly(uploadFile(uploadId));
+    }
+
+    /**
+     * Takes a reference to the staged content and moves it into place, or drops the temp file
+     * when the content is already stored. Must run inside the transaction that records the
+     * reference, so a rollback also rolls back the count.
+     *
+     * @return path of the stored blob
+     */
+    public Path commit(StagedBlob staged) {
+        storedBlobRepository.acquire(staged.hash(), staged.size());
+        Path target = resolve(staged.hash());
+        try {
+            if (Files.exists(target)) {
+                Files.deleteIfExists(staged.tempFile());
+            } else {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(staged.tempFile(), target);
+            }
+            return target;
+        } catch (IOException e) {
+            throw new FileUploadException("Could not store file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deletes a staged upload that will not be committed.
+     */
+    public void discard(StagedBlob staged) {
+        deleteQuietly(staged.tempFile());
+    }
+
+    /**
+     * Drops one reference to a blob. The file stays until the garbage collector runs.
+     */
+    public void release(String hash) {
+        if (hash != null) {
+            storedBlobRepository.release(hash, OffsetDateTime.now());
+        }
+    }
+
+    /**
+     * Location of a blob. Blobs stored flat before sharding are found until the reconciler
+     * has moved them.
+     */
+    public Path resolve(String hash) {
+        Path sharded = shardedPath(hash);
+        if (!Files.exists(sharded)) {
+            Path flat = root.resolve(hash + BLOB_SUFFIX);
+            if (Files.exists(flat)) {
+                return flat;
+            }
+        }
+        return sharded;
+    }
+
+    /**
+     * Location of a PDF stored by path before the blob store existed, or {@code null} when the
+     * path lies outside the legacy upload directory and must not be served.
+     */
+    public Path resolveLegacy(String pdfPath) {
+        if (legacyDir == null) {
+            return null;
+        }
+        try {
+            Path dir = Paths.get(legacyDir).toAbsolutePath().normalize();
+            Path path = Paths.get(pdfPath).toAbsolutePath().normalize();
+            return path.startsWith(dir) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    Path root() {
+        return root;
+    }
+
+    Path incoming() {
+        return incoming;
+    }
+
+    Path shardedPath(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + BLOB_SUFFIX);
+    }
+
+    /**
+     * @return the hash a blob file is named after, or null for any other file
+     */
+    static String hashOf(Path file) {
+        String name = file.getFileName().toString();
+        if (name.length() != 64 + BLOB_SUFFIX.length() || !name.endsWith(BLOB_SUFFIX)) {
+            return null;
+        }
+        String hash = name.substring(0, 64);
+        for (int i = 0; i < hash.length(); i++) {
+            if (Character.digit(hash.charAt(i), 16) < 0 || Character.isUpperCase(hash.charAt(i))) {
+                return null;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Moves a blob stored flat in the root into its shard. Readers find it under either
+     * path throughout, since {@link #resolve} prefers the shard and the move is atomic.
+     */
+    Path moveToShard(String hash, Path flat) throws IOException {
+        Path sharded = shardedPath(hash);
+        if (Files.exists(sharded)) {
+            // Same hash, same content
+            Files.deleteIfExists(flat);
+        } else {
+            Files.createDirectories(sharded.getParent());
+            moveIntoPlace(flat, sharded);
+        }
+        return sharded;
+    }
+
+    /**
+     * Deletes blobs that have had no references for longer than the grace period. The row is
+     * deleted and the file removed in the same transaction, so an upload of the same content
+     * waits on the row lock and then stores the file again.
+     *
+     * @return number of blobs deleted
+     */
+    @Scheduled(cron = "${app.blob-store.gc-cron:0 0 4 * * *}")
+    public int collectGarbage() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(orphanGrace);
+        int total = 0;
+        while (true) {
+            List<String> hashes = storedBlobRepository.findOrphanHashes(cutoff, PageRequest.of(0, GC_BATCH_SIZE));
+            if (hashes.isEmpty()) {
+                break;
+            }
+            Integer deleted = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (String hash : hashes) {
+                    if (storedBlobRepository.deleteOrphan(hash, cutoff) == 1) {
+                        deleteQuietly(resolve(hash));
+                        count++;
+                    }
+                }
+                return count;
+            });
+            total += deleted == null ? 0 : deleted;
+            if (hashes.size() < GC_BATCH_SIZE) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Deleted {} unreferenced blobs", total);
+        }
+        return total;
+    }
+
+    private record HashedContent(String hash, long size) {
+    }
+
+    // Single pass over the content: checks the PDF header of the first chunk, hashes
+    // everything and copies it to out when one is given
+    private static HashedContent hash(InputStream in, OutputStream out) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] buffer = new byte[CHUNK_SIZE];
+        int headerRead = in.readNBytes(buffer, 0, PDF_MAGIC.length);
+        if (headerRead < PDF_MAGIC.length || !startsWithPdfMagic(buffer)) {
+            throw new FileUploadException("Only PDF files are allowed");
+        }
+        long size = 0;
+        int read = headerRead;
+        do {
+            digest.update(buffer, 0, read);
+            if (out != null) {
+                out.write(buffer, 0, read);
+            }
+            size += read;
+        } while ((read = in.read(buffer)) != -1);
+        return new HashedContent(HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    private static boolean startsWithPdfMagic(byte[] header) {
+        for (int i = 0; i < PDF_MAGIC.length; i++) {
+            if (header[i] != PDF_MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Path uploadFile(UUID uploadId) {
+        return uploads.resolve(uploadId + ".part");
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path, e);
+        }
+    }
+}
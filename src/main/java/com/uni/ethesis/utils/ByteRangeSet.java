@@ -0,0 +1,77 @@
+package com.uni.ethesis.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Set of received byte ranges, kept merged. Serialized as {@code "0-1023,4096-8191"}
+ * with inclusive ends, the notation of HTTP Content-Range.
+ */
+public final class ByteRangeSet {
+
+    // start -> end (exclusive); ranges never overlap or touch
+    private final TreeMap<Long, Long> ranges = new TreeMap<>();
+
+    public static ByteRangeSet parse(String value) {
+        ByteRangeSet set = new ByteRangeSet();
+        if (value == null || value.isBlank()) {
+            return set;
+        }
+        for (String part : value.split(",")) {
+            int dash = part.indexOf('-');
+            long start = Long.parseLong(part.substring(0, dash).trim());
+            long end = Long.parseLong(part.substring(dash + 1).trim());
+            set.add(start, end + 1);
+        }
+        return set;
+    }
+
+    /**
+     * Adds [start, end) and merges it with any range it overlaps or touches.
+     */
+    public void add(long start, long end) {
+        if (end <= start) {
+            return;
+        }
+        Map.Entry<Long, Long> floor = ranges.floorEntry(start);
+        if (floor != null && floor.getValue() >= start) {
+            start = floor.getKey();
+            end = Math.max(end, floor.getValue());
+        }
+        Map.Entry<Long, Long> next = ranges.ceilingEntry(start);
+        while (next != null && next.getKey() <= end) {
+            end = Math.max(end, next.getValue());
+            ranges.remove(next.getKey());
+            next = ranges.ceilingEntry(start);
+        }
+        ranges.put(start, end);
+    }
+
+    public long coveredBytes() {
+        long total = 0;
+        for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+            total += range.getValue() - range.getKey();
+        }
+        return total;
+    }
+
+    public boolean covers(long start, long end) {
+        Map.Entry<Long, Long> floor = ranges.floorEntry(start);
+        return floor != null && floor.getValue() >= end;
+    }
+
+    public List<String> toList() {
+        List<String> list = new ArrayList<>(ranges.size());
+        for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+            list.add(range.getKey() + "-" + (range.getValue() - 1));
+        }
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", toList());
+    }
+}
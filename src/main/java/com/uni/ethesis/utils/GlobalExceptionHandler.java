@@ -11,7 +11,10 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.ModelAndView;
 
+import com.uni.ethesis.exceptions.FileUploadException;
+import com.uni.ethesis.exceptions.ProfessorBookingConflictException;
 import com.uni.ethesis.exceptions.ResourceNotFoundException;
+import com.uni.ethesis.exceptions.ThesisStatusConflictException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -39,6 +42,37 @@ public class GlobalExceptionHandler {
         }
     }
 
+    // Lost status race: the thesis changed under the caller, who should reload and retry
+    @ExceptionHandler(ThesisStatusConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleThesisStatusConflict(ThesisStatusConflictException ex, WebRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("message", ex.getMessage());
+        body.put("details", request.getDescription(false));
+        body.put("currentStatus", ex.getActual());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
+    // The professor already sits on another committee at that time
+    @ExceptionHandler(ProfessorBookingConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleProfessorBookingConflict(ProfessorBookingConflictException ex, WebRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("message", ex.getMessage());
+        body.put("details", request.getDescription(false));
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
+    // Rejected uploads (not a PDF, bad chunk offset, incomplete session) are client errors
+    @ExceptionHandler(FileUploadException.class)
+    public ResponseEntity<Map<String, Object>> handleFileUploadException(FileUploadException ex, WebRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("message", ex.getMessage());
+        body.put("details", request.getDescription(false));
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
     // Handle generic exceptions
     @ExceptionHandler(Exception.class)
     public Object handleGlobalException(Exception ex, WebRequest request) {
@@ -0,0 +1,85 @@
+package com.uni.ethesis.utils;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.uni.ethesis.data.dto.KeysetPageDto;
+
+/**
+ * Helpers for keyset pagination over (createdAt, id) ordered queries.
+ * Repositories are asked for one row more than the page size so that
+ * hasNext can be answered without a COUNT query.
+ */
+public final class KeysetPagination {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPagination() {
+    }
+
+    public static int normalizeSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Limit-only page request (offset is always 0) fetching one extra row.
+     */
+    public static Pageable probe(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    public static <T> KeysetPageDto<T> toPage(List<T> rows, int size,
+                                             Function<T, OffsetDateTime> createdAt,
+                                             Function<T, UUID> id) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? List.copyOf(rows.subList(0, size)) : rows;
+        T last = content.isEmpty() ? null : content.get(content.size() - 1);
+        return KeysetPageDto.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCreatedAt(hasNext ? createdAt.apply(last) : null)
+                .nextId(hasNext ? id.apply(last) : null)
+                .build();
+    }
+
+    /**
+     * Like toPage, but the cursor is always set: to the last row, or to the given cursor
+     * when no rows came back, so clients can keep asking for what arrived after it.
+     */
+    public static <T> KeysetPageDto<T> toTail(List<T> rows, int size,
+                                             Function<T, OffsetDateTime> createdAt,
+                                             Function<T, UUID> id,
+                                             OffsetDateTime afterCreatedAt, UUID afterId) {
+        KeysetPageDto<T> page = toPage(rows, size, createdAt, id);
+        if (!page.isHasNext()) {
+            List<T> content = page.getContent();
+            T last = content.isEmpty() ? null : content.get(content.size() - 1);
+            page.setNextCreatedAt(last != null ? createdAt.apply(last) : afterCreatedAt);
+            page.setNextId(last != null ? id.apply(last) : afterId);
+        }
+        return page;
+    }
+
+    /**
+     * Same page with its rows converted, e.g. entities to DTOs.
+     */
+    public static <T, R> KeysetPageDto<R> map(KeysetPageDto<T> page, Function<List<T>, List<R>> converter) {
+        return KeysetPageDto.<R>builder()
+                .content(converter.apply(page.getContent()))
+                .size(page.getSize())
+                .hasNext(page.isHasNext())
+                .nextCreatedAt(page.getNextCreatedAt())
+                .nextId(page.getNextId())
+                .build();
+    }
+}
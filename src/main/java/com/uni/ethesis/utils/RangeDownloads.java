@@ -0,0 +1,146 @@
+package com.uni.ethesis.utils;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Serves a file with conditional GET ({@code If-None-Match}, {@code If-Modified-Since})
+ * and single byte range ({@code Range}, {@code If-Range}) support. The body is streamed in
+ * chunks with {@link FileChannel#transferTo}; the servlet stream is not a file channel, so
+ * each chunk still passes through a small heap buffer, but the heap used per download stays
+ * bounded whatever the file size.
+ * <p>
+ * Requests for several ranges get the whole file, which RFC 9110 allows; PDF viewers only
+ * ask for one range at a time.
+ */
+public final class RangeDownloads {
+
+    private RangeDownloads() {
+    }
+
+    /**
+     * @param etag          quoted entity tag, strong when derived from the content hash
+     * @param lastModified  modification time; truncated to seconds as HTTP dates are
+     * @param requestHeaders headers of the incoming request
+     */
+    public static ResponseEntity<StreamingResponseBody> serve(Path file, long size, String etag, Instant lastModified,
+                                                              String filename, MediaType contentType,
+                                                              HttpHeaders requestHeaders) {
+        Instant modified = lastModified.truncatedTo(ChronoUnit.SECONDS);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setLastModified(modified);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (isNotModified(requestHeaders, etag, modified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        headers.setContentType(contentType);
+        headers.setContentDisposition(ContentDisposition.inline().filename(filename).build());
+
+        String range = requestHeaders.getFirst(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(requestHeaders.getFirst(HttpHeaders.IF_RANGE), etag, modified)) {
+            List<HttpRange> ranges;
+            long start;
+            long end;
+            try {
+                ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    if (start >= size || start > end) {
+                        throw new IllegalArgumentException("Range starts after the end of the file");
+                    }
+                } else {
+                    start = 0;
+                    end = size - 1;
+                }
+            } catch (IllegalArgumentException e) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+            }
+            if (ranges.size() == 1) {
+                long length = end - start + 1;
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                headers.setContentLength(length);
+                return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).body(transfer(file, start, length));
+            }
+        }
+
+        headers.setContentLength(size);
+        return ResponseEntity.ok().headers(headers).body(transfer(file, 0, size));
+    }
+
+    private static boolean isNotModified(HttpHeaders requestHeaders, String etag, Instant modified) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            // Weak comparison, as required for If-None-Match
+            String opaque = opaqueTag(etag);
+            return ifNoneMatch.stream().anyMatch(tag -> "*".equals(tag) || opaqueTag(tag).equals(opaque));
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince >= 0 && modified.toEpochMilli() <= ifModifiedSince;
+    }
+
+    // If-Range needs a strong match: the client's partial copy must be byte-for-byte this file
+    private static boolean ifRangeMatches(String ifRange, String etag, Instant modified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return !etag.startsWith("W/") && ifRange.equals(etag);
+        }
+        if (ifRange.startsWith("W/")) {
+            return false;
+        }
+        try {
+            Instant date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return date.equals(modified);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static StreamingResponseBody transfer(Path file, long start, long length) {
+        return out -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                // Not zero-copy: this wrapper copies every chunk through its own buffer
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = start;
+                long remaining = length;
+                while (remaining > 0) {
+                    long written = channel.transferTo(position, remaining, target);
+                    if (written <= 0) {
+                        throw new IOException("Unexpected end of file " + file);
+                    }
+                    position += written;
+                    remaining -= written;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.uni.ethesis.utils.mappers;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import com.uni.ethesis.data.dto.ArchivedThesisDto;
+import com.uni.ethesis.data.entities.ArchivedThesis;
+
+@Mapper(componentModel = "spring")
+public interface ArchivedThesisMapper {
+
+    ArchivedThesisMapper INSTANCE = Mappers.getMapper(ArchivedThesisMapper.class);
+
+    @Mapping(target = "payload", ignore = true) // Parsed in service on single lookups
+    ArchivedThesisDto archivedThesisToDto(ArchivedThesis archivedThesis);
+}
@@ -21,5 +21,8 @@ public interface DefenseSessionMapper {
     @Mapping(target = "professors", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "lastModifiedAt", ignore = true)
+    @Mapping(target = "professorCount", ignore = true)
+    @Mapping(target = "gradedCount", ignore = true)
+    @Mapping(target = "gradeSum", ignore = true)
     DefenseSession defenseSessionDtoToDefenseSession(DefenseSessionDto defenseSessionDto);
 }
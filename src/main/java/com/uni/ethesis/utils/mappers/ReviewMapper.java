@@ -21,5 +21,7 @@ public interface ReviewMapper {
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "lastModifiedAt", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
+    @Mapping(target = "lastCommentAt", ignore = true)
     Review reviewDtoToReview(ReviewDto reviewDto);
 }
@@ -25,6 +25,7 @@ public interface ThesisApplicationMapper {
 
     @Mapping(source = "student.id", target = "studentId")
     @Mapping(source = "teacher.id", target = "teacherId")
+    @Mapping(target = "possibleDuplicates", ignore = true)
     ThesisProposalDto thesisProposalToThesisProposalDto(ThesisProposal thesisProposal);
 
     @Mapping(source = "studentId", target = "student", qualifiedByName = "studentFromId")
@@ -32,6 +33,7 @@ public interface ThesisApplicationMapper {
     @Mapping(target = "thesis", ignore = true) // Thesis is created later, not from DTO
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "lastModifiedAt", ignore = true)
+    @Mapping(target = "minhashSignature", ignore = true)
     ThesisProposal thesisProposalDtoToThesisProposal(ThesisProposalDto thesisProposalDto, @Context StudentRepository studentRepository, @Context TeacherRepository teacherRepository);
 
     @Mapping(source = "studentId", target = "student", qualifiedByName = "studentFromId")
@@ -40,6 +42,7 @@ public interface ThesisApplicationMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "lastModifiedAt", ignore = true)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "minhashSignature", ignore = true)
     void updateThesisProposalFromDto(ThesisProposalDto thesisProposalDto, @MappingTarget ThesisProposal thesisProposal, @Context StudentRepository studentRepository, @Context TeacherRepository teacherRepository);
 
     @Named("studentFromId")
@@ -0,0 +1,18 @@
+package com.uni.ethesis.utils.mappers;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import com.uni.ethesis.data.dto.ThesisDocumentDto;
+import com.uni.ethesis.data.entities.ThesisDocument;
+
+@Mapper(componentModel = "spring")
+public interface ThesisDocumentMapper {
+
+    ThesisDocumentMapper INSTANCE = Mappers.getMapper(ThesisDocumentMapper.class);
+
+    @Mapping(source = "thesis.id", target = "thesisId")
+    @Mapping(target = "processingStatus", ignore = true) // Set in service from the job table
+    ThesisDocumentDto thesisDocumentToDto(ThesisDocument thesisDocument);
+}
@@ -0,0 +1,68 @@
+package com.uni.ethesis.web.api;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.uni.ethesis.data.dto.CommentDto;
+import com.uni.ethesis.data.dto.KeysetPageDto;
+import com.uni.ethesis.service.CommentService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/reviews/{reviewId}/comments")
+@RequiredArgsConstructor
+public class CommentController {
+
+    private final CommentService commentService;
+
+    /**
+     * Comments on a review, oldest first unless newestFirst is set.
+     * Pass nextCreatedAt / nextId of the previous page to continue.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('TEACHER') or hasRole('STUDENT')")
+    public ResponseEntity<KeysetPageDto<CommentDto>> getComments(
+            @PathVariable UUID reviewId,
+            @RequestParam(defaultValue = "false") boolean newestFirst,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime cursorCreatedAt,
+            @RequestParam(required = false) UUID cursorId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getCommentPage(reviewId, newestFirst, cursorCreatedAt, cursorId, size));
+    }
+
+    /**
+     * Comments posted after the given cursor, oldest first. The response always carries a
+     * cursor, so clients poll with it to get only new comments.
+     */
+    @GetMapping("/since")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('STUDENT')")
+    public ResponseEntity<KeysetPageDto<CommentDto>> getCommentsSince(
+            @PathVariable UUID reviewId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime afterCreatedAt,
+            @RequestParam(required = false) UUID afterId,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(commentService.getCommentsSince(reviewId, afterCreatedAt, afterId, size));
+    }
+
+    /**
+     * Live comment events for the review as Server-Sent Events. After a reconnect, fetch
+     * what was missed from /since.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('TEACHER') or hasRole('STUDENT')")
+    public SseEmitter streamComments(@PathVariable UUID reviewId) {
+        return commentService.subscribeToReview(reviewId);
+    }
+}
@@ -0,0 +1,32 @@
+package com.uni.ethesis.web.api;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.uni.ethesis.data.dto.BulkEvaluationReportDto;
+import com.uni.ethesis.data.dto.BulkEvaluationRequestDto;
+import com.uni.ethesis.service.DefenseSessionProfessorService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/defense-sessions/evaluations")
+@RequiredArgsConstructor
+public class DefenseEvaluationController {
+
+    private final DefenseSessionProfessorService defenseSessionProfessorService;
+
+    /**
+     * Saves a committee evaluation sheet; rows that cannot be applied are reported, not fatal.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<BulkEvaluationReportDto> bulkUpdateEvaluations(@Valid @RequestBody BulkEvaluationRequestDto request) {
+        return ResponseEntity.ok(defenseSessionProfessorService.updateEvaluations(request));
+    }
+}
@@ -0,0 +1,41 @@
+package com.uni.ethesis.web.api;
+
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.uni.ethesis.data.dto.DefenseScheduleDto;
+import com.uni.ethesis.data.dto.DefenseScheduleRequestDto;
+import com.uni.ethesis.service.DefenseSchedulingService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/defenses/{defenseId}/schedule")
+@RequiredArgsConstructor
+public class DefenseScheduleController {
+
+    private final DefenseSchedulingService defenseSchedulingService;
+
+    /**
+     * Schedules every thesis waiting for defense into the defense day, with committees.
+     * Use dryRun to preview the assignment without creating sessions.
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<DefenseScheduleDto> scheduleDefenseDay(@PathVariable UUID defenseId,
+                                                                 @RequestBody(required = false) DefenseScheduleRequestDto request) {
+        try {
+            return ResponseEntity.ok(defenseSchedulingService.scheduleDefenseDay(defenseId,
+                    request != null ? request : new DefenseScheduleRequestDto()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.uni.ethesis.web.api;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.uni.ethesis.data.dto.ArchivedThesisDto;
+import com.uni.ethesis.service.ThesisArchiveService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/archive/theses")
+@RequiredArgsConstructor
+public class ThesisArchiveController {
+
+    private final ThesisArchiveService thesisArchiveService;
+
+    /**
+     * Searches archived theses, newest closed first
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<Page<ArchivedThesisDto>> searchArchive(
+            @RequestParam(required = false) Integer academicYear,
+            @RequestParam(required = false) UUID studentId,
+            @RequestParam(required = false) UUID teacherId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100), Sort.by(Sort.Direction.DESC, "closedAt", "id"));
+        return ResponseEntity.ok(thesisArchiveService.searchArchive(academicYear, studentId, teacherId, pageable));
+    }
+
+    /**
+     * Archived thesis with its reviews, comments and defense sessions
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<ArchivedThesisDto> getArchivedThesis(@PathVariable UUID id) {
+        return ResponseEntity.ok(thesisArchiveService.getArchivedThesis(id));
+    }
+
+    /**
+     * Runs the archive job now instead of waiting for the nightly schedule
+     */
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<Map<String, Integer>> runArchive() {
+        return ResponseEntity.ok(Map.of("archived", thesisArchiveService.archiveClosedTheses()));
+    }
+}
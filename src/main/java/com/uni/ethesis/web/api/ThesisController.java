@@ -0,0 +1,200 @@
+package com.uni.ethesis.web.api;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.uni.ethesis.data.dto.BulkThesisGradeRequestDto;
+import com.uni.ethesis.data.dto.BulkThesisReportDto;
+import com.uni.ethesis.data.dto.BulkThesisStatusRequestDto;
+import com.uni.ethesis.data.dto.KeysetPageDto;
+import com.uni.ethesis.data.dto.SimilarityReportDto;
+import com.uni.ethesis.data.dto.ThesisDetailView;
+import com.uni.ethesis.data.dto.ThesisDocumentDto;
+import com.uni.ethesis.data.dto.ThesisDto;
+import com.uni.ethesis.data.dto.ThesisPdfDto;
+import com.uni.ethesis.data.dto.ThesisStatisticsDto;
+import com.uni.ethesis.service.PlagiarismService;
+import com.uni.ethesis.service.ReviewService;
+import com.uni.ethesis.service.ThesisExportService;
+import com.uni.ethesis.service.ThesisService;
+import com.uni.ethesis.utils.RangeDownloads;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/theses")
+@RequiredArgsConstructor
+public class ThesisController {
+
+    private final ThesisService thesisService;
+    private final ReviewService reviewService;
+    private final PlagiarismService plagiarismService;
+    private final ThesisExportService thesisExportService;
+
+    /**
+     * Thesis page read model (proposal, student, supervisor, latest review, defense session)
+     */
+    @GetMapping("/{id}/detail")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('STUDENT')")
+    public ResponseEntity<ThesisDetailView> getThesisDetail(@PathVariable UUID id) {
+        return ResponseEntity.ok(thesisService.getThesisDetail(id));
+    }
+
+    /**
+     * Uploads a new version of the thesis PDF and sends the thesis back to review
+     */
+    @PostMapping(value = "/{id}/pdf", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ThesisDto> uploadThesisPdf(@PathVariable UUID id, @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(thesisService.uploadThesisPdf(id, file));
+    }
+
+    /**
+     * Streams the thesis PDF. Supports Range / If-Range so viewers can load it page by page
+     * and resume, and ETag / Last-Modified for revalidation.
+     */
+    @GetMapping("/{id}/pdf")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('STUDENT')")
+    public ResponseEntity<StreamingResponseBody> downloadThesisPdf(@PathVariable UUID id,
+                                                                   @RequestHeader HttpHeaders requestHeaders) {
+        ThesisPdfDto pdf = thesisService.getThesisPdf(id);
+        // The content hash is a strong validator; older files only get a weak one
+        String etag = pdf.getHash() != null
+                ? "\"" + pdf.getHash() + "\""
+                : "W/\"" + Long.toHexString(pdf.getSizeBytes()) + "-" + Long.toHexString(pdf.getLastModified().toEpochMilli()) + "\"";
+        return RangeDownloads.serve(pdf.getPath(), pdf.getSizeBytes(), etag, pdf.getLastModified(),
+                pdf.getFilename(), MediaType.APPLICATION_PDF, requestHeaders);
+    }
+
+    /**
+     * Page count, document info and validation result of the current PDF, filled in by
+     * background processing shortly after upload
+     */
+    @GetMapping("/{id}/document")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('STUDENT')")
+    public ResponseEntity<ThesisDocumentDto> getThesisDocument(@PathVariable UUID id) {
+        return ResponseEntity.ok(thesisService.getThesisDocument(id));
+    }
+
+    /**
+     * Theses sharing passages with this one, current and archived, most overlap first
+     */
+    @GetMapping("/{id}/similarity")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<SimilarityReportDto> getSimilarityReport(@PathVariable UUID id,
+                                                                   @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(plagiarismService.getSimilarityReport(id, limit));
+    }
+
+    /**
+     * Dashboard counters, served from memory
+     */
+    @GetMapping("/statistics")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<ThesisStatisticsDto> getStatistics() {
+        return ResponseEntity.ok(thesisService.getStatistics());
+    }
+
+    /**
+     * ZIP of every thesis defended in [from, to): the PDFs plus a manifest.csv, streamed
+     * as it is built.
+     */
+    @GetMapping("/export/defended")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportDefendedTheses(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String filename = "defended-theses-" + from.toLocalDate() + "_" + to.toLocalDate() + ".zip";
+        StreamingResponseBody body = out -> thesisExportService.writeDefendedThesesZip(from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .headers(headers -> headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build()))
+                .body(body);
+    }
+
+    /**
+     * Theses in WAITING_FOR_REVIEW status, oldest first.
+     * Pass nextCreatedAt / nextId of the previous page to continue.
+     */
+    @GetMapping("/queues/review")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<KeysetPageDto<ThesisDto>> getReviewQueue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime afterCreatedAt,
+            @RequestParam(required = false) UUID afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(thesisService.findThesesAwaitingReview(afterCreatedAt, afterId, size));
+    }
+
+    /**
+     * Theses in WAITING_FOR_REVIEW status that have never been reviewed, oldest first.
+     */
+    @GetMapping("/queues/unreviewed")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<KeysetPageDto<ThesisDto>> getUnreviewedQueue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime afterCreatedAt,
+            @RequestParam(required = false) UUID afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.getThesesAwaitingReview(afterCreatedAt, afterId, size));
+    }
+
+    /**
+     * Theses in WAITING_FOR_DEFENSE status, oldest first.
+     */
+    @GetMapping("/queues/defense")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<KeysetPageDto<ThesisDto>> getDefenseQueue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime afterCreatedAt,
+            @RequestParam(required = false) UUID afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(thesisService.findThesesAwaitingDefense(afterCreatedAt, afterId, size));
+    }
+
+    /**
+     * Moves many theses to one status; each row is validated against the transition table.
+     */
+    @PostMapping("/bulk/status")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<BulkThesisReportDto> bulkUpdateStatus(@Valid @RequestBody BulkThesisStatusRequestDto request) {
+        return ResponseEntity.ok(thesisService.bulkUpdateStatus(request));
+    }
+
+    /**
+     * Assigns final grades from a committee sheet to theses waiting for defense.
+     */
+    @PostMapping("/bulk/grades")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<BulkThesisReportDto> bulkUpdateGrades(@Valid @RequestBody BulkThesisGradeRequestDto request) {
+        return ResponseEntity.ok(thesisService.bulkUpdateGrades(request));
+    }
+
+    /**
+     * Fails every thesis that has been waiting for defense since before the deadline.
+     */
+    @PostMapping("/bulk/fail-overdue")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<BulkThesisReportDto> failOverdueTheses(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime deadline) {
+        return ResponseEntity.ok(thesisService.failThesesAwaitingDefenseSince(deadline));
+    }
+}
@@ -3,6 +3,8 @@ package com.uni.ethesis.web.api;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.uni.ethesis.data.dto.ThesisProposalDto;
@@ -34,6 +37,20 @@ public class ThesisProposalController {
         return ResponseEntity.ok(proposals);
     }
 
+    /**
+     * Ranked full-text search over title, goal, objectives and technology.
+     * Every word must match the start of a word in the proposal.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('STUDENT')")
+    public ResponseEntity<Page<ThesisProposalDto>> searchThesisProposals(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(thesisApplicationService.searchThesisProposals(query, pageRequest));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER') or hasRole('STUDENT')")
     public ResponseEntity<ThesisProposalDto> getThesisProposal(@PathVariable UUID id) {
@@ -0,0 +1,77 @@
+package com.uni.ethesis.web.api;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.uni.ethesis.data.dto.CreateUploadSessionDto;
+import com.uni.ethesis.data.dto.ThesisDto;
+import com.uni.ethesis.data.dto.UploadSessionDto;
+import com.uni.ethesis.service.ThesisUploadService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resumable PDF upload. Create a session, PUT raw chunks with their byte offset, GET the
+ * session to see which ranges arrived after a dropped connection, then complete it.
+ */
+@RestController
+@RequestMapping("/api/theses/{thesisId}/uploads")
+@RequiredArgsConstructor
+public class ThesisUploadController {
+
+    private final ThesisUploadService thesisUploadService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<UploadSessionDto> createUploadSession(@PathVariable UUID thesisId,
+                                                                @Valid @RequestBody CreateUploadSessionDto request) {
+        return ResponseEntity.ok(thesisUploadService.createUploadSession(thesisId, request.getTotalSize()));
+    }
+
+    @GetMapping("/{sessionId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<UploadSessionDto> getUploadSession(@PathVariable UUID thesisId, @PathVariable UUID sessionId) {
+        return ResponseEntity.ok(thesisUploadService.getUploadSession(thesisId, sessionId));
+    }
+
+    /**
+     * Writes the raw request body (application/octet-stream) at the given offset. The body is
+     * read from the servlet stream directly, so it is never buffered as multipart.
+     */
+    @PutMapping("/{sessionId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<UploadSessionDto> writeChunk(@PathVariable UUID thesisId,
+                                                       @PathVariable UUID sessionId,
+                                                       @RequestParam long offset,
+                                                       HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(thesisUploadService.writeChunk(thesisId, sessionId, offset,
+                request.getContentLengthLong(), request.getInputStream()));
+    }
+
+    @PostMapping("/{sessionId}/complete")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ThesisDto> completeUploadSession(@PathVariable UUID thesisId, @PathVariable UUID sessionId) {
+        return ResponseEntity.ok(thesisUploadService.completeUploadSession(thesisId, sessionId));
+    }
+
+    @DeleteMapping("/{sessionId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<Void> cancelUploadSession(@PathVariable UUID thesisId, @PathVariable UUID sessionId) {
+        thesisUploadService.cancelUploadSession(thesisId, sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
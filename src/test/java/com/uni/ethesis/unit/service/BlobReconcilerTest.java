@@ -0,0 +1,165 @@
+package com.uni.ethesis.unit.service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uni.ethesis.data.entities.StoredBlob;
+import com.uni.ethesis.data.repo.ArchivedThesisRepository;
+import com.uni.ethesis.data.repo.StoredBlobRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.service.storage.BlobReconciler;
+import com.uni.ethesis.service.storage.BlobStore;
+
+@ExtendWith(MockitoExtension.class)
+class BlobReconcilerTest {
+
+    private static final String HASH_A = "ab".repeat(32);
+    private static final String HASH_B = "cd".repeat(32);
+    private static final byte[] PDF = "%PDF-1.7 test".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private StoredBlobRepository storedBlobRepository;
+
+    @Mock
+    private ThesisRepository thesisRepository;
+
+    @Mock
+    private ArchivedThesisRepository archivedThesisRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path root;
+
+    @TempDir
+    Path legacyDir;
+
+    private BlobStore blobStore;
+    private BlobReconciler reconciler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        blobStore = new BlobStore(storedBlobRepository, transactionTemplate, root.toString());
+        reconciler = new BlobReconciler(blobStore, storedBlobRepository, thesisRepository, archivedThesisRepository, transactionTemplate);
+        ReflectionTestUtils.setField(reconciler, "grace", Duration.ofHours(1));
+        ReflectionTestUtils.setField(reconciler, "batchSize", 100);
+        ReflectionTestUtils.setField(reconciler, "legacyDir", legacyDir.toString());
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void reconcile_MovesFlatBlobsIntoShardsAndAdoptsUnregisteredOnes() throws Exception {
+        Path flat = write(root.resolve(HASH_A + ".pdf"), Duration.ofDays(2));
+        Path unregistered = write(root.resolve("cd").resolve("cd").resolve(HASH_B + ".pdf"), Duration.ofDays(2));
+        when(storedBlobRepository.findExistingHashes(anyCollection())).thenReturn(List.of(HASH_A));
+
+        BlobReconciler.ReconcileReport report = reconciler.reconcile();
+
+        Path sharded = root.resolve("ab").resolve("ab").resolve(HASH_A + ".pdf");
+        assertFalse(Files.exists(flat));
+        assertArrayEquals(PDF, Files.readAllBytes(sharded));
+        assertEquals(sharded, blobStore.resolve(HASH_A));
+        verify(thesisRepository).updatePdfPathByHash(HASH_A, sharded.toString());
+        // Registered as an orphan for the garbage collector, never deleted directly
+        verify(storedBlobRepository).adoptOrphan(eq(HASH_B), eq((long) PDF.length), any(OffsetDateTime.class));
+        verify(storedBlobRepository, never()).adoptOrphan(eq(HASH_A), anyLong(), any());
+        assertNotNull(Files.readAllBytes(unregistered));
+        assertEquals(1, report.movedToShard());
+    }
+
+    @Test
+    void reconcile_LeavesRecentFilesAlone() throws Exception {
+        write(root.resolve("cd").resolve("cd").resolve(HASH_B + ".pdf"), Duration.ZERO);
+        Path legacy = write(legacyDir.resolve("thesis_1.pdf"), Duration.ZERO);
+        when(storedBlobRepository.findExistingHashes(anyCollection())).thenReturn(List.of());
+
+        reconciler.reconcile();
+
+        verify(storedBlobRepository, never()).adoptOrphan(anyString(), anyLong(), any());
+        assertNotNull(Files.readAllBytes(legacy));
+    }
+
+    @Test
+    void reconcile_CorrectsDriftedReferenceCounts() throws Exception {
+        write(root.resolve("ab").resolve("ab").resolve(HASH_A + ".pdf"), Duration.ofDays(2));
+        StoredBlob leaked = StoredBlob.builder().hash(HASH_A).sizeBytes(PDF.length).refCount(2).build();
+        StoredBlob undercounted = StoredBlob.builder().hash(HASH_B).sizeBytes(PDF.length).refCount(0)
+                .orphanedAt(OffsetDateTime.now()).build();
+        when(storedBlobRepository.findExistingHashes(anyCollection())).thenReturn(List.of(HASH_A));
+        when(storedBlobRepository.findHashesAfter(eq(""), any())).thenReturn(List.of(HASH_A, HASH_B));
+        when(storedBlobRepository.findByHashInForUpdate(List.of(HASH_A, HASH_B))).thenReturn(List.of(leaked, undercounted));
+        when(thesisRepository.countByPdfHashIn(List.of(HASH_A, HASH_B))).thenReturn(List.<Object[]>of(new Object[]{HASH_B, 1L}));
+        when(archivedThesisRepository.countByPdfHashIn(List.of(HASH_A, HASH_B))).thenReturn(List.of());
+
+        BlobReconciler.ReconcileReport report = reconciler.reconcile();
+
+        assertEquals(0, leaked.getRefCount());
+        assertNotNull(leaked.getOrphanedAt());
+        assertEquals(1, undercounted.getRefCount());
+        assertNull(undercounted.getOrphanedAt());
+        assertEquals(2, report.refCountsFixed());
+        // HASH_B is referenced but has no file
+        assertEquals(1, report.missingFiles());
+    }
+
+    @Test
+    void reconcile_DeletesUnreferencedLegacyUploads() throws Exception {
+        Path referenced = write(legacyDir.resolve("thesis_1.pdf"), Duration.ofDays(2));
+        Path replaced = write(legacyDir.resolve("thesis_0.pdf"), Duration.ofDays(2));
+        when(thesisRepository.findPdfPathsIn(anyCollection())).thenReturn(List.of(referenced.toString()));
+
+        BlobReconciler.ReconcileReport report = reconciler.reconcile();
+
+        assertEquals(1, report.legacyFilesDeleted());
+        assertFalse(Files.exists(replaced));
+        assertNotNull(Files.readAllBytes(referenced));
+    }
+
+    private static Path write(Path file, Duration age) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, PDF);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+        return file;
+    }
+}
@@ -0,0 +1,128 @@
+package com.uni.ethesis.unit.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uni.ethesis.data.repo.StoredBlobRepository;
+import com.uni.ethesis.exceptions.FileUploadException;
+import com.uni.ethesis.service.storage.BlobStore;
+
+@ExtendWith(MockitoExtension.class)
+class BlobStoreTest {
+
+    private static final byte[] PDF = "%PDF-1.7 test".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private StoredBlobRepository storedBlobRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path root;
+
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore(storedBlobRepository, transactionTemplate, root.toString());
+    }
+
+    @Test
+    void stage_HashesWhileStreaming() throws Exception {
+        BlobStore.StagedBlob staged = blobStore.stage(new ByteArrayInputStream(PDF));
+
+        assertEquals(64, staged.hash().length());
+        assertEquals(PDF.length, staged.size());
+        assertArrayEquals(PDF, Files.readAllBytes(staged.tempFile()));
+    }
+
+    @Test
+    void stage_RejectsContentWithoutPdfHeader() throws Exception {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n'};
+
+        assertThrows(FileUploadException.class, () -> blobStore.stage(new ByteArrayInputStream(png)));
+        assertThrows(FileUploadException.class, () -> blobStore.stage(new ByteArrayInputStream(new byte[0])));
+        assertTrue(isEmpty(root.resolve(".incoming")));
+    }
+
+    @Test
+    void commit_SameContentSharesOneBlob() throws Exception {
+        BlobStore.StagedBlob first = blobStore.stage(new ByteArrayInputStream(PDF));
+        BlobStore.StagedBlob second = blobStore.stage(new ByteArrayInputStream(PDF));
+        assertEquals(first.hash(), second.hash());
+
+        Path firstPath = blobStore.commit(first);
+        Path secondPath = blobStore.commit(second);
+
+        assertEquals(firstPath, secondPath);
+        assertArrayEquals(PDF, Files.readAllBytes(firstPath));
+        assertFalse(Files.exists(second.tempFile()));
+        assertTrue(isEmpty(root.resolve(".incoming")));
+        verify(storedBlobRepository, times(2)).acquire(first.hash(), PDF.length);
+    }
+
+    @Test
+    void commit_StoresBlobInItsShard() throws Exception {
+        BlobStore.StagedBlob staged = blobStore.stage(new ByteArrayInputStream(PDF));
+
+        Path stored = blobStore.commit(staged);
+
+        String hash = staged.hash();
+        assertEquals(root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + ".pdf"), stored);
+        assertEquals(stored, blobStore.resolve(hash));
+    }
+
+    @Test
+    void stageUpload_ChunksWrittenOutOfOrderHashLikeOneStream() throws Exception {
+        UUID uploadId = UUID.randomUUID();
+        blobStore.createUpload(uploadId, PDF.length);
+
+        blobStore.writeChunk(uploadId, 5, PDF.length - 5, new ByteArrayInputStream(PDF, 5, PDF.length - 5));
+        blobStore.writeChunk(uploadId, 0, 5, new ByteArrayInputStream(PDF, 0, 5));
+        BlobStore.StagedBlob assembled = blobStore.stageUpload(uploadId);
+
+        BlobStore.StagedBlob streamed = blobStore.stage(new ByteArrayInputStream(PDF));
+        assertEquals(streamed.hash(), assembled.hash());
+        assertEquals(PDF.length, assembled.size());
+        assertArrayEquals(PDF, Files.readAllBytes(assembled.tempFile()));
+    }
+
+    @Test
+    void resolveLegacy_OnlyServesFilesInsideTheLegacyDirectory() {
+        Path legacy = root.resolve("theses");
+        ReflectionTestUtils.setField(blobStore, "legacyDir", legacy.toString());
+
+        assertEquals(legacy.resolve("old.pdf"), blobStore.resolveLegacy(legacy.resolve("old.pdf").toString()));
+        assertNull(blobStore.resolveLegacy(legacy.resolve("../../application.yml").toString()));
+        assertNull(blobStore.resolveLegacy("/etc/passwd"));
+        assertNull(blobStore.resolveLegacy(root.resolve("theses-other/old.pdf").toString()));
+    }
+
+    private static boolean isEmpty(Path dir) throws IOException {
+        try (var entries = Files.list(dir)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.uni.ethesis.unit.service;
 
+import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -14,24 +17,36 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 
 import com.uni.ethesis.data.dto.CommentDto;
+import com.uni.ethesis.data.dto.KeysetPageDto;
 import com.uni.ethesis.data.entities.Comment;
 import com.uni.ethesis.data.entities.Review;
-import com.uni.ethesis.data.entities.Teacher;
 import com.uni.ethesis.data.entities.User;
 import com.uni.ethesis.data.repo.CommentRepository;
 import com.uni.ethesis.data.repo.ReviewRepository;
-import com.uni.ethesis.data.repo.TeacherRepository;
 import com.uni.ethesis.data.repo.UserRepository;
+import com.uni.ethesis.enums.CommentChangeType;
+import com.uni.ethesis.events.CommentChangedEvent;
 import com.uni.ethesis.exceptions.ReviewNotFoundException;
+import com.uni.ethesis.exceptions.UnauthorizedCommentException;
 import com.uni.ethesis.exceptions.UserNotFoundException;
 import com.uni.ethesis.service.impl.CommentServiceImpl;
+import com.uni.ethesis.service.index.UserRoleIndex;
+import com.uni.ethesis.service.live.ReviewEventHub;
 import com.uni.ethesis.utils.mappers.CommentMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,10 +62,16 @@ class CommentServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private TeacherRepository teacherRepository;
+    private CommentMapper commentMapper;
 
     @Mock
-    private CommentMapper commentMapper;
+    private UserRoleIndex userRoleIndex;
+
+    @Mock
+    private ReviewEventHub reviewEventHub;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CommentServiceImpl commentService;
@@ -120,7 +141,7 @@ class CommentServiceTest {
         when(userRepository.existsById(userId)).thenReturn(true);
         when(commentRepository.save(any(Comment.class))).thenReturn(comment);
         when(commentMapper.commentToCommentDto(comment)).thenReturn(commentDto);
-        when(teacherRepository.findByUserId(userId)).thenReturn(null); // Student
+        when(userRoleIndex.roleOf(userId)).thenReturn(UserRoleIndex.STUDENT);
 
         // When
         CommentDto result = commentService.createComment(reviewId, userId, content);
@@ -132,21 +153,21 @@ class CommentServiceTest {
         
         verify(commentRepository).save(any(Comment.class));
         verify(commentMapper).commentToCommentDto(any(Comment.class));
+        verify(reviewRepository).incrementCommentCount(eq(reviewId), any());
+        verify(eventPublisher).publishEvent(any(CommentChangedEvent.class));
     }
 
     @Test
     void createComment_TeacherRole() {
         // Given
         String content = "Teacher comment";
-        Teacher teacherEntity = Teacher.builder().id(teacherId).user(teacher).build();
-        
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
         when(userRepository.findById(teacherId)).thenReturn(Optional.of(teacher));
         when(reviewRepository.existsById(reviewId)).thenReturn(true);
         when(userRepository.existsById(teacherId)).thenReturn(true);
         when(commentRepository.save(any(Comment.class))).thenReturn(comment);
         when(commentMapper.commentToCommentDto(comment)).thenReturn(commentDto);
-        when(teacherRepository.findByUserId(teacherId)).thenReturn(teacherEntity); // Teacher
+        when(userRoleIndex.roleOf(teacherId)).thenReturn(UserRoleIndex.TEACHER);
 
         // When
         CommentDto result = commentService.createComment(reviewId, teacherId, content);
@@ -155,7 +176,7 @@ class CommentServiceTest {
         assertNotNull(result);
         assertEquals("TEACHER", result.getUserRole());
         
-        verify(teacherRepository).findByUserId(teacherId);
+        verify(userRoleIndex).roleOf(teacherId);
     }
 
     @Test
@@ -190,8 +211,7 @@ class CommentServiceTest {
         when(reviewRepository.existsById(reviewId)).thenReturn(true);
         when(commentRepository.findByReviewIdOrderByCreatedAtAsc(reviewId)).thenReturn(comments);
         when(commentMapper.commentsToCommentDtos(comments)).thenReturn(commentDtos);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(teacherRepository.findByUserId(userId)).thenReturn(null); // Student
+        when(userRoleIndex.rolesOf(List.of(userId))).thenReturn(Map.of(userId, "STUDENT"));
 
         // When
         List<CommentDto> result = commentService.getCommentsByReviewId(reviewId);
@@ -202,6 +222,9 @@ class CommentServiceTest {
         assertEquals("STUDENT", result.get(0).getUserRole());
         
         verify(commentRepository).findByReviewIdOrderByCreatedAtAsc(reviewId);
+        // Authors come fetch-joined and roles are resolved in one batch, not per comment
+        verify(userRepository, never()).findById(any());
+        verify(userRoleIndex, never()).roleOf(any());
     }
 
     @Test
@@ -214,6 +237,94 @@ class CommentServiceTest {
                 () -> commentService.getCommentsByReviewId(reviewId));
     }
 
+    @Test
+    void getCommentPage_NewestFirst_ContinuesBeforeCursor() {
+        // Given
+        OffsetDateTime cursorCreatedAt = OffsetDateTime.now();
+        UUID cursorId = UUID.randomUUID();
+        List<Comment> comments = Arrays.asList(comment);
+
+        when(reviewRepository.existsById(reviewId)).thenReturn(true);
+        when(commentRepository.findThreadPageNewestFirstBefore(eq(reviewId), eq(cursorCreatedAt), eq(cursorId), any()))
+                .thenReturn(comments);
+        when(commentMapper.commentsToCommentDtos(comments)).thenReturn(Arrays.asList(commentDto));
+        when(userRoleIndex.rolesOf(List.of(userId))).thenReturn(Map.of(userId, "STUDENT"));
+
+        // When
+        KeysetPageDto<CommentDto> page = commentService.getCommentPage(reviewId, true, cursorCreatedAt, cursorId, 20);
+
+        // Then
+        assertEquals(1, page.getSize());
+        assertFalse(page.isHasNext());
+        assertEquals("STUDENT", page.getContent().get(0).getUserRole());
+    }
+
+    @Test
+    void getCommentsSince_NothingNew_KeepsCursor() {
+        // Given
+        OffsetDateTime afterCreatedAt = OffsetDateTime.now();
+        UUID afterId = UUID.randomUUID();
+
+        when(reviewRepository.existsById(reviewId)).thenReturn(true);
+        when(commentRepository.findThreadPageAfter(eq(reviewId), eq(afterCreatedAt), eq(afterId), any()))
+                .thenReturn(List.of());
+        when(commentMapper.commentsToCommentDtos(List.of())).thenReturn(List.of());
+
+        // When
+        KeysetPageDto<CommentDto> page = commentService.getCommentsSince(reviewId, afterCreatedAt, afterId, 50);
+
+        // Then
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(afterCreatedAt, page.getNextCreatedAt());
+        assertEquals(afterId, page.getNextId());
+    }
+
+    @Test
+    void deleteComment_DecrementsCounterAndRecomputesLastCommentTime() {
+        // Given
+        when(commentRepository.findById(commentId)).thenReturn(Optional.of(comment));
+
+        // When
+        commentService.deleteComment(commentId, userId);
+
+        // Then
+        // The decrement query also re-reads the newest remaining comment for last_comment_at
+        InOrder order = inOrder(commentRepository, reviewRepository);
+        order.verify(commentRepository).delete(comment);
+        order.verify(reviewRepository).decrementCommentCount(reviewId);
+        verify(reviewRepository, never()).incrementCommentCount(any(), any());
+        ArgumentCaptor<CommentChangedEvent> event = ArgumentCaptor.forClass(CommentChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(CommentChangeType.DELETED, event.getValue().getType());
+    }
+
+    @Test
+    void deleteComment_NotAuthor_LeavesCounterAlone() {
+        // Given
+        when(commentRepository.findById(commentId)).thenReturn(Optional.of(comment));
+
+        // When & Then
+        assertThrows(UnauthorizedCommentException.class, () -> commentService.deleteComment(commentId, teacherId));
+        verify(commentRepository, never()).delete(any(Comment.class));
+        verify(reviewRepository, never()).decrementCommentCount(any());
+    }
+
+    @Test
+    void reconcileCommentCounters_RepairsDriftedReviewsAndRunsOnStartup() throws Exception {
+        // Given
+        when(reviewRepository.reconcileCommentCounts()).thenReturn(3);
+
+        // When
+        commentService.reconcileCommentCounters();
+
+        // Then
+        verify(reviewRepository).reconcileCommentCounts();
+        // Reviews that predate the counters are backfilled right after deploy, not at the nightly run
+        EventListener listener = CommentServiceImpl.class.getMethod("reconcileCommentCounters").getAnnotation(EventListener.class);
+        assertNotNull(listener);
+        assertArrayEquals(new Class<?>[] { ApplicationReadyEvent.class }, listener.value());
+    }
+
     @Test
     void canUserCommentOnReview_Success() {
         // Given
@@ -0,0 +1,75 @@
+package com.uni.ethesis.unit.service;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.uni.ethesis.data.dto.CommitteeGradeTotals;
+import com.uni.ethesis.data.repo.DefenseSessionProfessorRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.enums.ThesisStatus;
+import com.uni.ethesis.events.CommitteeGradingCompletedEvent;
+import com.uni.ethesis.exceptions.ThesisStatusConflictException;
+import com.uni.ethesis.service.ThesisStatusTransitionService;
+import com.uni.ethesis.service.grading.CommitteeGradeFinalizer;
+import com.uni.ethesis.service.grading.FinalGradePolicy;
+import com.uni.ethesis.service.grading.FinalGradePolicy.Aggregation;
+
+@ExtendWith(MockitoExtension.class)
+class CommitteeGradeFinalizerTest {
+
+    @Mock
+    private ThesisStatusTransitionService statusTransitionService;
+
+    @Mock
+    private ThesisRepository thesisRepository;
+
+    @Mock
+    private DefenseSessionProfessorRepository defenseSessionProfessorRepository;
+
+    private CommitteeGradeFinalizer finalizer;
+
+    private final UUID thesisId = UUID.randomUUID();
+    private final CommitteeGradingCompletedEvent event = new CommitteeGradingCompletedEvent(
+            UUID.randomUUID(), thesisId, new CommitteeGradeTotals(3, 3, 240));
+
+    @BeforeEach
+    void setUp() {
+        finalizer = new CommitteeGradeFinalizer(new FinalGradePolicy(Aggregation.MEAN, 50), statusTransitionService,
+                thesisRepository, defenseSessionProfessorRepository);
+        ReflectionTestUtils.setField(finalizer, "enabled", true);
+    }
+
+    @Test
+    void onCommitteeGradingCompleted_RecordsTheCommitteeGrade() {
+        // Given
+        when(thesisRepository.findStatusById(thesisId)).thenReturn(Optional.of(ThesisStatus.WAITING_FOR_DEFENSE));
+
+        // When
+        finalizer.onCommitteeGradingCompleted(event);
+
+        // Then an average of 80 maps to 4.8
+        verify(statusTransitionService).recordFinalGrade(thesisId, new BigDecimal("4.8"));
+    }
+
+    @Test
+    void onCommitteeGradingCompleted_GradedByHandMeanwhile_KeepsTheCommitteeGrades() {
+        // Given a manual grade that lands between the status check and the update
+        when(thesisRepository.findStatusById(thesisId)).thenReturn(Optional.of(ThesisStatus.WAITING_FOR_DEFENSE));
+        when(statusTransitionService.recordFinalGrade(thesisId, new BigDecimal("4.8"))).thenThrow(
+                new ThesisStatusConflictException(thesisId, ThesisStatus.WAITING_FOR_DEFENSE, ThesisStatus.DEFENDED));
+
+        // When / Then the professor's grade save is not rolled back
+        assertDoesNotThrow(() -> finalizer.onCommitteeGradingCompleted(event));
+    }
+}
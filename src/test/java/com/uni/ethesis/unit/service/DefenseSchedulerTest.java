@@ -0,0 +1,83 @@
+package com.uni.ethesis.unit.service;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.uni.ethesis.service.scheduling.DefenseScheduler;
+
+class DefenseSchedulerTest {
+
+    private final DefenseScheduler scheduler = new DefenseScheduler(4);
+
+    @Test
+    void solve_LargeDay_SchedulesEveryThesisWithValidBalancedCommittees() {
+        int teachers = 80;
+        int[] supervisors = new int[1000];
+        for (int thesis = 0; thesis < supervisors.length; thesis++) {
+            // A few teachers supervise most of the theses
+            supervisors[thesis] = thesis % 3 == 0 ? thesis % 5 : thesis % teachers;
+        }
+        BitSet[] busy = new BitSet[teachers];
+        busy[7] = new BitSet();
+        busy[7].set(0, 10);
+        DefenseScheduler.Problem problem = new DefenseScheduler.Problem(50, 25, 3, teachers, supervisors, busy);
+
+        DefenseScheduler.Solution solution = scheduler.solve(problem);
+
+        assertEquals(0, solution.unscheduled());
+        assertValid(problem, solution);
+        assertTrue(solution.maxLoad() - solution.minLoad() <= 1, "loads " + solution.minLoad() + ".." + solution.maxLoad());
+    }
+
+    @Test
+    void solve_NotEnoughCapacity_ReportsUnscheduledTheses() {
+        int[] supervisors = { 0, 0, 1, 1, 2 };
+        DefenseScheduler.Problem problem = new DefenseScheduler.Problem(2, 2, 2, 4, supervisors, null);
+
+        DefenseScheduler.Solution solution = scheduler.solve(problem);
+
+        assertEquals(1, solution.unscheduled());
+        assertValid(problem, solution);
+        for (int thesis = 0; thesis < supervisors.length; thesis++) {
+            if (solution.slots()[thesis] < 0) {
+                assertNull(solution.committees()[thesis]);
+            }
+        }
+    }
+
+    private static void assertValid(DefenseScheduler.Problem problem, DefenseScheduler.Solution solution) {
+        int[] sessionsInSlot = new int[problem.slots()];
+        Set<Long> seats = new HashSet<>();
+        int[] loads = new int[problem.teachers()];
+        for (int thesis = 0; thesis < problem.theses(); thesis++) {
+            int slot = solution.slots()[thesis];
+            if (slot < 0) {
+                continue;
+            }
+            sessionsInSlot[slot]++;
+            int[] committee = solution.committees()[thesis];
+            assertEquals(problem.committeeSize(), committee.length);
+            for (int teacher : committee) {
+                assertNotEquals(problem.supervisors()[thesis], teacher, "supervisor on own committee");
+                BitSet booked = problem.busy() != null ? problem.busy()[teacher] : null;
+                assertFalse(booked != null && booked.get(slot), "teacher booked elsewhere");
+                assertTrue(seats.add((long) teacher * problem.slots() + slot), "double booking");
+                loads[teacher]++;
+            }
+        }
+        for (int count : sessionsInSlot) {
+            assertTrue(count <= problem.parallelSessions());
+        }
+        for (int teacher = 0; teacher < loads.length; teacher++) {
+            assertEquals(loads[teacher], solution.loads()[teacher]);
+        }
+    }
+}
@@ -1,37 +1,55 @@
 package com.uni.ethesis.unit.service;
 
+import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.LazyInitializationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.uni.ethesis.data.dto.BulkEvaluationReportDto;
+import com.uni.ethesis.data.dto.BulkEvaluationRequestDto;
+import com.uni.ethesis.data.dto.BulkEvaluationResultDto;
+import com.uni.ethesis.data.dto.CommitteeGradeTotals;
 import com.uni.ethesis.data.dto.DefenseSessionProfessorDto;
 import com.uni.ethesis.data.entities.DefenseSession;
 import com.uni.ethesis.data.entities.DefenseSessionProfessor;
 import com.uni.ethesis.data.entities.Teacher;
+import com.uni.ethesis.data.entities.Thesis;
 import com.uni.ethesis.data.entities.User;
 import com.uni.ethesis.data.repo.DefenseSessionProfessorRepository;
 import com.uni.ethesis.data.repo.DefenseSessionRepository;
 import com.uni.ethesis.data.repo.TeacherRepository;
+import com.uni.ethesis.enums.BulkEvaluationOutcome;
+import com.uni.ethesis.events.CommitteeGradingCompletedEvent;
 import com.uni.ethesis.exceptions.DefenseSessionNotFoundException;
 import com.uni.ethesis.exceptions.ProfessorAlreadyAssignedException;
+import com.uni.ethesis.exceptions.ProfessorBookingConflictException;
 import com.uni.ethesis.exceptions.TeacherNotFoundException;
 import com.uni.ethesis.service.impl.DefenseSessionProfessorServiceImpl;
+import com.uni.ethesis.service.index.ProfessorBookingIndex;
 import com.uni.ethesis.utils.DefenseSessionProfessorKey;
 import com.uni.ethesis.utils.mappers.DefenseSessionProfessorMapper;
 
@@ -50,6 +68,12 @@ class DefenseSessionProfessorServiceTest {
     @Mock
     private DefenseSessionProfessorMapper defenseSessionProfessorMapper;
 
+    @Mock
+    private ProfessorBookingIndex professorBookingIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DefenseSessionProfessorServiceImpl defenseSessionProfessorService;
 
@@ -124,6 +148,7 @@ class DefenseSessionProfessorServiceTest {
         assertEquals("John Professor", result.getProfessorFullName());
 
         verify(defenseSessionProfessorRepository).save(any(DefenseSessionProfessor.class));
+        verify(defenseSessionRepository).adjustGradeTotals(defenseSessionId, 1, 0, 0);
     }
 
     @Test
@@ -160,6 +185,24 @@ class DefenseSessionProfessorServiceTest {
                 () -> defenseSessionProfessorService.addProfessorToDefenseSession(defenseSessionId, professorId));
     }
 
+    @Test
+    void addProfessorToDefenseSession_ProfessorBookedElsewhere() {
+        // Given
+        OffsetDateTime dateAndTime = OffsetDateTime.now().plusDays(7);
+        defenseSession.setDateAndTime(dateAndTime);
+        when(defenseSessionRepository.findById(defenseSessionId)).thenReturn(Optional.of(defenseSession));
+        when(teacherRepository.findById(professorId)).thenReturn(Optional.of(professor));
+        when(defenseSessionProfessorRepository.existsByDefenseSessionIdAndProfessorId(defenseSessionId, professorId))
+                .thenReturn(false);
+        doThrow(new ProfessorBookingConflictException("busy"))
+                .when(professorBookingIndex).reserve(professorId, defenseSessionId, dateAndTime);
+
+        // When & Then
+        assertThrows(ProfessorBookingConflictException.class,
+                () -> defenseSessionProfessorService.addProfessorToDefenseSession(defenseSessionId, professorId));
+        verify(defenseSessionProfessorRepository, never()).save(any(DefenseSessionProfessor.class));
+    }
+
     @Test
     void updateProfessorEvaluation_Success() {
         // Given
@@ -181,7 +224,7 @@ class DefenseSessionProfessorServiceTest {
                 .thoughts(thoughts)
                 .build();
 
-        when(defenseSessionProfessorRepository.findByDefenseSessionIdAndProfessorId(defenseSessionId, professorId))
+        when(defenseSessionProfessorRepository.findForUpdate(defenseSessionId, professorId))
                 .thenReturn(Optional.of(defenseSessionProfessor));
         when(defenseSessionProfessorRepository.save(any(DefenseSessionProfessor.class)))
                 .thenReturn(updatedDefenseSessionProfessor);
@@ -198,6 +241,140 @@ class DefenseSessionProfessorServiceTest {
         assertEquals(thoughts, result.getThoughts());
 
         verify(defenseSessionProfessorRepository).save(any(DefenseSessionProfessor.class));
+        verify(defenseSessionRepository).adjustGradeTotals(defenseSessionId, 0, 1, 85);
+    }
+
+    @Test
+    void updateProfessorEvaluation_GradeOutOfRange_Throws() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> defenseSessionProfessorService.updateProfessorEvaluation(defenseSessionId, professorId, 101, null));
+        verify(defenseSessionProfessorRepository, never()).save(any(DefenseSessionProfessor.class));
+    }
+
+    @Test
+    void updateProfessorEvaluation_LastGrade_PublishesGradingCompleted() {
+        // Given
+        UUID thesisId = UUID.randomUUID();
+        defenseSession.setThesis(Thesis.builder().id(thesisId).build());
+        CommitteeGradeTotals complete = new CommitteeGradeTotals(3, 3, 240);
+        when(defenseSessionProfessorRepository.findForUpdate(defenseSessionId, professorId))
+                .thenReturn(Optional.of(defenseSessionProfessor));
+        when(defenseSessionProfessorRepository.save(any(DefenseSessionProfessor.class))).thenReturn(defenseSessionProfessor);
+        when(defenseSessionRepository.findGradeTotalsById(defenseSessionId)).thenReturn(Optional.of(complete));
+
+        // When
+        defenseSessionProfessorService.updateProfessorEvaluation(defenseSessionId, professorId, 80, "Solid");
+
+        // Then
+        ArgumentCaptor<CommitteeGradingCompletedEvent> event = ArgumentCaptor.forClass(CommitteeGradingCompletedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(thesisId, event.getValue().getThesisId());
+        assertEquals(complete, event.getValue().getTotals());
+    }
+
+    @Test
+    void removeProfessorFromDefenseSession_LastUngradedMember_PublishesGradingCompleted() {
+        // Given the two other members have graded and this one never did
+        UUID thesisId = UUID.randomUUID();
+        defenseSession.setThesis(Thesis.builder().id(thesisId).build());
+        CommitteeGradeTotals complete = new CommitteeGradeTotals(2, 2, 170);
+        when(defenseSessionProfessorRepository.findForUpdate(defenseSessionId, professorId))
+                .thenReturn(Optional.of(defenseSessionProfessor));
+        when(defenseSessionRepository.findGradeTotalsById(defenseSessionId)).thenReturn(Optional.of(complete));
+
+        // When
+        defenseSessionProfessorService.removeProfessorFromDefenseSession(defenseSessionId, professorId);
+
+        // Then
+        verify(defenseSessionRepository).adjustGradeTotals(defenseSessionId, -1, 0, 0);
+        ArgumentCaptor<CommitteeGradingCompletedEvent> event = ArgumentCaptor.forClass(CommitteeGradingCompletedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(thesisId, event.getValue().getThesisId());
+        assertEquals(complete, event.getValue().getTotals());
+    }
+
+    @Test
+    void removeProfessorFromDefenseSession_GradedMember_DoesNotPublish() {
+        // Given
+        defenseSession.setThesis(Thesis.builder().id(UUID.randomUUID()).build());
+        defenseSessionProfessor.setGrade(90);
+        when(defenseSessionProfessorRepository.findForUpdate(defenseSessionId, professorId))
+                .thenReturn(Optional.of(defenseSessionProfessor));
+
+        // When
+        defenseSessionProfessorService.removeProfessorFromDefenseSession(defenseSessionId, professorId);
+
+        // Then
+        verify(defenseSessionRepository).adjustGradeTotals(defenseSessionId, -1, -1, -90);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateEvaluations_ReportsEveryRowAndAdjustsTotalsOncePerSession() {
+        // Given
+        UUID otherProfessorId = UUID.randomUUID();
+        DefenseSessionProfessorKey otherKey = new DefenseSessionProfessorKey(defenseSessionId, otherProfessorId);
+        DefenseSessionProfessor other = DefenseSessionProfessor.builder()
+                .id(otherKey).defenseSession(defenseSession).grade(60).thoughts("Weak").build();
+        DefenseSessionProfessorKey missingKey = new DefenseSessionProfessorKey(defenseSessionId, UUID.randomUUID());
+        BulkEvaluationRequestDto request = BulkEvaluationRequestDto.builder()
+                .evaluations(List.of(
+                        new BulkEvaluationRequestDto.Entry(key, 85, "Excellent"),
+                        new BulkEvaluationRequestDto.Entry(otherKey, 70, "Better than expected"),
+                        new BulkEvaluationRequestDto.Entry(missingKey, 90, null),
+                        new BulkEvaluationRequestDto.Entry(key, 40, null),
+                        new BulkEvaluationRequestDto.Entry(otherKey, 101, null)))
+                .build();
+        when(defenseSessionProfessorRepository.findAllByIdInForUpdate(Set.of(key, otherKey, missingKey)))
+                .thenReturn(List.of(defenseSessionProfessor, other));
+
+        // When
+        BulkEvaluationReportDto report = defenseSessionProfessorService.updateEvaluations(request);
+
+        // Then
+        assertEquals(5, report.getRequested());
+        assertEquals(2, report.getUpdated());
+        assertEquals(List.of(BulkEvaluationOutcome.UPDATED, BulkEvaluationOutcome.UPDATED, BulkEvaluationOutcome.NOT_FOUND,
+                        BulkEvaluationOutcome.DUPLICATE, BulkEvaluationOutcome.INVALID_GRADE),
+                report.getResults().stream().map(BulkEvaluationResultDto::getOutcome).toList());
+        assertEquals(60, report.getResults().get(1).getPreviousGrade());
+        assertEquals(85, defenseSessionProfessor.getGrade());
+        verify(defenseSessionProfessorRepository).saveAll(List.of(defenseSessionProfessor, other));
+        verify(defenseSessionRepository).adjustGradeTotals(defenseSessionId, 0, 1, 95);
+        verify(defenseSessionRepository).findCompleteGradeTotalsByIdIn(List.of(defenseSessionId));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateProfessorEvaluation_FinalizerClearsPersistenceContext_StillReturnsEvaluation() {
+        // Given
+        defenseSession.setThesis(Thesis.builder().id(UUID.randomUUID()).build());
+        AtomicBoolean detached = new AtomicBoolean();
+        when(defenseSessionProfessorRepository.findForUpdate(defenseSessionId, professorId))
+                .thenReturn(Optional.of(defenseSessionProfessor));
+        when(defenseSessionProfessorRepository.save(any(DefenseSessionProfessor.class))).thenReturn(defenseSessionProfessor);
+        when(defenseSessionRepository.findGradeTotalsById(defenseSessionId))
+                .thenReturn(Optional.of(new CommitteeGradeTotals(3, 3, 240)));
+        // The finalizer's clearing update detaches the row; mapping it afterwards hits the lazy user
+        doAnswer(invocation -> {
+            detached.set(true);
+            return null;
+        }).when(eventPublisher).publishEvent(any(CommitteeGradingCompletedEvent.class));
+        when(defenseSessionProfessorMapper.defenseSessionProfessorToDto(defenseSessionProfessor)).thenAnswer(invocation -> {
+            if (detached.get()) {
+                throw new LazyInitializationException("could not initialize proxy - no Session");
+            }
+            return defenseSessionProfessorDto;
+        });
+
+        // When
+        DefenseSessionProfessorDto result = defenseSessionProfessorService.updateProfessorEvaluation(
+                defenseSessionId, professorId, 80, "Solid");
+
+        // Then
+        assertEquals(defenseSessionProfessorDto, result);
+        assertTrue(detached.get());
     }
 
     @Test
@@ -249,9 +426,8 @@ class DefenseSessionProfessorServiceTest {
     void getAverageGradeForDefenseSession_Success() {
         // Given
         Double expectedAverage = 87.5;
-        when(defenseSessionRepository.existsById(defenseSessionId)).thenReturn(true);
-        when(defenseSessionProfessorRepository.getAverageGradeByDefenseSessionId(defenseSessionId))
-                .thenReturn(expectedAverage);
+        when(defenseSessionRepository.findGradeTotalsById(defenseSessionId))
+                .thenReturn(Optional.of(new CommitteeGradeTotals(3, 2, 175)));
 
         // When
         Double result = defenseSessionProfessorService.getAverageGradeForDefenseSession(defenseSessionId);
@@ -259,4 +435,17 @@ class DefenseSessionProfessorServiceTest {
         // Then
         assertEquals(expectedAverage, result);
     }
+
+    @Test
+    void areAllProfessorsGraded_ReadsSessionTotals() {
+        // Given
+        when(defenseSessionRepository.findGradeTotalsById(defenseSessionId))
+                .thenReturn(Optional.of(new CommitteeGradeTotals(3, 2, 175)))
+                .thenReturn(Optional.of(new CommitteeGradeTotals(3, 3, 260)));
+
+        // When & Then
+        assertFalse(defenseSessionProfessorService.areAllProfessorsGraded(defenseSessionId));
+        assertTrue(defenseSessionProfessorService.areAllProfessorsGraded(defenseSessionId));
+        verify(defenseSessionProfessorRepository, never()).findGradedByDefenseSessionId(defenseSessionId);
+    }
 }
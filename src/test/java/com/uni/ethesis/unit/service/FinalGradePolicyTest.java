@@ -0,0 +1,46 @@
+package com.uni.ethesis.unit.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import org.junit.jupiter.api.Test;
+
+import com.uni.ethesis.data.dto.CommitteeGradeTotals;
+import com.uni.ethesis.service.grading.FinalGradePolicy;
+import com.uni.ethesis.service.grading.FinalGradePolicy.Aggregation;
+
+class FinalGradePolicyTest {
+
+    @Test
+    void finalGrade_Mean_UsesTotalsAndMapsOntoTwoToSixScale() {
+        FinalGradePolicy policy = new FinalGradePolicy(Aggregation.MEAN, 50);
+
+        assertEquals(new BigDecimal("2.0"), policy.finalGrade(totals(49, 49), () -> fail("mean needs no query")));
+        assertEquals(new BigDecimal("3.0"), policy.finalGrade(totals(50, 50), () -> fail("mean needs no query")));
+        assertEquals(new BigDecimal("4.5"), policy.finalGrade(totals(70, 80), () -> fail("mean needs no query")));
+        assertEquals(new BigDecimal("6.0"), policy.finalGrade(totals(100, 100), () -> fail("mean needs no query")));
+    }
+
+    @Test
+    void finalGrade_MedianAndTrimmedMean_IgnoreOutliers() {
+        List<Integer> grades = List.of(95, 20, 80, 75);
+        CommitteeGradeTotals totals = totals(95, 20, 80, 75);
+
+        // Median of 75 and 80 is 77.5 -> 3 + 3 * 27.5 / 50 = 4.65
+        assertEquals(new BigDecimal("4.7"), new FinalGradePolicy(Aggregation.MEDIAN, 50).finalGrade(totals, () -> grades));
+        // 20 and 95 are dropped, mean of 75 and 80 again
+        assertEquals(new BigDecimal("4.7"), new FinalGradePolicy(Aggregation.TRIMMED_MEAN, 50).finalGrade(totals, () -> grades));
+        // The plain mean of 67.5 is pulled down by the 20
+        assertEquals(new BigDecimal("4.1"), new FinalGradePolicy(Aggregation.MEAN, 50).finalGrade(totals, () -> grades));
+    }
+
+    private static CommitteeGradeTotals totals(int... grades) {
+        long sum = 0;
+        for (int grade : grades) {
+            sum += grade;
+        }
+        return new CommitteeGradeTotals(grades.length, grades.length, sum);
+    }
+}
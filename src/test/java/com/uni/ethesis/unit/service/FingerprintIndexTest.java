@@ -0,0 +1,120 @@
+package com.uni.ethesis.unit.service;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.uni.ethesis.service.plagiarism.FingerprintIndex;
+
+class FingerprintIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void findsThesisSharingAPassage() throws Exception {
+        FingerprintIndex index = openIndex();
+        String source = words(2000);
+        UUID sourceId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        index.index(sourceId, source);
+        index.index(otherId, words(2000));
+
+        String copied = words(500) + " " + source.substring(4000, 7000) + " " + words(500);
+        List<FingerprintIndex.Match> matches = index.query(index.fingerprints(copied), null, 10);
+
+        assertEquals(1, matches.size());
+        assertEquals(sourceId, matches.get(0).thesisId());
+        assertTrue(matches.get(0).sharedFingerprints() > 10);
+    }
+
+    @Test
+    void flushedUpdatesSurviveReopening() throws Exception {
+        FingerprintIndex index = openIndex();
+        UUID kept = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        UUID replaced = UUID.randomUUID();
+        String keptText = words(1000);
+        String removedText = words(1000);
+        String oldText = words(1000);
+        String newText = words(1000);
+        index.index(kept, keptText);
+        index.index(removed, removedText);
+        index.index(replaced, oldText);
+        for (int i = 0; i < 5; i++) {
+            index.index(UUID.randomUUID(), words(500));
+        }
+        index.remove(removed);
+        index.index(replaced, newText);
+        index.close();
+
+        FingerprintIndex reopened = openIndex();
+        assertEquals(7, reopened.size());
+        assertEquals(kept, reopened.query(reopened.fingerprints(keptText), null, 1).get(0).thesisId());
+        assertTrue(reopened.query(reopened.fingerprints(removedText), null, 10).isEmpty());
+        assertTrue(reopened.query(reopened.fingerprints(oldText), null, 10).isEmpty());
+        assertEquals(replaced, reopened.query(reopened.fingerprints(newText), null, 1).get(0).thesisId());
+        assertTrue(reopened.query(reopened.fingerprints(newText), replaced, 10).isEmpty());
+    }
+
+    @Test
+    void unflushedThesesAreDroppedAfterACrash() throws Exception {
+        FingerprintIndex index = openIndex();
+        UUID flushed = UUID.randomUUID();
+        UUID unflushed = UUID.randomUUID();
+        index.index(flushed, words(500));
+        index.flush();
+        index.index(unflushed, words(500));
+
+        // No close(): the second thesis only ever reached the registry
+        FingerprintIndex reopened = openIndex();
+        assertTrue(reopened.contains(flushed));
+        assertFalse(reopened.contains(unflushed));
+    }
+
+    @Test
+    void reindexedVersionsDoNotHideAThesisBeforeAMerge() throws Exception {
+        // At most 3 theses per fingerprint, and a merge factor that never merges here
+        FingerprintIndex index = new FingerprintIndex(null, null, directory.toString(), 15, 8, 1, 3, 100);
+        index.open();
+        UUID resubmitted = UUID.randomUUID();
+        String text = words(1000);
+        for (int version = 0; version < 6; version++) {
+            index.index(resubmitted, text);
+            index.flush();
+        }
+
+        List<FingerprintIndex.Match> matches = index.query(index.fingerprints(text), null, 10);
+
+        assertEquals(1, matches.size());
+        assertEquals(resubmitted, matches.get(0).thesisId());
+        assertEquals(matches.get(0).documentFingerprints(), matches.get(0).sharedFingerprints());
+    }
+
+    private FingerprintIndex openIndex() throws Exception {
+        FingerprintIndex index = new FingerprintIndex(null, null, directory.toString(), 15, 8, 2, 50, 2);
+        index.open();
+        return index;
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int length = 3 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+            text.append(' ');
+        }
+        return text.toString();
+    }
+}
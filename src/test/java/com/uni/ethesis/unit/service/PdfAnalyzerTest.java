@@ -0,0 +1,82 @@
+package com.uni.ethesis.unit.service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.uni.ethesis.service.pdf.PdfAnalyzer;
+
+class PdfAnalyzerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void analyze_ReadsPagesInfoAndText() throws Exception {
+        Path file = writePdf("Thesis about microservices", "Chapter one", "Chapter two");
+
+        PdfAnalyzer.PdfAnalysis analysis = new PdfAnalyzer(10_000).analyze(file);
+
+        assertTrue(analysis.valid());
+        assertEquals(2, analysis.pageCount());
+        assertEquals("Thesis about microservices", analysis.title());
+        assertEquals(Files.size(file), analysis.sizeBytes());
+        assertTrue(analysis.text().contains("Chapter one"));
+        assertTrue(analysis.text().contains("Chapter two"));
+    }
+
+    @Test
+    void analyze_StopsExtractingAtTextLimit() throws Exception {
+        Path file = writePdf("Long thesis", "First page text", "Second page text");
+
+        PdfAnalyzer.PdfAnalysis analysis = new PdfAnalyzer(5).analyze(file);
+
+        assertTrue(analysis.valid());
+        assertEquals(5, analysis.text().length());
+    }
+
+    @Test
+    void analyze_ReportsBrokenFileAsInvalid() throws Exception {
+        Path file = dir.resolve("broken.pdf");
+        Files.writeString(file, "%PDF-1.7 this is not really a pdf", StandardCharsets.US_ASCII);
+
+        PdfAnalyzer.PdfAnalysis analysis = new PdfAnalyzer(10_000).analyze(file);
+
+        assertFalse(analysis.valid());
+        assertNotNull(analysis.error());
+        assertNull(analysis.pageCount());
+    }
+
+    private Path writePdf(String title, String... pages) throws Exception {
+        Path file = dir.resolve("thesis.pdf");
+        try (PDDocument document = new PDDocument()) {
+            document.getDocumentInformation().setTitle(title);
+            for (String text : pages) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText(text);
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+}
@@ -0,0 +1,80 @@
+package com.uni.ethesis.unit.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.Mockito.when;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.uni.ethesis.data.repo.DefenseSessionProfessorRepository;
+import com.uni.ethesis.exceptions.ProfessorBookingConflictException;
+import com.uni.ethesis.service.index.ProfessorBookingIndex;
+
+@ExtendWith(MockitoExtension.class)
+class ProfessorBookingIndexTest {
+
+    private static final OffsetDateTime NINE = OffsetDateTime.of(2026, 6, 15, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private DefenseSessionProfessorRepository defenseSessionProfessorRepository;
+
+    private ProfessorBookingIndex index;
+
+    private final UUID professorId = UUID.randomUUID();
+    private final UUID morningSession = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new ProfessorBookingIndex(defenseSessionProfessorRepository, Duration.ofMinutes(30));
+        when(defenseSessionProfessorRepository.findAllBookings())
+                .thenReturn(List.<Object[]>of(new Object[] { professorId, morningSession, NINE }));
+        index.load();
+    }
+
+    @Test
+    void reserve_OverlappingSession_IsRejectedButBackToBackIsAllowed() {
+        UUID overlapping = UUID.randomUUID();
+        UUID nextSlot = UUID.randomUUID();
+
+        assertThrows(ProfessorBookingConflictException.class,
+                () -> index.reserve(professorId, overlapping, NINE.plusMinutes(29)));
+        assertEquals(morningSession, index.findConflict(professorId, NINE.minusMinutes(29), null));
+        assertNull(index.findConflict(professorId, NINE, morningSession));
+
+        index.reserve(professorId, nextSlot, NINE.plusMinutes(30));
+        index.reserve(UUID.randomUUID(), overlapping, NINE.plusMinutes(15));
+
+        assertEquals(3, index.size());
+        assertEquals(nextSlot, index.findConflict(professorId, NINE.plusMinutes(45), null));
+    }
+
+    @Test
+    void reschedule_MovesWholeSessionOnlyWhenCommitteeIsFree() {
+        UUID otherProfessor = UUID.randomUUID();
+        UUID afternoonSession = UUID.randomUUID();
+        index.reserve(otherProfessor, morningSession, NINE);
+        index.reserve(otherProfessor, afternoonSession, NINE.plusHours(5));
+
+        assertThrows(ProfessorBookingConflictException.class, () -> index.reschedule(morningSession, NINE.plusHours(5)));
+        assertEquals(morningSession, index.findConflict(professorId, NINE, null));
+
+        assertEquals(NINE, index.reschedule(morningSession, NINE.plusHours(2)));
+        assertNull(index.findConflict(professorId, NINE, null));
+        assertEquals(morningSession, index.findConflict(otherProfessor, NINE.plusHours(2), null));
+
+        index.remove(otherProfessor, morningSession);
+        assertNull(index.findConflict(otherProfessor, NINE.plusHours(2), null));
+        index.removeSession(morningSession);
+        assertEquals(1, index.size());
+    }
+}
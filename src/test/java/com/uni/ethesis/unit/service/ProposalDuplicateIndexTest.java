@@ -0,0 +1,122 @@
+package com.uni.ethesis.unit.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.Mockito.when;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uni.ethesis.data.repo.ThesisProposalRepository;
+import com.uni.ethesis.service.index.MinHash;
+import com.uni.ethesis.service.index.ProposalDuplicateIndex;
+
+@ExtendWith(MockitoExtension.class)
+class ProposalDuplicateIndexTest {
+
+    @Mock
+    private ThesisProposalRepository thesisProposalRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ProposalDuplicateIndex index;
+
+    private final UUID platformId = UUID.randomUUID();
+    private final UUID plagiarismId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "threshold", 0.5);
+        ReflectionTestUtils.setField(index, "maxResults", 5);
+
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{platformId, MinHash.toBytes(ProposalDuplicateIndex.signature(
+                "Web platform for managing graduation theses",
+                "Build a web platform where students submit theses and teachers review them",
+                "Proposals, reviews, defense sessions and grading",
+                "Java, Spring Boot, PostgreSQL"))});
+        rows.add(new Object[]{plagiarismId, MinHash.toBytes(ProposalDuplicateIndex.signature(
+                "Detecting plagiarism in source code",
+                "Compare student programs and report suspicious similarity",
+                "Tokenization, fingerprinting and clustering",
+                "Python"))});
+        when(thesisProposalRepository.findAllSignatures()).thenReturn(rows);
+        index.load();
+    }
+
+    @Test
+    void findDuplicates_FlagsRewordedTopic() {
+        int[] signature = ProposalDuplicateIndex.signature(
+                "A web platform for managing graduation theses",
+                "Build a web platform where students submit their theses and teachers review them",
+                "Proposals, reviews, defense sessions and final grading",
+                "Java, Spring Boot, PostgreSQL");
+
+        List<ProposalDuplicateIndex.Duplicate> duplicates = index.findDuplicates(signature, null);
+
+        assertEquals(1, duplicates.size());
+        assertEquals(platformId, duplicates.get(0).proposalId());
+        assertTrue(duplicates.get(0).similarity() >= 0.5);
+    }
+
+    @Test
+    void findDuplicates_IgnoresUnrelatedTopicAndItself() {
+        int[] signature = ProposalDuplicateIndex.signature("Mobile app for booking sports halls", "Let students book halls", null, "Kotlin");
+        assertTrue(index.findDuplicates(signature, null).isEmpty());
+
+        int[] own = ProposalDuplicateIndex.signature(
+                "Detecting plagiarism in source code",
+                "Compare student programs and report suspicious similarity",
+                "Tokenization, fingerprinting and clustering",
+                "Python");
+        assertTrue(index.findDuplicates(own, plagiarismId).isEmpty());
+    }
+
+    @Test
+    void remove_DropsProposalFromBuckets() {
+        int[] own = ProposalDuplicateIndex.signature(
+                "Detecting plagiarism in source code",
+                "Compare student programs and report suspicious similarity",
+                "Tokenization, fingerprinting and clustering",
+                "Python");
+        assertEquals(1, index.findDuplicates(own, null).size());
+
+        index.remove(plagiarismId);
+
+        assertTrue(index.findDuplicates(own, null).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void load_KeepsUpdatesMadeWhileReadingTheSignatures() {
+        // Given a proposal deleted after the stored signatures were read
+        List<Object[]> rows = thesisProposalRepository.findAllSignatures();
+        when(thesisProposalRepository.findAllSignatures()).thenAnswer(invocation -> {
+            index.remove(plagiarismId);
+            return rows;
+        });
+
+        // When
+        index.load();
+
+        // Then the swap does not bring it back
+        int[] own = ProposalDuplicateIndex.signature(
+                "Detecting plagiarism in source code",
+                "Compare student programs and report suspicious similarity",
+                "Tokenization, fingerprinting and clustering",
+                "Python");
+        assertTrue(index.findDuplicates(own, null).isEmpty());
+        assertEquals(1, index.size());
+    }
+}
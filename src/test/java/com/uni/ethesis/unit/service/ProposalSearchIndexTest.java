@@ -0,0 +1,117 @@
+package com.uni.ethesis.unit.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.Mockito.when;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.uni.ethesis.data.dto.ThesisProposalDto;
+import com.uni.ethesis.data.repo.ThesisProposalRepository;
+import com.uni.ethesis.service.index.ProposalSearchIndex;
+
+@ExtendWith(MockitoExtension.class)
+class ProposalSearchIndexTest {
+
+    @Mock
+    private ThesisProposalRepository thesisProposalRepository;
+
+    @InjectMocks
+    private ProposalSearchIndex index;
+
+    private ThesisProposalDto springProposal;
+    private ThesisProposalDto mlProposal;
+    private ThesisProposalDto webProposal;
+
+    @BeforeEach
+    void setUp() {
+        springProposal = proposal("Spring Boot microservices", "Build a thesis platform", "Reviews and defenses", "Java, Spring");
+        mlProposal = proposal("Machine learning for plagiarism detection", "Detect copied theses", "Compare documents", "Python");
+        webProposal = proposal("Web portal", "Use Spring MVC templates", "Students submit work", "Thymeleaf");
+
+        when(thesisProposalRepository.findAllSearchDocuments()).thenReturn(List.of(springProposal, mlProposal, webProposal));
+        index.load();
+    }
+
+    @Test
+    void load_IndexesAllProposals() {
+        assertTrue(index.isReady());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void search_RanksTitleHitsAboveOtherFields() {
+        List<UUID> result = index.search("spring", ProposalSearchIndex.ALL_FIELDS);
+
+        assertEquals(List.of(springProposal.getId(), webProposal.getId()), result);
+    }
+
+    @Test
+    void search_MatchesPrefixesAndRequiresAllTokens() {
+        assertEquals(List.of(mlProposal.getId()), index.search("plag detect", ProposalSearchIndex.ALL_FIELDS));
+        assertTrue(index.search("plag spring", ProposalSearchIndex.ALL_FIELDS).isEmpty());
+    }
+
+    @Test
+    void search_RestrictedToTitle() {
+        assertEquals(List.of(springProposal.getId()),
+                index.search("spring", ProposalSearchIndex.Field.TITLE.bit()));
+    }
+
+    @Test
+    void indexAndRemove_UpdateIncrementally() {
+        webProposal.setTitle("Reactive web portal");
+        index.index(webProposal);
+        assertEquals(List.of(webProposal.getId()), index.search("reactive", ProposalSearchIndex.ALL_FIELDS));
+
+        index.remove(webProposal.getId());
+        assertTrue(index.search("reactive", ProposalSearchIndex.ALL_FIELDS).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void load_KeepsUpdatesMadeWhileReadingTheSnapshot() {
+        // Given a proposal created and one deleted after the snapshot was taken
+        ThesisProposalDto newProposal = proposal("Reactive streams", "Stream reviews", "Backpressure", "Reactor");
+        when(thesisProposalRepository.findAllSearchDocuments()).thenAnswer(invocation -> {
+            index.index(newProposal);
+            index.remove(mlProposal.getId());
+            return List.of(springProposal, mlProposal, webProposal);
+        });
+
+        // When
+        index.load();
+
+        // Then the swap does not undo them
+        assertEquals(List.of(newProposal.getId()), index.search("reactive", ProposalSearchIndex.ALL_FIELDS));
+        assertTrue(index.search("plagiarism", ProposalSearchIndex.ALL_FIELDS).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void search_Paginates() {
+        Page<UUID> page = index.search("spring", ProposalSearchIndex.ALL_FIELDS, PageRequest.of(1, 1));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(webProposal.getId()), page.getContent());
+    }
+
+    private ThesisProposalDto proposal(String title, String goal, String objectives, String technology) {
+        return ThesisProposalDto.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .goal(goal)
+                .objectives(objectives)
+                .technology(technology)
+                .build();
+    }
+}
@@ -0,0 +1,239 @@
+package com.uni.ethesis.unit.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.uni.ethesis.utils.RangeDownloads;
+
+class RangeDownloadsTest {
+
+    private static final int SIZE = 2000;
+    private static final String ETAG = "\"abc123\"";
+    private static final Instant LAST_MODIFIED = Instant.parse("2025-03-14T09:26:53.589Z");
+
+    @TempDir
+    Path root;
+
+    private Path file;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        content = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            content[i] = (byte) i;
+        }
+        file = Files.write(root.resolve("thesis.pdf"), content);
+    }
+
+    @Test
+    void singleRange_ReturnsPartialContent() throws IOException {
+        // Given
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=100-199");
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 100-199/" + SIZE, response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(100, response.getHeaders().getContentLength());
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 200), body(response));
+    }
+
+    @Test
+    void suffixRange_ReturnsTheLastBytes() throws IOException {
+        // Given
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=-500");
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 1500-1999/" + SIZE, response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(500, response.getHeaders().getContentLength());
+        assertArrayEquals(Arrays.copyOfRange(content, 1500, SIZE), body(response));
+    }
+
+    @Test
+    void rangeStartingPastTheEnd_IsNotSatisfiable() {
+        // Given
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=" + SIZE + "-");
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */" + SIZE, response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void staleIfRangeETag_ReturnsTheWholeFile() throws IOException {
+        // Given
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=100-199");
+        request.set(HttpHeaders.IF_RANGE, "\"previous-version\"");
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertWholeFile(response);
+    }
+
+    @Test
+    void staleIfRangeDate_ReturnsTheWholeFile() throws IOException {
+        // Given
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=100-199");
+        request.set(HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED.minusSeconds(60)));
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertWholeFile(response);
+    }
+
+    @Test
+    void currentIfRangeDate_ReturnsTheRange() {
+        // Given the validator the client got from Last-Modified, which has no fraction of a second
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=100-199");
+        request.set(HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED));
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+    }
+
+    @Test
+    void weakETagInIfRange_ReturnsTheWholeFile() throws IOException {
+        // Given a weak validator, which never satisfies the strong comparison If-Range needs
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=100-199");
+        request.set(HttpHeaders.IF_RANGE, "W/" + ETAG);
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertWholeFile(response);
+    }
+
+    @Test
+    void weakServerETag_IgnoresMatchingIfRange() throws IOException {
+        // Given
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=100-199");
+        request.set(HttpHeaders.IF_RANGE, ETAG);
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve("W/" + ETAG, request);
+
+        // Then
+        assertWholeFile(response);
+    }
+
+    @Test
+    void matchingIfRangeETag_ReturnsTheRange() {
+        // Given
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=100-199");
+        request.set(HttpHeaders.IF_RANGE, ETAG);
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+    }
+
+    @Test
+    void multipleRanges_ReturnTheWholeFile() throws IOException {
+        // Given
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=0-99,500-599");
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertWholeFile(response);
+    }
+
+    @Test
+    void ifNoneMatch_UsesWeakComparison() {
+        // Given a client that cached the file under the weak form of the same tag
+        HttpHeaders request = new HttpHeaders();
+        request.setIfNoneMatch("W/" + ETAG);
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void ifNoneMatch_OtherTag_ReturnsTheWholeFile() throws IOException {
+        // Given
+        HttpHeaders request = new HttpHeaders();
+        request.setIfNoneMatch("\"previous-version\"");
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = serve(ETAG, request);
+
+        // Then
+        assertWholeFile(response);
+    }
+
+    private ResponseEntity<StreamingResponseBody> serve(String etag, HttpHeaders request) {
+        return RangeDownloads.serve(file, SIZE, etag, LAST_MODIFIED, "thesis.pdf", MediaType.APPLICATION_PDF, request);
+    }
+
+    private void assertWholeFile(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(SIZE, response.getHeaders().getContentLength());
+        assertArrayEquals(content, body(response));
+    }
+
+    private static byte[] body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,98 @@
+package com.uni.ethesis.unit.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.uni.ethesis.data.dto.CommentDto;
+import com.uni.ethesis.enums.CommentChangeType;
+import com.uni.ethesis.events.CommentChangedEvent;
+import com.uni.ethesis.service.live.ReviewEventHub;
+
+class ReviewEventHubTest {
+
+    private final UUID reviewId = UUID.randomUUID();
+
+    @Test
+    void onCommentChanged_SendsEventsToSubscribersInOrder() throws InterruptedException {
+        ReviewEventHub hub = hub(8);
+        RecordingEmitter emitter = new RecordingEmitter(3);
+        hub.subscribe(reviewId, emitter);
+
+        for (CommentChangeType type : CommentChangeType.values()) {
+            hub.onCommentChanged(new CommentChangedEvent(reviewId, type,
+                    CommentDto.builder().id(UUID.randomUUID()).reviewId(reviewId).build()));
+        }
+        hub.publish(UUID.randomUUID(), "comment-created", "other review");
+
+        assertTrue(emitter.received.await(5, TimeUnit.SECONDS));
+        assertEquals(3, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("event:comment-created"));
+        assertTrue(emitter.events.get(1).contains("event:comment-updated"));
+        assertTrue(emitter.events.get(2).contains("event:comment-deleted"));
+        assertEquals(1, hub.subscriberCount(reviewId));
+    }
+
+    @Test
+    void publish_SlowSubscriberWithFullBuffer_IsEvicted() throws InterruptedException {
+        ReviewEventHub hub = hub(2);
+        BlockingEmitter slow = new BlockingEmitter();
+        hub.subscribe(reviewId, slow);
+
+        // The sender takes the first event and blocks on the socket; the next two fill the buffer
+        hub.publish(reviewId, "comment-created", "1");
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        hub.publish(reviewId, "comment-created", "2");
+        hub.publish(reviewId, "comment-created", "3");
+        assertEquals(1, hub.subscriberCount(reviewId));
+
+        hub.publish(reviewId, "comment-created", "4");
+
+        assertEquals(0, hub.subscriberCount(reviewId));
+        slow.release.countDown();
+    }
+
+    private static ReviewEventHub hub(int bufferSize) {
+        return new ReviewEventHub(bufferSize, Duration.ofMinutes(1), Duration.ofHours(1), 10);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+
+        RecordingEmitter(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            events.add(builder.build().stream().map(part -> String.valueOf(part.getData())).collect(Collectors.joining()));
+            received.countDown();
+        }
+    }
+
+    private static class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.uni.ethesis.unit.service;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uni.ethesis.data.entities.ArchivedThesis;
+import com.uni.ethesis.data.entities.Comment;
+import com.uni.ethesis.data.entities.DefenseSession;
+import com.uni.ethesis.data.entities.Review;
+import com.uni.ethesis.data.entities.Thesis;
+import com.uni.ethesis.data.entities.ThesisProposal;
+import com.uni.ethesis.data.repo.ArchivedThesisRepository;
+import com.uni.ethesis.data.repo.CommentRepository;
+import com.uni.ethesis.data.repo.DefenseSessionProfessorRepository;
+import com.uni.ethesis.data.repo.DefenseSessionRepository;
+import com.uni.ethesis.data.repo.PdfProcessingJobRepository;
+import com.uni.ethesis.data.repo.ReviewRepository;
+import com.uni.ethesis.data.repo.ThesisDocumentRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.data.repo.ThesisStatusTransitionRepository;
+import com.uni.ethesis.data.repo.UploadSessionRepository;
+import com.uni.ethesis.enums.ReviewConclusion;
+import com.uni.ethesis.enums.ThesisStatus;
+import com.uni.ethesis.service.impl.ThesisArchiveServiceImpl;
+import com.uni.ethesis.service.index.ProfessorBookingIndex;
+import com.uni.ethesis.service.index.ThesisStatistics;
+import com.uni.ethesis.service.storage.BlobStore;
+import com.uni.ethesis.utils.mappers.ArchivedThesisMapper;
+import com.uni.ethesis.utils.mappers.CommentMapper;
+import com.uni.ethesis.utils.mappers.DefenseSessionMapper;
+import com.uni.ethesis.utils.mappers.DefenseSessionProfessorMapper;
+import com.uni.ethesis.utils.mappers.ReviewMapper;
+import com.uni.ethesis.utils.mappers.ThesisApplicationMapper;
+import com.uni.ethesis.utils.mappers.ThesisMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ThesisArchiveServiceTest {
+
+    private static final Period HORIZON = Period.ofYears(2);
+
+    @Mock
+    private ThesisRepository thesisRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private DefenseSessionRepository defenseSessionRepository;
+
+    @Mock
+    private DefenseSessionProfessorRepository defenseSessionProfessorRepository;
+
+    @Mock
+    private ThesisStatusTransitionRepository statusTransitionRepository;
+
+    @Mock
+    private ThesisDocumentRepository thesisDocumentRepository;
+
+    @Mock
+    private PdfProcessingJobRepository pdfProcessingJobRepository;
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private ArchivedThesisRepository archivedThesisRepository;
+
+    @Mock
+    private ArchivedThesisMapper archivedThesisMapper;
+
+    @Mock
+    private ThesisMapper thesisMapper;
+
+    @Mock
+    private ThesisApplicationMapper thesisApplicationMapper;
+
+    @Mock
+    private ReviewMapper reviewMapper;
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private DefenseSessionMapper defenseSessionMapper;
+
+    @Mock
+    private DefenseSessionProfessorMapper defenseSessionProfessorMapper;
+
+    @Mock
+    private ThesisStatistics thesisStatistics;
+
+    @Mock
+    private ProfessorBookingIndex professorBookingIndex;
+
+    private RecordingTransactionManager transactionManager;
+    private ThesisArchiveServiceImpl archiveService;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new RecordingTransactionManager();
+        archiveService = new ThesisArchiveServiceImpl(thesisRepository, reviewRepository, commentRepository,
+                defenseSessionRepository, defenseSessionProfessorRepository, statusTransitionRepository,
+                thesisDocumentRepository, pdfProcessingJobRepository, uploadSessionRepository, blobStore,
+                archivedThesisRepository, archivedThesisMapper, thesisMapper,
+                thesisApplicationMapper, reviewMapper, commentMapper, defenseSessionMapper,
+                defenseSessionProfessorMapper, thesisStatistics, professorBookingIndex,
+                new TransactionTemplate(transactionManager), new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(archiveService, "horizon", HORIZON);
+        ReflectionTestUtils.setField(archiveService, "batchSize", 2);
+        ReflectionTestUtils.setField(archiveService, "academicYearStartMonth", 9);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archiveClosedTheses_PicksClosedThesesPastTheHorizonInBatches() {
+        // Given a full first batch followed by a partial one
+        Thesis first = thesis(ThesisStatus.DEFENDED);
+        Thesis second = thesis(ThesisStatus.FAILED);
+        Thesis third = thesis(ThesisStatus.DEFENDED);
+        when(thesisRepository.findArchivableIds(anyCollection(), any(OffsetDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(first.getId(), second.getId()))
+                .thenReturn(List.of(third.getId()));
+        when(thesisRepository.findWithProposalByIdIn(List.of(first.getId(), second.getId())))
+                .thenReturn(List.of(first, second));
+        when(thesisRepository.findWithProposalByIdIn(List.of(third.getId()))).thenReturn(List.of(third));
+        OffsetDateTime before = OffsetDateTime.now().minus(HORIZON);
+
+        // When
+        int archived = archiveService.archiveClosedTheses();
+
+        // Then
+        OffsetDateTime after = OffsetDateTime.now().minus(HORIZON);
+        assertEquals(3, archived);
+        ArgumentCaptor<Collection<ThesisStatus>> statuses = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<OffsetDateTime> cutoff = ArgumentCaptor.forClass(OffsetDateTime.class);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(thesisRepository, times(2)).findArchivableIds(statuses.capture(), cutoff.capture(), page.capture());
+        assertEquals(Set.of(ThesisStatus.DEFENDED, ThesisStatus.FAILED), Set.copyOf(statuses.getValue()));
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertFalse(cutoff.getValue().isAfter(after));
+        // Archived rows leave the hot table, so every batch reads the first page again
+        assertEquals(0, page.getValue().getPageNumber());
+        assertEquals(2, page.getValue().getPageSize());
+        assertEquals(2, transactionManager.commits);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archiveClosedTheses_CopiesThesisAndDeletesItsRelatedRows() {
+        // Given
+        Thesis thesis = thesis(ThesisStatus.DEFENDED);
+        thesis.setFinalGrade(new BigDecimal("5.50"));
+        thesis.setPdfHash("abc123");
+        thesis.setCreatedAt(OffsetDateTime.parse("2023-10-02T10:00:00Z"));
+        ThesisProposal proposal = ThesisProposal.builder().id(UUID.randomUUID()).title("Archived work").build();
+        thesis.setProposal(proposal);
+        Review review = Review.builder().id(UUID.randomUUID()).thesis(thesis)
+                .conclusion(ReviewConclusion.ACCEPTED).build();
+        Comment comment = Comment.builder().id(UUID.randomUUID()).review(review).build();
+        DefenseSession session = DefenseSession.builder().id(UUID.randomUUID()).thesis(thesis).build();
+        OffsetDateTime closedAt = OffsetDateTime.parse("2024-06-20T12:00:00Z");
+        List<UUID> ids = List.of(thesis.getId());
+        when(thesisRepository.findArchivableIds(anyCollection(), any(OffsetDateTime.class), any(Pageable.class)))
+                .thenReturn(ids);
+        when(thesisRepository.findWithProposalByIdIn(ids)).thenReturn(List.of(thesis));
+        when(statusTransitionRepository.findLastTransitionTimes(ids))
+                .thenReturn(List.<Object[]>of(new Object[] { thesis.getId(), closedAt }));
+        when(reviewRepository.findByThesisIdIn(ids)).thenReturn(List.of(review));
+        when(commentRepository.findByThesisIdIn(ids)).thenReturn(List.of(comment));
+        when(defenseSessionRepository.findByThesisIdIn(ids)).thenReturn(List.of(session));
+        UUID uploadId = UUID.randomUUID();
+        when(uploadSessionRepository.findIdsByThesisIdIn(ids)).thenReturn(List.of(uploadId));
+
+        // When
+        int archived = archiveService.archiveClosedTheses();
+
+        // Then
+        assertEquals(1, archived);
+        ArgumentCaptor<List<ArchivedThesis>> saved = ArgumentCaptor.forClass(List.class);
+        verify(archivedThesisRepository).saveAll(saved.capture());
+        ArchivedThesis copy = saved.getValue().get(0);
+        assertEquals(thesis.getId(), copy.getId());
+        assertEquals(proposal.getId(), copy.getProposalId());
+        assertEquals("Archived work", copy.getTitle());
+        assertEquals(ThesisStatus.DEFENDED, copy.getStatus());
+        assertEquals(new BigDecimal("5.50"), copy.getFinalGrade());
+        assertEquals(2023, copy.getAcademicYear());
+        assertEquals(closedAt, copy.getClosedAt());
+        assertEquals("abc123", copy.getPdfHash());
+        verify(reviewMapper).reviewToReviewDto(review);
+        verify(commentMapper).commentToCommentDto(comment);
+        verify(defenseSessionMapper).defenseSessionToDefenseSessionDto(session);
+
+        // Children go before the thesis itself, and only after the copy is saved
+        InOrder order = inOrder(archivedThesisRepository, commentRepository, reviewRepository,
+                defenseSessionProfessorRepository, defenseSessionRepository, thesisDocumentRepository,
+                pdfProcessingJobRepository, uploadSessionRepository, thesisRepository);
+        order.verify(archivedThesisRepository).saveAll(anyList());
+        order.verify(commentRepository).deleteByThesisIdIn(ids);
+        order.verify(reviewRepository).deleteByThesisIdIn(ids);
+        order.verify(defenseSessionProfessorRepository).deleteByThesisIdIn(ids);
+        order.verify(defenseSessionRepository).deleteByThesisIdIn(ids);
+        order.verify(thesisDocumentRepository).deleteByThesisIdIn(ids);
+        order.verify(pdfProcessingJobRepository).deleteByThesisIdIn(ids);
+        order.verify(uploadSessionRepository).deleteByThesisIdIn(ids);
+        order.verify(thesisRepository).deleteByIdIn(ids);
+
+        ArgumentCaptor<Runnable> statisticsUpdate = ArgumentCaptor.forClass(Runnable.class);
+        verify(thesisStatistics).afterCommit(statisticsUpdate.capture());
+        statisticsUpdate.getValue().run();
+        verify(thesisStatistics).thesisRemoved(thesis.getId(), ThesisStatus.DEFENDED);
+        verify(thesisStatistics).reviewRemoved(ReviewConclusion.ACCEPTED);
+        verify(professorBookingIndex).removeSession(session.getId());
+        verify(blobStore).deleteUpload(uploadId);
+        assertEquals(1, transactionManager.commits);
+    }
+
+    @Test
+    void archiveClosedTheses_FailedBatch_RollsBackAndLeavesSourceRows() {
+        // Given a delete that fails after the copy and the child deletes have run
+        DefenseSession session = DefenseSession.builder().id(UUID.randomUUID()).build();
+        Thesis thesis = thesis(ThesisStatus.FAILED);
+        session.setThesis(thesis);
+        List<UUID> ids = List.of(thesis.getId());
+        DataIntegrityViolationException failure = new DataIntegrityViolationException("thesis still referenced");
+        when(thesisRepository.findArchivableIds(anyCollection(), any(OffsetDateTime.class), any(Pageable.class)))
+                .thenReturn(ids);
+        when(thesisRepository.findWithProposalByIdIn(ids)).thenReturn(List.of(thesis));
+        when(defenseSessionRepository.findByThesisIdIn(ids)).thenReturn(List.of(session));
+        when(thesisRepository.deleteByIdIn(ids)).thenThrow(failure);
+
+        // When
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class,
+                () -> archiveService.archiveClosedTheses());
+
+        // Then the whole batch rolls back and nothing outside the database is touched
+        assertSame(failure, thrown);
+        assertEquals(0, transactionManager.commits);
+        assertEquals(1, transactionManager.rollbacks);
+        verify(thesisStatistics, never()).afterCommit(any());
+        verify(professorBookingIndex, never()).removeSession(any());
+        verify(blobStore, never()).deleteUpload(any());
+        verify(thesisRepository).findArchivableIds(anyCollection(), any(OffsetDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void archiveClosedTheses_UnreadableBatch_DeletesNothing() {
+        // Given a batch whose theses are already gone by the time it runs
+        List<UUID> ids = List.of(UUID.randomUUID());
+        when(thesisRepository.findArchivableIds(anyCollection(), any(OffsetDateTime.class), any(Pageable.class)))
+                .thenReturn(ids);
+        when(thesisRepository.findWithProposalByIdIn(ids)).thenReturn(List.of());
+
+        // When
+        int archived = archiveService.archiveClosedTheses();
+
+        // Then
+        assertEquals(0, archived);
+        verify(archivedThesisRepository, never()).saveAll(anyList());
+        verify(commentRepository, never()).deleteByThesisIdIn(anyCollection());
+        verify(reviewRepository, never()).deleteByThesisIdIn(anyCollection());
+        verify(defenseSessionProfessorRepository, never()).deleteByThesisIdIn(anyCollection());
+        verify(defenseSessionRepository, never()).deleteByThesisIdIn(anyCollection());
+        verify(thesisDocumentRepository, never()).deleteByThesisIdIn(anyCollection());
+        verify(pdfProcessingJobRepository, never()).deleteByThesisIdIn(anyCollection());
+        verify(uploadSessionRepository, never()).deleteByThesisIdIn(anyCollection());
+        verify(thesisRepository, never()).deleteByIdIn(anyCollection());
+        assertEquals(1, transactionManager.commits);
+        assertEquals(0, transactionManager.rollbacks);
+    }
+
+    private static Thesis thesis(ThesisStatus status) {
+        return Thesis.builder()
+                .id(UUID.randomUUID())
+                .status(status)
+                .build();
+    }
+
+    private static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private int commits;
+        private int rollbacks;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks++;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.uni.ethesis.unit.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.Mockito.when;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.uni.ethesis.data.dto.ThesisExportRow;
+import com.uni.ethesis.data.repo.ArchivedThesisRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.service.impl.ThesisExportServiceImpl;
+import com.uni.ethesis.service.storage.BlobStore;
+
+@ExtendWith(MockitoExtension.class)
+class ThesisExportServiceTest {
+
+    private static final OffsetDateTime FROM = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime TO = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final String HASH = "ab".repeat(32);
+    private static final byte[] PDF = "%PDF-1.7 test".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private ThesisRepository thesisRepository;
+
+    @Mock
+    private ArchivedThesisRepository archivedThesisRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @TempDir
+    Path tempDir;
+
+    private ThesisExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ThesisExportServiceImpl(thesisRepository, archivedThesisRepository, blobStore);
+    }
+
+    @Test
+    void writeDefendedThesesZip_CopiesPdfsAndWritesManifestLast() throws IOException {
+        Path blob = Files.write(tempDir.resolve("blob.pdf"), PDF);
+        Path legacy = Files.write(tempDir.resolve("legacy.pdf"), PDF);
+        ThesisExportRow current = row(UUID.randomUUID(), "Graphs, \"fast\"", HASH, null);
+        ThesisExportRow archived = row(UUID.randomUUID(), "Old thesis", null, legacy.toString());
+        when(blobStore.resolve(HASH)).thenReturn(blob);
+        when(blobStore.resolveLegacy(legacy.toString())).thenReturn(legacy);
+        when(thesisRepository.streamDefendedForExport(FROM, TO)).thenReturn(Stream.of(current));
+        when(archivedThesisRepository.streamDefendedForExport(FROM, TO)).thenReturn(Stream.of(archived));
+
+        Map<String, byte[]> entries = export();
+
+        assertEquals(3, entries.size());
+        assertArrayEquals(PDF, entries.get("pdfs/" + current.getThesisId() + ".pdf"));
+        assertArrayEquals(PDF, entries.get("pdfs/" + archived.getThesisId() + ".pdf"));
+        assertEquals("manifest.csv", entries.keySet().stream().reduce((a, b) -> b).orElseThrow());
+        String[] manifest = new String(entries.get("manifest.csv"), StandardCharsets.UTF_8).split("\\R");
+        assertEquals(3, manifest.length);
+        assertTrue(manifest[1].startsWith(archived.getThesisId() + ",Old thesis,"));
+        assertTrue(manifest[1].contains(",archived,pdfs/" + archived.getThesisId() + ".pdf,"));
+        assertTrue(manifest[2].contains(",\"Graphs, \"\"fast\"\"\","));
+        assertTrue(manifest[2].endsWith(",current,pdfs/" + current.getThesisId() + ".pdf," + HASH));
+    }
+
+    @Test
+    void writeDefendedThesesZip_MissingPdf_KeepsManifestLine() throws IOException {
+        ThesisExportRow current = row(UUID.randomUUID(), "Lost", HASH, null);
+        when(blobStore.resolve(HASH)).thenReturn(tempDir.resolve("missing.pdf"));
+        when(thesisRepository.streamDefendedForExport(FROM, TO)).thenReturn(Stream.of(current));
+        when(archivedThesisRepository.streamDefendedForExport(FROM, TO)).thenReturn(Stream.empty());
+
+        Map<String, byte[]> entries = export();
+
+        assertEquals(1, entries.size());
+        String[] manifest = new String(entries.get("manifest.csv"), StandardCharsets.UTF_8).split("\\R");
+        assertEquals(2, manifest.length);
+        assertTrue(manifest[1].endsWith(",current,," + HASH));
+    }
+
+    private Map<String, byte[]> export() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeDefendedThesesZip(FROM, TO, out);
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private static ThesisExportRow row(UUID id, String title, String hash, String path) {
+        return ThesisExportRow.builder()
+                .thesisId(id)
+                .title(title)
+                .studentUniversityId("F12345")
+                .studentName("Ana Petrova")
+                .supervisorName("Ivan Ivanov")
+                .finalGrade(new BigDecimal("5.50"))
+                .defendedAt(FROM.plusMonths(6))
+                .pdfHash(hash)
+                .pdfPath(path)
+                .build();
+    }
+}
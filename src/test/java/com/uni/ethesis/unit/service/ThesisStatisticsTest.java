@@ -0,0 +1,118 @@
+package com.uni.ethesis.unit.service;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.uni.ethesis.data.repo.DefenseRepository;
+import com.uni.ethesis.data.repo.ReviewRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.enums.ThesisStatus;
+import com.uni.ethesis.events.ThesisStatusChangedEvent;
+import com.uni.ethesis.service.index.ThesisStatistics;
+
+@ExtendWith(MockitoExtension.class)
+class ThesisStatisticsTest {
+
+    private static final BigDecimal PASSING = BigDecimal.valueOf(3.0);
+
+    @Mock
+    private ThesisRepository thesisRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private DefenseRepository defenseRepository;
+
+    private ThesisStatistics statistics;
+
+    private final UUID thesisId = UUID.randomUUID();
+    private final UUID teacherId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        statistics = new ThesisStatistics(thesisRepository, reviewRepository, defenseRepository);
+        when(thesisRepository.countGroupedByStatus())
+                .thenReturn(List.<Object[]>of(new Object[] { ThesisStatus.WAITING_FOR_DEFENSE, 1L }));
+        statistics.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void statusChangeAndRegrade_MoveThesisBetweenCounters() {
+        // Given
+        when(thesisRepository.findTeacherIdIfPassed(thesisId, PASSING)).thenReturn(Optional.of(teacherId));
+
+        // When
+        statistics.onStatusChanged(new ThesisStatusChangedEvent(thesisId, ThesisStatus.WAITING_FOR_DEFENSE,
+                ThesisStatus.DEFENDED, new BigDecimal("5.50"), OffsetDateTime.now()));
+
+        // Then
+        assertEquals(0, statistics.countThesesByStatus(ThesisStatus.WAITING_FOR_DEFENSE));
+        assertEquals(1, statistics.countThesesByStatus(ThesisStatus.DEFENDED));
+        assertEquals(1, statistics.getGradeHistogram().get("5.5"));
+        assertEquals(1, statistics.countSuccessfulDefensesByTeacher(teacherId));
+
+        // A re-grade below passing moves the thesis to another bucket and out of the supervisor's count
+        statistics.thesisGradeChanged(thesisId, teacherId, ThesisStatus.DEFENDED, new BigDecimal("2.00"));
+        assertEquals(0, statistics.getGradeHistogram().get("5.5"));
+        assertEquals(1, statistics.getGradeHistogram().get("2.0"));
+        assertEquals(0, statistics.countSuccessfulDefensesByTeacher(teacherId));
+
+        // Removing the thesis takes it out of every counter
+        statistics.thesisGradeChanged(thesisId, teacherId, ThesisStatus.DEFENDED, new BigDecimal("4.00"));
+        statistics.thesisRemoved(thesisId, ThesisStatus.DEFENDED);
+        assertEquals(0, statistics.countThesesByStatus(ThesisStatus.DEFENDED));
+        assertEquals(0, statistics.getGradeHistogram().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(0, statistics.countSuccessfulDefensesByTeacher(teacherId));
+    }
+
+    @Test
+    void commitDuringRebuild_IsCountedOnce() throws Exception {
+        // Given a transaction that has registered its update and is about to commit
+        TransactionSynchronizationManager.initSynchronization();
+        statistics.onStatusChanged(new ThesisStatusChangedEvent(thesisId, null, ThesisStatus.WAITING_FOR_REVIEW,
+                null, OffsetDateTime.now()));
+        List<TransactionSynchronization> synchronizations = new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        // The rebuild's snapshot sees the committed thesis
+        when(thesisRepository.countGroupedByStatus()).thenReturn(List.<Object[]>of(
+                new Object[] { ThesisStatus.WAITING_FOR_DEFENSE, 1L },
+                new Object[] { ThesisStatus.WAITING_FOR_REVIEW, 1L }));
+
+        // When the rebuild starts before the update is applied
+        Thread rebuild = Thread.ofPlatform().start(statistics::rebuild);
+        while (rebuild.getState() != Thread.State.WAITING) {
+            assertTrue(rebuild.isAlive());
+            Thread.onSpinWait();
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        rebuild.join();
+
+        // Then
+        assertEquals(1, statistics.countThesesByStatus(ThesisStatus.WAITING_FOR_REVIEW));
+        assertEquals(1, statistics.countThesesByStatus(ThesisStatus.WAITING_FOR_DEFENSE));
+    }
+}
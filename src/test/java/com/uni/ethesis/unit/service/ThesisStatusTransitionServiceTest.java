@@ -0,0 +1,188 @@
+package com.uni.ethesis.unit.service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.uni.ethesis.data.dto.BulkThesisResultDto;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.enums.BulkThesisOutcome;
+import com.uni.ethesis.enums.ThesisStatus;
+import com.uni.ethesis.events.ThesisStatusChangedEvent;
+import com.uni.ethesis.exceptions.ThesisNotFoundException;
+import com.uni.ethesis.exceptions.ThesisStatusConflictException;
+import com.uni.ethesis.service.impl.ThesisStatusTransitionServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class ThesisStatusTransitionServiceTest {
+
+    @Mock
+    private ThesisRepository thesisRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ThesisStatusTransitionServiceImpl transitionService;
+
+    private UUID thesisId;
+
+    @BeforeEach
+    void setUp() {
+        thesisId = UUID.randomUUID();
+    }
+
+    @Test
+    void transitionTable_DefendedIsTerminal() {
+        assertTrue(ThesisStatus.DEFENDED.allowedTransitions().isEmpty());
+        assertTrue(ThesisStatus.WAITING_FOR_REVIEW.canTransitionTo(ThesisStatus.WAITING_FOR_DEFENSE));
+        assertFalse(ThesisStatus.WAITING_FOR_REVIEW.canTransitionTo(ThesisStatus.DEFENDED));
+        assertTrue(ThesisStatus.FAILED.canTransitionTo(ThesisStatus.WAITING_FOR_REVIEW));
+    }
+
+    @Test
+    void transition_Success() {
+        when(thesisRepository.compareAndSetStatus(eq(thesisId), eq(ThesisStatus.WAITING_FOR_REVIEW),
+                eq(ThesisStatus.WAITING_FOR_DEFENSE), any())).thenReturn(1);
+
+        transitionService.transition(thesisId, ThesisStatus.WAITING_FOR_REVIEW, ThesisStatus.WAITING_FOR_DEFENSE);
+
+        verify(thesisRepository, never()).findStatusById(thesisId);
+        verify(eventPublisher).publishEvent(any(ThesisStatusChangedEvent.class));
+    }
+
+    @Test
+    void transition_LostRace_ReportsActualStatus() {
+        when(thesisRepository.compareAndSetStatus(eq(thesisId), eq(ThesisStatus.WAITING_FOR_REVIEW),
+                eq(ThesisStatus.WAITING_FOR_DEFENSE), any())).thenReturn(0);
+        when(thesisRepository.findStatusById(thesisId)).thenReturn(Optional.of(ThesisStatus.WAITING_FOR_DEFENSE));
+
+        ThesisStatusConflictException exception = assertThrows(ThesisStatusConflictException.class, () ->
+                transitionService.transition(thesisId, ThesisStatus.WAITING_FOR_REVIEW, ThesisStatus.WAITING_FOR_DEFENSE));
+
+        assertEquals(ThesisStatus.WAITING_FOR_REVIEW, exception.getExpected());
+        assertEquals(ThesisStatus.WAITING_FOR_DEFENSE, exception.getActual());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void transition_MissingThesis_ThrowsNotFound() {
+        when(thesisRepository.compareAndSetStatus(eq(thesisId), any(), any(), any())).thenReturn(0);
+        when(thesisRepository.findStatusById(thesisId)).thenReturn(Optional.empty());
+
+        assertThrows(ThesisNotFoundException.class, () ->
+                transitionService.transition(thesisId, ThesisStatus.WAITING_FOR_REVIEW, ThesisStatus.WAITING_FOR_DEFENSE));
+    }
+
+    @Test
+    void transition_NotInTable_ThrowsWithoutUpdating() {
+        assertThrows(IllegalStateException.class, () ->
+                transitionService.transition(thesisId, ThesisStatus.DEFENDED, ThesisStatus.WAITING_FOR_REVIEW));
+
+        verify(thesisRepository, never()).compareAndSetStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void transitionFromCurrent_SameStatus_IsNoOp() {
+        when(thesisRepository.findStatusById(thesisId)).thenReturn(Optional.of(ThesisStatus.WAITING_FOR_REVIEW));
+
+        ThesisStatus previous = transitionService.transition(thesisId, ThesisStatus.WAITING_FOR_REVIEW);
+
+        assertEquals(ThesisStatus.WAITING_FOR_REVIEW, previous);
+        verify(thesisRepository, never()).compareAndSetStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void recordFinalGrade_PassingAndFailing() {
+        when(thesisRepository.compareAndSetStatusAndGrade(eq(thesisId), eq(ThesisStatus.WAITING_FOR_DEFENSE),
+                any(), any(), any())).thenReturn(1);
+
+        assertEquals(ThesisStatus.DEFENDED, transitionService.recordFinalGrade(thesisId, BigDecimal.valueOf(5.5)));
+        assertEquals(ThesisStatus.FAILED, transitionService.recordFinalGrade(thesisId, BigDecimal.valueOf(2.0)));
+    }
+
+    @Test
+    void recordFinalGrade_RoundsBeforeThePassMark_LikeTheBulkPath() {
+        UUID bulkThesis = UUID.randomUUID();
+        BigDecimal rounded = new BigDecimal("3.0");
+        when(thesisRepository.compareAndSetStatusAndGrade(eq(thesisId), eq(ThesisStatus.WAITING_FOR_DEFENSE),
+                eq(ThesisStatus.DEFENDED), eq(rounded), any())).thenReturn(1);
+        when(thesisRepository.findStatusesByIdIn(any())).thenReturn(List.<Object[]>of(
+                new Object[]{bulkThesis, ThesisStatus.WAITING_FOR_DEFENSE}));
+        when(thesisRepository.compareAndSetStatusAndGradeIn(eq(List.of(bulkThesis)), eq(ThesisStatus.WAITING_FOR_DEFENSE),
+                eq(ThesisStatus.DEFENDED), eq(rounded), any())).thenReturn(1);
+
+        ThesisStatus single = transitionService.recordFinalGrade(thesisId, new BigDecimal("2.95"));
+        List<BulkThesisResultDto> bulk = transitionService.recordFinalGrades(Map.of(bulkThesis, new BigDecimal("2.95")));
+
+        assertEquals(ThesisStatus.DEFENDED, single);
+        assertEquals(ThesisStatus.DEFENDED, bulk.get(0).getStatus());
+        assertEquals(rounded, bulk.get(0).getFinalGrade());
+    }
+
+    @Test
+    void recordFinalGrade_OutOfRange_Throws() {
+        assertThrows(IllegalArgumentException.class, () ->
+                transitionService.recordFinalGrade(thesisId, BigDecimal.valueOf(7.0)));
+    }
+
+    @Test
+    void transitionAll_ReportsPerRowOutcomes() {
+        UUID waiting = UUID.randomUUID();
+        UUID defended = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(thesisRepository.findStatusesByIdIn(any())).thenReturn(List.of(
+                new Object[]{waiting, ThesisStatus.WAITING_FOR_DEFENSE},
+                new Object[]{defended, ThesisStatus.DEFENDED}));
+        when(thesisRepository.compareAndSetStatusIn(eq(List.of(waiting)), eq(ThesisStatus.WAITING_FOR_DEFENSE),
+                eq(ThesisStatus.FAILED), any())).thenReturn(1);
+
+        List<BulkThesisResultDto> results = transitionService.transitionAll(
+                List.of(waiting, defended, missing), ThesisStatus.FAILED);
+
+        assertEquals(BulkThesisOutcome.UPDATED, results.get(0).getOutcome());
+        assertEquals(BulkThesisOutcome.INVALID_TRANSITION, results.get(1).getOutcome());
+        assertEquals(BulkThesisOutcome.NOT_FOUND, results.get(2).getOutcome());
+        verify(eventPublisher).publishEvent(any(ThesisStatusChangedEvent.class));
+    }
+
+    @Test
+    void recordFinalGrades_GroupsByGradeAndRejectsInvalidRows() {
+        UUID passed = UUID.randomUUID();
+        UUID outOfRange = UUID.randomUUID();
+        when(thesisRepository.findStatusesByIdIn(any())).thenReturn(List.of(
+                new Object[]{passed, ThesisStatus.WAITING_FOR_DEFENSE},
+                new Object[]{outOfRange, ThesisStatus.WAITING_FOR_DEFENSE}));
+        when(thesisRepository.compareAndSetStatusAndGradeIn(eq(List.of(passed)), eq(ThesisStatus.WAITING_FOR_DEFENSE),
+                eq(ThesisStatus.DEFENDED), eq(new BigDecimal("5.5")), any())).thenReturn(1);
+
+        Map<UUID, BigDecimal> grades = new LinkedHashMap<>();
+        grades.put(passed, BigDecimal.valueOf(5.5));
+        grades.put(outOfRange, BigDecimal.valueOf(9.0));
+        List<BulkThesisResultDto> results = transitionService.recordFinalGrades(grades);
+
+        assertEquals(BulkThesisOutcome.UPDATED, results.get(0).getOutcome());
+        assertEquals(ThesisStatus.DEFENDED, results.get(0).getStatus());
+        assertEquals(BulkThesisOutcome.INVALID_GRADE, results.get(1).getOutcome());
+    }
+}
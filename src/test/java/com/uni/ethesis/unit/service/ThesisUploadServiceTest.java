@@ -0,0 +1,131 @@
+package com.uni.ethesis.unit.service;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uni.ethesis.data.dto.ThesisDto;
+import com.uni.ethesis.data.entities.UploadSession;
+import com.uni.ethesis.data.repo.StoredBlobRepository;
+import com.uni.ethesis.data.repo.ThesisRepository;
+import com.uni.ethesis.data.repo.UploadSessionRepository;
+import com.uni.ethesis.enums.UploadSessionStatus;
+import com.uni.ethesis.service.ThesisService;
+import com.uni.ethesis.service.impl.ThesisUploadServiceImpl;
+import com.uni.ethesis.service.storage.BlobStore;
+import com.uni.ethesis.utils.ByteRangeSet;
+
+@ExtendWith(MockitoExtension.class)
+class ThesisUploadServiceTest {
+
+    private static final byte[] PDF = "%PDF-1.7 resumable upload".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private ThesisRepository thesisRepository;
+
+    @Mock
+    private ThesisService thesisService;
+
+    @Mock
+    private StoredBlobRepository storedBlobRepository;
+
+    @TempDir
+    Path root;
+
+    private BlobStore blobStore;
+    private ThesisUploadServiceImpl uploadService;
+
+    private final UUID thesisId = UUID.randomUUID();
+    private final UUID sessionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore(storedBlobRepository, null, root.toString());
+        uploadService = new ThesisUploadServiceImpl(uploadSessionRepository, thesisRepository, thesisService,
+                blobStore, new TransactionTemplate(new NoOpTransactionManager()));
+    }
+
+    @Test
+    void completeUploadSession_RolledBack_RestoresTheUploadForARetry() throws Exception {
+        // Given
+        blobStore.createUpload(sessionId, PDF.length);
+        blobStore.writeChunk(sessionId, 0, PDF.length, new ByteArrayInputStream(PDF));
+        ByteRangeSet received = ByteRangeSet.parse("");
+        received.add(0, PDF.length);
+        UploadSession session = UploadSession.builder()
+                .id(sessionId)
+                .thesisId(thesisId)
+                .totalSize(PDF.length)
+                .receivedRanges(received.toString())
+                .receivedBytes(PDF.length)
+                .status(UploadSessionStatus.OPEN)
+                .expiresAt(OffsetDateTime.now().plusHours(1))
+                .build();
+        when(uploadSessionRepository.findByIdForUpdate(sessionId)).thenReturn(Optional.of(session));
+        ThesisDto attached = ThesisDto.builder().id(thesisId).build();
+        // The blob is moved into the store, then the thesis update fails
+        when(thesisService.attachThesisPdf(eq(thesisId), any(BlobStore.StagedBlob.class)))
+                .thenAnswer(invocation -> {
+                    blobStore.commit(invocation.getArgument(1));
+                    throw new IllegalStateException("thesis update failed");
+                })
+                .thenAnswer(invocation -> {
+                    blobStore.commit(invocation.getArgument(1));
+                    return attached;
+                });
+        Path uploadFile = root.resolve(".uploads").resolve(sessionId + ".part");
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> uploadService.completeUploadSession(thesisId, sessionId));
+        assertArrayEquals(PDF, Files.readAllBytes(uploadFile));
+        assertEquals(UploadSessionStatus.OPEN, session.getStatus());
+
+        assertEquals(attached, uploadService.completeUploadSession(thesisId, sessionId));
+        assertEquals(UploadSessionStatus.COMPLETED, session.getStatus());
+    }
+
+    // Runs the transaction synchronizations without a database
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
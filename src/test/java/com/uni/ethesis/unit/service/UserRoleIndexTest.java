@@ -0,0 +1,91 @@
+package com.uni.ethesis.unit.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.uni.ethesis.data.repo.TeacherRepository;
+import com.uni.ethesis.service.index.UserRoleIndex;
+
+@ExtendWith(MockitoExtension.class)
+class UserRoleIndexTest {
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    private UserRoleIndex userRoleIndex;
+
+    private final UUID teacherId = UUID.randomUUID();
+    private final UUID studentId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        userRoleIndex = new UserRoleIndex(teacherRepository, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void rolesOf_ResolvesUnknownUsersInOneQueryAndCachesThem() {
+        when(teacherRepository.findUserIdsByUserIdIn(anyCollection())).thenReturn(List.of(teacherId));
+
+        Map<UUID, String> roles = userRoleIndex.rolesOf(List.of(teacherId, studentId, teacherId));
+        Map<UUID, String> again = userRoleIndex.rolesOf(List.of(studentId, teacherId));
+
+        assertEquals(Map.of(teacherId, UserRoleIndex.TEACHER, studentId, UserRoleIndex.STUDENT), roles);
+        assertEquals(roles, again);
+        verify(teacherRepository, times(1)).findUserIdsByUserIdIn(anyCollection());
+    }
+
+    @Test
+    void invalidate_ReloadsRoleOnNextLookup() {
+        when(teacherRepository.findUserIdsByUserIdIn(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(studentId));
+
+        assertEquals(UserRoleIndex.STUDENT, userRoleIndex.roleOf(studentId));
+        userRoleIndex.invalidate(studentId);
+
+        // Promoted to teacher in the meantime
+        assertEquals(UserRoleIndex.TEACHER, userRoleIndex.roleOf(studentId));
+        verify(teacherRepository, times(2)).findUserIdsByUserIdIn(anyCollection());
+    }
+
+    @Test
+    void invalidateDuringLookup_DoesNotCacheTheOldRole() {
+        when(teacherRepository.findUserIdsByUserIdIn(anyCollection()))
+                .thenAnswer(invocation -> {
+                    // Promoted and invalidated while the first lookup is still reading
+                    userRoleIndex.invalidate(studentId);
+                    return List.of();
+                })
+                .thenReturn(List.of(studentId));
+
+        assertEquals(UserRoleIndex.STUDENT, userRoleIndex.roleOf(studentId));
+
+        assertEquals(UserRoleIndex.TEACHER, userRoleIndex.roleOf(studentId));
+        verify(teacherRepository, times(2)).findUserIdsByUserIdIn(anyCollection());
+    }
+
+    @Test
+    void expiredEntry_IsReloaded() {
+        userRoleIndex = new UserRoleIndex(teacherRepository, 100, Duration.ZERO);
+        when(teacherRepository.findUserIdsByUserIdIn(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(studentId));
+
+        // Promoted on another node, which cannot invalidate this one
+        assertEquals(UserRoleIndex.STUDENT, userRoleIndex.roleOf(studentId));
+        assertEquals(UserRoleIndex.TEACHER, userRoleIndex.roleOf(studentId));
+    }
+}